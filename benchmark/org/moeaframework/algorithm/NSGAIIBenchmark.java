@@ -0,0 +1,112 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.algorithm;
+
+import java.util.concurrent.TimeUnit;
+
+import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.spi.AlgorithmFactory;
+import org.moeaframework.core.spi.ProblemFactory;
+import org.moeaframework.util.TypedProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of one generation of {@link NSGAII}, including variation,
+ * evaluation, and survival.  The algorithm continues from one invocation to
+ * the next, so the measurements reflect a run in progress.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NSGAIIBenchmark {
+
+	/**
+	 * The name of the problem.
+	 */
+	@Param({ "DTLZ2_2", "DTLZ2_3", "DTLZ2_6", "WFG1_2", "WFG1_3" })
+	public String problemName;
+
+	/**
+	 * The population size.
+	 */
+	@Param({ "100", "500" })
+	public int populationSize;
+
+	/**
+	 * The problem.
+	 */
+	private Problem problem;
+
+	/**
+	 * The algorithm.
+	 */
+	private Algorithm algorithm;
+
+	/**
+	 * Creates and initializes the algorithm.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		PRNG.setSeed(1234);
+
+		TypedProperties properties = new TypedProperties();
+		properties.setInt("populationSize", populationSize);
+
+		problem = ProblemFactory.getInstance().getProblem(problemName);
+		algorithm = AlgorithmFactory.getInstance().getAlgorithm("NSGAII",
+				properties, problem);
+		algorithm.step();
+	}
+
+	/**
+	 * Closes the problem.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		problem.close();
+	}
+
+	/**
+	 * Runs one generation.
+	 *
+	 * @return the algorithm
+	 */
+	@Benchmark
+	public Algorithm iterate() {
+		algorithm.step();
+		return algorithm;
+	}
+
+}
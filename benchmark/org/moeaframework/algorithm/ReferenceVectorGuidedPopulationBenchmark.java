@@ -0,0 +1,133 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.algorithm;
+
+import java.util.concurrent.TimeUnit;
+
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Solution;
+import org.moeaframework.util.weights.NormalBoundaryDivisions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of truncating and adapting a
+ * {@link ReferenceVectorGuidedPopulation} with many objectives and large sets
+ * of reference vectors.  Each invocation starts from a new random population
+ * containing two solutions per reference vector, so the reference vectors are
+ * always rescaled by {@code adapt}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReferenceVectorGuidedPopulationBenchmark {
+
+	/**
+	 * The number of objectives.
+	 */
+	@Param({ "10", "15" })
+	public int numberOfObjectives;
+
+	/**
+	 * The number of outer and inner divisions, separated by a colon.
+	 */
+	@Param({ "2:2", "3:1", "3:2", "4:3" })
+	public String divisions;
+
+	/**
+	 * The population being truncated and adapted.
+	 */
+	private ReferenceVectorGuidedPopulation population;
+
+	/**
+	 * The number of solutions added to the population before each invocation.
+	 */
+	private int size;
+
+	/**
+	 * Creates the population and its reference vectors.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		PRNG.setSeed(1234);
+
+		String[] tokens = divisions.split(":");
+		NormalBoundaryDivisions normalBoundaryDivisions = new NormalBoundaryDivisions(
+				Integer.parseInt(tokens[0]), Integer.parseInt(tokens[1]));
+
+		population = new ReferenceVectorGuidedPopulation(numberOfObjectives,
+				normalBoundaryDivisions, 2.0);
+		population.setScalingFactor(0.5);
+		size = 2 * normalBoundaryDivisions.getNumberOfReferencePoints(numberOfObjectives);
+	}
+
+	/**
+	 * Fills the population with solutions having random objective values.
+	 */
+	@Setup(Level.Invocation)
+	public void fill() {
+		population.clear();
+
+		for (int i = 0; i < size; i++) {
+			double[] objectives = new double[numberOfObjectives];
+
+			for (int j = 0; j < numberOfObjectives; j++) {
+				objectives[j] = (j + 1) * PRNG.nextDouble();
+			}
+
+			population.add(new Solution(objectives));
+		}
+	}
+
+	/**
+	 * Truncates the population to one solution per reference vector.
+	 *
+	 * @return the truncated population
+	 */
+	@Benchmark
+	public Population truncate() {
+		population.truncate();
+		return population;
+	}
+
+	/**
+	 * Rescales the reference vectors to the bounds of the population.
+	 *
+	 * @return the population
+	 */
+	@Benchmark
+	public Population adapt() {
+		population.adapt();
+		return population;
+	}
+
+}
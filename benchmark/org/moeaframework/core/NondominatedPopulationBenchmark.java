@@ -0,0 +1,116 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of adding solutions to a {@link NondominatedPopulation}
+ * and the indexed {@link IndexedNondominatedPopulation}.  The solutions lie
+ * near a linear Pareto front, so most insertions are non-dominated and the
+ * archive grows large.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NondominatedPopulationBenchmark {
+
+	/**
+	 * The non-dominated population implementation.
+	 */
+	@Param({ "default", "indexed" })
+	public String implementation;
+
+	/**
+	 * The number of solutions added to the population.
+	 */
+	@Param({ "1000", "10000" })
+	public int populationSize;
+
+	/**
+	 * The number of objectives.
+	 */
+	@Param({ "2", "3", "5" })
+	public int numberOfObjectives;
+
+	/**
+	 * The solutions added to the population.
+	 */
+	private Solution[] solutions;
+
+	/**
+	 * Creates the solutions with random objective values near the Pareto
+	 * front.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		PRNG.setSeed(1234);
+		solutions = new Solution[populationSize];
+
+		for (int i = 0; i < populationSize; i++) {
+			double[] objectives = new double[numberOfObjectives];
+			double sum = 0.0;
+
+			for (int j = 0; j < numberOfObjectives; j++) {
+				objectives[j] = PRNG.nextDouble();
+				sum += objectives[j];
+			}
+
+			for (int j = 0; j < numberOfObjectives; j++) {
+				objectives[j] = objectives[j] / sum + 0.01 * PRNG.nextDouble();
+			}
+
+			solutions[i] = new Solution(objectives);
+		}
+	}
+
+	/**
+	 * Adds all solutions to an empty population.
+	 *
+	 * @return the resulting population
+	 */
+	@Benchmark
+	public NondominatedPopulation add() {
+		NondominatedPopulation population = implementation.equals("indexed") ?
+				new IndexedNondominatedPopulation() :
+				new NondominatedPopulation();
+
+		for (Solution solution : solutions) {
+			population.add(solution);
+		}
+
+		return population;
+	}
+
+}
@@ -0,0 +1,104 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the non-dominated sorting implementations selectable through
+ * {@link Settings#KEY_NONDOMINATED_SORTING} on randomly-generated populations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NondominatedSortingBenchmark {
+
+	/**
+	 * The non-dominated sorting implementation.
+	 */
+	@Param({ "naive", "fast", "efficient", "efficient_binary",
+			"divide_and_conquer" })
+	public String implementation;
+
+	/**
+	 * The number of solutions in the population.
+	 */
+	@Param({ "1000", "5000" })
+	public int populationSize;
+
+	/**
+	 * The number of objectives.
+	 */
+	@Param({ "2", "5", "10" })
+	public int numberOfObjectives;
+
+	/**
+	 * The population being sorted.
+	 */
+	private NondominatedSortingPopulation population;
+
+	/**
+	 * Creates the population with random objective values.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		PRNG.setSeed(1234);
+		Settings.PROPERTIES.setString(Settings.KEY_NONDOMINATED_SORTING,
+				implementation);
+
+		population = new NondominatedSortingPopulation();
+
+		for (int i = 0; i < populationSize; i++) {
+			Solution solution = new Solution(0, numberOfObjectives);
+
+			for (int j = 0; j < numberOfObjectives; j++) {
+				solution.setObjective(j, PRNG.nextDouble());
+			}
+
+			population.add(solution);
+		}
+	}
+
+	/**
+	 * Assigns the rank and crowding distance attributes.
+	 *
+	 * @return the sorted population
+	 */
+	@Benchmark
+	public Population evaluate() {
+		population.update();
+		return population;
+	}
+
+}
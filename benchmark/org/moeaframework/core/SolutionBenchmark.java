@@ -0,0 +1,96 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.moeaframework.core.variable.RealVariable;
+
+/**
+ * Measures the cost of copying a {@link Solution}, which occurs whenever
+ * offspring are created.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SolutionBenchmark {
+
+	/**
+	 * The number of decision variables.
+	 */
+	@Param({ "10", "100", "1000" })
+	public int numberOfVariables;
+
+	/**
+	 * The number of objectives.
+	 */
+	@Param({ "2", "5" })
+	public int numberOfObjectives;
+
+	/**
+	 * The solution being copied.
+	 */
+	private Solution solution;
+
+	/**
+	 * Creates an evaluated solution with real-valued decision variables.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		PRNG.setSeed(1234);
+		solution = new Solution(numberOfVariables, numberOfObjectives);
+
+		for (int i = 0; i < numberOfVariables; i++) {
+			solution.setVariable(i, new RealVariable(PRNG.nextDouble(), 0.0,
+					1.0));
+		}
+
+		for (int i = 0; i < numberOfObjectives; i++) {
+			solution.setObjective(i, PRNG.nextDouble());
+		}
+
+		solution.setAttribute(NondominatedSorting.RANK_ATTRIBUTE, 0);
+		solution.setAttribute(NondominatedSorting.CROWDING_ATTRIBUTE, 1.0);
+	}
+
+	/**
+	 * Copies the solution.
+	 *
+	 * @return the copy
+	 */
+	@Benchmark
+	public Solution copy() {
+		return solution.copy();
+	}
+
+}
@@ -0,0 +1,135 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.indicator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Solution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the hypervolume by slicing objectives implementation in
+ * {@link Hypervolume} against {@link WFGHypervolume} on random points lying
+ * on a spherical Pareto front.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HypervolumeBenchmark {
+
+	/**
+	 * The hypervolume implementation, either {@code hso} or {@code wfg}.
+	 */
+	@Param({ "hso", "wfg" })
+	public String implementation;
+
+	/**
+	 * The number of points.
+	 */
+	@Param({ "50", "100" })
+	public int populationSize;
+
+	/**
+	 * The number of objectives.
+	 */
+	@Param({ "2", "3", "5" })
+	public int numberOfObjectives;
+
+	/**
+	 * The points being measured, minimizing objectives with a reference point
+	 * at {@code (1, 1, ..., 1)}.
+	 */
+	private double[][] points;
+
+	/**
+	 * The points converted for {@link Hypervolume#calculateHypervolume}, which
+	 * maximizes objectives with a reference point at the origin.
+	 */
+	private List<Solution> solutions;
+
+	/**
+	 * The reference point.
+	 */
+	private double[] referencePoint;
+
+	/**
+	 * Creates the random points.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		PRNG.setSeed(1234);
+		points = new double[populationSize][numberOfObjectives];
+		solutions = new ArrayList<Solution>();
+		referencePoint = new double[numberOfObjectives];
+		Arrays.fill(referencePoint, 1.0);
+
+		for (int i = 0; i < populationSize; i++) {
+			double norm = 0.0;
+
+			for (int j = 0; j < numberOfObjectives; j++) {
+				points[i][j] = Math.abs(PRNG.nextGaussian());
+				norm += points[i][j] * points[i][j];
+			}
+
+			double[] inverted = new double[numberOfObjectives];
+
+			for (int j = 0; j < numberOfObjectives; j++) {
+				points[i][j] /= Math.sqrt(norm);
+				inverted[j] = 1.0 - points[i][j];
+			}
+
+			solutions.add(new Solution(inverted));
+		}
+	}
+
+	/**
+	 * Calculates the hypervolume.
+	 *
+	 * @return the hypervolume
+	 */
+	@Benchmark
+	public double calculate() {
+		if (implementation.equals("wfg")) {
+			return WFGHypervolume.calculate(points, referencePoint);
+		} else {
+			// the calculation reorders the list, so operate on a copy
+			return Hypervolume.calculateHypervolume(
+					new ArrayList<Solution>(solutions), populationSize,
+					numberOfObjectives);
+		}
+	}
+
+}
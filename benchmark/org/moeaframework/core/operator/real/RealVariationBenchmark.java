@@ -0,0 +1,108 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.operator.real;
+
+import java.util.concurrent.TimeUnit;
+
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.Variation;
+import org.moeaframework.core.variable.RealVariable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of the simulated binary crossover ({@link SBX}) and
+ * polynomial mutation ({@link PM}) operators, including copying the parents.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RealVariationBenchmark {
+
+	/**
+	 * The variation operator, either {@code sbx} or {@code pm}.
+	 */
+	@Param({ "sbx", "pm" })
+	public String operator;
+
+	/**
+	 * The number of decision variables.
+	 */
+	@Param({ "10", "100", "1000" })
+	public int numberOfVariables;
+
+	/**
+	 * The variation operator, applied to every variable.
+	 */
+	private Variation variation;
+
+	/**
+	 * The parents.
+	 */
+	private Solution[] parents;
+
+	/**
+	 * Creates the operator and the parents with random decision variables.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		PRNG.setSeed(1234);
+
+		if (operator.equals("sbx")) {
+			variation = new SBX(1.0, 15.0);
+		} else {
+			variation = new PM(1.0, 20.0);
+		}
+
+		parents = new Solution[variation.getArity()];
+
+		for (int i = 0; i < parents.length; i++) {
+			parents[i] = new Solution(numberOfVariables, 2);
+
+			for (int j = 0; j < numberOfVariables; j++) {
+				parents[i].setVariable(j, new RealVariable(PRNG.nextDouble(),
+						0.0, 1.0));
+			}
+		}
+	}
+
+	/**
+	 * Produces the offspring.
+	 *
+	 * @return the offspring
+	 */
+	@Benchmark
+	public Solution[] evolve() {
+		return variation.evolve(parents);
+	}
+
+}
@@ -22,8 +22,14 @@
 #include <string.h>
 #include <math.h>
 #include <errno.h>
+#include <stdint.h>
 #include "moeaframework.h"
 
+#ifdef _WIN32
+#  include <io.h>
+#  include <fcntl.h>
+#endif
+
 #ifdef MOEA_SOCKETS
 #  include <unistd.h>
 #  include <sys/types.h>
@@ -45,6 +51,10 @@ char* MOEA_Line_buffer = NULL;
 size_t MOEA_Line_position = 0;
 size_t MOEA_Line_limit = 0;
 
+int MOEA_Binary = 0;
+uint32_t MOEA_Request_id = 0;
+size_t MOEA_Frame_length = 0;
+
 void MOEA_Error_callback_default(const MOEA_Status status) {
   MOEA_Debug("%s\n", MOEA_Status_message(status));
   MOEA_Terminate();
@@ -77,6 +87,8 @@ const char* MOEA_Status_message(const MOEA_Status status) {
     return "Unable to establish socket connection";
   case MOEA_IO_ERROR:
     return "Unable to read/write from stream";
+  case MOEA_PARSE_EXTRA_DATA:
+    return "Solution contains more data than the variables read";
   default:
     return "Unknown error";
   }
@@ -209,10 +221,138 @@ MOEA_Status MOEA_Debug(const char* format, ...) {
   return MOEA_SUCCESS;
 }
 
+MOEA_Status MOEA_Enable_binary() {
+#ifdef _WIN32
+  /* prevent newline translation on the standard streams */
+  if (MOEA_Stream_input == stdin) {
+    _setmode(_fileno(stdin), _O_BINARY);
+  }
+
+  if (MOEA_Stream_output == stdout) {
+    _setmode(_fileno(stdout), _O_BINARY);
+  }
+#endif
+
+  MOEA_Binary = 1;
+  return MOEA_SUCCESS;
+}
+
+MOEA_Status MOEA_Read_uint32(uint32_t* value) {
+  unsigned char bytes[4];
+  size_t count = fread(bytes, 1, 4, MOEA_Stream_input);
+
+  if (count != 4) {
+    if (ferror(MOEA_Stream_input)) {
+      return MOEA_IO_ERROR;
+    } else if (count == 0) {
+      return MOEA_EOF;
+    } else {
+      return MOEA_PARSE_EOL;
+    }
+  }
+
+  *value = ((uint32_t)bytes[0] << 24) | ((uint32_t)bytes[1] << 16) |
+      ((uint32_t)bytes[2] << 8) | (uint32_t)bytes[3];
+  return MOEA_SUCCESS;
+}
+
+MOEA_Status MOEA_Write_uint32(const uint32_t value) {
+  unsigned char bytes[4];
+
+  bytes[0] = (unsigned char)(value >> 24);
+  bytes[1] = (unsigned char)(value >> 16);
+  bytes[2] = (unsigned char)(value >> 8);
+  bytes[3] = (unsigned char)value;
+
+  if (fwrite(bytes, 1, 4, MOEA_Stream_output) != 4) {
+    return MOEA_IO_ERROR;
+  }
+
+  return MOEA_SUCCESS;
+}
+
+MOEA_Status MOEA_Write_double_binary(const double value) {
+  uint64_t bits;
+  MOEA_Status status;
+
+  memcpy(&bits, &value, sizeof(bits));
+
+  status = MOEA_Write_uint32((uint32_t)(bits >> 32));
+
+  if (status != MOEA_SUCCESS) {
+    return status;
+  }
+
+  return MOEA_Write_uint32((uint32_t)bits);
+}
+
+MOEA_Status MOEA_Read_frame_bytes(const size_t size, unsigned char** bytes) {
+  if (MOEA_Line_buffer == NULL) {
+    return MOEA_Error(MOEA_PARSE_NO_SOLUTION);
+  }
+
+  if (MOEA_Line_position + size > MOEA_Frame_length) {
+    return MOEA_Error(MOEA_PARSE_EOL);
+  }
+
+  *bytes = (unsigned char*)MOEA_Line_buffer + MOEA_Line_position;
+  MOEA_Line_position += size;
+
+  return MOEA_SUCCESS;
+}
+
+uint32_t MOEA_Decode_uint32(const unsigned char* bytes) {
+  return ((uint32_t)bytes[0] << 24) | ((uint32_t)bytes[1] << 16) |
+      ((uint32_t)bytes[2] << 8) | (uint32_t)bytes[3];
+}
+
+MOEA_Status MOEA_Next_frame() {
+  uint32_t length;
+  MOEA_Status status = MOEA_Read_uint32(&MOEA_Request_id);
+
+  if (status == MOEA_EOF) {
+    return MOEA_EOF;
+  } else if (status != MOEA_SUCCESS) {
+    return MOEA_Error(status == MOEA_PARSE_EOL ? MOEA_IO_ERROR : status);
+  }
+
+  status = MOEA_Read_uint32(&length);
+
+  if (status != MOEA_SUCCESS) {
+    return MOEA_Error(MOEA_IO_ERROR);
+  }
+
+  /* increase frame buffer if needed */
+  if ((MOEA_Line_buffer == NULL) || (length > MOEA_Line_limit)) {
+    MOEA_Line_limit = length > MOEA_INITIAL_BUFFER_SIZE ? length :
+        MOEA_INITIAL_BUFFER_SIZE;
+
+    MOEA_Line_buffer = (char*)realloc(MOEA_Line_buffer,
+        MOEA_Line_limit*sizeof(char));
+
+    if (MOEA_Line_buffer == NULL) {
+      return MOEA_Error(MOEA_MALLOC_ERROR);
+    }
+  }
+
+  if (fread(MOEA_Line_buffer, 1, length, MOEA_Stream_input) != length) {
+    return MOEA_Error(MOEA_IO_ERROR);
+  }
+
+  MOEA_Frame_length = length;
+  MOEA_Line_position = 0;
+
+  return MOEA_SUCCESS;
+}
+
 MOEA_Status MOEA_Next_solution() {
   size_t position = 0;
   int character;
 
+  if (MOEA_Binary) {
+    return MOEA_Next_frame();
+  }
+
   if (feof(MOEA_Stream_input)) {
     return MOEA_EOF;
   }
@@ -297,6 +437,21 @@ MOEA_Status MOEA_Read_binary(const int size, int* values) {
   int i = 0;
   char* token = NULL;
   
+  if (MOEA_Binary) {
+    unsigned char* bytes = NULL;
+    MOEA_Status status = MOEA_Read_frame_bytes((size+7)/8, &bytes);
+
+    if (status != MOEA_SUCCESS) {
+      return MOEA_Error(status);
+    }
+
+    for (i=0; i<size; i++) {
+      values[i] = (bytes[i/8] >> (i%8)) & 1;
+    }
+
+    return MOEA_SUCCESS;
+  }
+
   MOEA_Status status = MOEA_Read_token(&token);
   
   if (status != MOEA_SUCCESS) {
@@ -329,6 +484,25 @@ MOEA_Status MOEA_Read_permutation(const int size, int* values) {
   char* token = NULL;
   char* endptr = NULL;
   
+  if (MOEA_Binary) {
+    unsigned char* bytes = NULL;
+    MOEA_Status status = MOEA_Read_frame_bytes(4*size, &bytes);
+
+    if (status != MOEA_SUCCESS) {
+      return MOEA_Error(status);
+    }
+
+    for (i=0; i<size; i++) {
+      values[i] = (int32_t)MOEA_Decode_uint32(bytes + 4*i);
+
+      if ((values[i] < 0) || (values[i] >= size)) {
+        return MOEA_Error(MOEA_PARSE_PERMUTATION_ERROR);
+      }
+    }
+
+    return MOEA_SUCCESS;
+  }
+
   MOEA_Status status = MOEA_Read_token(&token);
   
   if (status != MOEA_SUCCESS) {
@@ -357,6 +531,22 @@ MOEA_Status MOEA_Read_double(double* value) {
   char* token = NULL;
   char* endptr = NULL;
   
+  if (MOEA_Binary) {
+    unsigned char* bytes = NULL;
+    uint64_t bits;
+    MOEA_Status status = MOEA_Read_frame_bytes(8, &bytes);
+
+    if (status != MOEA_SUCCESS) {
+      return MOEA_Error(status);
+    }
+
+    bits = ((uint64_t)MOEA_Decode_uint32(bytes) << 32) |
+        MOEA_Decode_uint32(bytes + 4);
+    memcpy(value, &bits, sizeof(bits));
+
+    return MOEA_SUCCESS;
+  }
+
   MOEA_Status status = MOEA_Read_token(&token);
   
   if (status != MOEA_SUCCESS) {
@@ -395,6 +585,38 @@ MOEA_Status MOEA_Write(const double* objectives, const double* constraints) {
     return MOEA_Error(MOEA_NULL_POINTER_ERROR);   
   }
   
+  if (MOEA_Binary) {
+    /* detect variables left unread, indicating mismatched variable types */
+    if (MOEA_Line_position != MOEA_Frame_length) {
+      return MOEA_Error(MOEA_PARSE_EXTRA_DATA);
+    }
+
+    /* echo the request id followed by the number of values */
+    if ((MOEA_Write_uint32(MOEA_Request_id) != MOEA_SUCCESS) ||
+        (MOEA_Write_uint32(MOEA_Number_objectives + MOEA_Number_constraints) !=
+        MOEA_SUCCESS)) {
+      return MOEA_Error(MOEA_IO_ERROR);
+    }
+
+    for (i=0; i<MOEA_Number_objectives; i++) {
+      if (MOEA_Write_double_binary(objectives[i]) != MOEA_SUCCESS) {
+        return MOEA_Error(MOEA_IO_ERROR);
+      }
+    }
+
+    for (i=0; i<MOEA_Number_constraints; i++) {
+      if (MOEA_Write_double_binary(constraints[i]) != MOEA_SUCCESS) {
+        return MOEA_Error(MOEA_IO_ERROR);
+      }
+    }
+
+    if (fflush(MOEA_Stream_output) == EOF) {
+      return MOEA_Error(MOEA_IO_ERROR);
+    }
+
+    return MOEA_SUCCESS;
+  }
+
   /* write objectives to output */
   for (i=0; i<MOEA_Number_objectives; i++) {
     if (i > 0) {
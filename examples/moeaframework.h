@@ -42,7 +42,8 @@ typedef enum MOEA_Status {
   MOEA_MALLOC_ERROR,
   MOEA_NULL_POINTER_ERROR,
   MOEA_SOCKET_ERROR,
-  MOEA_IO_ERROR
+  MOEA_IO_ERROR,
+  MOEA_PARSE_EXTRA_DATA
 } MOEA_Status;
 
 /**
@@ -94,6 +95,18 @@ MOEA_Status MOEA_Init(const int, const int);
 MOEA_Status MOEA_Init_socket(const int, const int, const char*);
 #endif
 
+/**
+ * Switches communication with the MOEA Framework to the binary protocol.  The
+ * Java problem must also enable the binary protocol by overriding
+ * ExternalProblem#useBinaryProtocol().  This function should be invoked after
+ * initialization and prior to reading any solutions.  The remaining functions
+ * are used identically in either protocol.
+ *
+ * @return MOEA_SUCCESS if this function call completed successfully; or the
+ *         specific error code causing failure
+ */
+MOEA_Status MOEA_Enable_binary();
+
 /**
  * Begins reading the next solution from the MOEA Framework.
  *
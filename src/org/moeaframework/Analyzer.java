@@ -26,8 +26,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.commons.math3.stat.descriptive.UnivariateStatistic;
 import org.apache.commons.math3.stat.descriptive.rank.Max;
@@ -36,10 +42,12 @@ import org.apache.commons.math3.stat.descriptive.rank.Min;
 import org.moeaframework.analysis.sensitivity.ResultEntry;
 import org.moeaframework.analysis.sensitivity.ResultFileReader;
 import org.moeaframework.analysis.sensitivity.ResultFileWriter;
+import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.Indicator;
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.PopulationIO;
 import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
 import org.moeaframework.core.indicator.AdditiveEpsilonIndicator;
 import org.moeaframework.core.indicator.Contribution;
 import org.moeaframework.core.indicator.GenerationalDistance;
@@ -195,6 +203,30 @@ public class Analyzer extends ProblemBuilder {
 	 */
 	private Map<String, List<NondominatedPopulation>> data;
 	
+	/**
+	 * The number of threads used to evaluate the quality indicators.
+	 */
+	private int numberOfThreads;
+	
+	/**
+	 * The indicator values computed by previous analyses, keyed by the
+	 * approximation set.  These values remain valid as long as the signature
+	 * of the analysis is unchanged.
+	 */
+	private final Map<NondominatedPopulation, CachedValues> cachedValues;
+	
+	/**
+	 * The aggregate approximation sets computed by previous analyses, keyed by
+	 * the algorithm name.
+	 */
+	private final Map<String, CachedAggregate> cachedAggregates;
+	
+	/**
+	 * The signature of the last analysis, identifying the problem, reference
+	 * set and indicator settings used to compute the cached values.
+	 */
+	private String cachedSignature;
+	
 	/**
 	 * Constructs a new analyzer initialized with default settings.
 	 */
@@ -204,6 +236,9 @@ public class Analyzer extends ProblemBuilder {
 		significanceLevel = 0.05;
 		statistics = new ArrayList<UnivariateStatistic>();
 		data = new HashMap<String, List<NondominatedPopulation>>();
+		numberOfThreads = 1;
+		cachedValues = new IdentityHashMap<NondominatedPopulation, CachedValues>();
+		cachedAggregates = new HashMap<String, CachedAggregate>();
 	}
 	
 	@Override
@@ -479,6 +514,38 @@ public class Analyzer extends ProblemBuilder {
 		return this;
 	}
 
+	/**
+	 * Enables this analyzer to evaluate the quality indicators across the
+	 * specified number of threads.  Each indicator is evaluated on each
+	 * approximation set as a separate task.  The quality indicators must
+	 * support concurrent calls to {@link Indicator#evaluate}, which is true
+	 * for all indicators provided by this analyzer.
+	 * 
+	 * @param numberOfThreads the number of threads
+	 * @return a reference to this analyzer
+	 * @throws IllegalArgumentException if {@code numberOfThreads <= 0}
+	 */
+	public Analyzer distributeOn(int numberOfThreads) {
+		if (numberOfThreads <= 0) {
+			throw new IllegalArgumentException("invalid number of threads");
+		}
+		
+		this.numberOfThreads = numberOfThreads;
+		
+		return this;
+	}
+	
+	/**
+	 * Enables this analyzer to evaluate the quality indicators across all
+	 * processors on the local host.
+	 * 
+	 * @return a reference to this analyzer
+	 * @see #distributeOn(int)
+	 */
+	public Analyzer distributeOnAllCores() {
+		return distributeOn(Runtime.getRuntime().availableProcessors());
+	}
+	
 	/**
 	 * Adds the collection of new samples with the specified name.
 	 * 
@@ -775,50 +842,77 @@ public class Analyzer extends ProblemBuilder {
 				return new AnalyzerResults();
 			}
 			
-			//generate the aggregate sets
-			Map<String, NondominatedPopulation> aggregateSets =
-					new HashMap<String, NondominatedPopulation>();
+			//discard any cached values computed with different settings
+			String signature = getSignature(problem, referenceSet);
 			
-			if (showAggregate) {
-				for (String algorithm : data.keySet()) {
-					NondominatedPopulation aggregateSet = newArchive();
-					
-					for (NondominatedPopulation set : data.get(algorithm)) {
-						aggregateSet.addAll(set);
-					}
-					
-					aggregateSets.put(algorithm, aggregateSet);
-				}
+			if (!signature.equals(cachedSignature)) {
+				cachedValues.clear();
+				cachedAggregates.clear();
+				cachedSignature = signature;
 			}
 			
 			//precompute the individual seed metrics, as they are used both
-			//for descriptive statistics and statistical significance tests
+			//for descriptive statistics and statistical significance tests;
+			//each value is written into the results as soon as it is computed
 			AnalyzerResults analyzerResults = new AnalyzerResults();
+			List<CompletableFuture<?>> futures =
+					new ArrayList<CompletableFuture<?>>();
+			ExecutorService executorService = numberOfThreads > 1 ?
+					Executors.newFixedThreadPool(numberOfThreads) : null;
+			java.util.concurrent.Executor executor = executorService == null ?
+					Runnable::run : executorService;
 			
-			for (String algorithm : data.keySet()) {
-				AlgorithmResult algorithmResult = new AlgorithmResult(
-						algorithm);
-				
-				for (Indicator indicator : indicators) {
-					String indicatorName = indicator.getClass().getSimpleName();
+			try {
+				for (String algorithm : data.keySet()) {
+					AlgorithmResult algorithmResult = new AlgorithmResult(
+							algorithm);
 					List<NondominatedPopulation> sets = data.get(algorithm);
-					double[] values = new double[sets.size()];
+					CompletableFuture<NondominatedPopulation> aggregateSet = null;
 					
-					for (int i=0; i<sets.size(); i++) {
-						values[i] = indicator.evaluate(sets.get(i));
+					if (showAggregate) {
+						aggregateSet = CompletableFuture.supplyAsync(
+								() -> getAggregateSet(algorithm, sets), executor);
 					}
 					
-					algorithmResult.add(new IndicatorResult(
-							indicatorName, values));
-					
-					if (showAggregate) {
-						algorithmResult.get(indicatorName).setAggregateValue(
-								indicator.evaluate(
-										aggregateSets.get(algorithm)));
+					for (Indicator indicator : indicators) {
+						String indicatorName = indicator.getClass().getSimpleName();
+						double[] values = new double[sets.size()];
+						IndicatorResult indicatorResult = new IndicatorResult(
+								indicatorName, values);
+						
+						for (int i=0; i<sets.size(); i++) {
+							int index = i;
+							
+							futures.add(CompletableFuture.runAsync(() -> {
+								values[index] = evaluate(indicator, sets.get(index));
+							}, executor));
+						}
+						
+						if (showAggregate) {
+							futures.add(aggregateSet.thenAcceptAsync(set -> {
+								indicatorResult.setAggregateValue(
+										evaluate(indicator, set));
+							}, executor));
+						}
+						
+						algorithmResult.add(indicatorResult);
 					}
+					
+					analyzerResults.add(algorithmResult);
 				}
 				
-				analyzerResults.add(algorithmResult);
+				CompletableFuture.allOf(futures.toArray(
+						new CompletableFuture<?>[futures.size()])).join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException)e.getCause();
+				} else {
+					throw new FrameworkException(e.getCause());
+				}
+			} finally {
+				if (executorService != null) {
+					executorService.shutdownNow();
+				}
 			}
 			
 			//precompute the statistical significance of the medians
@@ -914,9 +1008,241 @@ public class Analyzer extends ProblemBuilder {
 	public Analyzer clear() {
 		data.clear();
 		
+		synchronized (cachedValues) {
+			cachedValues.clear();
+		}
+		
+		synchronized (cachedAggregates) {
+			cachedAggregates.clear();
+		}
+		
 		return this;
 	}
 	
+	/**
+	 * Evaluates the indicator on the approximation set, reusing the value from
+	 * a previous analysis if the approximation set is unchanged.
+	 * 
+	 * @param indicator the indicator
+	 * @param set the approximation set
+	 * @return the indicator value
+	 */
+	private double evaluate(Indicator indicator, NondominatedPopulation set) {
+		long fingerprint = fingerprint(set);
+		CachedValues values = null;
+		
+		synchronized (cachedValues) {
+			values = cachedValues.get(set);
+			
+			if ((values == null) || (values.fingerprint != fingerprint)) {
+				values = new CachedValues(fingerprint);
+				cachedValues.put(set, values);
+			}
+		}
+		
+		String key = indicator.getClass().getSimpleName();
+		Double value = values.values.get(key);
+		
+		if (value == null) {
+			// evaluate outside the map so other indicators are not blocked; a
+			// concurrent evaluation of the same indicator yields the same value
+			value = indicator.evaluate(set);
+			
+			Double existing = values.values.putIfAbsent(key, value);
+			
+			if (existing != null) {
+				value = existing;
+			}
+		}
+		
+		return value;
+	}
+	
+	/**
+	 * Returns the aggregate approximation set for the given algorithm.  If the
+	 * approximation sets from a previous analysis are unchanged, the previous
+	 * aggregate set is returned or extended with any newly added sets.
+	 * 
+	 * @param algorithm the algorithm name
+	 * @param sets the approximation sets for the algorithm
+	 * @return the aggregate approximation set
+	 */
+	private NondominatedPopulation getAggregateSet(String algorithm,
+			List<NondominatedPopulation> sets) {
+		long[] fingerprints = new long[sets.size()];
+		
+		for (int i=0; i<sets.size(); i++) {
+			fingerprints[i] = fingerprint(sets.get(i));
+		}
+		
+		CachedAggregate aggregate = null;
+		
+		synchronized (cachedAggregates) {
+			aggregate = cachedAggregates.get(algorithm);
+		}
+		
+		int start = 0;
+		NondominatedPopulation aggregateSet = null;
+		
+		if ((aggregate != null) && aggregate.isPrefixOf(sets, fingerprints)) {
+			start = aggregate.sets.size();
+			
+			if (start == sets.size()) {
+				return aggregate.aggregateSet;
+			}
+			
+			//copy the previous set so cached values computed on it remain valid
+			aggregateSet = newArchive();
+			aggregateSet.addAll(aggregate.aggregateSet);
+		} else {
+			aggregateSet = newArchive();
+		}
+		
+		for (int i=start; i<sets.size(); i++) {
+			aggregateSet.addAll(sets.get(i));
+		}
+		
+		if (aggregate != null) {
+			synchronized (cachedValues) {
+				cachedValues.remove(aggregate.aggregateSet);
+			}
+		}
+		
+		synchronized (cachedAggregates) {
+			cachedAggregates.put(algorithm, new CachedAggregate(
+					new ArrayList<NondominatedPopulation>(sets), fingerprints,
+					aggregateSet));
+		}
+		
+		return aggregateSet;
+	}
+	
+	/**
+	 * Returns a string identifying the problem, reference set and indicator
+	 * settings of an analysis.  Cached indicator values are only reused if
+	 * this signature is unchanged.
+	 * 
+	 * @param problem the problem
+	 * @param referenceSet the reference set
+	 * @return the signature of the analysis
+	 */
+	private String getSignature(Problem problem, NondominatedPopulation referenceSet) {
+		return problem.getName() + ";" + problem.getNumberOfObjectives() + ";" +
+				referenceSet.size() + ";" + fingerprint(referenceSet) + ";" +
+				Arrays.toString(epsilon) + ";" + Arrays.toString(idealPoint) + ";" +
+				Arrays.toString(referencePoint);
+	}
+	
+	/**
+	 * Returns a hash of the objective values of an approximation set, used to
+	 * detect if the set was modified after its indicator values were cached.
+	 * 
+	 * @param set the approximation set
+	 * @return the hash of the objective values
+	 */
+	private static long fingerprint(NondominatedPopulation set) {
+		long hash = set.size();
+		
+		for (Solution solution : set) {
+			for (int i=0; i<solution.getNumberOfObjectives(); i++) {
+				hash = 31*hash + Double.doubleToLongBits(solution.getObjective(i));
+			}
+		}
+		
+		return hash;
+	}
+	
+	/**
+	 * The indicator values cached for a single approximation set.
+	 */
+	private static class CachedValues {
+		
+		/**
+		 * The hash of the objective values when the values were computed.
+		 */
+		private final long fingerprint;
+		
+		/**
+		 * The indicator values, keyed by the indicator name.
+		 */
+		private final Map<String, Double> values;
+		
+		/**
+		 * Constructs an empty cache for a single approximation set.
+		 * 
+		 * @param fingerprint the hash of the objective values
+		 */
+		public CachedValues(long fingerprint) {
+			super();
+			this.fingerprint = fingerprint;
+			
+			values = new ConcurrentHashMap<String, Double>();
+		}
+		
+	}
+	
+	/**
+	 * The aggregate approximation set cached for a single algorithm.
+	 */
+	private static class CachedAggregate {
+		
+		/**
+		 * The approximation sets contained in the aggregate set.
+		 */
+		private final List<NondominatedPopulation> sets;
+		
+		/**
+		 * The hashes of the objective values of each approximation set.
+		 */
+		private final long[] fingerprints;
+		
+		/**
+		 * The aggregate set.
+		 */
+		private final NondominatedPopulation aggregateSet;
+
+		/**
+		 * Constructs a new cached aggregate set.
+		 * 
+		 * @param sets the approximation sets contained in the aggregate set
+		 * @param fingerprints the hashes of each approximation set
+		 * @param aggregateSet the aggregate set
+		 */
+		public CachedAggregate(List<NondominatedPopulation> sets,
+				long[] fingerprints, NondominatedPopulation aggregateSet) {
+			super();
+			this.sets = sets;
+			this.fingerprints = fingerprints;
+			this.aggregateSet = aggregateSet;
+		}
+		
+		/**
+		 * Returns {@code true} if the approximation sets in this aggregate are
+		 * an unmodified prefix of the given approximation sets.
+		 * 
+		 * @param otherSets the approximation sets
+		 * @param otherFingerprints the hashes of each approximation set
+		 * @return {@code true} if the approximation sets in this aggregate are
+		 *         an unmodified prefix of the given approximation sets
+		 */
+		public boolean isPrefixOf(List<NondominatedPopulation> otherSets,
+				long[] otherFingerprints) {
+			if (sets.size() > otherSets.size()) {
+				return false;
+			}
+			
+			for (int i=0; i<sets.size(); i++) {
+				if ((sets.get(i) != otherSets.get(i)) ||
+						(fingerprints[i] != otherFingerprints[i])) {
+					return false;
+				}
+			}
+			
+			return true;
+		}
+		
+	}
+	
 	/**
 	 * Stores the results produced by this analyzer.
 	 */
@@ -21,14 +21,23 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.moeaframework.algorithm.AsynchronousSteadyStateAlgorithm;
 import org.moeaframework.algorithm.Checkpoints;
+import org.moeaframework.algorithm.SteadyStateAlgorithm;
 import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Problem;
+import org.moeaframework.core.SplittableStreamRandom;
 import org.moeaframework.core.TerminationCondition;
 import org.moeaframework.core.spi.AlgorithmFactory;
 import org.moeaframework.core.spi.ProblemFactory;
@@ -85,6 +94,9 @@ import org.moeaframework.util.progress.ProgressListener;
  *       .withCheckpointFile(new File("example.state"))
  *       .run();
  * </pre>
+ * Steady-state algorithms, such as MOEA/D, SMS-EMOA, &epsilon;-MOEA and PAES,
+ * evaluate one offspring at a time and benefit from distributed evaluations
+ * only when {@link #withAsynchronousEvaluation()} is also enabled.
  */
 public class Executor extends ProblemBuilder {
 	
@@ -103,12 +115,36 @@ public class Executor extends ProblemBuilder {
 	 */
 	private int numberOfThreads;
 	
+	/**
+	 * The number of threads for running seeds concurrently, or {@code 0} if
+	 * {@link #distributeSeedsOn(int)} has not been called.
+	 */
+	private int numberOfSeedThreads;
+	
+	/**
+	 * The copy of the properties used by the seed running on the current
+	 * thread when seeds run concurrently.
+	 */
+	private final ThreadLocal<TypedProperties> seedProperties;
+	
 	/**
 	 * The executor service for distributing jobs; or {@code null} if
 	 * distribution is local.
 	 */
 	private ExecutorService executorService;
 	
+	/**
+	 * {@code true} if steady-state algorithms evaluate offspring
+	 * asynchronously; {@code false} otherwise.
+	 */
+	private boolean asynchronous;
+	
+	/**
+	 * The maximum number of evaluations in flight when evaluating offspring
+	 * asynchronously, or {@code 0} to match the number of threads.
+	 */
+	private int maxPendingEvaluations;
+	
 	/**
 	 * The checkpoint file for storing the algorithm state; or {@code null} if
 	 * checkpoints are not used.
@@ -161,6 +197,8 @@ public class Executor extends ProblemBuilder {
 		progress = new ProgressHelper(this);
 		properties = new TypedProperties();
 		numberOfThreads = 1;
+		numberOfSeedThreads = 0;
+		seedProperties = new ThreadLocal<TypedProperties>();
 		terminationConditions = new ArrayList<TerminationCondition>();
 	}
 	
@@ -321,9 +359,98 @@ public class Executor extends ProblemBuilder {
 		return distributeOn(Runtime.getRuntime().availableProcessors());
 	}
 	
+	/**
+	 * Enables {@link #runSeeds(int)} to run up to the specified number of
+	 * seeds concurrently.  Each seed creates its own problem instance,
+	 * algorithm, and checkpoint file, and draws random numbers from its own
+	 * stream as defined by {@link SplittableStreamRandom}.  If a problem
+	 * instance was provided, it is shared by all seeds, must be thread-safe,
+	 * and is never closed by this executor.
+	 * <p>
+	 * If the source of randomness is not a {@code SplittableStreamRandom},
+	 * the seeds draw from a private one seeded from the current source.  The
+	 * source of randomness used by other threads is unchanged.  Since every
+	 * seed runs in the same stream whether seeds run concurrently or not, the
+	 * seeds produce the same results regardless of the number of threads,
+	 * including one.
+	 * <p>
+	 * Seeds run sequentially when an instrumenter or custom termination
+	 * conditions are used, as these can not be shared between concurrent
+	 * seeds.  This can be combined with {@link #distributeOn(int)}, in which
+	 * case each seed also distributes its evaluations.
+	 * 
+	 * @param numberOfThreads the number of threads
+	 * @return a reference to this executor
+	 * @throws IllegalArgumentException if {@code numberOfThreads <= 0}
+	 */
+	public Executor distributeSeedsOn(int numberOfThreads) {
+		if (numberOfThreads <= 0) {
+			throw new IllegalArgumentException("invalid number of threads");
+		}
+		
+		this.numberOfSeedThreads = numberOfThreads;
+		
+		return this;
+	}
+	
+	/**
+	 * Enables {@link #runSeeds(int)} to run seeds concurrently across all
+	 * processors on the local host.
+	 * 
+	 * @return a reference to this executor
+	 * @see #distributeSeedsOn(int)
+	 */
+	public Executor distributeSeedsOnAllCores() {
+		return distributeSeedsOn(Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Enables steady-state algorithms to evaluate offspring asynchronously,
+	 * keeping one evaluation in flight for each thread and integrating each
+	 * offspring as soon as its evaluation completes.  When distributing with
+	 * an {@link ExecutorService}, one evaluation is kept in flight for each
+	 * processor on the local host.  This has no effect unless solution
+	 * evaluations are distributed or if the algorithm does not implement
+	 * {@link SteadyStateAlgorithm}.
+	 * 
+	 * @return a reference to this executor
+	 * @see AsynchronousSteadyStateAlgorithm
+	 */
+	public Executor withAsynchronousEvaluation() {
+		return withAsynchronousEvaluation(0);
+	}
+	
+	/**
+	 * Enables steady-state algorithms to evaluate offspring asynchronously,
+	 * keeping up to the given number of evaluations in flight and integrating
+	 * each offspring as soon as its evaluation completes.  This has no effect
+	 * unless solution evaluations are distributed or if the algorithm does not
+	 * implement {@link SteadyStateAlgorithm}.
+	 * 
+	 * @param maxPendingEvaluations the maximum number of evaluations in
+	 *        flight, or {@code 0} to keep one evaluation in flight for each
+	 *        thread
+	 * @return a reference to this executor
+	 * @throws IllegalArgumentException if {@code maxPendingEvaluations < 0}
+	 * @see AsynchronousSteadyStateAlgorithm
+	 */
+	public Executor withAsynchronousEvaluation(int maxPendingEvaluations) {
+		if (maxPendingEvaluations < 0) {
+			throw new IllegalArgumentException(
+					"invalid number of pending evaluations");
+		}
+		
+		this.asynchronous = true;
+		this.maxPendingEvaluations = maxPendingEvaluations;
+		
+		return this;
+	}
+	
 	/**
 	 * Sets the checkpoint file where the algorithm state is stored.  This
-	 * method must be invoked in order to enable checkpoints.
+	 * method must be invoked in order to enable checkpoints.  When running
+	 * multiple seeds, each seed stores its state in a separate file named by
+	 * appending the seed number, such as {@code checkpoint.dat.1}.
 	 * 
 	 * @param checkpointFile the checkpoint file
 	 * @return a reference to this executor
@@ -358,7 +485,8 @@ public class Executor extends ProblemBuilder {
 	}
 	
 	/**
-	 * Deletes the checkpoint file if it exists.
+	 * Deletes the checkpoint file, along with the checkpoint files of
+	 * individual seeds, if they exist.
 	 * 
 	 * @return a reference to this executor
 	 * @throws IOException if the checkpoint file could not be deleted
@@ -366,11 +494,40 @@ public class Executor extends ProblemBuilder {
 	public Executor resetCheckpointFile() throws IOException {
 		if (checkpointFile != null) {
 			FileUtils.delete(checkpointFile);
+			
+			File directory = checkpointFile.getAbsoluteFile().getParentFile();
+			String prefix = checkpointFile.getName() + ".";
+			File[] seedFiles = directory.listFiles((dir, name) ->
+					name.startsWith(prefix) && name.substring(prefix.length()).matches("[0-9]+"));
+			
+			if (seedFiles != null) {
+				for (File seedFile : seedFiles) {
+					FileUtils.delete(seedFile);
+				}
+			}
 		}
 		
 		return this;
 	}
 	
+	/**
+	 * Returns the checkpoint file for the given seed, or {@code null} if
+	 * checkpoints are not used.
+	 * 
+	 * @param seed the current seed being run, such that
+	 *        {@code 1 <= seed <= numberOfSeeds}
+	 * @param numberOfSeeds to total number of seeds being run
+	 * @return the checkpoint file for the given seed, or {@code null} if
+	 *         checkpoints are not used
+	 */
+	private File getCheckpointFile(int seed, int numberOfSeeds) {
+		if ((checkpointFile == null) || (numberOfSeeds == 1)) {
+			return checkpointFile;
+		} else {
+			return new File(checkpointFile.getPath() + "." + seed);
+		}
+	}
+	
 	/**
 	 * Sets the &epsilon; values; equivalent to setting the property
 	 * {@code epsilon}.
@@ -667,6 +824,17 @@ public class Executor extends ProblemBuilder {
 	 * @return the termination condition
 	 */
 	protected TerminationCondition createTerminationCondition() {
+		return createTerminationCondition(properties);
+	}
+	
+	/**
+	 * Returns the termination condition for this executor, reading the
+	 * maximum evaluations and time from the given properties.
+	 * 
+	 * @param properties the properties
+	 * @return the termination condition
+	 */
+	private TerminationCondition createTerminationCondition(TypedProperties properties) {
 		int maxEvaluations = (int)properties.getDouble("maxEvaluations", -1);
 		long maxTime = (long)properties.getDouble("maxTime", -1);
 		
@@ -701,7 +869,8 @@ public class Executor extends ProblemBuilder {
 	 * Runs this executor with its configured settings multiple times,
 	 * returning the individual end-of-run approximation sets.  If the run
 	 * is canceled, the list contains any complete seeds that finished prior
-	 * to cancellation.
+	 * to cancellation.  Seeds run concurrently if enabled by
+	 * {@link #distributeSeedsOn(int)}.
 	 * 
 	 * @param numberOfSeeds the number of seeds to run
 	 * @return the individual end-of-run approximation sets
@@ -709,25 +878,24 @@ public class Executor extends ProblemBuilder {
 	public List<NondominatedPopulation> runSeeds(int numberOfSeeds) {
 		isCanceled.set(false);
 		
-		if ((checkpointFile != null) && (numberOfSeeds > 1)) {
-			System.err.println(
-					"checkpoints not supported when running multiple seeds");
-			checkpointFile = null;
-		}
-		
 		int maxEvaluations = properties.getInt("maxEvaluations", -1);
 		long maxTime = properties.getLong("maxTime", -1);
-		List<NondominatedPopulation> results =
-				new ArrayList<NondominatedPopulation>();
+		List<NondominatedPopulation> results = null;
 		
 		progress.start(numberOfSeeds, maxEvaluations, maxTime);
 		
-		for (int i = 0; i < numberOfSeeds && !isCanceled.get(); i++) {
-			NondominatedPopulation result = runSingleSeed(i+1, numberOfSeeds);
+		if (numberOfSeedThreads > 0) {
+			results = runSeedsInStreams(numberOfSeeds);
+		} else {
+			results = new ArrayList<NondominatedPopulation>();
 			
-			results.add(result);
+			for (int i = 0; i < numberOfSeeds && !isCanceled.get(); i++) {
+				NondominatedPopulation result = runSeedInStream(i+1, numberOfSeeds);
 				
-			progress.nextSeed();
+				results.add(result);
+					
+				progress.nextSeed();
+			}
 		}
 		
 		progress.stop();
@@ -735,6 +903,150 @@ public class Executor extends ProblemBuilder {
 		return results;
 	}
 	
+	/**
+	 * Returns {@code true} if seeds can run concurrently; {@code false}
+	 * otherwise.  Prints a warning if seeds must run sequentially.
+	 * 
+	 * @return {@code true} if seeds can run concurrently; {@code false}
+	 *         otherwise
+	 */
+	private boolean canRunSeedsConcurrently() {
+		if ((instrumenter != null) || !terminationConditions.isEmpty()) {
+			System.err.println("seeds can not run concurrently with an instrumenter " +
+					"or custom termination conditions, running sequentially");
+			return false;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Runs each seed in its own stream of random numbers, concurrently if
+	 * possible, returning the end-of-run approximation sets of the seeds that
+	 * completed in order.  The streams are derived identically whether the
+	 * seeds run concurrently or sequentially.
+	 * 
+	 * @param numberOfSeeds the number of seeds to run
+	 * @return the end-of-run approximation sets of the completed seeds
+	 */
+	private List<NondominatedPopulation> runSeedsInStreams(final int numberOfSeeds) {
+		Random random = PRNG.getRandom();
+		final SplittableStreamRandom seedRandom = random instanceof SplittableStreamRandom ?
+				(SplittableStreamRandom)random : new SplittableStreamRandom(random.nextLong());
+		
+		if ((numberOfSeedThreads > 1) && (numberOfSeeds > 1) && canRunSeedsConcurrently()) {
+			return runSeedsConcurrently(numberOfSeeds, seedRandom);
+		}
+		
+		List<NondominatedPopulation> results = new ArrayList<NondominatedPopulation>();
+		
+		try {
+			for (int i = 0; i < numberOfSeeds && !isCanceled.get(); i++) {
+				final int seed = i+1;
+				
+				results.add(PRNG.withRandom(seedRandom, seedRandom.withStream(seed,
+						() -> runSingleSeed(seed, numberOfSeeds))).call());
+				
+				progress.nextSeed();
+			}
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new FrameworkException(e);
+		}
+		
+		return results;
+	}
+	
+	/**
+	 * Runs the seeds concurrently, returning the end-of-run approximation
+	 * sets of the seeds that completed in order.
+	 * 
+	 * @param numberOfSeeds the number of seeds to run
+	 * @param seedRandom the source of randomness from which the stream of
+	 *        each seed is derived
+	 * @return the end-of-run approximation sets of the completed seeds
+	 */
+	private List<NondominatedPopulation> runSeedsConcurrently(final int numberOfSeeds,
+			final SplittableStreamRandom seedRandom) {
+		ExecutorService seedExecutor = Executors.newFixedThreadPool(
+				Math.min(numberOfSeedThreads, numberOfSeeds));
+		
+		try {
+			List<Future<NondominatedPopulation>> futures = new ArrayList<Future<NondominatedPopulation>>();
+			
+			for (int i = 0; i < numberOfSeeds; i++) {
+				final int seed = i+1;
+				final TypedProperties properties = new TypedProperties();
+				properties.addAll(this.properties);
+				
+				futures.add(seedExecutor.submit(PRNG.withRandom(seedRandom, seedRandom.withStream(seed, () -> {
+					NondominatedPopulation result = null;
+					
+					seedProperties.set(properties);
+					
+					try {
+						result = runSingleSeed(seed, numberOfSeeds);
+					} finally {
+						seedProperties.remove();
+					}
+					
+					if (result != null) {
+						progress.nextSeed(seed);
+					}
+					
+					return result;
+				}))));
+			}
+			
+			List<NondominatedPopulation> results = new ArrayList<NondominatedPopulation>();
+			
+			for (Future<NondominatedPopulation> future : futures) {
+				NondominatedPopulation result = future.get();
+				
+				if (result != null) {
+					results.add(result);
+				}
+			}
+			
+			return results;
+		} catch (InterruptedException e) {
+			cancel();
+			throw new FrameworkException("execution was interrupted", e);
+		} catch (ExecutionException e) {
+			cancel();
+			
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)e.getCause();
+			} else {
+				throw new FrameworkException("execution failed", e.getCause());
+			}
+		} finally {
+			seedExecutor.shutdownNow();
+		}
+	}
+	
+	/**
+	 * Runs a single seed in its own stream of random numbers, as defined by
+	 * {@link PRNG#withStream(long, Callable)}, so the result of each seed does
+	 * not depend on the seeds run before it.  This has no effect unless the
+	 * source of randomness is a {@link SplittableStreamRandom}.
+	 * 
+	 * @param seed the current seed being run, such that
+	 *        {@code 1 <= seed <= numberOfSeeds}
+	 * @param numberOfSeeds to total number of seeds being run
+	 * @return the end-of-run approximation set; or {@code null} if canceled
+	 */
+	private NondominatedPopulation runSeedInStream(int seed, int numberOfSeeds) {
+		try {
+			return PRNG.withStream(seed, () -> runSingleSeed(seed, numberOfSeeds)).call();
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new FrameworkException(e);
+		}
+	}
+	
 	/**
 	 * Runs this executor with its configured settings.
 	 * 
@@ -775,6 +1087,22 @@ public class Executor extends ProblemBuilder {
 		
 		return getProblemInstance();
 	}
+	
+	/**
+	 * Returns the maximum number of evaluations in flight when evaluating
+	 * offspring asynchronously.
+	 * 
+	 * @return the maximum number of evaluations in flight
+	 */
+	private int getMaxPendingEvaluations() {
+		if (maxPendingEvaluations > 0) {
+			return maxPendingEvaluations;
+		} else if (executorService != null) {
+			return Runtime.getRuntime().availableProcessors();
+		} else {
+			return numberOfThreads;
+		}
+	}
 
 	/**
 	 * Runs this executor with its configured settings.
@@ -786,6 +1114,23 @@ public class Executor extends ProblemBuilder {
 	 * @return the end-of-run approximation set; or {@code null} if canceled
 	 */
 	protected NondominatedPopulation runSingleSeed(int seed, int numberOfSeeds) {
+		TypedProperties properties = seedProperties.get();
+		
+		return runSingleSeed(seed, numberOfSeeds, properties == null ? this.properties : properties);
+	}
+	
+	/**
+	 * Runs this executor with its configured settings, reading the algorithm
+	 * parameters from the given properties.  Seeds running concurrently each
+	 * use their own copy of the properties.
+	 * 
+	 * @param seed the current seed being run, such that
+	 *        {@code 1 <= seed <= numberOfSeeds}
+	 * @param numberOfSeeds to total number of seeds being run
+	 * @param properties the properties
+	 * @return the end-of-run approximation set; or {@code null} if canceled
+	 */
+	private NondominatedPopulation runSingleSeed(int seed, int numberOfSeeds, TypedProperties properties) {
 		if (algorithmName == null) {
 			throw new IllegalArgumentException("no algorithm specified");
 		}
@@ -814,10 +1159,18 @@ public class Executor extends ProblemBuilder {
 							problem);
 				}
 
+				if (asynchronous &&
+						(algorithm instanceof SteadyStateAlgorithm)) {
+					algorithm = new AsynchronousSteadyStateAlgorithm(
+							(SteadyStateAlgorithm)algorithm,
+							getMaxPendingEvaluations(),
+							(int)properties.getDouble("maxEvaluations", -1));
+				}
+
 				if (checkpointFile != null) {
 					algorithm = new Checkpoints(
 							algorithm, 
-							checkpointFile,
+							getCheckpointFile(seed, numberOfSeeds),
 							checkpointFrequency);
 				}
 					
@@ -825,7 +1178,7 @@ public class Executor extends ProblemBuilder {
 					algorithm = instrumenter.instrument(algorithm);
 				}
 					
-				TerminationCondition terminationCondition = createTerminationCondition();
+				TerminationCondition terminationCondition = createTerminationCondition(properties);
 				terminationCondition.initialize(algorithm);
 					
 				properties.warnIfUnaccessedProperties();
@@ -839,7 +1192,7 @@ public class Executor extends ProblemBuilder {
 					}
 						
 					algorithm.step();
-					progress.setCurrentNFE(algorithm.getNumberOfEvaluations());
+					progress.setCurrentNFE(seed, algorithm, algorithm.getNumberOfEvaluations());
 				}
 
 				result.addAll(algorithm.getResult());
@@ -24,9 +24,11 @@ import java.lang.reflect.InvocationTargetException;
 import org.apache.commons.lang3.reflect.ConstructorUtils;
 import org.moeaframework.core.EpsilonBoxDominanceArchive;
 import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.IndexedNondominatedPopulation;
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.PopulationIO;
 import org.moeaframework.core.Problem;
+import org.moeaframework.core.Settings;
 import org.moeaframework.core.comparator.ParetoDominanceComparator;
 import org.moeaframework.core.spi.ProblemFactory;
 import org.moeaframework.problem.ProblemWrapper;
@@ -228,13 +230,20 @@ class ProblemBuilder {
 	/**
 	 * Returns an empty non-dominated population or &epsilon;-box dominance
 	 * archive, depending on whether the {@code epsilon} field is set.  This is
-	 * the archive used to store the reference set.
+	 * the archive used to store the reference set.  The non-dominated
+	 * population is backed by a spatial index if enabled by
+	 * {@link Settings#useIndexedArchive()}.
 	 * 
 	 * @return an empty non-dominated population or &epsilon;-box dominance
 	 *         archive, depending on whether the {@code epsilon} field is set.
 	 */
 	NondominatedPopulation newArchive() {
 		if (epsilon == null) {
+			if (Settings.useIndexedArchive()) {
+				return new IndexedNondominatedPopulation(
+						new ParetoDominanceComparator());
+			}
+			
 			return new NondominatedPopulation(new ParetoDominanceComparator());
 		} else {
 			return new EpsilonBoxDominanceArchive(epsilon);
@@ -276,13 +285,23 @@ class ProblemBuilder {
 			if (factorySet == null) {
 				throw new IllegalArgumentException(
 						"no reference set available");
+			} else if (isParetoArchive(referenceSet) &&
+					isParetoArchive(factorySet)) {
+				// already non-dominated, avoid repeating the dominance checks
+				return factorySet;
 			} else {
 				referenceSet.addAll(factorySet);
 			}
 		} else {
 			try {
-				referenceSet.addAll(PopulationIO.readObjectives(
-						referenceSetFile));
+				NondominatedPopulation fileSet =
+						PopulationIO.readReferenceSet(referenceSetFile.getPath());
+				
+				if (isParetoArchive(referenceSet)) {
+					return fileSet;
+				}
+				
+				referenceSet.addAll(fileSet);
 			} catch (IOException e) {
 				throw new IllegalArgumentException(
 						"unable to load reference set", e);
@@ -292,6 +311,21 @@ class ProblemBuilder {
 		return referenceSet;
 	}
 	
+	/**
+	 * Returns {@code true} if the population is a plain non-dominated
+	 * population using Pareto dominance, in which case reference sets loaded
+	 * into it need not be filtered again.
+	 * 
+	 * @param population the population
+	 * @return {@code true} if the population is a plain non-dominated
+	 *         population using Pareto dominance; {@code false} otherwise
+	 */
+	private static boolean isParetoArchive(NondominatedPopulation population) {
+		return (population.getClass() == NondominatedPopulation.class) &&
+				(population.getComparator().getClass() ==
+						ParetoDominanceComparator.class);
+	}
+	
 	/**
 	 * Returns a new instance of the problem used by this builder, or throws
 	 * an exception if no problem has been defined.  The code requesting the
@@ -19,7 +19,9 @@ package org.moeaframework.algorithm;
 
 import java.io.NotSerializableException;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.moeaframework.core.Algorithm;
 import org.moeaframework.core.Problem;
@@ -38,6 +40,10 @@ import org.moeaframework.core.Solution;
  *   <li>When possible, prefer evaluating all solutions at once by calling
  *       {@link #evaluateAll}. Doing so allows function evaluations to run
  *       in parallel when enabled (see {@code Executor#distributeOnAllCores()}).
+ *   <li>Batches of solutions are evaluated by {@link #evaluateBatch(List)},
+ *       which passes the whole batch to the problem unless a subclass
+ *       overrides {@link #evaluate}, in which case each solution is passed to
+ *       {@code evaluate}.
  *   <li>Implement the algorithm by overriding the {@link #initialize()} and
  *       {@link #iterate()} methods.
  * </ol>
@@ -53,6 +59,12 @@ public abstract class AbstractAlgorithm implements Algorithm {
 	 * The number of times the {@link #evaluate} method was invoked.
 	 */
 	protected int numberOfEvaluations;
+	
+	/**
+	 * {@code true} if this class overrides {@link #evaluate(Solution)}, in
+	 * which case batches are evaluated one solution at a time.
+	 */
+	private final boolean evaluateOverridden;
 
 	/**
 	 * {@code true} if the {@link #initialize()} method has been invoked;
@@ -74,19 +86,66 @@ public abstract class AbstractAlgorithm implements Algorithm {
 	public AbstractAlgorithm(Problem problem) {
 		super();
 		this.problem = problem;
+		
+		evaluateOverridden = isEvaluateOverridden(getClass());
+	}
+	
+	/**
+	 * Returns {@code true} if the given class overrides
+	 * {@link #evaluate(Solution)}.
+	 * 
+	 * @param type the class
+	 * @return {@code true} if the given class overrides {@code evaluate};
+	 *         {@code false} otherwise
+	 */
+	private static boolean isEvaluateOverridden(Class<?> type) {
+		try {
+			return type.getMethod("evaluate", Solution.class).getDeclaringClass() !=
+					AbstractAlgorithm.class;
+		} catch (NoSuchMethodException e) {
+			return true;
+		}
 	}
 
 	/**
-	 * Evaluates the specified solutions. This method calls
-	 * {@link #evaluate(Solution)} on each of the solutions. Subclasses should
-	 * prefer calling this method over {@code evaluate} whenever possible,
-	 * as this ensures the solutions can be evaluated in parallel.
+	 * Evaluates the specified solutions. This method collects the solutions
+	 * and passes them to {@link #evaluateBatch(List)} in a single batch.
+	 * Subclasses should prefer calling this method over {@code evaluate}
+	 * whenever possible, as this ensures the solutions can be evaluated in
+	 * parallel or in batch.
 	 * 
 	 * @param solutions the solutions to evaluate
 	 */
 	public void evaluateAll(Iterable<Solution> solutions) {
+		List<Solution> batch = new ArrayList<Solution>();
+		
 		for (Solution solution : solutions) {
-			evaluate(solution);
+			batch.add(solution);
+		}
+		
+		evaluateBatch(batch);
+	}
+	
+	/**
+	 * Evaluates a batch of solutions.  This method passes the solutions to
+	 * {@link Problem#evaluateAll(List)} and counts one evaluation for each
+	 * solution.  If a subclass overrides {@link #evaluate(Solution)}, each
+	 * solution is instead passed to {@code evaluate} so the override is not
+	 * bypassed.
+	 * 
+	 * @param solutions the solutions to evaluate
+	 */
+	protected void evaluateBatch(List<Solution> solutions) {
+		if (evaluateOverridden) {
+			for (Solution solution : solutions) {
+				evaluate(solution);
+			}
+		} else {
+			problem.evaluateAll(solutions);
+			
+			synchronized (this) {
+				numberOfEvaluations += solutions.size();
+			}
 		}
 	}
 	
@@ -100,10 +159,20 @@ public abstract class AbstractAlgorithm implements Algorithm {
 		evaluateAll(Arrays.asList(solutions));
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This method can be called from multiple threads if the problem is
+	 * thread-safe, such as when {@link MOEAD} searches subproblems
+	 * concurrently.
+	 */
 	@Override
 	public void evaluate(Solution solution) {
 		problem.evaluate(solution);
-		numberOfEvaluations++;
+		
+		synchronized (this) {
+			numberOfEvaluations++;
+		}
 	}
 
 	@Override
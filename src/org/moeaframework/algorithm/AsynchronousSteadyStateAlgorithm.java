@@ -0,0 +1,349 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.algorithm;
+
+import java.io.NotSerializableException;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.util.distributed.DistributedProblem;
+import org.moeaframework.util.distributed.FutureSolution;
+
+/**
+ * Decorates a steady-state algorithm to evaluate offspring asynchronously.
+ * Steady-state algorithms normally evaluate one offspring and immediately
+ * read its objectives, so a {@link DistributedProblem} can only evaluate one
+ * solution at a time.  Instead, this decorator keeps up to a fixed number of
+ * evaluations in flight, integrating each offspring as soon as its evaluation
+ * completes, which may be out of order.  This gives near-linear speedups with
+ * expensive problems.
+ * <p>
+ * The underlying algorithm must be solving a {@code DistributedProblem}.
+ * Otherwise, each evaluation completes before the next offspring is generated
+ * and this decorator behaves like the original algorithm.  Each call to
+ * {@link #step()} integrates at least one offspring, blocking until an
+ * evaluation completes.  Since offspring are generated from the state of the
+ * algorithm before the outstanding evaluations are integrated, the search is
+ * not identical to running the algorithm serially.
+ */
+public class AsynchronousSteadyStateAlgorithm implements Algorithm {
+	
+	/**
+	 * The underlying algorithm being decorated.
+	 */
+	private final SteadyStateAlgorithm algorithm;
+	
+	/**
+	 * The maximum number of evaluations in flight.
+	 */
+	private final int maxPendingEvaluations;
+	
+	/**
+	 * The maximum number of evaluations, or {@code -1} if the number of
+	 * evaluations is unbounded.  No further offspring are generated once this
+	 * many evaluations have been submitted.
+	 */
+	private final int maxEvaluations;
+	
+	/**
+	 * The offspring whose evaluations are in flight, in the order they were
+	 * generated.
+	 */
+	private final List<Solution> pending;
+	
+	/**
+	 * The offspring whose evaluations have completed, in the order they
+	 * completed.  Offspring are added by the threads completing the
+	 * evaluations.
+	 */
+	private final BlockingQueue<Solution> completed;
+	
+	/**
+	 * The offspring whose evaluations can not signal completion, in the order
+	 * they were generated.  These are waited on in order.
+	 */
+	private final Deque<Solution> unsignalled;
+	
+	/**
+	 * {@code true} if the underlying algorithm has been initialized by this
+	 * decorator; {@code false} otherwise.
+	 */
+	private boolean initialized;
+	
+	/**
+	 * Decorates a steady-state algorithm to evaluate offspring asynchronously.
+	 * 
+	 * @param algorithm the steady-state algorithm
+	 * @param maxPendingEvaluations the maximum number of evaluations in flight,
+	 *        typically the number of threads evaluating solutions
+	 * @throws IllegalArgumentException if {@code maxPendingEvaluations <= 0}
+	 */
+	public AsynchronousSteadyStateAlgorithm(SteadyStateAlgorithm algorithm,
+			int maxPendingEvaluations) {
+		this(algorithm, maxPendingEvaluations, -1);
+	}
+	
+	/**
+	 * Decorates a steady-state algorithm to evaluate offspring asynchronously,
+	 * submitting no more than the given number of evaluations.
+	 * 
+	 * @param algorithm the steady-state algorithm
+	 * @param maxPendingEvaluations the maximum number of evaluations in flight,
+	 *        typically the number of threads evaluating solutions
+	 * @param maxEvaluations the maximum number of evaluations, or {@code -1}
+	 *        if the number of evaluations is unbounded
+	 * @throws IllegalArgumentException if {@code maxPendingEvaluations <= 0}
+	 */
+	public AsynchronousSteadyStateAlgorithm(SteadyStateAlgorithm algorithm,
+			int maxPendingEvaluations, int maxEvaluations) {
+		super();
+		
+		if (maxPendingEvaluations <= 0) {
+			throw new IllegalArgumentException(
+					"maxPendingEvaluations must be greater than 0");
+		}
+		
+		this.algorithm = algorithm;
+		this.maxPendingEvaluations = maxPendingEvaluations;
+		this.maxEvaluations = maxEvaluations;
+		
+		pending = new ArrayList<Solution>();
+		completed = new LinkedBlockingQueue<Solution>();
+		unsignalled = new ArrayDeque<Solution>();
+	}
+	
+	/**
+	 * Returns the underlying algorithm being decorated.
+	 * 
+	 * @return the underlying algorithm being decorated
+	 */
+	public SteadyStateAlgorithm getAlgorithm() {
+		return algorithm;
+	}
+	
+	/**
+	 * Returns the number of evaluations currently in flight.
+	 * 
+	 * @return the number of evaluations currently in flight
+	 */
+	public int getNumberOfPendingEvaluations() {
+		return pending.size();
+	}
+
+	/**
+	 * On the first invocation, initializes the underlying algorithm.
+	 * Subsequent invocations generate offspring until the maximum number of
+	 * evaluations are in flight, then block until at least one evaluation
+	 * completes and fewer than the maximum remain in flight, integrating all
+	 * completed offspring.  Once the maximum
+	 * number of evaluations has been submitted, no further offspring are
+	 * generated and any offspring beyond the budget are discarded through
+	 * {@link SteadyStateAlgorithm#discard(Solution)}.
+	 */
+	@Override
+	public void step() {
+		if (isTerminated()) {
+			throw new AlgorithmTerminationException(this,
+					"algorithm already terminated");
+		} else if (!initialized) {
+			algorithm.step();
+			initialized = true;
+			return;
+		}
+		
+		while ((pending.size() < maxPendingEvaluations) &&
+				hasRemainingEvaluations()) {
+			for (Solution offspring : algorithm.generate()) {
+				if (hasRemainingEvaluations()) {
+					submit(offspring);
+				} else {
+					algorithm.discard(offspring);
+				}
+			}
+		}
+		
+		if (pending.isEmpty()) {
+			return;
+		}
+		
+		// since generate can return several offspring, more evaluations than
+		// the maximum may be in flight, so wait until below the maximum
+		do {
+			Solution offspring = awaitCompleted();
+			
+			do {
+				if (pending.remove(offspring)) {
+					unsignalled.remove(offspring);
+					algorithm.integrate(offspring);
+				}
+				
+				offspring = completed.poll();
+			} while (offspring != null);
+		} while (pending.size() >= maxPendingEvaluations);
+	}
+	
+	/**
+	 * Submits an offspring for evaluation and registers for notification
+	 * when its evaluation completes.
+	 * 
+	 * @param offspring the offspring
+	 */
+	private void submit(final Solution offspring) {
+		algorithm.evaluate(offspring);
+		pending.add(offspring);
+		
+		if (!(offspring instanceof FutureSolution)) {
+			completed.add(offspring);
+		} else if (!((FutureSolution)offspring).whenDone(
+				() -> completed.add(offspring))) {
+			unsignalled.add(offspring);
+		}
+	}
+	
+	/**
+	 * Blocks until an evaluation completes, returning the completed offspring.
+	 * If some evaluations can not signal completion and none have signalled,
+	 * the oldest such offspring is returned, which blocks when its objectives
+	 * are read.  Offspring that are no longer pending, such as those
+	 * discarded when restoring the state, are skipped.
+	 * 
+	 * @return the completed offspring
+	 */
+	private Solution awaitCompleted() {
+		while (true) {
+			Solution offspring = completed.poll();
+			
+			if (offspring == null) {
+				if (!unsignalled.isEmpty()) {
+					return unsignalled.peek();
+				}
+				
+				try {
+					offspring = completed.take();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new FrameworkException(e);
+				}
+			}
+			
+			if (pending.contains(offspring)) {
+				return offspring;
+			}
+		}
+	}
+	
+	/**
+	 * Returns {@code true} if the evaluation budget permits submitting another
+	 * evaluation; {@code false} otherwise.
+	 * 
+	 * @return {@code true} if the evaluation budget permits submitting another
+	 *         evaluation; {@code false} otherwise
+	 */
+	private boolean hasRemainingEvaluations() {
+		return (maxEvaluations < 0) ||
+				(algorithm.getNumberOfEvaluations() < maxEvaluations);
+	}
+	
+	/**
+	 * Waits for all evaluations in flight to complete, integrating the
+	 * offspring in the order they were generated.
+	 */
+	private void integrateAll() {
+		for (Solution offspring : pending) {
+			algorithm.integrate(offspring);
+		}
+		
+		pending.clear();
+		completed.clear();
+		unsignalled.clear();
+	}
+
+	@Override
+	public Problem getProblem() {
+		return algorithm.getProblem();
+	}
+
+	@Override
+	public NondominatedPopulation getResult() {
+		return algorithm.getResult();
+	}
+
+	@Override
+	public void evaluate(Solution solution) {
+		algorithm.evaluate(solution);
+	}
+
+	@Override
+	public int getNumberOfEvaluations() {
+		return algorithm.getNumberOfEvaluations();
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return algorithm.isTerminated();
+	}
+
+	/**
+	 * Waits for all evaluations in flight to complete and integrates the
+	 * offspring before terminating the underlying algorithm.
+	 */
+	@Override
+	public void terminate() {
+		try {
+			integrateAll();
+		} finally {
+			algorithm.terminate();
+		}
+	}
+
+	/**
+	 * Returns the state of the underlying algorithm without waiting for or
+	 * integrating the evaluations in flight, so saving the state does not
+	 * change the search.  The offspring in flight are not part of the state
+	 * and are lost if the state is restored, although their evaluations are
+	 * counted.
+	 */
+	@Override
+	public Serializable getState() throws NotSerializableException {
+		return algorithm.getState();
+	}
+
+	/**
+	 * Restores the state of the underlying algorithm, discarding any
+	 * evaluations in flight.
+	 */
+	@Override
+	public void setState(Object state) throws NotSerializableException {
+		algorithm.setState(state);
+		pending.clear();
+		completed.clear();
+		unsignalled.clear();
+		initialized = true;
+	}
+
+}
@@ -184,6 +184,7 @@ public class DefaultAlgorithms extends RegisteredAlgorithmProvider {
 		
 		ReferencePointNondominatedSortingPopulation population = new ReferencePointNondominatedSortingPopulation(
 				problem.getNumberOfObjectives(), divisions);
+		population.setReferencePointPruning(properties.getBoolean("referencePointPruning", false));
 
 		Selection selection = null;
 		
@@ -281,7 +282,7 @@ public class DefaultAlgorithms extends RegisteredAlgorithmProvider {
 			eta = Math.max(2, (int)(properties.getDouble("eta", 0.01) * populationSize));
 		}
 
-		return new MOEAD(
+		MOEAD algorithm = new MOEAD(
 				problem,
 				neighborhoodSize,
 				initialization,
@@ -289,6 +290,10 @@ public class DefaultAlgorithms extends RegisteredAlgorithmProvider {
 				properties.getDouble("delta", 0.9),
 				eta,
 				(int)properties.getDouble("updateUtility", -1));
+		
+		algorithm.setNumberOfThreads(properties.getInt("numberOfThreads", 1));
+		
+		return algorithm;
 	}
 
 	/**
@@ -533,6 +538,7 @@ public class DefaultAlgorithms extends RegisteredAlgorithmProvider {
 	private Algorithm newSMSEMOA(TypedProperties properties, Problem problem) {
 		int populationSize = (int)properties.getDouble("populationSize", 100);
 		double offset = properties.getDouble("offset", 100.0);
+		int numberOfSamples = (int)properties.getDouble("numberOfSamples", 0);
 		String indicator = properties.getString("indicator", "hypervolume");
 		FitnessEvaluator fitnessEvaluator = null;
 		
@@ -541,7 +547,8 @@ public class DefaultAlgorithms extends RegisteredAlgorithmProvider {
 		Variation variation = OperatorFactory.getInstance().getVariation(null, properties, problem);
 		
 		if ("hypervolume".equalsIgnoreCase(indicator)) {
-			fitnessEvaluator = new HypervolumeContributionFitnessEvaluator(problem, offset);
+			fitnessEvaluator = new HypervolumeContributionFitnessEvaluator(problem, offset,
+					numberOfSamples);
 		}
 
 		return new SMSEMOA(problem, initialization, variation, fitnessEvaluator);
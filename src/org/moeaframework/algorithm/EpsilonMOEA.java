@@ -37,7 +37,8 @@ import org.moeaframework.core.comparator.ParetoDominanceComparator;
  * Implementation of the &epsilon;-MOEA algorithm.  The &epsilon;-MOEA is a
  * steady-state algorithm, meaning only one individual in the population is
  * evolved per step, and uses an &epsilon;-dominance archive to maintain a
- * well-spread set of Pareto-optimal solutions.
+ * well-spread set of Pareto-optimal solutions.  Offspring can be evaluated
+ * asynchronously using {@link AsynchronousSteadyStateAlgorithm}.
  * <p>
  * References:
  * <ol>
@@ -46,7 +47,7 @@ import org.moeaframework.core.comparator.ParetoDominanceComparator;
  * </ol>
  */
 public class EpsilonMOEA extends AbstractEvolutionaryAlgorithm implements
-		EpsilonBoxEvolutionaryAlgorithm {
+		EpsilonBoxEvolutionaryAlgorithm, SteadyStateAlgorithm {
 
 	/**
 	 * The dominance comparator used for updating the population.
@@ -104,6 +105,14 @@ public class EpsilonMOEA extends AbstractEvolutionaryAlgorithm implements
 
 	@Override
 	public void iterate() {
+		for (Solution child : generate()) {
+			evaluate(child);
+			integrate(child);
+		}
+	}
+	
+	@Override
+	public Solution[] generate() {
 		Solution[] parents = null;
 		
 		if (archive.size() <= 1) {
@@ -116,13 +125,13 @@ public class EpsilonMOEA extends AbstractEvolutionaryAlgorithm implements
 		
 		PRNG.shuffle(parents);
 
-		Solution[] children = variation.evolve(parents);
-
-		for (Solution child : children) {
-			evaluate(child);
-			addToPopulation(child);
-			archive.add(child);
-		}
+		return variation.evolve(parents);
+	}
+	
+	@Override
+	public void integrate(Solution offspring) {
+		addToPopulation(offspring);
+		archive.add(offspring);
 	}
 
 	/**
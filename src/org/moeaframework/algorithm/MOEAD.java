@@ -19,11 +19,22 @@ package org.moeaframework.algorithm;
 
 import java.io.NotSerializableException;
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.math3.util.MathArrays;
 import org.moeaframework.core.FrameworkException;
@@ -32,6 +43,7 @@ import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
+import org.moeaframework.core.SplittableStreamRandom;
 import org.moeaframework.core.Variation;
 import org.moeaframework.core.operator.CompoundVariation;
 import org.moeaframework.core.operator.real.DifferentialEvolutionVariation;
@@ -42,7 +54,22 @@ import org.moeaframework.util.weights.WeightGenerator;
  * Implementation of MOEA/D, the multiobjective evolutionary algorithm with
  * decomposition.  This implementation supports both the original MOEA/D
  * specification from [1] as well as the utility-based search extension from
- * [2].
+ * [2].  Offspring can be evaluated asynchronously using
+ * {@link AsynchronousSteadyStateAlgorithm}, in which case a generation ends
+ * once the offspring for the last subproblem in the generation is integrated.
+ * <p>
+ * Alternatively, {@link #setNumberOfThreads(int)} enables a parallel mode
+ * where the subproblems in each generation are searched concurrently, each
+ * generating, evaluating, and integrating its own offspring.  Neighboring
+ * population slots are replaced under striped locks, and the ideal point is
+ * updated without locking by atomically swapping in a new copy.  Since
+ * concurrent subproblems observe each other's replacements in an order
+ * determined by the scheduling of threads, the search is not identical to
+ * running serially.  The problem and variation operator must be thread-safe.
+ * <p>
+ * The fitness of the solution occupying each population slot is cached until
+ * the ideal point changes, avoiding recomputing the Chebyshev value of the
+ * incumbent on every comparison.
  * <p>
  * References:
  * <ol>
@@ -54,7 +81,7 @@ import org.moeaframework.util.weights.WeightGenerator;
  * Computation, 2009.
  * </ol>
  */
-public class MOEAD extends AbstractAlgorithm {
+public class MOEAD extends AbstractAlgorithm implements SteadyStateAlgorithm {
 
 	/**
 	 * Represents an individual (population slot) in the MOEA/D algorithm.
@@ -64,9 +91,10 @@ public class MOEAD extends AbstractAlgorithm {
 		private static final long serialVersionUID = 868794189268472009L;
 
 		/**
-		 * The current solution occupying this individual.
+		 * The current solution occupying this individual.  This is volatile so
+		 * concurrently searched subproblems observe replacements.
 		 */
-		private Solution solution;
+		private volatile Solution solution;
 
 		/**
 		 * The Chebyshev weights for this individual.
@@ -88,6 +116,18 @@ public class MOEAD extends AbstractAlgorithm {
 		 * individual when the utility was last updated.
 		 */
 		private double fitness;
+		
+		/**
+		 * The ideal point used to compute {@link #cachedFitness}, or
+		 * {@code null} if the fitness of the current solution is not cached.
+		 */
+		private transient double[] cachedIdealPoint;
+		
+		/**
+		 * The fitness of the current solution with respect to the
+		 * {@link #cachedIdealPoint}.
+		 */
+		private transient double cachedFitness;
 
 		/**
 		 * Constructs an individual with the specified Chebyshev weights.
@@ -117,6 +157,22 @@ public class MOEAD extends AbstractAlgorithm {
 		 */
 		public void setSolution(Solution solution) {
 			this.solution = solution;
+			this.cachedIdealPoint = null;
+		}
+		
+		/**
+		 * Sets the current solution occupying this individual along with its
+		 * fitness computed using the given ideal point.
+		 * 
+		 * @param solution the new solution occupying this individual
+		 * @param fitness the fitness of the new solution
+		 * @param idealPoint the ideal point used to compute the fitness
+		 */
+		public void setSolution(Solution solution, double fitness,
+				double[] idealPoint) {
+			this.solution = solution;
+			this.cachedFitness = fitness;
+			this.cachedIdealPoint = idealPoint;
 		}
 
 		/**
@@ -228,9 +284,11 @@ public class MOEAD extends AbstractAlgorithm {
 
 	/**
 	 * The ideal point; each index stores the best observed value for each
-	 * objective.
+	 * objective.  The array is never modified once set, instead updates
+	 * replace the array, so the reference identifies the version of the ideal
+	 * point.
 	 */
-	private double[] idealPoint;
+	private AtomicReference<double[]> idealPoint;
 
 	/**
 	 * The size of the neighborhood used for mating.
@@ -281,6 +339,42 @@ public class MOEAD extends AbstractAlgorithm {
 	 */
 	private int generation;
 	
+	/**
+	 * The subproblems remaining to be searched in the current generation.
+	 */
+	private final Deque<Integer> remainingSubproblems;
+	
+	/**
+	 * The mating indices of each offspring that has not yet been integrated,
+	 * which are the population slots the offspring can replace.
+	 */
+	private final Map<Solution, List<Integer>> pendingMatingIndices;
+	
+	/**
+	 * The last offspring generated in each generation that has not yet been
+	 * integrated.  Integrating one of these offspring ends its generation.
+	 * Since offspring can be integrated out of order, the next generation may
+	 * generate all of its offspring before the previous generation ends.
+	 */
+	private final Set<Solution> pendingGenerationEnds;
+	
+	/**
+	 * The number of threads used to search subproblems concurrently.
+	 */
+	private int numberOfThreads;
+	
+	/**
+	 * The thread pool used to search subproblems concurrently, or {@code null}
+	 * if not yet created.
+	 */
+	private ForkJoinPool pool;
+	
+	/**
+	 * The striped locks guarding the replacement of solutions in population
+	 * slots, or {@code null} if subproblems are searched serially.
+	 */
+	private Object[] locks;
+	
 	/**
 	 * Constructs the MOEA/D algorithm with the specified components.  This
 	 * version of MOEA/D uses utility-based search as described in [2].
@@ -355,6 +449,12 @@ public class MOEAD extends AbstractAlgorithm {
 		this.eta = eta;
 		this.updateUtility = updateUtility;
 		
+		remainingSubproblems = new ArrayDeque<Integer>();
+		pendingMatingIndices = new IdentityHashMap<Solution, List<Integer>>();
+		pendingGenerationEnds = Collections.newSetFromMap(
+				new IdentityHashMap<Solution, Boolean>());
+		numberOfThreads = 1;
+		
 		if (variation instanceof DifferentialEvolutionVariation) {
 			useDE = true;
 		} else if (variation instanceof CompoundVariation) {
@@ -389,6 +489,41 @@ public class MOEAD extends AbstractAlgorithm {
 				variation, delta, eta, -1);
 	}
 
+	/**
+	 * Sets the number of threads used to search the subproblems in each
+	 * generation concurrently.  With a single thread, the default, subproblems
+	 * are searched serially as described in [1].  The parallel mode only
+	 * applies to {@link #step()}; offspring produced by {@link #generate()}
+	 * are always integrated one at a time.
+	 * <p>
+	 * Each subproblem draws random numbers from its own stream as defined by
+	 * {@link SplittableStreamRandom}.  If the source of randomness is not a
+	 * {@code SplittableStreamRandom}, the streams are derived from one seeded
+	 * from the current source, which otherwise remains in use.  Offspring are
+	 * evaluated with {@link #evaluate(Solution)} from multiple threads, so
+	 * subclasses overriding that method must be thread-safe.
+	 * 
+	 * @param numberOfThreads the number of threads
+	 * @throws IllegalArgumentException if {@code numberOfThreads <= 0}
+	 */
+	public void setNumberOfThreads(int numberOfThreads) {
+		if (numberOfThreads <= 0) {
+			throw new IllegalArgumentException("invalid number of threads");
+		}
+		
+		this.numberOfThreads = numberOfThreads;
+	}
+	
+	/**
+	 * Returns the number of threads used to search the subproblems in each
+	 * generation concurrently.
+	 * 
+	 * @return the number of threads
+	 */
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+
 	@Override
 	public void initialize() {
 		super.initialize();
@@ -409,7 +544,8 @@ public class MOEAD extends AbstractAlgorithm {
 		for (int i = 0; i < initialSolutions.length; i++) {
 			population.get(i).setFitness(fitness(
 					population.get(i).getSolution(),
-					population.get(i).getWeights()));
+					population.get(i).getWeights(),
+					idealPoint.get()));
 		}
 	}
 
@@ -464,18 +600,38 @@ public class MOEAD extends AbstractAlgorithm {
 	 * Initializes the ideal point.
 	 */
 	private void initializeIdealPoint() {
-		idealPoint = new double[problem.getNumberOfObjectives()];
-		Arrays.fill(idealPoint, Double.POSITIVE_INFINITY);
+		double[] initialIdealPoint = new double[problem.getNumberOfObjectives()];
+		Arrays.fill(initialIdealPoint, Double.POSITIVE_INFINITY);
+		idealPoint = new AtomicReference<double[]>(initialIdealPoint);
 	}
 
 	/**
-	 * Updates the ideal point with the specified solution.
+	 * Updates the ideal point with the specified solution.  A new array is
+	 * swapped in only if the solution improves the ideal point, retrying if
+	 * another thread updated the ideal point concurrently.
 	 * 
 	 * @param solution the solution
 	 */
 	private void updateIdealPoint(Solution solution) {
-		for (int i = 0; i < solution.getNumberOfObjectives(); i++) {
-			idealPoint[i] = Math.min(idealPoint[i], solution.getObjective(i));
+		while (true) {
+			double[] current = idealPoint.get();
+			double[] updated = null;
+			
+			for (int i = 0; i < solution.getNumberOfObjectives(); i++) {
+				double value = Math.min(current[i], solution.getObjective(i));
+				
+				if (Double.compare(value, current[i]) != 0) {
+					if (updated == null) {
+						updated = current.clone();
+					}
+					
+					updated[i] = value;
+				}
+			}
+			
+			if ((updated == null) || idealPoint.compareAndSet(current, updated)) {
+				return;
+			}
 		}
 	}
 
@@ -566,10 +722,11 @@ public class MOEAD extends AbstractAlgorithm {
 	 * 
 	 * @param solution the solution
 	 * @param weights the weights
+	 * @param idealPoint the ideal point
 	 * @return the fitness of the specified solution using the Chebyshev
 	 *         weights
 	 */
-	private double fitness(Solution solution, double[] weights) {
+	private double fitness(Solution solution, double[] weights, double[] idealPoint) {
 		double max = Double.NEGATIVE_INFINITY;
 
 		for (int i = 0; i < solution.getNumberOfObjectives(); i++) {
@@ -609,31 +766,18 @@ public class MOEAD extends AbstractAlgorithm {
 		PRNG.shuffle(matingIndices);
 		
 		for (int i = 0; i < matingIndices.size(); i++) {
-			Individual individual = population.get(matingIndices.get(i));
-			boolean canReplace = false;
+			int index = matingIndices.get(i);
+			boolean replaced;
 			
-			if (solution.violatesConstraints() &&
-					individual.getSolution().violatesConstraints()) {
-				double cv1 = sumOfConstraintViolations(solution);
-				double cv2 = sumOfConstraintViolations(individual.getSolution());
-				
-				if (cv1 < cv2) {
-					canReplace = true;
-				}
-			} else if (individual.getSolution().violatesConstraints()) {
-				canReplace = true;
-			} else if (solution.violatesConstraints()) {
-				// do nothing
+			if (locks == null) {
+				replaced = replace(population.get(index), solution);
 			} else {
-				if (fitness(solution, individual.getWeights()) <
-						fitness(individual.getSolution(),
-								individual.getWeights())) {
-					canReplace = true;
+				synchronized (locks[index % locks.length]) {
+					replaced = replace(population.get(index), solution);
 				}
 			}
 			
-			if (canReplace) {
-				individual.setSolution(solution);
+			if (replaced) {
 				c = c + 1;
 			}
 			
@@ -642,6 +786,53 @@ public class MOEAD extends AbstractAlgorithm {
 			}
 		}
 	}
+	
+	/**
+	 * Replaces the solution occupying the individual if the specified solution
+	 * is better.  When searching subproblems concurrently, the caller must hold
+	 * the lock for the individual.
+	 * 
+	 * @param individual the individual
+	 * @param solution the solution
+	 * @return {@code true} if the solution replaced the current solution
+	 *         occupying the individual; {@code false} otherwise
+	 */
+	private boolean replace(Individual individual, Solution solution) {
+		Solution incumbent = individual.getSolution();
+		
+		if (solution.violatesConstraints() &&
+				incumbent.violatesConstraints()) {
+			double cv1 = sumOfConstraintViolations(solution);
+			double cv2 = sumOfConstraintViolations(incumbent);
+			
+			if (cv1 < cv2) {
+				individual.setSolution(solution);
+				return true;
+			}
+		} else if (incumbent.violatesConstraints()) {
+			individual.setSolution(solution);
+			return true;
+		} else if (solution.violatesConstraints()) {
+			// do nothing
+		} else {
+			double[] currentIdealPoint = idealPoint.get();
+			double fitness = fitness(solution, individual.getWeights(),
+					currentIdealPoint);
+			
+			if (individual.cachedIdealPoint != currentIdealPoint) {
+				individual.cachedFitness = fitness(incumbent,
+						individual.getWeights(), currentIdealPoint);
+				individual.cachedIdealPoint = currentIdealPoint;
+			}
+			
+			if (fitness < individual.cachedFitness) {
+				individual.setSolution(solution, fitness, currentIdealPoint);
+				return true;
+			}
+		}
+		
+		return false;
+	}
 
 	/**
 	 * Updates the utility of each individual.
@@ -649,7 +840,8 @@ public class MOEAD extends AbstractAlgorithm {
 	protected void updateUtility() {
 		for (Individual individual : population) {
 			double oldFitness = individual.getFitness();
-			double newFitness = fitness(individual.getSolution(), idealPoint);
+			double newFitness = fitness(individual.getSolution(),
+					idealPoint.get(), idealPoint.get());
 			double relativeDecrease = (oldFitness - newFitness) / oldFitness; 
 
 			if (relativeDecrease > 0.001) {
@@ -666,41 +858,74 @@ public class MOEAD extends AbstractAlgorithm {
 
 	@Override
 	public void iterate() {
-		List<Integer> indices = getSubproblemsToSearch();
-
-		for (Integer index : indices) {
-			List<Integer> matingIndices = getMatingIndices(index);
-
-			Solution[] parents = new Solution[variation.getArity()];
-			parents[0] = population.get(index).getSolution();
+		if ((numberOfThreads > 1) && remainingSubproblems.isEmpty()) {
+			iterateConcurrently();
+			return;
+		}
+		
+		do {
+			for (Solution child : generate()) {
+				evaluate(child);
+				integrate(child);
+			}
+		} while (!remainingSubproblems.isEmpty());
+	}
+	
+	/**
+	 * Searches the subproblems in the next generation concurrently.
+	 */
+	private void iterateConcurrently() {
+		List<Integer> subproblems = getSubproblemsToSearch();
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+		
+		if (pool == null) {
+			pool = new ForkJoinPool(numberOfThreads);
+			locks = new Object[Math.min(population.size(), 16 * numberOfThreads)];
 			
-			if (useDE) {
-				// MOEA/D parent selection for differential evolution
-				PRNG.shuffle(matingIndices);
-				
-				for (int i = 1; i < variation.getArity()-1; i++) {
-					parents[i] = population.get(
-							matingIndices.get(i-1)).getSolution();
-				}
-				
-				parents[variation.getArity()-1] = 
-						population.get(index).getSolution();
-			} else {
-				for (int i = 1; i < variation.getArity(); i++) {
-					parents[i] = population.get(
-							PRNG.nextItem(matingIndices)).getSolution();
-				}
+			for (int i = 0; i < locks.length; i++) {
+				locks[i] = new Object();
 			}
-
-			Solution[] offspring = variation.evolve(parents);
-
-			for (Solution child : offspring) {
-				evaluate(child);
-				updateIdealPoint(child);
-				updateSolution(child, matingIndices);
+		}
+		
+		Random random = PRNG.getRandom();
+		SplittableStreamRandom streamRandom = random instanceof SplittableStreamRandom ?
+				(SplittableStreamRandom)random : new SplittableStreamRandom(random.nextLong());
+		
+		for (int i = 0; i < subproblems.size(); i++) {
+			final int index = subproblems.get(i);
+			
+			// streams are unique across generations to avoid repeating random
+			// numbers
+			tasks.add(PRNG.withRandom(streamRandom, streamRandom.withStream(
+					(long)generation * population.size() + i, () -> {
+						searchSubproblem(index);
+						return null;
+					})));
+		}
+		
+		try {
+			for (Future<Void> future : pool.invokeAll(tasks)) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new FrameworkException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)e.getCause();
 			}
+			
+			throw new FrameworkException(e.getCause());
 		}
-
+		
+		endGeneration();
+	}
+	
+	/**
+	 * Ends the current generation, updating the utility of each subproblem if
+	 * enabled.
+	 */
+	private void endGeneration() {
 		generation++;
 
 		if ((updateUtility >= 0) && (generation % updateUtility == 0)) {
@@ -708,6 +933,109 @@ public class MOEAD extends AbstractAlgorithm {
 		}
 	}
 	
+	/**
+	 * Generates, evaluates, and integrates the offspring for a subproblem.
+	 * This is called concurrently for the subproblems in a generation.
+	 * 
+	 * @param index the index of the subproblem
+	 */
+	private void searchSubproblem(int index) {
+		List<Integer> matingIndices = getMatingIndices(index);
+		Solution[] offspring = variation.evolve(selectParents(index, matingIndices));
+		
+		for (Solution child : offspring) {
+			evaluate(child);
+		}
+		
+		for (Solution child : offspring) {
+			updateIdealPoint(child);
+			updateSolution(child, matingIndices);
+		}
+	}
+	
+	/**
+	 * Generates the offspring for the next subproblem searched in the current
+	 * generation, starting a new generation if all subproblems in the current
+	 * generation have been searched.
+	 */
+	@Override
+	public Solution[] generate() {
+		if (remainingSubproblems.isEmpty()) {
+			remainingSubproblems.addAll(getSubproblemsToSearch());
+		}
+		
+		int index = remainingSubproblems.poll();
+		List<Integer> matingIndices = getMatingIndices(index);
+		Solution[] offspring = variation.evolve(selectParents(index, matingIndices));
+		
+		for (Solution child : offspring) {
+			pendingMatingIndices.put(child, matingIndices);
+		}
+		
+		if (remainingSubproblems.isEmpty()) {
+			pendingGenerationEnds.add(offspring[offspring.length - 1]);
+		}
+		
+		return offspring;
+	}
+	
+	/**
+	 * Selects the parents for the given subproblem.
+	 * 
+	 * @param index the index of the subproblem
+	 * @param matingIndices the population indices considered during mating
+	 * @return the selected parents
+	 */
+	private Solution[] selectParents(int index, List<Integer> matingIndices) {
+		Solution[] parents = new Solution[variation.getArity()];
+		parents[0] = population.get(index).getSolution();
+		
+		if (useDE) {
+			// MOEA/D parent selection for differential evolution
+			PRNG.shuffle(matingIndices);
+			
+			for (int i = 1; i < variation.getArity()-1; i++) {
+				parents[i] = population.get(
+						matingIndices.get(i-1)).getSolution();
+			}
+			
+			parents[variation.getArity()-1] = 
+					population.get(index).getSolution();
+		} else {
+			for (int i = 1; i < variation.getArity(); i++) {
+				parents[i] = population.get(
+						PRNG.nextItem(matingIndices)).getSolution();
+			}
+		}
+		
+		return parents;
+	}
+	
+	@Override
+	public void integrate(Solution offspring) {
+		List<Integer> matingIndices = pendingMatingIndices.remove(offspring);
+		
+		updateIdealPoint(offspring);
+		updateSolution(offspring, matingIndices);
+		
+		if (pendingGenerationEnds.remove(offspring)) {
+			endGeneration();
+		}
+	}
+	
+	/**
+	 * Discards an offspring that will not be integrated, ending its generation
+	 * if it was the last offspring generated in that generation.
+	 */
+	@Override
+	public void discard(Solution offspring) {
+		pendingMatingIndices.remove(offspring);
+		
+		if (pendingGenerationEnds.remove(offspring)) {
+			endGeneration();
+		}
+	}
+	
 	/**
 	 * Proxy for serializing and deserializing the state of a
 	 * {@code MOEAD} instance. This proxy supports saving
@@ -806,7 +1134,7 @@ public class MOEAD extends AbstractAlgorithm {
 
 	@Override
 	public Serializable getState() throws NotSerializableException {
-		return new MOEADState(population, idealPoint, numberOfEvaluations,
+		return new MOEADState(population, idealPoint.get(), numberOfEvaluations,
 				generation);
 	}
 
@@ -817,9 +1145,27 @@ public class MOEAD extends AbstractAlgorithm {
 		MOEADState state = (MOEADState)objState;
 
 		population = state.getPopulation();
-		idealPoint = state.getIdealPoint();
+		idealPoint = new AtomicReference<double[]>(state.getIdealPoint());
 		numberOfEvaluations = state.getNumberOfEvaluations();
 		generation = state.getGeneration();
+		
+		// offspring generated before restoring the state are never integrated
+		remainingSubproblems.clear();
+		pendingMatingIndices.clear();
+		pendingGenerationEnds.clear();
+	}
+	
+	@Override
+	public void terminate() {
+		try {
+			if (pool != null) {
+				pool.shutdown();
+				pool = null;
+				locks = null;
+			}
+		} finally {
+			super.terminate();
+		}
 	}
 	
 }
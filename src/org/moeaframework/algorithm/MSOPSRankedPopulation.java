@@ -17,8 +17,6 @@
  */
 package org.moeaframework.algorithm;
 
-import static org.moeaframework.core.FastNondominatedSorting.RANK_ATTRIBUTE;
-
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -357,7 +355,7 @@ public class MSOPSRankedPopulation extends Population {
 		});
 		
 		for (int i = 0; i < P; i++) {
-			get(indices[i]).setAttribute(RANK_ATTRIBUTE, i);
+			get(indices[i]).setRank(i);
 		}
 	}
 
@@ -30,6 +30,9 @@ import org.moeaframework.core.operator.RandomInitialization;
 /**
  * Implementation of the (1+1) Pareto Archived Evolution Strategy (PAES).  PAES
  * uses an adaptive grid archive to maintain a diverse set of solutions.
+ * Offspring can be evaluated asynchronously using
+ * {@link AsynchronousSteadyStateAlgorithm}, in which case each offspring is
+ * compared against the current parent when its evaluation completes.
  * <p>
  * References:
  * <ol>
@@ -39,7 +42,8 @@ import org.moeaframework.core.operator.RandomInitialization;
  *       Computation (CEC'99), pp. 98-105.
  * </ol>
  */
-public class PAES extends AbstractEvolutionaryAlgorithm {
+public class PAES extends AbstractEvolutionaryAlgorithm
+		implements SteadyStateAlgorithm {
 	
 	/**
 	 * The mutation operator
@@ -130,11 +134,23 @@ public class PAES extends AbstractEvolutionaryAlgorithm {
 
 	@Override
 	protected void iterate() {
-		Solution parent = population.get(0);
-		Solution offspring = variation.evolve(new Solution[] { parent })[0];
+		Solution offspring = generate()[0];
 		
 		evaluate(offspring);
+		integrate(offspring);
+	}
+	
+	@Override
+	public Solution[] generate() {
+		Solution parent = population.get(0);
 		
+		return new Solution[] {
+				variation.evolve(new Solution[] { parent })[0] };
+	}
+	
+	@Override
+	public void integrate(Solution offspring) {
+		Solution parent = population.get(0);
 		int flag = comparator.compare(parent, offspring);
 		
 		if (flag == 1) {
@@ -17,14 +17,12 @@
  */
 package org.moeaframework.algorithm;
 
-import static org.moeaframework.core.FastNondominatedSorting.RANK_ATTRIBUTE;
-
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.NondominatedSortingPopulation;
@@ -56,6 +54,16 @@ import org.moeaframework.util.weights.NormalBoundaryDivisions;
  * for developing the first publicly available implementation of NSGA-III in
  * C++.
  * <p>
+ * Normalization and niching operate on primitive arrays.  Each solution is
+ * associated with its nearest reference point using a batched computation of
+ * the perpendicular distances, which is performed in parallel for large
+ * populations.  For many objectives with thousands of reference points, the
+ * reference points can optionally be grouped into clusters that are skipped
+ * when they can not contain the nearest reference point (see
+ * {@link #setReferencePointPruning(boolean)}).  Either way, the resulting
+ * associations are identical to comparing every solution with every reference
+ * point.
+ * <p>
  * References:
  * <ol>
  *   <li>Deb, K. and Jain, H.  "An Evolutionary Many-Objective Optimization
@@ -74,6 +82,13 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 	 * The name of the attribute for storing the normalized objectives.
 	 */
 	static final String NORMALIZED_OBJECTIVES = "Normalized Objectives";
+	
+	/**
+	 * The minimum number of distance computations, the number of solutions
+	 * times the number of reference points, before solutions are associated
+	 * with reference points in parallel.
+	 */
+	private static final int PARALLEL_THRESHOLD = 65536;
 
 	/**
 	 * The number of objectives.
@@ -94,6 +109,12 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 	 * The list of reference points, or weights.
 	 */
 	private List<double[]> weights;
+	
+	/**
+	 * The index of reference points used to associate solutions with their
+	 * nearest reference point.
+	 */
+	private ReferencePointIndex index;
 
 	/**
 	 * Constructs an empty population that maintains the {@code rank}
@@ -175,6 +196,35 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 		Arrays.fill(idealPoint, Double.POSITIVE_INFINITY);
 		
 		weights = new NormalBoundaryIntersectionGenerator(numberOfObjectives, divisions).generate();
+		index = new ReferencePointIndex(weights, numberOfObjectives, false);
+	}
+	
+	/**
+	 * Enables or disables pruning of reference points when associating
+	 * solutions with their nearest reference point.  Pruning groups nearby
+	 * reference points into clusters and skips any cluster that provably can
+	 * not contain the nearest reference point.  This does not change the
+	 * associations, but is only beneficial when there are many reference
+	 * points, typically with ten or more objectives.  Pruning is disabled by
+	 * default.
+	 * 
+	 * @param enabled {@code true} to enable pruning; {@code false} otherwise
+	 */
+	public void setReferencePointPruning(boolean enabled) {
+		if (enabled != index.isPruning()) {
+			index = new ReferencePointIndex(weights, numberOfObjectives, enabled);
+		}
+	}
+	
+	/**
+	 * Returns {@code true} if pruning of reference points is enabled;
+	 * {@code false} otherwise.
+	 * 
+	 * @return {@code true} if pruning of reference points is enabled;
+	 *         {@code false} otherwise
+	 */
+	public boolean isReferencePointPruning() {
+		return index.isPruning();
 	}
 
 	/**
@@ -234,15 +284,77 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 	 * @return the value of the scalarizing function
 	 */
 	protected static double achievementScalarizingFunction(Solution solution, double[] weights) {
+		return achievementScalarizingFunction(
+				(double[])solution.getAttribute(NORMALIZED_OBJECTIVES), weights);
+	}
+	
+	/**
+	 * The Chebyshev achievement scalarizing function.
+	 * 
+	 * @param objectives the normalized objectives
+	 * @param weights the reference point (weight vector)
+	 * @return the value of the scalarizing function
+	 */
+	private static double achievementScalarizingFunction(double[] objectives, double[] weights) {
 		double max = Double.NEGATIVE_INFINITY;
-		double[] objectives = (double[])solution.getAttribute(NORMALIZED_OBJECTIVES);
 
-		for (int i = 0; i < solution.getNumberOfObjectives(); i++) {
+		for (int i = 0; i < objectives.length; i++) {
 			max = Math.max(max, objectives[i]/weights[i]);
 		}
 
 		return max;
 	}
+	
+	/**
+	 * Returns the normalized objectives stored in the
+	 * {@value NORMALIZED_OBJECTIVES} attribute of each solution.
+	 * 
+	 * @param population the population of solutions
+	 * @return the normalized objectives of each solution
+	 */
+	private static double[][] getNormalizedObjectives(Population population) {
+		double[][] result = new double[population.size()][];
+		
+		for (int i = 0; i < population.size(); i++) {
+			result[i] = (double[])population.get(i).getAttribute(NORMALIZED_OBJECTIVES);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Translates the solutions in this population by the ideal point and
+	 * normalizes them by the intercepts of the hyperplane formed by the
+	 * extreme points.  This produces the same values as calling
+	 * {@link #translateByIdealPoint()} followed by
+	 * {@link #normalizeByIntercepts(double[])}, but stores the result in an
+	 * array rather than an attribute of each solution.
+	 * 
+	 * @return the normalized objectives of each solution in this population
+	 */
+	private double[][] normalize() {
+		double[][] normalized = new double[size()][];
+		
+		for (int i = 0; i < size(); i++) {
+			double[] objectives = get(i).getObjectives();
+			
+			for (int j = 0; j < numberOfObjectives; j++) {
+				objectives[j] -= idealPoint[j];
+			}
+			
+			normalized[i] = objectives;
+		}
+		
+		double[] intercepts = calculateIntercepts(normalized);
+		
+		for (double[] objectives : normalized) {
+			for (int j = 0; j < numberOfObjectives; j++) {
+				objectives[j] /= intercepts[j];
+			}
+		}
+		
+		return normalized;
+	}
 
 	/**
 	 * Returns the extreme point in the given objective.  The extreme point is
@@ -258,6 +370,18 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 	 * @return the extreme point in the given objective
 	 */
 	protected Solution findExtremePoint(int objective) {
+		return get(findExtremePoint(getNormalizedObjectives(this), objective));
+	}
+	
+	/**
+	 * Returns the index of the extreme point in the given objective.
+	 * 
+	 * @param normalized the normalized objectives of each solution
+	 * @param objective the objective index
+	 * @return the index of the extreme point in the given objective
+	 * @see #findExtremePoint(int)
+	 */
+	private int findExtremePoint(double[][] normalized, int objective) {
 		double eps = 0.000001;
 		double[] weights = new double[numberOfObjectives];
 
@@ -269,15 +393,14 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 			}
 		}
 
-		Solution result = null;
+		int result = -1;
 		double resultASF = Double.POSITIVE_INFINITY;
 
-		for (int i = 0; i < size(); i++) {
-			Solution solution = get(i);
-			double solutionASF = achievementScalarizingFunction(solution, weights);
+		for (int i = 0; i < normalized.length; i++) {
+			double solutionASF = achievementScalarizingFunction(normalized[i], weights);
 
 			if (solutionASF < resultASF) {
-				result = solution;
+				result = i;
 				resultASF = solutionASF;
 			}
 		}
@@ -285,22 +408,6 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 		return result;
 	}
 
-	/**
-	 * Returns the extreme points for all objectives.
-	 * 
-	 * @return an array of extreme points, each index corresponds to each
-	 *         objective
-	 */
-	private Solution[] extremePoints() {
-		Solution[] result = new Solution[numberOfObjectives];
-
-		for (int i = 0; i < numberOfObjectives; i++) {
-			result[i] = findExtremePoint(i);
-		}
-
-		return result;
-	}
-
 	/**
 	 * Calculates the intercepts between the hyperplane formed by the extreme
 	 * points and each axis.  The original paper (1) is unclear how to handle
@@ -310,7 +417,18 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 	 * @return an array of the intercept points for each objective
 	 */
 	protected double[] calculateIntercepts() {
-		Solution[] extremePoints = extremePoints();
+		return calculateIntercepts(getNormalizedObjectives(this));
+	}
+	
+	/**
+	 * Calculates the intercepts between the hyperplane formed by the extreme
+	 * points and each axis.
+	 * 
+	 * @param normalized the translated objectives of each solution
+	 * @return an array of the intercept points for each objective
+	 * @see #calculateIntercepts()
+	 */
+	private double[] calculateIntercepts(double[][] normalized) {
 		boolean degenerate = false;
 		double[] intercepts = new double[numberOfObjectives];
 
@@ -319,7 +437,7 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 			double[][] A = new double[numberOfObjectives][numberOfObjectives];
 			
 			for (int i = 0; i < numberOfObjectives; i++) {
-				double[] objectives = (double[])extremePoints[i].getAttribute(NORMALIZED_OBJECTIVES);
+				double[] objectives = normalized[findExtremePoint(normalized, i)];
 
 				b[i] = 1.0;
 
@@ -452,22 +570,12 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 		for (int i = 0; i < weights.size(); i++) {
 			result.add(new ArrayList<Solution>());
 		}
+		
+		int[] indices = new int[population.size()];
+		index.associate(getNormalizedObjectives(population), indices, new double[indices.length]);
 
-		for (Solution solution : population) {
-			double[] objectives = (double[])solution.getAttribute(NORMALIZED_OBJECTIVES);
-			double minDistance = Double.POSITIVE_INFINITY;
-			int minIndex = -1;
-
-			for (int i = 0; i < weights.size(); i++) {
-				double distance = pointLineDistance(weights.get(i), objectives);
-
-				if (distance < minDistance) {
-					minDistance = distance;
-					minIndex = i;
-				}
-			}
-
-			result.get(minIndex).add(solution);
+		for (int i = 0; i < population.size(); i++) {
+			result.get(indices[i]).add(population.get(i));
 		}
 
 		return result;
@@ -508,11 +616,11 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 			// remove all solutions past the last front
 			sort(new RankComparator());
 
-			int maxRank = (Integer)super.get(size-1).getAttribute(RANK_ATTRIBUTE);
+			int maxRank = super.get(size-1).getRank();
 			Population front = new Population();
 
 			for (int i = 0; i < size(); i++) {
-				int rank = (Integer)get(i).getAttribute(RANK_ATTRIBUTE);
+				int rank = get(i).getRank();
 				
 				if (rank > maxRank) {
 					front.add(get(i));
@@ -524,42 +632,70 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 			// update the ideal point
 			updateIdealPoint();
 
-			// translate objectives so the ideal point is at the origin
-			translateByIdealPoint();
-
+			// translate objectives so the ideal point is at the origin, then
 			// calculate the extreme points, calculate the hyperplane defined
-			// by the extreme points, and compute the intercepts
-			normalizeByIntercepts(calculateIntercepts());
+			// by the extreme points, and normalize by the intercepts
+			double[][] normalized = normalize();
 
 			// get the solutions in the last front
 			front = new Population();
+			
+			List<double[]> memberObjectives = new ArrayList<double[]>();
+			List<double[]> frontObjectives = new ArrayList<double[]>();
 
 			for (int i = 0; i < size(); i++) {
-				int rank = (Integer)get(i).getAttribute(RANK_ATTRIBUTE);
+				int rank = get(i).getRank();
 
 				if (rank == maxRank) {
 					front.add(get(i));
+					frontObjectives.add(normalized[i]);
+				} else {
+					memberObjectives.add(normalized[i]);
 				}
 			}
 
 			removeAll(front);
 
-			// associate each solution to a reference point
-			List<List<Solution>> members = associateToReferencePoint(this);
-			List<List<Solution>> potentialMembers = associateToReferencePoint(front);
-			Set<Integer> excluded = new HashSet<Integer>();
+			// associate each solution to a reference point, only the number of
+			// members associated with each reference point is required
+			int[] memberIndices = new int[memberObjectives.size()];
+			int[] frontIndices = new int[front.size()];
+			double[] frontDistances = new double[front.size()];
+			
+			index.associate(memberObjectives.toArray(new double[0][]), memberIndices,
+					new double[memberIndices.length]);
+			index.associate(frontObjectives.toArray(new double[0][]), frontIndices,
+					frontDistances);
+			
+			int[] memberCounts = new int[weights.size()];
+			List<List<Integer>> potentialMembers = new ArrayList<List<Integer>>();
+			boolean[] excluded = new boolean[weights.size()];
+			
+			for (int i = 0; i < weights.size(); i++) {
+				potentialMembers.add(new ArrayList<Integer>());
+			}
+			
+			for (int i = 0; i < memberIndices.length; i++) {
+				memberCounts[memberIndices[i]]++;
+			}
+			
+			for (int i = 0; i < frontIndices.length; i++) {
+				potentialMembers.get(frontIndices[i]).add(i);
+			}
 
 			// loop over niche-preservation operation until population is full
+			List<Integer> minIndices = new ArrayList<Integer>();
+			
 			while (size() < size) {
 				// identify reference point with the fewest associated members
-				List<Integer> minIndices = new ArrayList<Integer>();
 				int minCount = Integer.MAX_VALUE;
+				minIndices.clear();
 
-				for (int i = 0; i < members.size(); i++) {
-					if (!excluded.contains(i) && (members.get(i).size() <= minCount)) {
-						if (members.get(i).size() < minCount) {
+				for (int i = 0; i < memberCounts.length; i++) {
+					if (!excluded[i] && (memberCounts[i] <= minCount)) {
+						if (memberCounts[i] < minCount) {
 							minIndices.clear();
-							minCount = members.get(i).size();
+							minCount = memberCounts[i];
 						}
 						
 						minIndices.add(i);
@@ -567,31 +703,56 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 				}
 				
 				int minIndex = PRNG.nextItem(minIndices);
+				List<Integer> candidates = potentialMembers.get(minIndex);
 
 				// add associated solution
-				if (minCount == 0) {
-					if (potentialMembers.get(minIndex).isEmpty()) {
-						excluded.add(minIndex);
-					} else {
-						Solution minSolution = findSolutionWithMinimumDistance(potentialMembers.get(minIndex), weights.get(minIndex));
-						add(minSolution);
-						members.get(minIndex).add(minSolution);
-						potentialMembers.get(minIndex).remove(minSolution);
-					}
+				if (candidates.isEmpty()) {
+					excluded[minIndex] = true;
 				} else {
-					if (potentialMembers.get(minIndex).isEmpty()) {
-						excluded.add(minIndex);
+					int position = 0;
+					
+					if (minCount == 0) {
+						// the solution with the minimum perpendicular distance,
+						// which was computed when associating the solution
+						double minDistance = Double.POSITIVE_INFINITY;
+						
+						for (int i = 0; i < candidates.size(); i++) {
+							double distance = frontDistances[candidates.get(i)];
+							
+							if (distance < minDistance) {
+								minDistance = distance;
+								position = i;
+							}
+						}
 					} else {
-						Solution randSolution = PRNG.nextItem(potentialMembers.get(minIndex));
-						add(randSolution);
-						members.get(minIndex).add(randSolution);
-						potentialMembers.get(minIndex).remove(randSolution);
+						position = PRNG.nextInt(candidates.size());
 					}
+					
+					add(front.get(candidates.remove(position)));
+					memberCounts[minIndex]++;
 				}
 			}
 		}
 	}
 
+	/**
+	 * Performs the given function for each index from {@code 0} to
+	 * {@code n-1}, in parallel if the amount of work exceeds the threshold.
+	 * 
+	 * @param n the number of indices
+	 * @param work the total amount of work
+	 * @param function the function
+	 */
+	private static void forEach(int n, long work, IntConsumer function) {
+		if (work >= PARALLEL_THRESHOLD) {
+			IntStream.range(0, n).parallel().forEach(function);
+		} else {
+			for (int i = 0; i < n; i++) {
+				function.accept(i);
+			}
+		}
+	}
+
 	/**
 	 * Truncates the population to the specified size using the reference-point
 	 * based nondominated sorting method.
@@ -601,4 +762,419 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 		truncate(size, new RankComparator());
 	}
 	
+	/**
+	 * Index of the reference points used to associate normalized solutions with
+	 * their nearest reference point, measured by the perpendicular distance
+	 * from the solution to the line through the reference point.  The
+	 * reference points are stored in a contiguous array alongside their squared
+	 * norms, and the distances are computed with the same arithmetic as
+	 * {@link ReferencePointNondominatedSortingPopulation#pointLineDistance(double[], double[])},
+	 * so ties are resolved in favor of the lowest reference point index.
+	 * <p>
+	 * When pruning is enabled, the reference points are grouped into clusters
+	 * of similar directions.  The angle between a solution and the center of a
+	 * cluster bounds the distance to any reference point in that cluster,
+	 * which is used to skip clusters that can not contain a reference point
+	 * closer than the best one found so far.
+	 */
+	static class ReferencePointIndex {
+		
+		/**
+		 * The relative tolerance added to the lower bounds when pruning, which
+		 * is much larger than any rounding error in the computed distances.
+		 */
+		private static final double TOLERANCE = 1e-9;
+		
+		/**
+		 * The number of k-means iterations used when clustering the reference
+		 * points.
+		 */
+		private static final int ITERATIONS = 3;
+		
+		/**
+		 * The number of objectives.
+		 */
+		private final int numberOfObjectives;
+		
+		/**
+		 * The number of reference points.
+		 */
+		private final int size;
+		
+		/**
+		 * The reference points, stored contiguously.
+		 */
+		private final double[] points;
+		
+		/**
+		 * The squared norm of each reference point.
+		 */
+		private final double[] norms;
+		
+		/**
+		 * The reference points in each cluster, or {@code null} if pruning is
+		 * disabled.
+		 */
+		private final int[][] clusters;
+		
+		/**
+		 * The unit-length center of each cluster, stored contiguously.
+		 */
+		private final double[] centers;
+		
+		/**
+		 * The maximum Euclidean distance between the center of each cluster and
+		 * its unit-length reference points.
+		 */
+		private final double[] radii;
+		
+		/**
+		 * Constructs a new index of the given reference points.
+		 * 
+		 * @param weights the reference points
+		 * @param numberOfObjectives the number of objectives
+		 * @param pruning {@code true} if clusters of reference points are pruned
+		 *        when searching for the nearest reference point;
+		 *        {@code false} otherwise
+		 */
+		public ReferencePointIndex(List<double[]> weights, int numberOfObjectives,
+				boolean pruning) {
+			super();
+			this.numberOfObjectives = numberOfObjectives;
+			
+			size = weights.size();
+			points = new double[size * numberOfObjectives];
+			norms = new double[size];
+			
+			for (int i = 0; i < size; i++) {
+				double[] weight = weights.get(i);
+				System.arraycopy(weight, 0, points, i * numberOfObjectives,
+						numberOfObjectives);
+				norms[i] = Vector.dot(weight, weight);
+			}
+			
+			if (pruning && (size > 1)) {
+				double[] directions = new double[points.length];
+				
+				for (int i = 0; i < size; i++) {
+					double magnitude = Math.sqrt(norms[i]);
+					
+					for (int j = 0; j < numberOfObjectives; j++) {
+						directions[i * numberOfObjectives + j] =
+								points[i * numberOfObjectives + j] / magnitude;
+					}
+				}
+				
+				int k = (int)Math.ceil(Math.sqrt(size));
+				double[] seeds = new double[k * numberOfObjectives];
+				int[] assignment = new int[size];
+				
+				// start from evenly-spaced reference points, avoiding the PRNG so
+				// the random number sequence of the algorithm is not changed
+				for (int i = 0; i < k; i++) {
+					System.arraycopy(directions, (int)((long)i * size / k) * numberOfObjectives,
+							seeds, i * numberOfObjectives, numberOfObjectives);
+				}
+				
+				for (int iteration = 0; iteration <= ITERATIONS; iteration++) {
+					assign(directions, seeds, k, assignment);
+					
+					if (iteration < ITERATIONS) {
+						computeCenters(directions, assignment, seeds, k);
+					}
+				}
+				
+				// drop any empty clusters
+				int[] counts = new int[k];
+				
+				for (int i = 0; i < size; i++) {
+					counts[assignment[i]]++;
+				}
+				
+				int nonempty = 0;
+				int[] remap = new int[k];
+				
+				for (int i = 0; i < k; i++) {
+					remap[i] = counts[i] > 0 ? nonempty++ : -1;
+				}
+				
+				clusters = new int[nonempty][];
+				centers = new double[nonempty * numberOfObjectives];
+				radii = new double[nonempty];
+				
+				for (int i = 0; i < k; i++) {
+					if (remap[i] >= 0) {
+						clusters[remap[i]] = new int[counts[i]];
+						System.arraycopy(seeds, i * numberOfObjectives, centers,
+								remap[i] * numberOfObjectives, numberOfObjectives);
+						counts[i] = 0;
+					}
+				}
+				
+				for (int i = 0; i < size; i++) {
+					int cluster = remap[assignment[i]];
+					clusters[cluster][counts[assignment[i]]++] = i;
+					radii[cluster] = Math.max(radii[cluster], distance(directions,
+							i * numberOfObjectives, centers, cluster * numberOfObjectives));
+				}
+			} else {
+				clusters = null;
+				centers = null;
+				radii = null;
+			}
+		}
+		
+		/**
+		 * Assigns each direction to the nearest seed.
+		 * 
+		 * @param directions the unit-length directions
+		 * @param seeds the unit-length seeds
+		 * @param k the number of seeds
+		 * @param assignment the output array storing the index of the nearest
+		 *        seed for each direction
+		 */
+		private void assign(double[] directions, double[] seeds, int k, int[] assignment) {
+			for (int i = 0; i < size; i++) {
+				double minDistance = Double.POSITIVE_INFINITY;
+				
+				for (int j = 0; j < k; j++) {
+					double distance = distance(directions, i * numberOfObjectives,
+							seeds, j * numberOfObjectives);
+					
+					if (distance < minDistance) {
+						minDistance = distance;
+						assignment[i] = j;
+					}
+				}
+			}
+		}
+		
+		/**
+		 * Replaces each seed with the unit-length mean of its assigned
+		 * directions.  Seeds without any assigned directions are unchanged.
+		 * 
+		 * @param directions the unit-length directions
+		 * @param assignment the index of the seed assigned to each direction
+		 * @param seeds the seeds being updated
+		 * @param k the number of seeds
+		 */
+		private void computeCenters(double[] directions, int[] assignment, double[] seeds,
+				int k) {
+			double[] sums = new double[k * numberOfObjectives];
+			
+			for (int i = 0; i < size; i++) {
+				for (int j = 0; j < numberOfObjectives; j++) {
+					sums[assignment[i] * numberOfObjectives + j] +=
+							directions[i * numberOfObjectives + j];
+				}
+			}
+			
+			for (int i = 0; i < k; i++) {
+				double norm = 0.0;
+				
+				for (int j = 0; j < numberOfObjectives; j++) {
+					norm += sums[i * numberOfObjectives + j] * sums[i * numberOfObjectives + j];
+				}
+				
+				if (norm > 0.0) {
+					norm = Math.sqrt(norm);
+					
+					for (int j = 0; j < numberOfObjectives; j++) {
+						seeds[i * numberOfObjectives + j] = sums[i * numberOfObjectives + j] / norm;
+					}
+				}
+			}
+		}
+		
+		/**
+		 * Returns the Euclidean distance between two vectors stored in arrays.
+		 * 
+		 * @param u the array storing the first vector
+		 * @param uOffset the offset of the first vector
+		 * @param v the array storing the second vector
+		 * @param vOffset the offset of the second vector
+		 * @return the Euclidean distance between the two vectors
+		 */
+		private double distance(double[] u, int uOffset, double[] v, int vOffset) {
+			double sum = 0.0;
+			
+			for (int i = 0; i < numberOfObjectives; i++) {
+				double difference = u[uOffset + i] - v[vOffset + i];
+				sum += difference * difference;
+			}
+			
+			return Math.sqrt(sum);
+		}
+		
+		/**
+		 * Returns {@code true} if clusters of reference points are pruned;
+		 * {@code false} otherwise.
+		 * 
+		 * @return {@code true} if clusters of reference points are pruned;
+		 *         {@code false} otherwise
+		 */
+		public boolean isPruning() {
+			return clusters != null;
+		}
+		
+		/**
+		 * Returns the perpendicular distance between the point and the line
+		 * through the given reference point.  This produces the same value as
+		 * {@link ReferencePointNondominatedSortingPopulation#pointLineDistance(double[], double[])}.
+		 * 
+		 * @param index the index of the reference point
+		 * @param point the point
+		 * @return the perpendicular distance
+		 */
+		public double distance(int index, double[] point) {
+			int offset = index * numberOfObjectives;
+			double dot = 0.0;
+			
+			for (int i = 0; i < numberOfObjectives; i++) {
+				dot += points[offset + i] * point[i];
+			}
+			
+			double scale = dot / norms[index];
+			double sum = 0.0;
+			
+			for (int i = 0; i < numberOfObjectives; i++) {
+				double difference = scale * points[offset + i] - point[i];
+				sum += difference * difference;
+			}
+			
+			return Math.sqrt(sum);
+		}
+		
+		/**
+		 * Associates each point with its nearest reference point.
+		 * 
+		 * @param points the normalized points
+		 * @param indices the output array storing the index of the nearest
+		 *        reference point to each point
+		 * @param distances the output array storing the perpendicular distance
+		 *        to the nearest reference point
+		 */
+		public void associate(double[][] points, int[] indices, double[] distances) {
+			forEach(points.length, (long)points.length * size, i -> {
+				if (!isPruning() || !search(points[i], indices, distances, i)) {
+					scan(points[i], indices, distances, i);
+				}
+			});
+		}
+		
+		/**
+		 * Finds the nearest reference point by computing the distance to every
+		 * reference point.
+		 * 
+		 * @param point the point
+		 * @param indices the output array storing the index of the nearest
+		 *        reference point
+		 * @param distances the output array storing the distance to the
+		 *        nearest reference point
+		 * @param position the position in the output arrays
+		 */
+		private void scan(double[] point, int[] indices, double[] distances, int position) {
+			double minDistance = Double.POSITIVE_INFINITY;
+			int minIndex = -1;
+			
+			for (int i = 0; i < size; i++) {
+				double distance = distance(i, point);
+				
+				if (distance < minDistance) {
+					minDistance = distance;
+					minIndex = i;
+				}
+			}
+			
+			indices[position] = minIndex;
+			distances[position] = minDistance;
+		}
+		
+		/**
+		 * Finds the nearest reference point, skipping any clusters whose lower
+		 * bound exceeds the best distance found so far.  The bound requires
+		 * the point to be non-negative, as is the case for normalized
+		 * objectives, so this method returns {@code false} if the bound does
+		 * not apply and the caller should fall back to
+		 * {@link #scan(double[], int[], double[], int)}.
+		 * 
+		 * @param point the point
+		 * @param indices the output array storing the index of the nearest
+		 *        reference point
+		 * @param distances the output array storing the distance to the
+		 *        nearest reference point
+		 * @param position the position in the output arrays
+		 * @return {@code true} if the nearest reference point was found;
+		 *         {@code false} otherwise
+		 */
+		private boolean search(double[] point, int[] indices, double[] distances, int position) {
+			double magnitude = 0.0;
+			
+			for (int i = 0; i < numberOfObjectives; i++) {
+				if (!(point[i] >= 0.0)) {
+					return false;
+				}
+				
+				magnitude += point[i] * point[i];
+			}
+			
+			magnitude = Math.sqrt(magnitude);
+			
+			if ((magnitude == 0.0) || Double.isInfinite(magnitude)) {
+				return false;
+			}
+			
+			double[] direction = new double[numberOfObjectives];
+			
+			for (int i = 0; i < numberOfObjectives; i++) {
+				direction[i] = point[i] / magnitude;
+			}
+			
+			// For unit vectors separated by an angle of at most 90 degrees, the
+			// chord length c = 2*sin(theta/2) gives sin(theta) = c*sqrt(1-c^2/4),
+			// which is increasing in c.  The triangle inequality bounds the
+			// chord to any reference point in a cluster from below, and the
+			// perpendicular distance is the magnitude times sin(theta).
+			double[] bounds = new double[clusters.length];
+			int first = 0;
+			
+			for (int i = 0; i < clusters.length; i++) {
+				double chord = Math.max(0.0, distance(direction, 0, centers,
+						i * numberOfObjectives) - radii[i]);
+				bounds[i] = magnitude * chord * Math.sqrt(Math.max(0.0, 1.0 - chord * chord / 4.0));
+				
+				if (bounds[i] < bounds[first]) {
+					first = i;
+				}
+			}
+			
+			double tolerance = TOLERANCE * magnitude;
+			double minDistance = Double.POSITIVE_INFINITY;
+			int minIndex = -1;
+			
+			for (int i = -1; i < clusters.length; i++) {
+				int cluster = i < 0 ? first : i;
+				
+				if ((i == first) || (bounds[cluster] - tolerance > minDistance)) {
+					continue;
+				}
+				
+				for (int index : clusters[cluster]) {
+					double distance = distance(index, point);
+					
+					if ((distance < minDistance) ||
+							((distance == minDistance) && (index < minIndex))) {
+						minDistance = distance;
+						minIndex = index;
+					}
+				}
+			}
+			
+			indices[position] = minIndex;
+			distances[position] = minDistance;
+			return true;
+		}
+		
+	}
+	
 }
@@ -22,6 +22,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.Population;
@@ -34,6 +36,12 @@ import org.moeaframework.util.weights.NormalBoundaryDivisions;
  * A reference vector guided population, for use with RVEA, that truncates
  * the population using the method outlined in [1].
  * <p>
+ * The reference vectors are also stored in a contiguous array, and solutions
+ * are assigned to reference vectors in parallel for large populations.  The
+ * minimum angles between reference vectors are only recomputed when adapting
+ * changes the scale of the reference vectors.  These produce the same results
+ * as the straightforward computations.
+ * <p>
  * References:
  * <ol>
  *   <li>R. Cheng, Y. Jin, M. Olhofer, and B. Sendhoff.  "A Reference Vector
@@ -47,6 +55,12 @@ public class ReferenceVectorGuidedPopulation extends Population {
 	 * The name of the attribute for storing the normalized objectives.
 	 */
 	private static final String NORMALIZED_OBJECTIVES = "Normalized Objectives";
+	
+	/**
+	 * The minimum number of cosine computations, the number of solutions times
+	 * the number of reference vectors, before they are computed in parallel.
+	 */
+	private static final int PARALLEL_THRESHOLD = 65536;
 
 	/**
 	 * The number of objectives.
@@ -73,6 +87,19 @@ public class ReferenceVectorGuidedPopulation extends Population {
 	 */
 	List<double[]> weights;
 	
+	/**
+	 * The normalized reference vectors stored contiguously, kept in sync with
+	 * {@link #weights}.
+	 */
+	private double[] vectors;
+	
+	/**
+	 * The scale applied to the original reference vectors by the last call to
+	 * {@link #adapt()}, or {@code null} if the reference vectors have not been
+	 * adapted.
+	 */
+	private double[] scale;
+	
 	/**
 	 * The minimum angle between reference vectors.
 	 */
@@ -159,6 +186,19 @@ public class ReferenceVectorGuidedPopulation extends Population {
 			}
 		}
 		
+		double[] newScale = new double[numberOfObjectives];
+		
+		for (int i = 0; i < numberOfObjectives; i++) {
+			newScale[i] = Math.max(0.01, zmax[i] - zmin[i]);
+		}
+		
+		// the reference vectors and angles are unchanged if the scale is same
+		if (Arrays.equals(scale, newScale)) {
+			return;
+		}
+		
+		scale = newScale;
+		
 		// create the new normalized reference vectors
 		weights.clear();
 		
@@ -166,17 +206,81 @@ public class ReferenceVectorGuidedPopulation extends Population {
 			double[] newWeight = weight.clone();
 			
 			for (int i = 0; i < numberOfObjectives; i++) {
-				newWeight[i] *= Math.max(0.01, zmax[i] - zmin[i]);
+				newWeight[i] *= scale[i];
 			}
 			
 			weights.add(Vector.normalize(newWeight));
 		}
 		
 		// compute the minimum angles between reference vectors
-		minAngles = new double[weights.size()];
+		updateVectors();
+		updateMinAngles();
+	}
+	
+	/**
+	 * Copies the reference vectors into the contiguous array.
+	 */
+	private void updateVectors() {
+		vectors = new double[weights.size() * numberOfObjectives];
 		
 		for (int i = 0; i < weights.size(); i++) {
-			minAngles[i] = smallestAngleBetweenWeights(i);
+			System.arraycopy(weights.get(i), 0, vectors, i * numberOfObjectives,
+					numberOfObjectives);
+		}
+	}
+	
+	/**
+	 * Computes the minimum angle between each reference vector and all
+	 * remaining vectors.  Since the arc cosine is decreasing, the smallest
+	 * angle is the arc cosine of the largest cosine, avoiding the arc cosine of
+	 * every pair.  This produces the same values as
+	 * {@link #smallestAngleBetweenWeights(int)}.
+	 */
+	private void updateMinAngles() {
+		int size = weights.size();
+		double[] magnitudes = new double[size];
+		
+		for (int i = 0; i < size; i++) {
+			magnitudes[i] = Vector.magnitude(weights.get(i));
+		}
+		
+		minAngles = new double[size];
+		
+		forEach(size, (long)size * size, index -> {
+			int offset = index * numberOfObjectives;
+			double maxCosine = Double.NEGATIVE_INFINITY;
+			
+			for (int i = 0; i < size; i++) {
+				if (i != index) {
+					double dot = 0.0;
+					
+					for (int j = 0; j < numberOfObjectives; j++) {
+						dot += vectors[i * numberOfObjectives + j] * vectors[offset + j];
+					}
+					
+					maxCosine = Math.max(maxCosine, dot / magnitudes[i]);
+				}
+			}
+			
+			minAngles[index] = size > 1 ? Math.acos(maxCosine) : Double.POSITIVE_INFINITY;
+		});
+	}
+	
+	/**
+	 * Performs the given function for each index from {@code 0} to
+	 * {@code n-1}, in parallel if the amount of work exceeds the threshold.
+	 * 
+	 * @param n the number of indices
+	 * @param work the total amount of work
+	 * @param function the function
+	 */
+	private static void forEach(int n, long work, IntConsumer function) {
+		if (work >= PARALLEL_THRESHOLD) {
+			IntStream.range(0, n).parallel().forEach(function);
+		} else {
+			for (int i = 0; i < n; i++) {
+				function.accept(i);
+			}
 		}
 	}
 
@@ -207,11 +311,8 @@ public class ReferenceVectorGuidedPopulation extends Population {
 		}
 		
 		// compute the minimum angles between reference vectors
-		minAngles = new double[weights.size()];
-		
-		for (int i = 0; i < weights.size(); i++) {
-			minAngles[i] = smallestAngleBetweenWeights(i);
-		}
+		updateVectors();
+		updateMinAngles();
 	}
 	
 	/**
@@ -290,17 +391,58 @@ public class ReferenceVectorGuidedPopulation extends Population {
 		for (int i = 0; i < weights.size(); i++) {
 			result.add(new ArrayList<Solution>());
 		}
+		
+		double[][] objectives = new double[population.size()][];
+		
+		for (int i = 0; i < population.size(); i++) {
+			objectives[i] = (double[])population.get(i).getAttribute(NORMALIZED_OBJECTIVES);
+		}
+		
+		int[] indices = new int[objectives.length];
+		associate(objectives, indices, new double[objectives.length],
+				new double[objectives.length]);
 
-		for (Solution solution : population) {
-			double[] objectives = (double[])solution.getAttribute(NORMALIZED_OBJECTIVES);
-			double maxDistance = Double.NEGATIVE_INFINITY;
-			int maxIndex = -1;
-
-			for (int i = 0; i < weights.size(); i++) {
-				double distance = cosine(weights.get(i), objectives);
+		for (int i = 0; i < population.size(); i++) {
+			result.get(indices[i]).add(population.get(i));
+		}
 
-				if (distance > maxDistance) {
-					maxDistance = distance;
+		return result;
+	}
+	
+	/**
+	 * Associates each translated objective vector to the reference vector with
+	 * the largest cosine.  The cosines are computed with the same arithmetic
+	 * as {@link #cosine(double[], double[])}.
+	 * 
+	 * @param objectives the translated objectives of each solution
+	 * @param indices the output array storing the index of the associated
+	 *        reference vector
+	 * @param cosines the output array storing the cosine between the
+	 *        objectives and the associated reference vector
+	 * @param magnitudes the output array storing the magnitude of the
+	 *        objectives
+	 */
+	private void associate(double[][] objectives, int[] indices, double[] cosines,
+			double[] magnitudes) {
+		int size = weights.size();
+		
+		forEach(objectives.length, (long)objectives.length * size, index -> {
+			double[] point = objectives[index];
+			double magnitude = Vector.magnitude(point);
+			double maxCosine = Double.NEGATIVE_INFINITY;
+			int maxIndex = -1;
+			
+			for (int i = 0; i < size; i++) {
+				double dot = 0.0;
+				
+				for (int j = 0; j < numberOfObjectives; j++) {
+					dot += point[j] * vectors[i * numberOfObjectives + j];
+				}
+				
+				double cosine = dot / magnitude;
+				
+				if (cosine > maxCosine) {
+					maxCosine = cosine;
 					maxIndex = i;
 				}
 			}
@@ -311,12 +453,13 @@ public class ReferenceVectorGuidedPopulation extends Population {
 			// reference vector
 			if (maxIndex < 0) {
 				maxIndex = 0;
+				maxCosine = cosine(weights.get(0), point);
 			}
-
-			result.get(maxIndex).add(solution);
-		}
-
-		return result;
+			
+			indices[index] = maxIndex;
+			cosines[index] = maxCosine;
+			magnitudes[index] = magnitude;
+		});
 	}
 	
 	/**
@@ -404,21 +547,79 @@ public class ReferenceVectorGuidedPopulation extends Population {
 		calculateIdealPoint();
 
 		// translate objectives so the ideal point is at the origin
-		translateByIdealPoint();
+		double[][] objectives = new double[size()][];
+		
+		for (int i = 0; i < size(); i++) {
+			objectives[i] = get(i).getObjectives();
+			
+			for (int j = 0; j < numberOfObjectives; j++) {
+				objectives[i][j] -= idealPoint[j];
+			}
+		}
 
 		// associate each solution to a reference vector
-		List<List<Solution>> members = associateToReferencePoint(this);
-
-		// elitist selection
-		clear();
-
-		for (int i = 0; i < members.size(); i++) {
-			List<Solution> associations = members.get(i);
-
-			if (associations.size() > 0) {
-				add(select(associations, i));
+		int[] indices = new int[objectives.length];
+		double[] cosines = new double[objectives.length];
+		double[] magnitudes = new double[objectives.length];
+		
+		associate(objectives, indices, cosines, magnitudes);
+
+		// elitist selection, finding the solution with the smallest penalized
+		// distance for each reference vector in a single pass
+		int size = weights.size();
+		int[] selected = new int[size];
+		boolean[] associated = new boolean[size];
+		double[] minDistances = new double[size];
+		double factor = numberOfObjectives * Math.pow(scalingFactor, alpha);
+		
+		Arrays.fill(selected, -1);
+		Arrays.fill(minDistances, Double.POSITIVE_INFINITY);
+		
+		for (int i = 0; i < objectives.length; i++) {
+			int index = indices[i];
+			associated[index] = true;
+			
+			if (!get(i).violatesConstraints()) {
+				double penalty = factor * Math.acos(cosines[i]) / minAngles[index];
+				double tempDistance = magnitudes[i] * (1.0 + penalty);
+				
+				if (tempDistance < minDistances[index]) {
+					minDistances[index] = tempDistance;
+					selected[index] = i;
+				}
 			}
 		}
+		
+		// if all solutions were infeasible, find the one with the smallest
+		// constraint violation
+		for (int i = 0; i < objectives.length; i++) {
+			int index = indices[i];
+			
+			if (selected[index] < 0 || get(selected[index]).violatesConstraints()) {
+				Solution solution = get(i);
+				double tempDistance = 0.0;
+				
+				for (int j = 0; j < solution.getNumberOfConstraints(); j++) {
+					tempDistance += Math.abs(solution.getConstraint(j));
+				}
+				
+				if (tempDistance < minDistances[index]) {
+					minDistances[index] = tempDistance;
+					selected[index] = i;
+				}
+			}
+		}
+		
+		List<Solution> survivors = new ArrayList<Solution>();
+		
+		for (int i = 0; i < size; i++) {
+			if (associated[i]) {
+				survivors.add(selected[i] < 0 ? null : get(selected[i]));
+			}
+		}
+		
+		clear();
+		addAll(survivors);
 	}
 	
 	/**
@@ -471,6 +672,8 @@ public class ReferenceVectorGuidedPopulation extends Population {
 			weights.add(weight.clone());
 		}
 		
+		updateVectors();
+		scale = null;
 		addAll(state.getPopulation());
 	}
 	
@@ -18,7 +18,10 @@
 package org.moeaframework.algorithm;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 
 import org.moeaframework.core.FastNondominatedSorting;
 import org.moeaframework.core.FitnessEvaluator;
@@ -29,8 +32,10 @@ import org.moeaframework.core.Selection;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.Variation;
 import org.moeaframework.core.comparator.ChainedComparator;
+import org.moeaframework.core.comparator.DominanceComparator;
 import org.moeaframework.core.comparator.FitnessComparator;
 import org.moeaframework.core.comparator.NondominatedSortingComparator;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
 import org.moeaframework.core.comparator.RankComparator;
 import org.moeaframework.core.operator.TournamentSelection;
 
@@ -38,6 +43,12 @@ import org.moeaframework.core.operator.TournamentSelection;
  * Implementation of the S-metric Selection MOEA (SMS-MOEA).  The S metric is
  * also known as the hypervolume indicator.
  * <p>
+ * When a fitness evaluator is used, the ranks are updated incrementally each
+ * iteration as one offspring is added and the worst solution removed, and the
+ * fitness is only computed for the last front.  This produces the same ranks
+ * as sorting the entire population.  Offspring can be evaluated
+ * asynchronously using {@link AsynchronousSteadyStateAlgorithm}.
+ * <p>
  * References:
  * <ol>
  *   <li>Emmerich, M., N. Beume, and B. Naujoks (2007).  An EMO Algorithm Using
@@ -45,7 +56,8 @@ import org.moeaframework.core.operator.TournamentSelection;
  *       Operational Research, 3:1653-1669.
  * </ol>
  */
-public class SMSEMOA extends AbstractEvolutionaryAlgorithm {
+public class SMSEMOA extends AbstractEvolutionaryAlgorithm
+		implements SteadyStateAlgorithm {
 	
 	/**
 	 * The fitness evaluator to use (e.g., hypervolume or additive-epsilon
@@ -103,20 +115,34 @@ public class SMSEMOA extends AbstractEvolutionaryAlgorithm {
 
 	@Override
 	protected void iterate() {
-		int populationSize = population.size();
+		Solution offspring = generate()[0];
+		
+		evaluate(offspring);
+		integrate(offspring);
+	}
+	
+	@Override
+	public Solution[] generate() {
 		Solution[] parents = selection.select(variation.getArity(), population);
 		Solution[] offspring = variation.evolve(parents);
 		
-		evaluate(offspring[0]);
-		population.add(offspring[0]);
+		return new Solution[] { offspring[0] };
+	}
+	
+	@Override
+	public void integrate(Solution offspring) {
+		int populationSize = population.size();
 		
 		// rank the solutions and remove the worst
-		new FastNondominatedSorting().evaluate(population);
-		
 		if (fitnessEvaluator == null) {
+			population.add(offspring);
+			new FastNondominatedSorting().evaluate(population);
+			
 			population.truncate(populationSize, 
 					new NondominatedSortingComparator());
 		} else {
+			updateRanks(offspring);
+			population.add(offspring);
 			computeFitnessForLastFront();
 			
 			population.truncate(populationSize, 
@@ -124,6 +150,79 @@ public class SMSEMOA extends AbstractEvolutionaryAlgorithm {
 		}
 	}
 	
+	/**
+	 * Assigns the rank of a solution that is about to be added to the
+	 * population, and updates the ranks of any solutions pushed back into
+	 * later fronts.  Removing a solution from the last front never changes the
+	 * ranks of the remaining solutions, so the ranks stay identical to those
+	 * assigned by {@link FastNondominatedSorting}.
+	 * 
+	 * @param solution the solution being added to the population
+	 */
+	private void updateRanks(Solution solution) {
+		DominanceComparator comparator = new ParetoDominanceComparator();
+		List<List<Solution>> fronts = new ArrayList<List<Solution>>();
+		
+		for (Solution other : population) {
+			int rank = other.getRank();
+			
+			while (fronts.size() <= rank) {
+				fronts.add(new ArrayList<Solution>());
+			}
+			
+			fronts.get(rank).add(other);
+		}
+		
+		// the solution belongs to the first front not containing a solution
+		// that dominates it
+		int rank = 0;
+		
+		while ((rank < fronts.size()) &&
+				isDominated(solution, fronts.get(rank), comparator)) {
+			rank++;
+		}
+		
+		solution.setRank(rank);
+		
+		// solutions dominated by a solution that moved into their front are
+		// pushed back into the next front
+		List<Solution> moved = Collections.singletonList(solution);
+		
+		for (int i = rank; (i < fronts.size()) && !moved.isEmpty(); i++) {
+			List<Solution> nextMoved = new ArrayList<Solution>();
+			
+			for (Solution other : fronts.get(i)) {
+				if (isDominated(other, moved, comparator)) {
+					other.setRank(i + 1);
+					nextMoved.add(other);
+				}
+			}
+			
+			moved = nextMoved;
+		}
+	}
+	
+	/**
+	 * Returns {@code true} if the solution is dominated by any of the other
+	 * solutions; {@code false} otherwise.
+	 * 
+	 * @param solution the solution
+	 * @param others the other solutions
+	 * @param comparator the dominance comparator
+	 * @return {@code true} if the solution is dominated by any of the other
+	 *         solutions; {@code false} otherwise
+	 */
+	private boolean isDominated(Solution solution, List<Solution> others,
+			DominanceComparator comparator) {
+		for (Solution other : others) {
+			if (comparator.compare(other, solution) < 0) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
 	/**
 	 * Computes the fitness for the last front.
 	 */
@@ -132,8 +231,7 @@ public class SMSEMOA extends AbstractEvolutionaryAlgorithm {
 		int rank = 0;
 		
 		for (Solution solution : population) {
-			int solutionRank = (Integer)solution.getAttribute(
-					FastNondominatedSorting.RANK_ATTRIBUTE);
+			int solutionRank = solution.getRank();
 			
 			if (solutionRank > rank) {
 				front.clear();
@@ -144,7 +242,7 @@ public class SMSEMOA extends AbstractEvolutionaryAlgorithm {
 				front.add(solution);
 			}
 			
-			solution.setAttribute(FitnessEvaluator.FITNESS_ATTRIBUTE, 0.0);
+			solution.setFitness(0.0);
 		}
 		
 		fitnessEvaluator.evaluate(front);
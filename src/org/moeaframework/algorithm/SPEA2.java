@@ -17,12 +17,15 @@
  */
 package org.moeaframework.algorithm;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 import org.apache.commons.math3.util.KthSelector;
 import org.apache.commons.math3.util.Pair;
@@ -63,6 +66,12 @@ import org.moeaframework.core.operator.TournamentSelection;
  */
 public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 	
+	/**
+	 * The minimum population size before distances and dominance relations
+	 * are computed in parallel.
+	 */
+	private static final int PARALLEL_THRESHOLD = 128;
+	
 	/**
 	 * The selection operator.
 	 */
@@ -151,19 +160,24 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 	 */
 	protected Population truncate(Population offspring, int size) {
 		Population survivors = new Population();
+		double[][] distances = fitnessEvaluator.getDistances(offspring);
+		int[] survivorIndices = new int[offspring.size()];
+		int index = 0;
 		
 		// add all non-dominated solutions with a fitness < 1
 		Iterator<Solution> iterator = offspring.iterator();
 		
 		while (iterator.hasNext()) {
 			Solution solution = iterator.next();
-			double fitness = (Double)solution.getAttribute(
-					FitnessEvaluator.FITNESS_ATTRIBUTE);
+			double fitness = solution.getFitness();
 			
 			if (fitness < 1.0) {
+				survivorIndices[survivors.size()] = index;
 				survivors.add(solution);
 				iterator.remove();
 			}
+			
+			index++;
 		}
 		
 		if (survivors.size() < size) {
@@ -175,15 +189,39 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 				offspring.remove(0);
 			}
 		} else if (survivors.size() > size) {
-			// some of the survivors must be truncated
-			MutableDistanceMap map = new MutableDistanceMap(computeDistanceMatrix(survivors));
+			// some of the survivors must be truncated, reusing the distances
+			// computed by the fitness evaluator when available
+			int m = survivors.size();
+			double[][] survivorDistances = null;
 			
-			while (survivors.size() > size) {
-				int index = map.findMostCrowdedPoint();
+			if (distances == null) {
+				survivorDistances = computeDistanceMatrix(survivors);
+			} else {
+				survivorDistances = new double[m][m];
 				
-				map.removePoint(index);
-				survivors.remove(index);
+				for (int i = 0; i < m; i++) {
+					for (int j = 0; j < m; j++) {
+						survivorDistances[i][j] =
+								distances[survivorIndices[i]][survivorIndices[j]];
+					}
+				}
+			}
+			
+			NearestNeighborIndex neighbors = new NearestNeighborIndex(survivorDistances);
+			
+			for (int i = m; i > size; i--) {
+				neighbors.removePoint(neighbors.findMostCrowdedPoint());
+			}
+			
+			Population result = new Population();
+			
+			for (int i = 0; i < m; i++) {
+				if (!neighbors.isRemoved(i)) {
+					result.add(survivors.get(i));
+				}
 			}
+			
+			survivors = result;
 		}
 		
 		return survivors;
@@ -191,31 +229,253 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 	
 	/**
 	 * Computes the distance matrix containing the pair-wise distances between
-	 * solutions in objective space.  The diagonal will contain all 0's.
+	 * solutions in objective space.  The diagonal will contain all 0's.  Large
+	 * populations are processed in parallel.
 	 * 
 	 * @param population the population of solutions
 	 * @return the distance matrix
 	 */
 	protected double[][] computeDistanceMatrix(Population population) {
-		double[][] distances = new double[population.size()][population.size()];
+		int n = population.size();
+		Solution[] solutions = toArray(population);
+		double[][] distances = new double[n][n];
 		
-		for (int i = 0; i < population.size(); i++) {
-			distances[i][i] = 0.0;
-			
-			for (int j = i+1; j < population.size(); j++) {
-				distances[i][j] = distances[j][i] = 
+		IntConsumer computeRow = i -> {
+			for (int j = i+1; j < n; j++) {
+				distances[i][j] = distances[j][i] =
 						IndicatorUtils.euclideanDistance(problem,
-								population.get(i), population.get(j));
+								solutions[i], solutions[j]);
 			}
-		}
+		};
 		
+		forEach(n, true, computeRow);
 		return distances;
 	}
 	
+	/**
+	 * Returns the solutions in the population as an array.
+	 * 
+	 * @param population the population
+	 * @return the solutions in the population
+	 */
+	private static Solution[] toArray(Population population) {
+		Solution[] solutions = new Solution[population.size()];
+		
+		for (int i = 0; i < solutions.length; i++) {
+			solutions[i] = population.get(i);
+		}
+		
+		return solutions;
+	}
+	
+	/**
+	 * Invokes the function for each index {@code 0, ..., n-1}, running in
+	 * parallel if permitted and {@code n} is large.
+	 * 
+	 * @param n the number of indices
+	 * @param parallel {@code true} if the function can be safely called from
+	 *        multiple threads; {@code false} otherwise
+	 * @param function the function
+	 */
+	private static void forEach(int n, boolean parallel, IntConsumer function) {
+		if (parallel && (n >= PARALLEL_THRESHOLD)) {
+			IntStream.range(0, n).parallel().forEach(function);
+		} else {
+			for (int i = 0; i < n; i++) {
+				function.accept(i);
+			}
+		}
+	}
+	
+	/**
+	 * Index of the nearest neighbors of each point used by SPEA2's truncation
+	 * strategy.  The distances from each point to all other points are sorted
+	 * once.  Removing a point marks its entry in the sorted distances of every
+	 * other point, which requires a binary search per point, rather than
+	 * rebuilding the lists.  The results are identical to
+	 * {@link MutableDistanceMap}, except removed points keep their index.
+	 */
+	public static class NearestNeighborIndex {
+		
+		/**
+		 * The number of points.
+		 */
+		private final int size;
+		
+		/**
+		 * The pair-wise distances between points.
+		 */
+		private final double[][] distances;
+		
+		/**
+		 * The sorted distances from each point to all other points.
+		 */
+		private final double[][] sortedDistances;
+		
+		/**
+		 * Flags for each entry in {@link #sortedDistances} indicating the
+		 * corresponding point was removed.
+		 */
+		private final boolean[][] removedEntries;
+		
+		/**
+		 * The position of the first entry in {@link #sortedDistances} that is
+		 * not removed, for each point.
+		 */
+		private final int[] first;
+		
+		/**
+		 * Flags indicating which points are removed.
+		 */
+		private final boolean[] removed;
+		
+		/**
+		 * Constructs a new nearest neighbor index.
+		 * 
+		 * @param distances the pair-wise distances between points
+		 */
+		public NearestNeighborIndex(double[][] distances) {
+			super();
+			this.size = distances.length;
+			this.distances = distances;
+			
+			sortedDistances = new double[size][];
+			removedEntries = new boolean[size][size > 0 ? size-1 : 0];
+			first = new int[size];
+			removed = new boolean[size];
+			
+			forEach(size, true, i -> {
+				double[] row = new double[size-1];
+				System.arraycopy(distances[i], 0, row, 0, i);
+				System.arraycopy(distances[i], i + 1, row, i, size - i - 1);
+				Arrays.sort(row);
+				sortedDistances[i] = row;
+			});
+		}
+		
+		/**
+		 * Returns the most crowded point according to SPEA2's truncation
+		 * strategy.  The most crowded point is the point with the smallest
+		 * distance to its nearest neighbor.  Ties are broken by looking at
+		 * the next nearest neighbor repeatedly until a difference is found.
+		 * 
+		 * @return the index of the most crowded point
+		 */
+		public int findMostCrowdedPoint() {
+			double minimumDistance = Double.POSITIVE_INFINITY;
+			int minimumIndex = -1;
+			
+			for (int i = 0; i < size; i++) {
+				if (removed[i]) {
+					continue;
+				}
+				
+				double distance = sortedDistances[i][first[i]];
+				
+				if (distance < minimumDistance) {
+					minimumDistance = distance;
+					minimumIndex = i;
+				} else if (distance == minimumDistance) {
+					int k1 = first[i];
+					int k2 = first[minimumIndex];
+					
+					while (k1 < size-1) {
+						double kdist1 = sortedDistances[i][k1];
+						double kdist2 = sortedDistances[minimumIndex][k2];
+						
+						if (kdist1 < kdist2) {
+							minimumIndex = i;
+							break;
+						} else if (kdist2 < kdist1) {
+							break;
+						}
+						
+						k1 = next(i, k1);
+						k2 = next(minimumIndex, k2);
+					}
+				}
+			}
+			
+			return minimumIndex;
+		}
+		
+		/**
+		 * Removes the point with the given index.  The indices of the remaining
+		 * points are unchanged.
+		 * 
+		 * @param index the index to remove
+		 */
+		public void removePoint(int index) {
+			removed[index] = true;
+			
+			for (int i = 0; i < size; i++) {
+				if (removed[i]) {
+					continue;
+				}
+				
+				double[] row = sortedDistances[i];
+				boolean[] removedRow = removedEntries[i];
+				int position = Arrays.binarySearch(row, distances[i][index]);
+				
+				// entries with equal distances are interchangeable, so remove
+				// the first such entry that is not already removed
+				while ((position > 0) && (row[position-1] == row[position])) {
+					position--;
+				}
+				
+				while (removedRow[position]) {
+					position++;
+				}
+				
+				removedRow[position] = true;
+				
+				if (position == first[i]) {
+					first[i] = next(i, position);
+				}
+			}
+		}
+		
+		/**
+		 * Returns {@code true} if the point with the given index was removed;
+		 * {@code false} otherwise.
+		 * 
+		 * @param index the index of the point
+		 * @return {@code true} if the point with the given index was removed;
+		 *         {@code false} otherwise
+		 */
+		public boolean isRemoved(int index) {
+			return removed[index];
+		}
+		
+		/**
+		 * Returns the position of the next entry after the given position in
+		 * the sorted distances of a point that is not removed.
+		 * 
+		 * @param index the index of the point
+		 * @param position the current position
+		 * @return the position of the next entry that is not removed, or
+		 *         {@code size-1} if no such entry exists
+		 */
+		private int next(int index, int position) {
+			boolean[] removedRow = removedEntries[index];
+			
+			do {
+				position++;
+			} while ((position < size-1) && removedRow[position]);
+			
+			return position;
+		}
+		
+	}
+	
 	/**
 	 * Mapping of pair-wise distances between points.  This mapping is mutable,
 	 * allowing points to be removed.
+	 * 
+	 * @deprecated use {@link NearestNeighborIndex} instead, which is used by
+	 *             {@link SPEA2#truncate(Population, int)}
 	 */
+	@Deprecated
 	public static class MutableDistanceMap {
 		
 		/**
@@ -345,30 +605,78 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 		 */
 		private final DominanceComparator comparator;
 		
+		/**
+		 * The solutions from the last call to {@link #evaluate(Population)}.
+		 */
+		private Solution[] lastSolutions;
+		
+		/**
+		 * The distances computed by the last call to
+		 * {@link #evaluate(Population)}.
+		 */
+		private double[][] lastDistances;
+		
 		/**
 		 * Constructs a new fitness evaluator for computing the strength
-		 * measure with crowding-based niching.
+		 * measure with crowding-based niching using Pareto dominance.
 		 * 
 		 * @param k crowding is based on the distance to the {@code k}-th
 		 *        nearest neighbor
 		 */
 		public StrengthFitnessEvaluator(int k) {
+			this(k, new ParetoDominanceComparator());
+		}
+		
+		/**
+		 * Constructs a new fitness evaluator for computing the strength
+		 * measure with crowding-based niching.
+		 * 
+		 * @param k crowding is based on the distance to the {@code k}-th
+		 *        nearest neighbor
+		 * @param comparator the dominance comparator
+		 */
+		public StrengthFitnessEvaluator(int k, DominanceComparator comparator) {
 			super();
 			this.k = k;
-			
-			comparator = new ParetoDominanceComparator();
+			this.comparator = comparator;
+		}
+		
+		/**
+		 * Returns {@code true} if the dominance comparator can be safely
+		 * called from multiple threads, allowing the dominance relations of
+		 * large populations to be computed in parallel.  The default
+		 * implementation returns {@code true} only for the
+		 * {@link ParetoDominanceComparator} used by default.
+		 * 
+		 * @return {@code true} if the dominance comparator can be safely
+		 *         called from multiple threads; {@code false} otherwise
+		 */
+		protected boolean isParallelizable() {
+			return comparator.getClass() == ParetoDominanceComparator.class;
 		}
 
 		@Override
 		public void evaluate(Population population) {
-			int[] strength = new int[population.size()];
-			double[] fitness = new double[population.size()];
+			int n = population.size();
+			Solution[] solutions = toArray(population);
+			int[] strength = new int[n];
+			double[] fitness = new double[n];
+			
+			// compare each pair of solutions once, where the entry i*n + j
+			// for i < j stores the result of comparing solutions i and j
+			byte[] comparisons = new byte[n * n];
+			
+			forEach(n, isParallelizable(), i -> {
+				for (int j = i+1; j < n; j++) {
+					comparisons[i * n + j] = (byte)comparator.compare(
+							solutions[i], solutions[j]);
+				}
+			});
 			
 			// count the number of individuals each solution dominates
-			for (int i = 0; i < population.size()-1; i++) {
-				for (int j = i+1; j < population.size(); j++) {
-					int comparison = comparator.compare(population.get(i),
-							population.get(j));
+			for (int i = 0; i < n-1; i++) {
+				for (int j = i+1; j < n; j++) {
+					int comparison = comparisons[i * n + j];
 					
 					if (comparison < 0) {
 						strength[i]++;
@@ -380,10 +688,9 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 			
 			// the raw fitness is the sum of the dominance counts (strength)
 			// of all dominated solutions
-			for (int i = 0; i < population.size()-1; i++) {
-				for (int j = i+1; j < population.size(); j++) {
-					int comparison = comparator.compare(population.get(i),
-							population.get(j));
+			for (int i = 0; i < n-1; i++) {
+				for (int j = i+1; j < n; j++) {
+					int comparison = comparisons[i * n + j];
 					
 					if (comparison < 0) {
 						fitness[j] += strength[i];
@@ -395,17 +702,44 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 			
 			// add density to the fitness
 			double[][] distances = computeDistanceMatrix(population);
-			KthSelector selector = new KthSelector();
+			double[] density = new double[n];
 			
-			for (int i = 0; i < population.size(); i++) {
-				double kdist = selector.select(distances[i], null, k);
-				fitness[i] += 1.0 / (kdist + 2.0);
-			}
+			forEach(n, true, i -> {
+				double[] row = distances[i].clone();
+				double kdist = new KthSelector().select(row, null, k);
+				density[i] = 1.0 / (kdist + 2.0);
+			});
 			
 			// assign fitness attribute to solutions
-			for (int i = 0; i < population.size(); i++) {
-				population.get(i).setAttribute(FITNESS_ATTRIBUTE, fitness[i]);
+			for (int i = 0; i < n; i++) {
+				population.get(i).setFitness(fitness[i] + density[i]);
+			}
+			
+			lastSolutions = solutions;
+			lastDistances = distances;
+		}
+		
+		/**
+		 * Returns the distances computed by the last call to
+		 * {@link #evaluate(Population)} if the population is unchanged since
+		 * that call; otherwise returns {@code null}.
+		 * 
+		 * @param population the population
+		 * @return the distances, or {@code null} if the population changed
+		 */
+		double[][] getDistances(Population population) {
+			if ((lastSolutions == null) ||
+					(lastSolutions.length != population.size())) {
+				return null;
 			}
+			
+			for (int i = 0; i < lastSolutions.length; i++) {
+				if (lastSolutions[i] != population.get(i)) {
+					return null;
+				}
+			}
+			
+			return lastDistances;
 		}
 
 		@Override
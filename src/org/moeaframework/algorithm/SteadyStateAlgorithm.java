@@ -0,0 +1,66 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.algorithm;
+
+import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.Solution;
+
+/**
+ * Interface for steady-state algorithms whose iterations can be divided into
+ * generating offspring and integrating the evaluated offspring.  This allows
+ * {@link AsynchronousSteadyStateAlgorithm} to keep many evaluations in flight,
+ * integrating each offspring as soon as its evaluation completes.
+ * <p>
+ * A single iteration of a steady-state algorithm is equivalent to calling
+ * {@link #generate()}, evaluating each offspring, and passing each offspring
+ * to {@link #integrate(Solution)}.
+ */
+public interface SteadyStateAlgorithm extends Algorithm {
+	
+	/**
+	 * Generates new offspring from the current state of this algorithm.  The
+	 * offspring are not evaluated.  The algorithm must be initialized before
+	 * calling this method.
+	 * 
+	 * @return the new offspring
+	 */
+	public Solution[] generate();
+	
+	/**
+	 * Integrates an evaluated offspring, previously returned by
+	 * {@link #generate()}, into the state of this algorithm.  Offspring from
+	 * separate calls to {@code generate()} can be integrated in any order.
+	 * 
+	 * @param offspring the evaluated offspring
+	 */
+	public void integrate(Solution offspring);
+	
+	/**
+	 * Discards an offspring, previously returned by {@link #generate()}, that
+	 * will never be evaluated or integrated, such as when the evaluation
+	 * budget is exhausted.  Algorithms tracking bookkeeping for each
+	 * generated offspring must release it here.  The default implementation
+	 * does nothing.
+	 * 
+	 * @param offspring the discarded offspring
+	 */
+	public default void discard(Solution offspring) {
+		// no bookkeeping to release
+	}
+
+}
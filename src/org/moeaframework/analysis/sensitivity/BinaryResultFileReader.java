@@ -0,0 +1,262 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.zip.InflaterInputStream;
+
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.parallel.util.SolutionCodec;
+import org.moeaframework.util.TypedProperties;
+
+/**
+ * Reads result files created by {@link BinaryResultFileWriter}.  In addition
+ * to iterating over the entries in order, any entry can be read directly with
+ * {@link #get(int)}.
+ * <p>
+ * As with {@link ResultFileReader}, incomplete or corrupt files are read up to
+ * the last valid entry.  The stored populations are already non-dominated, so
+ * they are loaded without repeating the non-domination checks.
+ * 
+ * @see BinaryResultFileWriter
+ */
+public class BinaryResultFileReader implements Closeable, Iterator<ResultEntry>,
+Iterable<ResultEntry> {
+	
+	/**
+	 * The underlying file.
+	 */
+	private final RandomAccessFile file;
+	
+	/**
+	 * The format of the file, including the index of entries.
+	 */
+	private final BinaryResultFormat format;
+	
+	/**
+	 * The problem.
+	 */
+	private final Problem problem;
+	
+	/**
+	 * The index of the next entry returned by {@link #next()}.
+	 */
+	private int nextIndex;
+	
+	/**
+	 * Constructs a result file reader for reading the approximation sets from
+	 * the specified binary result file.
+	 * 
+	 * @param problem the problem
+	 * @param file the file containing the results
+	 * @throws IOException if an I/O error occurred or the file is not a
+	 *         binary result file
+	 */
+	public BinaryResultFileReader(Problem problem, File file) throws IOException {
+		super();
+		this.problem = problem;
+		this.file = new RandomAccessFile(file, "r");
+		
+		try {
+			format = BinaryResultFormat.read(this.file);
+		} catch (IOException e) {
+			this.file.close();
+			throw e;
+		}
+		
+		if ((format.numberOfObjectives != problem.getNumberOfObjectives()) ||
+				((format.numberOfVariables >= 0) &&
+						(format.numberOfVariables != problem.getNumberOfVariables()))) {
+			this.file.close();
+			throw new FrameworkException("result file " + file + " does not match the problem");
+		}
+	}
+	
+	/**
+	 * Returns {@code true} if the file is a binary result file.
+	 * 
+	 * @param file the file
+	 * @return {@code true} if the file is a binary result file; {@code false}
+	 *         otherwise
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static boolean isBinaryResultFile(File file) throws IOException {
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+			return (raf.length() >= 4) && (raf.readInt() == BinaryResultFormat.MAGIC);
+		}
+	}
+	
+	/**
+	 * Returns the number of valid entries in the file.
+	 * 
+	 * @return the number of valid entries in the file
+	 */
+	public int getNumberOfEntries() {
+		return format.offsets.size();
+	}
+	
+	/**
+	 * Reads the entry at the given index.
+	 * 
+	 * @param index the index of the entry
+	 * @return the entry
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public ResultEntry get(int index) {
+		long offset = format.offsets.get(index);
+		
+		try {
+			file.seek(offset);
+			byte[] bytes = new byte[file.readInt()];
+			int checksum = file.readInt();
+			file.readFully(bytes);
+			
+			if (BinaryResultFormat.checksum(bytes) != checksum) {
+				throw new FrameworkException("result file entry " + index + " is corrupt");
+			}
+			
+			InputStream stream = new ByteArrayInputStream(bytes);
+			
+			if (format.compressed) {
+				stream = new InflaterInputStream(stream);
+			}
+			
+			try (DataInputStream in = new DataInputStream(stream)) {
+				TypedProperties properties = readProperties(in);
+				ResultPopulation population = new ResultPopulation();
+				
+				for (int count = in.readInt(); count > 0; count--) {
+					population.addUnchecked(readSolution(in));
+				}
+				
+				return new ResultEntry(population, properties);
+			}
+		} catch (IOException e) {
+			throw new FrameworkException(e);
+		}
+	}
+	
+	/**
+	 * Reads the properties of an entry.
+	 * 
+	 * @param in the input stream
+	 * @return the properties
+	 * @throws IOException if an I/O error occurred
+	 */
+	private TypedProperties readProperties(DataInputStream in) throws IOException {
+		TypedProperties properties = new TypedProperties();
+		byte[] bytes = new byte[in.readInt()];
+		
+		if (bytes.length > 0) {
+			in.readFully(bytes);
+			properties.load(new InputStreamReader(new ByteArrayInputStream(bytes),
+					StandardCharsets.UTF_8));
+		}
+		
+		return properties;
+	}
+	
+	/**
+	 * Reads the decision variables, if included, and objectives of a
+	 * solution.
+	 * 
+	 * @param in the input stream
+	 * @return the solution
+	 * @throws IOException if an I/O error occurred
+	 */
+	private Solution readSolution(DataInputStream in) throws IOException {
+		Solution solution = null;
+		
+		if (format.numberOfVariables >= 0) {
+			solution = problem.newSolution();
+			
+			for (int i = 0; i < format.numberOfVariables; i++) {
+				solution.setVariable(i, SolutionCodec.readVariable(solution.getVariable(i), in));
+			}
+		} else {
+			solution = new Solution(0, problem.getNumberOfObjectives());
+		}
+		
+		for (int i = 0; i < problem.getNumberOfObjectives(); i++) {
+			solution.setObjective(i, in.readDouble());
+		}
+		
+		return solution;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return nextIndex < format.offsets.size();
+	}
+
+	@Override
+	public ResultEntry next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		
+		return get(nextIndex++);
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Iterator<ResultEntry> iterator() {
+		return this;
+	}
+
+	@Override
+	public void close() throws IOException {
+		file.close();
+	}
+	
+	/**
+	 * Non-dominated population filled without non-domination checks, since
+	 * the stored solutions are already non-dominated.  Solutions added after
+	 * reading are checked as usual.
+	 */
+	private static class ResultPopulation extends NondominatedPopulation {
+		
+		/**
+		 * Adds a solution without performing the non-domination check.
+		 * 
+		 * @param solution the solution to add
+		 */
+		void addUnchecked(Solution solution) {
+			forceAddWithoutCheck(solution);
+		}
+		
+	}
+
+}
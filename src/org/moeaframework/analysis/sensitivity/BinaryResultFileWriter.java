@@ -0,0 +1,255 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.parallel.util.SolutionCodec;
+import org.moeaframework.util.TypedProperties;
+
+/**
+ * Writes result files in a compact binary format.  This is an alternative to
+ * {@link ResultFileWriter} for large result files, storing the same entries
+ * with the following differences:
+ * <ul>
+ *   <li>Decision variables and objectives are stored in binary, using the
+ *       {@link SolutionCodec} format for decision variables.  Entries can
+ *       optionally be compressed.
+ *   <li>Each entry is stored in a separate chunk protected by a checksum, and
+ *       the file ends with an index of the chunks.  This allows
+ *       {@link BinaryResultFileReader} to read any entry without reading the
+ *       preceding entries.
+ *   <li>Appending to an existing file does not rewrite the file.  The existing
+ *       entries are located using the index, or by scanning the chunks if the
+ *       previous writer did not close cleanly, and new entries are written
+ *       after the last valid entry.
+ * </ul>
+ * As with {@code ResultFileWriter}, constraint violating solutions are not
+ * recorded.  Use {@link ResultFileConverter} to convert between the text and
+ * binary formats.
+ * 
+ * @see BinaryResultFileReader
+ */
+public class BinaryResultFileWriter implements OutputWriter {
+	
+	/**
+	 * The underlying file.
+	 */
+	private final RandomAccessFile file;
+	
+	/**
+	 * The format of the file, including the index of entries.
+	 */
+	private final BinaryResultFormat format;
+	
+	/**
+	 * Equivalent to {@code BinaryResultFileWriter(problem, file, true, false)}.
+	 * 
+	 * @param problem the problem
+	 * @param file the file to which the results are stored
+	 * @throws IOException if an I/O error occurred
+	 */
+	public BinaryResultFileWriter(Problem problem, File file) throws IOException {
+		this(problem, file, true, false);
+	}
+	
+	/**
+	 * Constructs an output writer for writing the decision variables and
+	 * objectives of a sequence of non-dominated populations to a binary file.
+	 * If the file already exists, any valid entries are retained and
+	 * {@code getNumberOfEntries()} returns the number of valid entries.  New
+	 * entries are then appended using the settings of the existing file.
+	 * 
+	 * @param problem the problem
+	 * @param file the file to which the results are stored
+	 * @param includeVariables {@code true} if this writer should save the
+	 *        decision variables; {@code false} otherwise
+	 * @param compress {@code true} if entries are compressed; {@code false}
+	 *        otherwise
+	 * @throws IOException if an I/O error occurred
+	 * @throws FrameworkException if the existing file is for a different
+	 *         number of variables or objectives
+	 */
+	public BinaryResultFileWriter(Problem problem, File file, boolean includeVariables,
+			boolean compress) throws IOException {
+		super();
+		
+		if (!includeVariables) {
+			System.err.println(ResultFileWriter.NO_VARIABLES_WARNING);
+		}
+		
+		int numberOfVariables = includeVariables ? problem.getNumberOfVariables() : -1;
+		
+		this.file = new RandomAccessFile(file, "rw");
+		
+		try {
+			if (this.file.length() > 0) {
+				format = BinaryResultFormat.read(this.file);
+				
+				if ((format.numberOfVariables != numberOfVariables) ||
+						(format.numberOfObjectives != problem.getNumberOfObjectives())) {
+					throw new FrameworkException("existing result file " + file +
+							" does not match the problem");
+				}
+				
+				// discard the footer or any incomplete entry
+				this.file.setLength(format.end);
+			} else {
+				format = new BinaryResultFormat(problem.getName(), numberOfVariables,
+						problem.getNumberOfObjectives(), compress);
+				format.writeHeader(this.file);
+			}
+		} catch (IOException | RuntimeException e) {
+			this.file.close();
+			throw e;
+		}
+	}
+
+	@Override
+	public int getNumberOfEntries() {
+		return format.offsets.size();
+	}
+
+	/**
+	 * Appends the decision variables, objectives and optional properties to
+	 * the output file.  Constraint violating solutions are not recorded.
+	 * 
+	 * @param entry the entry to write
+	 * @throws IOException if an I/O error occurred
+	 * @throws FrameworkException if a solution does not have the number of
+	 *         variables or objectives recorded in the header, in which case
+	 *         the entry is not written
+	 */
+	@Override
+	public void append(ResultEntry entry) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		OutputStream stream = format.compressed ? new DeflaterOutputStream(buffer) : buffer;
+		
+		try (DataOutputStream out = new DataOutputStream(stream)) {
+			writeProperties(entry.getProperties(), out);
+			
+			List<Solution> feasibleSolutions = new ArrayList<Solution>();
+			
+			for (Solution solution : entry.getPopulation()) {
+				if (!solution.violatesConstraints()) {
+					feasibleSolutions.add(solution);
+				}
+			}
+			
+			out.writeInt(feasibleSolutions.size());
+			
+			for (Solution solution : feasibleSolutions) {
+				writeSolution(solution, out);
+			}
+		}
+		
+		byte[] bytes = buffer.toByteArray();
+		ByteArrayOutputStream chunk = new ByteArrayOutputStream(
+				BinaryResultFormat.CHUNK_HEADER_SIZE + bytes.length);
+		
+		try (DataOutputStream out = new DataOutputStream(chunk)) {
+			out.writeInt(bytes.length);
+			out.writeInt(BinaryResultFormat.checksum(bytes));
+			out.write(bytes);
+		}
+		
+		// write the chunk with a single call so a failure leaves at most one
+		// incomplete chunk, which is discarded when the file is next opened
+		file.seek(format.end);
+		file.write(chunk.toByteArray());
+		
+		format.offsets.add(format.end);
+		format.end += chunk.size();
+	}
+	
+	/**
+	 * Writes the properties using the same encoding as {@link TypedProperties},
+	 * ensuring Unicode and special characters are escaped correctly.
+	 * 
+	 * @param properties the properties, or {@code null}
+	 * @param out the output stream
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void writeProperties(TypedProperties properties, DataOutputStream out)
+			throws IOException {
+		if ((properties == null) || properties.isEmpty()) {
+			out.writeInt(0);
+		} else {
+			StringWriter writer = new StringWriter();
+			properties.store(writer);
+			
+			byte[] bytes = writer.toString().getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+	
+	/**
+	 * Writes the decision variables, if included, and objectives of a
+	 * solution.  The number of values written always matches the header, as
+	 * the reader relies on the header to parse each solution.
+	 * 
+	 * @param solution the solution
+	 * @param out the output stream
+	 * @throws IOException if an I/O error occurred
+	 * @throws FrameworkException if the solution does not have the number of
+	 *         variables or objectives recorded in the header
+	 */
+	private void writeSolution(Solution solution, DataOutputStream out) throws IOException {
+		if (((format.numberOfVariables >= 0) &&
+				(solution.getNumberOfVariables() != format.numberOfVariables)) ||
+				(solution.getNumberOfObjectives() != format.numberOfObjectives)) {
+			throw new FrameworkException("solution does not match the result file, expected " +
+					format.numberOfVariables + " variables and " + format.numberOfObjectives +
+					" objectives");
+		}
+		
+		if (format.numberOfVariables >= 0) {
+			for (int i = 0; i < format.numberOfVariables; i++) {
+				SolutionCodec.writeVariable(solution.getVariable(i), out);
+			}
+		}
+		
+		for (int i = 0; i < format.numberOfObjectives; i++) {
+			out.writeDouble(solution.getObjective(i));
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			format.writeFooter(file);
+		} finally {
+			file.close();
+		}
+	}
+
+}
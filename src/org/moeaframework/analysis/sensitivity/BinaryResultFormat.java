@@ -0,0 +1,288 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Constants and routines shared by {@link BinaryResultFileWriter} and
+ * {@link BinaryResultFileReader}.  A binary result file consists of:
+ * <ol>
+ *   <li>A header containing the magic number, the format version, the problem
+ *       name, the number of variables ({@code -1} if variables are excluded),
+ *       the number of objectives, and whether entries are compressed.
+ *   <li>One chunk per entry, containing the length of the stored bytes, the
+ *       CRC-32 checksum of the stored bytes, and the stored bytes.  The stored
+ *       bytes are the entry, optionally compressed with {@code Deflater}.
+ *   <li>A footer, written when the file is closed, containing the offset of
+ *       every chunk, followed by the offset of the footer.
+ * </ol>
+ * The footer allows reading the index without scanning the file.  If the
+ * footer is missing, such as when the writer did not close cleanly, the index
+ * is rebuilt by scanning the chunks, stopping at the first incomplete or
+ * corrupt chunk.
+ */
+class BinaryResultFormat {
+	
+	/**
+	 * The magic number identifying binary result files, {@code "MRF1"}.
+	 */
+	static final int MAGIC = 0x4D524631;
+	
+	/**
+	 * The version of the format.
+	 */
+	static final int VERSION = 1;
+	
+	/**
+	 * The magic number starting the footer.  Since chunks start with a
+	 * non-negative length, this value must be negative.
+	 */
+	static final int FOOTER_MAGIC = 0xF00DF00D;
+	
+	/**
+	 * The magic number ending the footer, {@code "MRFE"}.
+	 */
+	static final int END_MAGIC = 0x4D524645;
+	
+	/**
+	 * The number of bytes preceding the stored bytes of each chunk.
+	 */
+	static final int CHUNK_HEADER_SIZE = 8;
+	
+	/**
+	 * The number of bytes at the end of the footer, consisting of the offset
+	 * of the footer and the end magic number.
+	 */
+	static final int FOOTER_TRAILER_SIZE = 12;
+	
+	/**
+	 * The problem name stored in the header.
+	 */
+	final String problemName;
+	
+	/**
+	 * The number of variables, or {@code -1} if variables are excluded.
+	 */
+	final int numberOfVariables;
+	
+	/**
+	 * The number of objectives.
+	 */
+	final int numberOfObjectives;
+	
+	/**
+	 * {@code true} if entries are compressed; {@code false} otherwise.
+	 */
+	final boolean compressed;
+	
+	/**
+	 * The offset of each chunk.
+	 */
+	final List<Long> offsets;
+	
+	/**
+	 * The offset following the last valid chunk, where the footer or next
+	 * chunk is written.
+	 */
+	long end;
+	
+	/**
+	 * Constructs the format description of a new file.
+	 * 
+	 * @param problemName the problem name
+	 * @param numberOfVariables the number of variables, or {@code -1} if
+	 *        variables are excluded
+	 * @param numberOfObjectives the number of objectives
+	 * @param compressed {@code true} if entries are compressed; {@code false}
+	 *        otherwise
+	 */
+	BinaryResultFormat(String problemName, int numberOfVariables, int numberOfObjectives,
+			boolean compressed) {
+		super();
+		this.problemName = problemName;
+		this.numberOfVariables = numberOfVariables;
+		this.numberOfObjectives = numberOfObjectives;
+		this.compressed = compressed;
+		
+		offsets = new ArrayList<Long>();
+	}
+	
+	/**
+	 * Writes the header at the start of the file and positions the file
+	 * after the header.
+	 * 
+	 * @param file the file
+	 * @throws IOException if an I/O error occurred
+	 */
+	void writeHeader(RandomAccessFile file) throws IOException {
+		file.seek(0);
+		file.writeInt(MAGIC);
+		file.writeInt(VERSION);
+		file.writeUTF(problemName);
+		file.writeInt(numberOfVariables);
+		file.writeInt(numberOfObjectives);
+		file.writeBoolean(compressed);
+		
+		end = file.getFilePointer();
+	}
+	
+	/**
+	 * Reads the header and index of an existing file.
+	 * 
+	 * @param file the file
+	 * @return the format description of the file
+	 * @throws IOException if an I/O error occurred or the file is not a
+	 *         binary result file
+	 */
+	static BinaryResultFormat read(RandomAccessFile file) throws IOException {
+		file.seek(0);
+		
+		if (file.length() < 8 || file.readInt() != MAGIC) {
+			throw new IOException("not a binary result file");
+		}
+		
+		int version = file.readInt();
+		
+		if (version != VERSION) {
+			throw new IOException("unsupported binary result file version " + version);
+		}
+		
+		BinaryResultFormat format = new BinaryResultFormat(file.readUTF(), file.readInt(),
+				file.readInt(), file.readBoolean());
+		format.end = file.getFilePointer();
+		
+		if (!format.readFooter(file)) {
+			format.scan(file);
+		}
+		
+		return format;
+	}
+	
+	/**
+	 * Reads the index from the footer.
+	 * 
+	 * @param file the file
+	 * @return {@code true} if the footer is valid; {@code false} otherwise
+	 * @throws IOException if an I/O error occurred
+	 */
+	private boolean readFooter(RandomAccessFile file) throws IOException {
+		long length = file.length();
+		
+		if (length < end + FOOTER_TRAILER_SIZE + 8) {
+			return false;
+		}
+		
+		file.seek(length - FOOTER_TRAILER_SIZE);
+		long footer = file.readLong();
+		
+		if (file.readInt() != END_MAGIC || footer < end || footer > length - FOOTER_TRAILER_SIZE - 8) {
+			return false;
+		}
+		
+		file.seek(footer);
+		
+		if (file.readInt() != FOOTER_MAGIC) {
+			return false;
+		}
+		
+		int count = file.readInt();
+		
+		if (count < 0 || footer + 8 + 8L * count != length - FOOTER_TRAILER_SIZE) {
+			return false;
+		}
+		
+		for (int i = 0; i < count; i++) {
+			offsets.add(file.readLong());
+		}
+		
+		end = footer;
+		return true;
+	}
+	
+	/**
+	 * Rebuilds the index by scanning the chunks, stopping at the first
+	 * incomplete or corrupt chunk.
+	 * 
+	 * @param file the file
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void scan(RandomAccessFile file) throws IOException {
+		long length = file.length();
+		long position = end;
+		
+		while (position + CHUNK_HEADER_SIZE <= length) {
+			file.seek(position);
+			int size = file.readInt();
+			
+			if (size < 0 || position + CHUNK_HEADER_SIZE + size > length) {
+				break;
+			}
+			
+			int checksum = file.readInt();
+			byte[] bytes = new byte[size];
+			file.readFully(bytes);
+			
+			if (checksum(bytes) != checksum) {
+				break;
+			}
+			
+			offsets.add(position);
+			position += CHUNK_HEADER_SIZE + size;
+		}
+		
+		end = position;
+	}
+	
+	/**
+	 * Writes the footer at the end of the file.
+	 * 
+	 * @param file the file
+	 * @throws IOException if an I/O error occurred
+	 */
+	void writeFooter(RandomAccessFile file) throws IOException {
+		file.seek(end);
+		file.writeInt(FOOTER_MAGIC);
+		file.writeInt(offsets.size());
+		
+		for (long offset : offsets) {
+			file.writeLong(offset);
+		}
+		
+		file.writeLong(end);
+		file.writeInt(END_MAGIC);
+		file.setLength(file.getFilePointer());
+	}
+	
+	/**
+	 * Returns the CRC-32 checksum of the bytes.
+	 * 
+	 * @param bytes the bytes
+	 * @return the checksum
+	 */
+	static int checksum(byte[] bytes) {
+		CRC32 crc = new CRC32();
+		crc.update(bytes, 0, bytes.length);
+		return (int)crc.getValue();
+	}
+
+}
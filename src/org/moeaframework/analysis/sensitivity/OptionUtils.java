@@ -1,6 +1,5 @@
 package org.moeaframework.analysis.sensitivity;
 
-import java.io.File;
 import java.io.IOException;
 
 import org.apache.commons.cli.CommandLine;
@@ -115,8 +114,7 @@ public class OptionUtils {
 		NondominatedPopulation referenceSet = null;
 		
 		if (commandLine.hasOption("reference")) {
-			referenceSet = new NondominatedPopulation(PopulationIO.readObjectives(
-					new File(commandLine.getOptionValue("reference"))));
+			referenceSet = PopulationIO.readReferenceSet(commandLine.getOptionValue("reference"));
 		} else {
 			referenceSet = ProblemFactory.getInstance().getReferenceSet(
 					commandLine.getOptionValue("problem"));
@@ -0,0 +1,196 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.util.CommandLineUtility;
+import org.moeaframework.util.io.FileUtils;
+
+/**
+ * Command line utility for converting result files between the text format
+ * written by {@link ResultFileWriter} and the binary format written by
+ * {@link BinaryResultFileWriter}.  The format of the input file is detected
+ * automatically and the output file is written in the other format.
+ * <p>
+ * Usage: {@code java -cp "..." org.moeaframework.analysis.sensitivity.ResultFileConverter <options>}
+ * 
+ * <table>
+ *   <caption style="text-align: left">Arguments:</caption>
+ *   <tr>
+ *     <td>{@code -b, --problem}</td>
+ *     <td>The name of the problem.  This name should reference one of the
+ *         problems recognized by the MOEA Framework.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code -d, --dimension}</td>
+ *     <td>The number of objectives (use instead of -b).</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code -i, --input}</td>
+ *     <td>The input result file.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code -o, --output}</td>
+ *     <td>The output result file, which is overwritten if it exists.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code -c, --compress}</td>
+ *     <td>Compress the entries when writing a binary result file.</td>
+ *   </tr>
+ * </table>
+ */
+public class ResultFileConverter extends CommandLineUtility {
+	
+	/**
+	 * Constructs the command line utility for converting result files.
+	 */
+	public ResultFileConverter() {
+		super();
+	}
+	
+	@Override
+	public Options getOptions() {
+		Options options = super.getOptions();
+		
+		OptionUtils.addProblemOption(options, true);
+		
+		options.addOption(Option.builder("i")
+				.longOpt("input")
+				.hasArg()
+				.argName("file")
+				.required()
+				.build());
+		options.addOption(Option.builder("o")
+				.longOpt("output")
+				.hasArg()
+				.argName("file")
+				.required()
+				.build());
+		options.addOption(Option.builder("c")
+				.longOpt("compress")
+				.build());
+		
+		return options;
+	}
+
+	@Override
+	public void run(CommandLine commandLine) throws Exception {
+		File input = new File(commandLine.getOptionValue("input"));
+		File output = new File(commandLine.getOptionValue("output"));
+		
+		try (Problem problem = OptionUtils.getProblemInstance(commandLine, true)) {
+			if (BinaryResultFileReader.isBinaryResultFile(input)) {
+				toText(problem, input, output);
+			} else {
+				toBinary(problem, input, output, commandLine.hasOption("compress"));
+			}
+		}
+	}
+	
+	/**
+	 * Converts a text result file to a binary result file.  The output file is
+	 * overwritten if it exists.  Decision variables are only stored if every
+	 * solution in the text result file includes them.
+	 * 
+	 * @param problem the problem
+	 * @param input the text result file
+	 * @param output the binary result file
+	 * @param compress {@code true} if entries are compressed; {@code false}
+	 *        otherwise
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static void toBinary(Problem problem, File input, File output, boolean compress)
+			throws IOException {
+		// delete the file to avoid appending
+		FileUtils.delete(output);
+		
+		boolean includeVariables = hasVariables(problem, input);
+		
+		try (ResultFileReader reader = new ResultFileReader(problem, input);
+				BinaryResultFileWriter writer = new BinaryResultFileWriter(problem, output,
+						includeVariables, compress)) {
+			for (ResultEntry entry : reader) {
+				writer.append(entry);
+			}
+		}
+	}
+	
+	/**
+	 * Returns {@code true} if every solution in the text result file includes
+	 * the decision variables; {@code false} if the file was written without
+	 * decision variables.
+	 * 
+	 * @param problem the problem
+	 * @param input the text result file
+	 * @return {@code true} if every solution in the text result file includes
+	 *         the decision variables; {@code false} otherwise
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static boolean hasVariables(Problem problem, File input) throws IOException {
+		try (ResultFileReader reader = new ResultFileReader(problem, input)) {
+			for (ResultEntry entry : reader) {
+				for (Solution solution : entry.getPopulation()) {
+					if (solution.getNumberOfVariables() != problem.getNumberOfVariables()) {
+						return false;
+					}
+				}
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Converts a binary result file to a text result file.  The output file is
+	 * overwritten if it exists.
+	 * 
+	 * @param problem the problem
+	 * @param input the binary result file
+	 * @param output the text result file
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static void toText(Problem problem, File input, File output) throws IOException {
+		// delete the file to avoid appending
+		FileUtils.delete(output);
+		
+		try (BinaryResultFileReader reader = new BinaryResultFileReader(problem, input);
+				ResultFileWriter writer = new ResultFileWriter(problem, output)) {
+			for (ResultEntry entry : reader) {
+				writer.append(entry);
+			}
+		}
+	}
+	
+	/**
+	 * Starts the command line utility for converting result files.
+	 * 
+	 * @param args the command line arguments
+	 * @throws Exception if an error occurred
+	 */
+	public static void main(String[] args) throws Exception {
+		new ResultFileConverter().start(args);
+	}
+
+}
@@ -0,0 +1,1069 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.moeaframework.core.variable.RealVariable;
+
+/**
+ * A population of real-valued solutions stored in contiguous arrays.  The
+ * decision variables, objectives, and constraints of all solutions are each
+ * stored in a single {@code double[]}, and the rank and crowding distance
+ * are stored in primitive arrays.  Compared to a {@link Population}, where
+ * each decision variable is a separate object, this representation uses far
+ * less memory and avoids garbage collection overhead for large populations.
+ * <p>
+ * Solutions are referenced by their index.  Variation operators such as
+ * {@link org.moeaframework.core.operator.real.SBX},
+ * {@link org.moeaframework.core.operator.real.PM}, and
+ * {@link org.moeaframework.core.operator.real.DifferentialEvolutionVariation}
+ * provide methods operating directly on the arrays.  For compatibility with
+ * existing APIs, {@link #get(int)} returns a {@link Solution} view backed by
+ * the arrays.  Changes to the view, including the {@code rank} and
+ * {@code crowdingDistance} attributes, are written to this population.  Other
+ * attributes are stored in the view itself.  Copying a view produces an
+ * ordinary, independent solution.
+ * <p>
+ * All decision variables must be {@link RealVariable}s.  The bounds of each
+ * decision variable are shared by all solutions in the population.
+ */
+public class CompactPopulation implements Iterable<Solution> {
+	
+	/**
+	 * The initial capacity of the population.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+	
+	/**
+	 * The rank assigned to solutions that have not been ranked.
+	 */
+	private static final int NO_RANK = -1;
+
+	/**
+	 * The number of decision variables.
+	 */
+	private final int numberOfVariables;
+	
+	/**
+	 * The number of objectives.
+	 */
+	private final int numberOfObjectives;
+	
+	/**
+	 * The number of constraints.
+	 */
+	private final int numberOfConstraints;
+	
+	/**
+	 * The lower bound of each decision variable.
+	 */
+	private final double[] lowerBounds;
+	
+	/**
+	 * The upper bound of each decision variable.
+	 */
+	private final double[] upperBounds;
+	
+	/**
+	 * The decision variables, where the {@code j}-th variable of the
+	 * {@code i}-th solution is stored at {@code i*numberOfVariables + j}.
+	 */
+	private double[] variables;
+	
+	/**
+	 * The objectives, stored in the same layout as the decision variables.
+	 */
+	private double[] objectives;
+	
+	/**
+	 * The constraints, stored in the same layout as the decision variables.
+	 */
+	private double[] constraints;
+	
+	/**
+	 * The rank of each solution, or {@value #NO_RANK} if not ranked.
+	 */
+	private int[] ranks;
+	
+	/**
+	 * The crowding distance of each solution, or {@code NaN} if not assigned.
+	 */
+	private double[] crowdingDistances;
+	
+	/**
+	 * The views of each solution, created on demand.
+	 */
+	private View[] views;
+	
+	/**
+	 * The number of solutions in this population.
+	 */
+	private int size;
+	
+	/**
+	 * Constructs an empty population for solutions to the given problem.  All
+	 * decision variables created by {@link Problem#newSolution()} must be
+	 * {@link RealVariable}s.
+	 * 
+	 * @param problem the problem
+	 * @throws IllegalArgumentException if the problem has decision variables
+	 *         that are not real-valued
+	 */
+	public CompactPopulation(Problem problem) {
+		this(problem.newSolution());
+	}
+	
+	/**
+	 * Constructs an empty population for solutions with the same number of
+	 * decision variables, objectives, and constraints as the template.  The
+	 * bounds of the decision variables are also taken from the template.
+	 * 
+	 * @param template the template solution
+	 * @throws IllegalArgumentException if the template has decision variables
+	 *         that are not real-valued
+	 */
+	public CompactPopulation(Solution template) {
+		this(template.getNumberOfObjectives(), template.getNumberOfConstraints(),
+				getLowerBounds(template), getUpperBounds(template));
+	}
+	
+	/**
+	 * Constructs an empty population.
+	 * 
+	 * @param numberOfObjectives the number of objectives
+	 * @param numberOfConstraints the number of constraints
+	 * @param lowerBounds the lower bound of each decision variable
+	 * @param upperBounds the upper bound of each decision variable
+	 */
+	public CompactPopulation(int numberOfObjectives, int numberOfConstraints,
+			double[] lowerBounds, double[] upperBounds) {
+		super();
+		
+		if (lowerBounds.length != upperBounds.length) {
+			throw new IllegalArgumentException("lower and upper bounds must have the same length");
+		}
+		
+		this.numberOfVariables = lowerBounds.length;
+		this.numberOfObjectives = numberOfObjectives;
+		this.numberOfConstraints = numberOfConstraints;
+		this.lowerBounds = lowerBounds.clone();
+		this.upperBounds = upperBounds.clone();
+		
+		variables = new double[INITIAL_CAPACITY * numberOfVariables];
+		objectives = new double[INITIAL_CAPACITY * numberOfObjectives];
+		constraints = new double[INITIAL_CAPACITY * numberOfConstraints];
+		ranks = new int[INITIAL_CAPACITY];
+		crowdingDistances = new double[INITIAL_CAPACITY];
+		views = new View[INITIAL_CAPACITY];
+	}
+	
+	/**
+	 * Returns the lower bounds of the template's decision variables.
+	 * 
+	 * @param template the template solution
+	 * @return the lower bounds of the template's decision variables
+	 * @throws IllegalArgumentException if the template has decision variables
+	 *         that are not real-valued
+	 */
+	private static double[] getLowerBounds(Solution template) {
+		double[] bounds = new double[template.getNumberOfVariables()];
+		
+		for (int i = 0; i < bounds.length; i++) {
+			bounds[i] = getRealVariable(template, i).getLowerBound();
+		}
+		
+		return bounds;
+	}
+	
+	/**
+	 * Returns the upper bounds of the template's decision variables.
+	 * 
+	 * @param template the template solution
+	 * @return the upper bounds of the template's decision variables
+	 * @throws IllegalArgumentException if the template has decision variables
+	 *         that are not real-valued
+	 */
+	private static double[] getUpperBounds(Solution template) {
+		double[] bounds = new double[template.getNumberOfVariables()];
+		
+		for (int i = 0; i < bounds.length; i++) {
+			bounds[i] = getRealVariable(template, i).getUpperBound();
+		}
+		
+		return bounds;
+	}
+	
+	/**
+	 * Returns the decision variable, ensuring it is real-valued.
+	 * 
+	 * @param solution the solution
+	 * @param index the index of the decision variable
+	 * @return the decision variable
+	 * @throws IllegalArgumentException if the decision variable is not
+	 *         real-valued
+	 */
+	private static RealVariable getRealVariable(Solution solution, int index) {
+		Variable variable = solution.getVariable(index);
+		
+		if (!(variable instanceof RealVariable)) {
+			throw new IllegalArgumentException("compact populations require real-valued decision variables");
+		}
+		
+		return (RealVariable)variable;
+	}
+	
+	/**
+	 * Ensures the arrays can store at least the given number of solutions.
+	 * 
+	 * @param capacity the required capacity
+	 */
+	private void ensureCapacity(int capacity) {
+		if (capacity > ranks.length) {
+			int newCapacity = Math.max(capacity, 2 * ranks.length);
+			
+			variables = Arrays.copyOf(variables, newCapacity * numberOfVariables);
+			objectives = Arrays.copyOf(objectives, newCapacity * numberOfObjectives);
+			constraints = Arrays.copyOf(constraints, newCapacity * numberOfConstraints);
+			ranks = Arrays.copyOf(ranks, newCapacity);
+			crowdingDistances = Arrays.copyOf(crowdingDistances, newCapacity);
+			views = Arrays.copyOf(views, newCapacity);
+		}
+	}
+	
+	/**
+	 * Appends a new solution with all values set to {@code 0}, or the lower
+	 * bound for decision variables.
+	 * 
+	 * @return the index of the new solution
+	 */
+	public int addNew() {
+		ensureCapacity(size + 1);
+		
+		System.arraycopy(lowerBounds, 0, variables, size * numberOfVariables, numberOfVariables);
+		Arrays.fill(objectives, size * numberOfObjectives, (size + 1) * numberOfObjectives, 0.0);
+		Arrays.fill(constraints, size * numberOfConstraints, (size + 1) * numberOfConstraints, 0.0);
+		ranks[size] = NO_RANK;
+		crowdingDistances[size] = Double.NaN;
+		views[size] = null;
+		
+		return size++;
+	}
+	
+	/**
+	 * Appends a copy of the given solution.  The rank and crowding distance
+	 * are copied if present; other attributes are not copied.
+	 * 
+	 * @param solution the solution to copy
+	 * @return the index of the new solution
+	 * @throws IllegalArgumentException if the solution is not compatible with
+	 *         this population
+	 */
+	public int add(Solution solution) {
+		if ((solution.getNumberOfVariables() != numberOfVariables) ||
+				(solution.getNumberOfObjectives() != numberOfObjectives) ||
+				(solution.getNumberOfConstraints() != numberOfConstraints)) {
+			throw new IllegalArgumentException("solution is not compatible with this population");
+		}
+		
+		int index = addNew();
+		
+		for (int j = 0; j < numberOfVariables; j++) {
+			variables[index * numberOfVariables + j] = getRealVariable(solution, j).getValue();
+		}
+		
+		for (int j = 0; j < numberOfObjectives; j++) {
+			objectives[index * numberOfObjectives + j] = solution.getObjective(j);
+		}
+		
+		for (int j = 0; j < numberOfConstraints; j++) {
+			constraints[index * numberOfConstraints + j] = solution.getConstraint(j);
+		}
+		
+		if (solution.hasAttribute(NondominatedSorting.RANK_ATTRIBUTE)) {
+			ranks[index] = (Integer)solution.getAttribute(NondominatedSorting.RANK_ATTRIBUTE);
+		}
+		
+		if (solution.hasAttribute(NondominatedSorting.CROWDING_ATTRIBUTE)) {
+			crowdingDistances[index] = (Double)solution.getAttribute(NondominatedSorting.CROWDING_ATTRIBUTE);
+		}
+		
+		return index;
+	}
+	
+	/**
+	 * Appends copies of the given solutions.
+	 * 
+	 * @param solutions the solutions to copy
+	 */
+	public void addAll(Iterable<? extends Solution> solutions) {
+		for (Solution solution : solutions) {
+			add(solution);
+		}
+	}
+	
+	/**
+	 * Appends a copy of a solution stored in a compact population, which may
+	 * be this population.  The rank and crowding distance are also copied.
+	 * 
+	 * @param source the population containing the solution
+	 * @param index the index of the solution in the source population
+	 * @return the index of the new solution
+	 * @throws IllegalArgumentException if the source population is not
+	 *         compatible with this population
+	 */
+	public int add(CompactPopulation source, int index) {
+		if ((source.numberOfVariables != numberOfVariables) ||
+				(source.numberOfObjectives != numberOfObjectives) ||
+				(source.numberOfConstraints != numberOfConstraints)) {
+			throw new IllegalArgumentException("populations are not compatible");
+		}
+		
+		source.checkIndex(index);
+		
+		int newIndex = addNew();
+		
+		System.arraycopy(source.variables, index * numberOfVariables, variables,
+				newIndex * numberOfVariables, numberOfVariables);
+		System.arraycopy(source.objectives, index * numberOfObjectives, objectives,
+				newIndex * numberOfObjectives, numberOfObjectives);
+		System.arraycopy(source.constraints, index * numberOfConstraints, constraints,
+				newIndex * numberOfConstraints, numberOfConstraints);
+		ranks[newIndex] = source.ranks[index];
+		crowdingDistances[newIndex] = source.crowdingDistances[index];
+		
+		return newIndex;
+	}
+	
+	/**
+	 * Keeps only the solutions at the given indices, in the given order.
+	 * This is used to implement survival selection, such as truncating a
+	 * population after sorting.  Views of retained solutions remain valid;
+	 * views of discarded solutions are detached and should not be used.
+	 * 
+	 * @param indices the indices of the solutions to keep
+	 */
+	public void retain(int[] indices) {
+		for (int index : indices) {
+			checkIndex(index);
+		}
+		
+		double[] newVariables = new double[variables.length];
+		double[] newObjectives = new double[objectives.length];
+		double[] newConstraints = new double[constraints.length];
+		int[] newRanks = new int[ranks.length];
+		double[] newCrowdingDistances = new double[crowdingDistances.length];
+		View[] newViews = new View[views.length];
+		
+		for (int i = 0; i < indices.length; i++) {
+			int index = indices[i];
+			
+			System.arraycopy(variables, index * numberOfVariables, newVariables,
+					i * numberOfVariables, numberOfVariables);
+			System.arraycopy(objectives, index * numberOfObjectives, newObjectives,
+					i * numberOfObjectives, numberOfObjectives);
+			System.arraycopy(constraints, index * numberOfConstraints, newConstraints,
+					i * numberOfConstraints, numberOfConstraints);
+			newRanks[i] = ranks[index];
+			newCrowdingDistances[i] = crowdingDistances[index];
+			
+			// a view can only track one index, so duplicates get a new view
+			if ((views[index] != null) && (views[index].index == index)) {
+				newViews[i] = views[index];
+				views[index].index = -1;
+			}
+		}
+		
+		for (int i = 0; i < size; i++) {
+			if ((views[i] != null) && (views[i].index == i)) {
+				views[i].index = -1;
+			}
+		}
+		
+		for (int i = 0; i < indices.length; i++) {
+			if (newViews[i] != null) {
+				newViews[i].index = i;
+			}
+		}
+		
+		variables = newVariables;
+		objectives = newObjectives;
+		constraints = newConstraints;
+		ranks = newRanks;
+		crowdingDistances = newCrowdingDistances;
+		views = newViews;
+		size = indices.length;
+	}
+	
+	/**
+	 * Removes all solutions from this population.
+	 */
+	public void clear() {
+		retain(new int[0]);
+	}
+	
+	/**
+	 * Ensures the index references a solution in this population.
+	 * 
+	 * @param index the index
+	 * @throws IndexOutOfBoundsException if the index is out of bounds
+	 */
+	private void checkIndex(int index) {
+		if ((index < 0) || (index >= size)) {
+			throw new IndexOutOfBoundsException("index " + index + " out of bounds for size " + size);
+		}
+	}
+	
+	/**
+	 * Returns the number of solutions in this population.
+	 * 
+	 * @return the number of solutions in this population
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Returns {@code true} if this population contains no solutions.
+	 * 
+	 * @return {@code true} if this population contains no solutions;
+	 *         {@code false} otherwise
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the number of decision variables of each solution.
+	 * 
+	 * @return the number of decision variables of each solution
+	 */
+	public int getNumberOfVariables() {
+		return numberOfVariables;
+	}
+
+	/**
+	 * Returns the number of objectives of each solution.
+	 * 
+	 * @return the number of objectives of each solution
+	 */
+	public int getNumberOfObjectives() {
+		return numberOfObjectives;
+	}
+
+	/**
+	 * Returns the number of constraints of each solution.
+	 * 
+	 * @return the number of constraints of each solution
+	 */
+	public int getNumberOfConstraints() {
+		return numberOfConstraints;
+	}
+	
+	/**
+	 * Returns the lower bound of a decision variable.
+	 * 
+	 * @param variable the index of the decision variable
+	 * @return the lower bound of the decision variable
+	 */
+	public double getLowerBound(int variable) {
+		return lowerBounds[variable];
+	}
+	
+	/**
+	 * Returns the upper bound of a decision variable.
+	 * 
+	 * @param variable the index of the decision variable
+	 * @return the upper bound of the decision variable
+	 */
+	public double getUpperBound(int variable) {
+		return upperBounds[variable];
+	}
+	
+	/**
+	 * Returns the array storing the decision variables of all solutions.  The
+	 * {@code j}-th variable of the {@code i}-th solution is stored at
+	 * {@code i*getNumberOfVariables() + j}.  The array may be replaced when
+	 * solutions are added or removed, and may be larger than required.
+	 * 
+	 * @return the array storing the decision variables of all solutions
+	 */
+	public double[] getVariables() {
+		return variables;
+	}
+	
+	/**
+	 * Returns the value of a decision variable.
+	 * 
+	 * @param index the index of the solution
+	 * @param variable the index of the decision variable
+	 * @return the value of the decision variable
+	 */
+	public double getVariable(int index, int variable) {
+		return variables[index * numberOfVariables + variable];
+	}
+	
+	/**
+	 * Sets the value of a decision variable.  Unlike
+	 * {@link RealVariable#setValue(double)}, the bounds are not checked.
+	 * 
+	 * @param index the index of the solution
+	 * @param variable the index of the decision variable
+	 * @param value the new value of the decision variable
+	 */
+	public void setVariable(int index, int variable, double value) {
+		variables[index * numberOfVariables + variable] = value;
+	}
+	
+	/**
+	 * Returns the value of an objective.
+	 * 
+	 * @param index the index of the solution
+	 * @param objective the index of the objective
+	 * @return the value of the objective
+	 */
+	public double getObjective(int index, int objective) {
+		return objectives[index * numberOfObjectives + objective];
+	}
+	
+	/**
+	 * Sets the value of an objective.
+	 * 
+	 * @param index the index of the solution
+	 * @param objective the index of the objective
+	 * @param value the new value of the objective
+	 */
+	public void setObjective(int index, int objective, double value) {
+		objectives[index * numberOfObjectives + objective] = value;
+	}
+	
+	/**
+	 * Returns a copy of the objectives of a solution.
+	 * 
+	 * @param index the index of the solution
+	 * @return a copy of the objectives of the solution
+	 */
+	public double[] getObjectives(int index) {
+		return Arrays.copyOfRange(objectives, index * numberOfObjectives, (index + 1) * numberOfObjectives);
+	}
+	
+	/**
+	 * Returns the value of a constraint.
+	 * 
+	 * @param index the index of the solution
+	 * @param constraint the index of the constraint
+	 * @return the value of the constraint
+	 */
+	public double getConstraint(int index, int constraint) {
+		return constraints[index * numberOfConstraints + constraint];
+	}
+	
+	/**
+	 * Sets the value of a constraint.
+	 * 
+	 * @param index the index of the solution
+	 * @param constraint the index of the constraint
+	 * @param value the new value of the constraint
+	 */
+	public void setConstraint(int index, int constraint, double value) {
+		constraints[index * numberOfConstraints + constraint] = value;
+	}
+	
+	/**
+	 * Returns {@code true} if the solution violates any constraints.
+	 * 
+	 * @param index the index of the solution
+	 * @return {@code true} if the solution violates any constraints;
+	 *         {@code false} otherwise
+	 */
+	public boolean violatesConstraints(int index) {
+		for (int j = 0; j < numberOfConstraints; j++) {
+			if (constraints[index * numberOfConstraints + j] != 0.0) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Returns the rank of a solution, or {@code -1} if the solution is not
+	 * ranked.
+	 * 
+	 * @param index the index of the solution
+	 * @return the rank of the solution, or {@code -1} if not ranked
+	 */
+	public int getRank(int index) {
+		return ranks[index];
+	}
+	
+	/**
+	 * Sets the rank of a solution.
+	 * 
+	 * @param index the index of the solution
+	 * @param rank the rank
+	 */
+	public void setRank(int index, int rank) {
+		ranks[index] = rank;
+	}
+	
+	/**
+	 * Returns the crowding distance of a solution, or {@code NaN} if not
+	 * assigned.
+	 * 
+	 * @param index the index of the solution
+	 * @return the crowding distance of the solution, or {@code NaN} if not
+	 *         assigned
+	 */
+	public double getCrowdingDistance(int index) {
+		return crowdingDistances[index];
+	}
+	
+	/**
+	 * Sets the crowding distance of a solution.
+	 * 
+	 * @param index the index of the solution
+	 * @param crowdingDistance the crowding distance
+	 */
+	public void setCrowdingDistance(int index, double crowdingDistance) {
+		crowdingDistances[index] = crowdingDistance;
+	}
+	
+	/**
+	 * Evaluates all solutions in this population in a single batch using
+	 * {@link Problem#evaluateAll(List)}.
+	 * 
+	 * @param problem the problem
+	 */
+	public void evaluate(Problem problem) {
+		problem.evaluateAll(asList());
+	}
+	
+	/**
+	 * Returns the view of a solution.  The view remains attached to the
+	 * solution while it is in this population, including when other solutions
+	 * are removed by {@link #retain(int[])}.
+	 * 
+	 * @param index the index of the solution
+	 * @return the view of the solution
+	 */
+	public Solution get(int index) {
+		checkIndex(index);
+		
+		if ((views[index] == null) || (views[index].index != index)) {
+			views[index] = new View(this, index);
+		}
+		
+		return views[index];
+	}
+	
+	/**
+	 * Returns a list of views of all solutions in this population.  The list
+	 * reflects the current size of this population and can not be modified.
+	 * 
+	 * @return a list of views of all solutions in this population
+	 */
+	public List<Solution> asList() {
+		return new AbstractList<Solution>() {
+
+			@Override
+			public Solution get(int index) {
+				return CompactPopulation.this.get(index);
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+			
+		};
+	}
+	
+	/**
+	 * Returns a {@link Population} containing independent copies of all
+	 * solutions in this population.
+	 * 
+	 * @return a population containing copies of all solutions
+	 */
+	public Population toPopulation() {
+		Population result = new Population();
+		
+		for (int i = 0; i < size; i++) {
+			result.add(get(i).deepCopy());
+		}
+		
+		return result;
+	}
+
+	@Override
+	public Iterator<Solution> iterator() {
+		return asList().iterator();
+	}
+	
+	/**
+	 * A decision variable backed by the array of a compact population.
+	 */
+	private static class ViewVariable extends RealVariable {
+
+		private static final long serialVersionUID = 2402539880049017417L;
+		
+		/**
+		 * The view of the solution containing this variable.
+		 */
+		private final View view;
+		
+		/**
+		 * The index of this variable.
+		 */
+		private final int variable;
+		
+		/**
+		 * Constructs a decision variable backed by the array of a compact
+		 * population.
+		 * 
+		 * @param view the view of the solution containing this variable
+		 * @param variable the index of this variable
+		 */
+		public ViewVariable(View view, int variable) {
+			super(view.population.lowerBounds[variable], view.population.upperBounds[variable]);
+			this.view = view;
+			this.variable = variable;
+		}
+
+		@Override
+		public double getValue() {
+			return view.population.getVariable(view.getIndex(), variable);
+		}
+
+		@Override
+		public void setValue(double value) {
+			if ((value < getLowerBound()) || (value > getUpperBound())) {
+				throw new IllegalArgumentException("value out of bounds");
+			}
+			
+			view.population.setVariable(view.getIndex(), variable, value);
+		}
+
+		@Override
+		public RealVariable copy() {
+			return new RealVariable(getValue(), getLowerBound(), getUpperBound());
+		}
+
+		@Override
+		public String toString() {
+			return Double.toString(getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return copy().hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			} else if ((obj == null) || (obj.getClass() != getClass())) {
+				return false;
+			} else {
+				return copy().equals(((ViewVariable)obj).copy());
+			}
+		}
+		
+		/**
+		 * Replaces this variable with an independent copy when serialized.
+		 * 
+		 * @return an independent copy of this variable
+		 */
+		private Object writeReplace() {
+			return copy();
+		}
+		
+	}
+	
+	/**
+	 * A solution backed by the arrays of a compact population.
+	 */
+	private static class View extends Solution {
+
+		private static final long serialVersionUID = -3316002208960567163L;
+		
+		/**
+		 * The population storing this solution.
+		 */
+		private final CompactPopulation population;
+		
+		/**
+		 * The index of this solution, or {@code -1} if this view was detached
+		 * from the population.
+		 */
+		private int index;
+		
+		/**
+		 * The decision variables, created on demand.
+		 */
+		private final Variable[] variables;
+		
+		/**
+		 * Constructs a view of a solution in a compact population.
+		 * 
+		 * @param population the population storing the solution
+		 * @param index the index of the solution
+		 */
+		public View(CompactPopulation population, int index) {
+			super(0, 0, 0);
+			this.population = population;
+			this.index = index;
+			this.variables = new Variable[population.numberOfVariables];
+		}
+		
+		/**
+		 * Returns the index of this solution.
+		 * 
+		 * @return the index of this solution
+		 * @throws IllegalStateException if this view was detached from the
+		 *         population
+		 */
+		private int getIndex() {
+			if (index < 0) {
+				throw new IllegalStateException("solution was removed from the compact population");
+			}
+			
+			return index;
+		}
+
+		@Override
+		public Solution copy() {
+			Solution copy = new Solution(getNumberOfVariables(), getNumberOfObjectives(),
+					getNumberOfConstraints());
+			
+			for (int i = 0; i < getNumberOfVariables(); i++) {
+				copy.setVariable(i, getVariable(i).copy());
+			}
+			
+			copy.setObjectives(getObjectives());
+			copy.setConstraints(getConstraints());
+			return copy;
+		}
+
+		@Override
+		public int getNumberOfObjectives() {
+			return population.numberOfObjectives;
+		}
+
+		@Override
+		public int getNumberOfVariables() {
+			return population.numberOfVariables;
+		}
+
+		@Override
+		public int getNumberOfConstraints() {
+			return population.numberOfConstraints;
+		}
+
+		@Override
+		public double getObjective(int index) {
+			return population.getObjective(getIndex(), index);
+		}
+
+		@Override
+		public Variable getVariable(int index) {
+			if (variables[index] == null) {
+				variables[index] = new ViewVariable(this, index);
+			}
+			
+			return variables[index];
+		}
+
+		@Override
+		public void setObjective(int index, double objective) {
+			population.setObjective(getIndex(), index, objective);
+		}
+
+		@Override
+		public void setObjectives(double[] objectives) {
+			if (objectives.length != getNumberOfObjectives()) {
+				throw new IllegalArgumentException("invalid number of objectives");
+			}
+			
+			for (int i = 0; i < objectives.length; i++) {
+				setObjective(i, objectives[i]);
+			}
+		}
+
+		@Override
+		public double[] getObjectives() {
+			return population.getObjectives(getIndex());
+		}
+
+		@Override
+		public void setVariable(int index, Variable variable) {
+			if (!(variable instanceof RealVariable)) {
+				throw new IllegalArgumentException("compact populations require real-valued decision variables");
+			}
+			
+			getVariable(index);
+			((RealVariable)variables[index]).setValue(((RealVariable)variable).getValue());
+		}
+
+		@Override
+		public boolean violatesConstraints() {
+			return population.violatesConstraints(getIndex());
+		}
+
+		@Override
+		public double getConstraint(int index) {
+			return population.getConstraint(getIndex(), index);
+		}
+
+		@Override
+		public void setConstraints(double[] constraints) {
+			if (constraints.length != getNumberOfConstraints()) {
+				throw new IllegalArgumentException("invalid number of constraints");
+			}
+			
+			for (int i = 0; i < constraints.length; i++) {
+				setConstraint(i, constraints[i]);
+			}
+		}
+
+		@Override
+		public double[] getConstraints() {
+			double[] constraints = new double[getNumberOfConstraints()];
+			
+			for (int i = 0; i < constraints.length; i++) {
+				constraints[i] = getConstraint(i);
+			}
+			
+			return constraints;
+		}
+
+		@Override
+		public void setConstraint(int index, double constraint) {
+			population.setConstraint(getIndex(), index, constraint);
+		}
+
+		@Override
+		public Object getAttribute(String key) {
+			if (NondominatedSorting.RANK_ATTRIBUTE.equals(key)) {
+				int rank = population.getRank(getIndex());
+				return rank == NO_RANK ? null : rank;
+			} else if (NondominatedSorting.CROWDING_ATTRIBUTE.equals(key)) {
+				double crowdingDistance = population.getCrowdingDistance(getIndex());
+				return Double.isNaN(crowdingDistance) ? null : crowdingDistance;
+			} else {
+				return super.getAttribute(key);
+			}
+		}
+
+		@Override
+		public Object setAttribute(String key, Serializable value) {
+			if (NondominatedSorting.RANK_ATTRIBUTE.equals(key) && (value instanceof Integer)) {
+				Object oldValue = getAttribute(key);
+				population.setRank(getIndex(), (Integer)value);
+				return oldValue;
+			} else if (NondominatedSorting.CROWDING_ATTRIBUTE.equals(key) && (value instanceof Double)) {
+				Object oldValue = getAttribute(key);
+				population.setCrowdingDistance(getIndex(), (Double)value);
+				return oldValue;
+			} else {
+				return super.setAttribute(key, value);
+			}
+		}
+
+		@Override
+		public Object removeAttribute(String key) {
+			if (NondominatedSorting.RANK_ATTRIBUTE.equals(key)) {
+				Object oldValue = getAttribute(key);
+				population.setRank(getIndex(), NO_RANK);
+				return oldValue;
+			} else if (NondominatedSorting.CROWDING_ATTRIBUTE.equals(key)) {
+				Object oldValue = getAttribute(key);
+				population.setCrowdingDistance(getIndex(), Double.NaN);
+				return oldValue;
+			} else {
+				return super.removeAttribute(key);
+			}
+		}
+
+		@Override
+		public boolean hasAttribute(String key) {
+			if (NondominatedSorting.RANK_ATTRIBUTE.equals(key) ||
+					NondominatedSorting.CROWDING_ATTRIBUTE.equals(key)) {
+				return getAttribute(key) != null;
+			} else {
+				return super.hasAttribute(key);
+			}
+		}
+
+		@Override
+		public int getRank() {
+			int rank = population.getRank(getIndex());
+			
+			if (rank == NO_RANK) {
+				return super.getRank();
+			}
+			
+			return rank;
+		}
+
+		@Override
+		public void setRank(int rank) {
+			population.setRank(getIndex(), rank);
+		}
+
+		@Override
+		public double getCrowdingDistance() {
+			double crowdingDistance = population.getCrowdingDistance(getIndex());
+			
+			if (Double.isNaN(crowdingDistance)) {
+				return super.getCrowdingDistance();
+			}
+			
+			return crowdingDistance;
+		}
+
+		@Override
+		public void setCrowdingDistance(double crowdingDistance) {
+			population.setCrowdingDistance(getIndex(), crowdingDistance);
+		}
+
+		@Override
+		public void clearAttributes() {
+			super.clearAttributes();
+			population.setRank(getIndex(), NO_RANK);
+			population.setCrowdingDistance(getIndex(), Double.NaN);
+		}
+		
+		/**
+		 * Replaces this view with an independent copy, including attributes,
+		 * when serialized.
+		 * 
+		 * @return an independent copy of this solution
+		 */
+		private Object writeReplace() {
+			return deepCopy();
+		}
+		
+	}
+
+}
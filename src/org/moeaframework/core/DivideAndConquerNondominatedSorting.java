@@ -0,0 +1,526 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.moeaframework.core.comparator.AggregateConstraintComparator;
+import org.moeaframework.core.comparator.DominanceComparator;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+
+/**
+ * Divide-and-conquer non-dominated sorting algorithm for dominance depth
+ * ranking based on the work of Jensen [1], generalized by Fortin et al. [2] and
+ * Buzdalov and Shalyto [3] to handle solutions sharing objective values.
+ * Assigns the {@code rank} and {@code crowdingDistance} attributes to
+ * solutions.  Solutions of rank 0 belong to the Pareto non-dominated front.
+ * <p>
+ * Requires O(N log^(M-1) N) operations, where M is the number of objectives
+ * and N is the number of solutions, regardless of the number of fronts.  This
+ * is asymptotically faster than the other non-dominated sorting
+ * implementations, which require O(MN^2) operations in the worst case, and is
+ * best suited for large populations.
+ * <p>
+ * The objective values are replaced by their ordinal position within each
+ * objective prior to sorting, so the result is identical to Pareto dominance
+ * as computed by {@link ParetoDominanceComparator}.  Feasible and infeasible
+ * solutions are handled by sorting each group of solutions with equal
+ * aggregate constraint violation independently, since any such group
+ * dominates all groups with larger constraint violations.  If constructed with
+ * any other dominance comparator, this falls back to the naive implementation
+ * provided by {@link NondominatedSorting}.
+ * <p>
+ * References:
+ * <ol>
+ * <li>Jensen, M. T. (2003).  "Reducing the Run-Time Complexity of
+ * Multiobjective EAs: The NSGA-II and Other Algorithms."  IEEE Transactions
+ * on Evolutionary Computation, 7(5):503-515.
+ * <li>Fortin, F.-A., S. Grenier, and M. Parizeau (2013).  "Generalizing the
+ * Improved Run-Time Complexity Algorithm for Non-Dominated Sorting."
+ * Proceedings of the 15th Annual Conference on Genetic and Evolutionary
+ * Computation, pp. 615-622.
+ * <li>Buzdalov, M. and A. Shalyto (2014).  "A Provably Asymptotically Fast
+ * Version of the Generalized Jensen Algorithm for Non-dominated Sorting."
+ * Parallel Problem Solving from Nature - PPSN XIII, pp. 528-537.
+ * </ol>
+ */
+public class DivideAndConquerNondominatedSorting extends NondominatedSorting {
+
+	/**
+	 * Constructs a divide-and-conquer non-dominated sorting operator using
+	 * Pareto dominance.
+	 */
+	public DivideAndConquerNondominatedSorting() {
+		super();
+	}
+
+	/**
+	 * Constructs a divide-and-conquer non-dominated sorting operator using the
+	 * specified dominance comparator.
+	 *
+	 * @param comparator the dominance comparator
+	 */
+	public DivideAndConquerNondominatedSorting(DominanceComparator comparator) {
+		super(comparator);
+	}
+
+	@Override
+	public void evaluate(Population population) {
+		if (!isParetoDominance()) {
+			super.evaluate(population);
+			return;
+		}
+
+		int N = population.size();
+		boolean constrained = comparator instanceof ParetoDominanceComparator;
+		double[][] objectives = new double[N][];
+		double[] constraints = new double[N];
+
+		for (int i = 0; i < N; i++) {
+			Solution solution = population.get(i);
+			objectives[i] = solution.getObjectives();
+
+			if (constrained) {
+				constraints[i] =
+						AggregateConstraintComparator.getConstraints(solution);
+			}
+		}
+
+		int[] order = presort(objectives, constraints);
+		int[][] points = toOrdinals(objectives);
+		int[] ranks = new int[N];
+		int offset = 0;
+		int start = 0;
+
+		// sort each group of solutions with equal constraint violation, where
+		// each group is dominated by all preceding groups
+		while (start < N) {
+			int end = start + 1;
+
+			while ((end < N) && (Double.compare(constraints[order[start]],
+					constraints[order[end]]) == 0)) {
+				end++;
+			}
+
+			offset = sortGroup(order, start, end, points, ranks, offset);
+			start = end;
+		}
+
+		updateRanks(population, ranks);
+	}
+
+	/**
+	 * Sorts a group of solutions with equal constraint violation.  Duplicate
+	 * solutions are removed prior to sorting and assigned the same rank.
+	 *
+	 * @param order the indices of the solutions in sorted order
+	 * @param start the start of the group within the sorted order, inclusive
+	 * @param end the end of the group within the sorted order, exclusive
+	 * @param points the ordinal objective values of each solution
+	 * @param ranks the ranks of each solution, which are assigned by this
+	 *        method
+	 * @param offset the rank assigned to the non-dominated solutions in this
+	 *        group
+	 * @return the rank assigned to the non-dominated solutions of the next
+	 *         group
+	 */
+	private int sortGroup(int[] order, int start, int end, int[][] points,
+			int[] ranks, int offset) {
+		int[] unique = new int[end - start];
+		int[] mapping = new int[end - start];
+		int size = 0;
+
+		for (int i = start; i < end; i++) {
+			if ((size == 0) || !Arrays.equals(points[order[i]],
+					points[unique[size - 1]])) {
+				unique[size++] = order[i];
+			}
+
+			mapping[i - start] = size - 1;
+		}
+
+		int[][] uniquePoints = new int[size][];
+
+		for (int i = 0; i < size; i++) {
+			uniquePoints[i] = points[unique[i]];
+		}
+
+		int[] uniqueRanks = new Sorter(uniquePoints).sort();
+		int maxRank = 0;
+
+		for (int i = start; i < end; i++) {
+			int rank = uniqueRanks[mapping[i - start]];
+			ranks[order[i]] = offset + rank;
+			maxRank = Math.max(maxRank, rank);
+		}
+
+		return offset + maxRank + 1;
+	}
+
+	/**
+	 * Replaces each objective value with its ordinal position among the
+	 * distinct values of that objective, using the ordering defined by
+	 * {@link Double#compare(double, double)}.
+	 *
+	 * @param objectives the objective values of each solution
+	 * @return the ordinal objective values of each solution
+	 */
+	private static int[][] toOrdinals(final double[][] objectives) {
+		int N = objectives.length;
+		int M = N == 0 ? 0 : objectives[0].length;
+		int[][] points = new int[N][M];
+		double[] values = new double[N];
+
+		for (int k = 0; k < M; k++) {
+			for (int i = 0; i < N; i++) {
+				values[i] = objectives[i][k];
+			}
+
+			Arrays.sort(values);
+
+			int distinct = 0;
+
+			for (int i = 0; i < N; i++) {
+				if ((distinct == 0) ||
+						(Double.compare(values[distinct - 1], values[i]) != 0)) {
+					values[distinct++] = values[i];
+				}
+			}
+
+			for (int i = 0; i < N; i++) {
+				points[i][k] = binarySearch(values, distinct, objectives[i][k]);
+			}
+		}
+
+		return points;
+	}
+
+	/**
+	 * Returns the index of the value within the sorted array.
+	 *
+	 * @param values the sorted array of distinct values
+	 * @param size the number of values in the array
+	 * @param value the value to locate, which must exist in the array
+	 * @return the index of the value within the sorted array
+	 */
+	private static int binarySearch(double[] values, int size, double value) {
+		int low = 0;
+		int high = size - 1;
+
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+
+			if (Double.compare(values[mid], value) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+
+		return low;
+	}
+
+	/**
+	 * Performs the divide-and-conquer non-dominated sort of a set of distinct
+	 * points sorted lexicographically.  Subsets of points are represented by
+	 * arrays of indices, which always retain the lexicographical order.
+	 */
+	private static class Sorter {
+
+		/**
+		 * The distinct points sorted lexicographically.
+		 */
+		private final int[][] points;
+
+		/**
+		 * The ranks of each point.
+		 */
+		private final int[] ranks;
+
+		/**
+		 * Constructs a new sorter for the given points.
+		 *
+		 * @param points the distinct points sorted lexicographically
+		 */
+		public Sorter(int[][] points) {
+			super();
+			this.points = points;
+
+			ranks = new int[points.length];
+		}
+
+		/**
+		 * Computes the rank of each point.
+		 *
+		 * @return the rank of each point
+		 */
+		public int[] sort() {
+			int N = points.length;
+			int M = N == 0 ? 0 : points[0].length;
+
+			if (M <= 1) {
+				// with a single objective, each point dominates all successors
+				for (int i = 0; i < N; i++) {
+					ranks[i] = i;
+				}
+			} else {
+				int[] indices = new int[N];
+
+				for (int i = 0; i < N; i++) {
+					indices[i] = i;
+				}
+
+				sortA(indices, M - 1);
+			}
+
+			return ranks;
+		}
+
+		/**
+		 * Computes the ranks of a set of points sharing the same values in all
+		 * objectives greater than {@code k}.  The ranks of these points must
+		 * already account for all dominating points outside this set.
+		 *
+		 * @param set the set of points
+		 * @param k the largest objective being considered
+		 */
+		private void sortA(int[] set, int k) {
+			if (set.length < 2) {
+				return;
+			} else if (set.length == 2) {
+				update(set[0], set[1], k);
+			} else if (k == 1) {
+				sweepA(set);
+			} else {
+				int median = median(set, set.length, null, 0, k);
+				int[] lower = filter(set, k, Integer.MIN_VALUE, median - 1);
+				int[] equal = filter(set, k, median, median);
+				int[] upper = filter(set, k, median + 1, Integer.MAX_VALUE);
+				int[] lowerOrEqual = filter(set, k, Integer.MIN_VALUE, median);
+
+				sortA(lower, k);
+				sortB(lower, equal, k - 1);
+				sortA(equal, k - 1);
+				sortB(lowerOrEqual, upper, k - 1);
+				sortA(upper, k);
+			}
+		}
+
+		/**
+		 * Updates the ranks of the points in {@code high} by the points in
+		 * {@code low}, where each point in {@code low} is less than or equal
+		 * to each point in {@code high} in all objectives greater than
+		 * {@code k}.  The ranks of the points in {@code low} must be final.
+		 *
+		 * @param low the set of potentially dominating points
+		 * @param high the set of points whose ranks are updated
+		 * @param k the largest objective being considered
+		 */
+		private void sortB(int[] low, int[] high, int k) {
+			if ((low.length == 0) || (high.length == 0)) {
+				return;
+			} else if ((low.length == 1) || (high.length == 1)) {
+				for (int h : high) {
+					for (int l : low) {
+						update(l, h, k);
+					}
+				}
+			} else if (k == 1) {
+				sweepB(low, high);
+			} else {
+				int lowMin = Integer.MAX_VALUE;
+				int lowMax = Integer.MIN_VALUE;
+				int highMin = Integer.MAX_VALUE;
+				int highMax = Integer.MIN_VALUE;
+
+				for (int l : low) {
+					lowMin = Math.min(lowMin, points[l][k]);
+					lowMax = Math.max(lowMax, points[l][k]);
+				}
+
+				for (int h : high) {
+					highMin = Math.min(highMin, points[h][k]);
+					highMax = Math.max(highMax, points[h][k]);
+				}
+
+				if (lowMax <= highMin) {
+					sortB(low, high, k - 1);
+				} else if (lowMin <= highMax) {
+					int median = median(low, low.length, high, high.length, k);
+
+					sortB(filter(low, k, Integer.MIN_VALUE, median - 1),
+							filter(high, k, Integer.MIN_VALUE, median - 1), k);
+					sortB(filter(low, k, Integer.MIN_VALUE, median),
+							filter(high, k, median, Integer.MAX_VALUE), k - 1);
+					sortB(filter(low, k, median + 1, Integer.MAX_VALUE),
+							filter(high, k, median + 1, Integer.MAX_VALUE), k);
+				}
+			}
+		}
+
+		/**
+		 * Computes the ranks of a set of points in two objectives using a
+		 * sweep line algorithm.
+		 *
+		 * @param set the set of points
+		 */
+		private void sweepA(int[] set) {
+			TreeMap<Integer, Integer> staircase = new TreeMap<Integer, Integer>();
+
+			for (int s : set) {
+				Map.Entry<Integer, Integer> entry = staircase.floorEntry(
+						points[s][1]);
+
+				if (entry != null) {
+					ranks[s] = Math.max(ranks[s], entry.getValue() + 1);
+				}
+
+				insert(staircase, points[s][1], ranks[s]);
+			}
+		}
+
+		/**
+		 * Updates the ranks of the points in {@code high} by the points in
+		 * {@code low} in two objectives using a sweep line algorithm.
+		 *
+		 * @param low the set of potentially dominating points
+		 * @param high the set of points whose ranks are updated
+		 */
+		private void sweepB(int[] low, int[] high) {
+			TreeMap<Integer, Integer> staircase = new TreeMap<Integer, Integer>();
+			int i = 0;
+
+			for (int h : high) {
+				while ((i < low.length) && ((points[low[i]][0] < points[h][0]) ||
+						((points[low[i]][0] == points[h][0]) &&
+						(points[low[i]][1] <= points[h][1])))) {
+					insert(staircase, points[low[i]][1], ranks[low[i]]);
+					i++;
+				}
+
+				Map.Entry<Integer, Integer> entry = staircase.floorEntry(
+						points[h][1]);
+
+				if (entry != null) {
+					ranks[h] = Math.max(ranks[h], entry.getValue() + 1);
+				}
+			}
+		}
+
+		/**
+		 * Inserts a point into the staircase, a map from the second objective
+		 * value to the maximum rank of all points with an equal or smaller
+		 * value.  The ranks in the staircase are strictly increasing.
+		 *
+		 * @param staircase the staircase
+		 * @param value the second objective value of the point
+		 * @param rank the rank of the point
+		 */
+		private static void insert(TreeMap<Integer, Integer> staircase,
+				int value, int rank) {
+			Map.Entry<Integer, Integer> entry = staircase.floorEntry(value);
+
+			if ((entry != null) && (entry.getValue() >= rank)) {
+				return;
+			}
+
+			Iterator<Integer> iterator = staircase.tailMap(value, true)
+					.values().iterator();
+
+			while (iterator.hasNext() && (iterator.next() <= rank)) {
+				iterator.remove();
+			}
+
+			staircase.put(value, rank);
+		}
+
+		/**
+		 * Updates the rank of the second point if it is dominated by the first
+		 * point, considering only the objectives up to and including
+		 * {@code k}.
+		 *
+		 * @param i the index of the first point
+		 * @param j the index of the second point
+		 * @param k the largest objective being considered
+		 */
+		private void update(int i, int j, int k) {
+			for (int m = 0; m <= k; m++) {
+				if (points[i][m] > points[j][m]) {
+					return;
+				}
+			}
+
+			ranks[j] = Math.max(ranks[j], ranks[i] + 1);
+		}
+
+		/**
+		 * Returns the subset of points whose value in objective {@code k} is
+		 * within the given bounds, preserving their order.
+		 *
+		 * @param set the set of points
+		 * @param k the objective
+		 * @param min the minimum value, inclusive
+		 * @param max the maximum value, inclusive
+		 * @return the subset of points within the bounds
+		 */
+		private int[] filter(int[] set, int k, int min, int max) {
+			int[] result = new int[set.length];
+			int size = 0;
+
+			for (int s : set) {
+				if ((points[s][k] >= min) && (points[s][k] <= max)) {
+					result[size++] = s;
+				}
+			}
+
+			return size == result.length ? result : Arrays.copyOf(result, size);
+		}
+
+		/**
+		 * Returns the median value of objective {@code k} across two sets of
+		 * points.
+		 *
+		 * @param set1 the first set of points
+		 * @param size1 the number of points in the first set
+		 * @param set2 the second set of points, or {@code null}
+		 * @param size2 the number of points in the second set
+		 * @param k the objective
+		 * @return the median value of objective {@code k}
+		 */
+		private int median(int[] set1, int size1, int[] set2, int size2,
+				int k) {
+			int[] values = new int[size1 + size2];
+
+			for (int i = 0; i < size1; i++) {
+				values[i] = points[set1[i]][k];
+			}
+
+			for (int i = 0; i < size2; i++) {
+				values[size1 + i] = points[set2[i]][k];
+			}
+
+			Arrays.sort(values);
+			return values[values.length / 2];
+		}
+
+	}
+
+}
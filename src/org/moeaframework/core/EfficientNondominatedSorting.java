@@ -0,0 +1,250 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.util.Arrays;
+
+import org.moeaframework.core.comparator.AggregateConstraintComparator;
+import org.moeaframework.core.comparator.DominanceComparator;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+
+/**
+ * Efficient non-dominated sorting (ENS) algorithm for dominance depth ranking.
+ * Assigns the {@code rank} and {@code crowdingDistance} attributes to
+ * solutions.  Solutions of rank 0 belong to the Pareto non-dominated front.
+ * <p>
+ * Solutions are first sorted by their objective values, so a solution can
+ * only be dominated by solutions appearing earlier in the sorted order.
+ * Each solution is then inserted into the first front containing no
+ * dominating solution, where the fronts are searched either sequentially
+ * (ENS-SS) or using a binary search (ENS-BS).  This avoids storing the
+ * dominance relations between every pair of solutions, as done by
+ * {@link FastNondominatedSorting}, and in practice requires far fewer
+ * dominance comparisons than either the naive or fast versions.  ENS-BS is
+ * typically preferred when the population contains many fronts.
+ * <p>
+ * Presorting requires the Pareto dominance relation.  If constructed with any
+ * other dominance comparator, this falls back to the naive implementation
+ * provided by {@link NondominatedSorting}.
+ * <p>
+ * References:
+ * <ol>
+ * <li>Zhang, X., Y. Tian, R. Cheng, and Y. Jin (2015).  "An Efficient
+ * Approach to Nondominated Sorting for Evolutionary Multiobjective
+ * Optimization."  IEEE Transactions on Evolutionary Computation,
+ * 19(2):201-213.
+ * </ol>
+ */
+public class EfficientNondominatedSorting extends NondominatedSorting {
+
+	/**
+	 * {@code true} if the fronts are searched using a binary search (ENS-BS);
+	 * {@code false} if the fronts are searched sequentially (ENS-SS).
+	 */
+	private final boolean binarySearch;
+
+	/**
+	 * Constructs an efficient non-dominated sorting operator using Pareto
+	 * dominance and a sequential search.
+	 */
+	public EfficientNondominatedSorting() {
+		this(false);
+	}
+
+	/**
+	 * Constructs an efficient non-dominated sorting operator using Pareto
+	 * dominance.
+	 *
+	 * @param binarySearch {@code true} if the fronts are searched using a
+	 *        binary search (ENS-BS); {@code false} if the fronts are searched
+	 *        sequentially (ENS-SS)
+	 */
+	public EfficientNondominatedSorting(boolean binarySearch) {
+		this(new ParetoDominanceComparator(), binarySearch);
+	}
+
+	/**
+	 * Constructs an efficient non-dominated sorting operator using the
+	 * specified dominance comparator and a sequential search.
+	 *
+	 * @param comparator the dominance comparator
+	 */
+	public EfficientNondominatedSorting(DominanceComparator comparator) {
+		this(comparator, false);
+	}
+
+	/**
+	 * Constructs an efficient non-dominated sorting operator using the
+	 * specified dominance comparator.
+	 *
+	 * @param comparator the dominance comparator
+	 * @param binarySearch {@code true} if the fronts are searched using a
+	 *        binary search (ENS-BS); {@code false} if the fronts are searched
+	 *        sequentially (ENS-SS)
+	 */
+	public EfficientNondominatedSorting(DominanceComparator comparator,
+			boolean binarySearch) {
+		super(comparator);
+		this.binarySearch = binarySearch;
+	}
+
+	/**
+	 * Returns {@code true} if the fronts are searched using a binary search
+	 * (ENS-BS); {@code false} if the fronts are searched sequentially (ENS-SS).
+	 *
+	 * @return {@code true} if the fronts are searched using a binary search;
+	 *         {@code false} otherwise
+	 */
+	public boolean isBinarySearch() {
+		return binarySearch;
+	}
+
+	@Override
+	public void evaluate(Population population) {
+		if (!isParetoDominance()) {
+			super.evaluate(population);
+			return;
+		}
+
+		int N = population.size();
+		boolean constrained = comparator instanceof ParetoDominanceComparator;
+		double[][] objectives = new double[N][];
+		double[] constraints = new double[N];
+
+		for (int i = 0; i < N; i++) {
+			Solution solution = population.get(i);
+			objectives[i] = solution.getObjectives();
+
+			if (constrained) {
+				constraints[i] =
+						AggregateConstraintComparator.getConstraints(solution);
+			}
+		}
+
+		int[] order = presort(objectives, constraints);
+
+		// each front is stored as an array of indices, grown as needed
+		int[][] fronts = new int[N][];
+		int[] frontSizes = new int[N];
+		int numberOfFronts = 0;
+		int[] ranks = new int[N];
+
+		for (int i = 0; i < N; i++) {
+			int index = order[i];
+			int rank = 0;
+
+			if (binarySearch) {
+				int low = 0;
+				int high = numberOfFronts;
+
+				while (low < high) {
+					int mid = (low + high) >>> 1;
+
+					if (isDominatedByFront(index, fronts[mid], frontSizes[mid],
+							objectives, constraints)) {
+						low = mid + 1;
+					} else {
+						high = mid;
+					}
+				}
+
+				rank = low;
+			} else {
+				while ((rank < numberOfFronts) && isDominatedByFront(index,
+						fronts[rank], frontSizes[rank], objectives,
+						constraints)) {
+					rank++;
+				}
+			}
+
+			if (rank == numberOfFronts) {
+				fronts[rank] = new int[16];
+				numberOfFronts++;
+			} else if (frontSizes[rank] == fronts[rank].length) {
+				fronts[rank] = Arrays.copyOf(fronts[rank],
+						2 * fronts[rank].length);
+			}
+
+			fronts[rank][frontSizes[rank]++] = index;
+			ranks[index] = rank;
+		}
+
+		updateRanks(population, ranks);
+	}
+
+	/**
+	 * Returns {@code true} if the solution is dominated by any solution in
+	 * the given front.  Solutions are checked starting with the most recently
+	 * added, since these are most similar to the solution in the sorted order.
+	 *
+	 * @param index the index of the solution
+	 * @param front the indices of the solutions in the front
+	 * @param size the number of solutions in the front
+	 * @param objectives the objective values of each solution
+	 * @param constraints the aggregate constraint violation of each solution
+	 * @return {@code true} if the solution is dominated by any solution in
+	 *         the front; {@code false} otherwise
+	 */
+	private boolean isDominatedByFront(int index, int[] front, int size,
+			double[][] objectives, double[] constraints) {
+		for (int i = size - 1; i >= 0; i--) {
+			if (dominates(front[i], index, objectives, constraints)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns {@code true} if the first solution dominates the second
+	 * solution.  This is equivalent to the result of
+	 * {@link ParetoDominanceComparator} but operates directly on the objective
+	 * and constraint values.
+	 *
+	 * @param i the index of the first solution
+	 * @param j the index of the second solution
+	 * @param objectives the objective values of each solution
+	 * @param constraints the aggregate constraint violation of each solution
+	 * @return {@code true} if the first solution dominates the second
+	 *         solution; {@code false} otherwise
+	 */
+	private static boolean dominates(int i, int j, double[][] objectives,
+			double[] constraints) {
+		int flag = Double.compare(constraints[i], constraints[j]);
+
+		if (flag != 0) {
+			return flag < 0;
+		}
+
+		boolean dominates = false;
+
+		for (int k = 0; k < objectives[i].length; k++) {
+			flag = Double.compare(objectives[i][k], objectives[j][k]);
+
+			if (flag > 0) {
+				return false;
+			} else if (flag < 0) {
+				dominates = true;
+			}
+		}
+
+		return dominates;
+	}
+
+}
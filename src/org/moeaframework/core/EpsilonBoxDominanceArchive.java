@@ -17,8 +17,16 @@
  */
 package org.moeaframework.core;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
+import org.moeaframework.core.NondominatedTree.Entry;
+import org.moeaframework.core.comparator.AggregateConstraintComparator;
 import org.moeaframework.core.comparator.EpsilonBoxDominanceComparator;
 
 /**
@@ -28,6 +36,16 @@ import org.moeaframework.core.comparator.EpsilonBoxDominanceComparator;
  * conditions hold [1].  In addition, this archive also tracks 
  * &epsilon;-progress [2] by counting the number of &epsilon;-box improvements.
  * <p>
+ * Since each &epsilon;-box contains at most one solution, the solutions are
+ * indexed by their &epsilon;-box.  A new solution is compared directly
+ * against the solution occupying the same &epsilon;-box, if any, and
+ * otherwise checked for dominance against an {@link NondominatedTree} built
+ * over the box indices.  This indexing is only used with the default
+ * {@link EpsilonBoxDominanceComparator}; subclasses of the comparator fall
+ * back to comparing against every solution in the archive.  Solutions
+ * removed by a new solution are replaced by the last solution in the archive,
+ * so the order of solutions is not preserved.
+ * <p>
  * References:
  * <ol>
  *   <li>Laumanns, M. et al.  "Combining Convergence and Diversity in
@@ -51,6 +69,36 @@ public class EpsilonBoxDominanceArchive extends NondominatedPopulation {
 	 */
 	private int numberOfDominatingImprovements;
 
+	/**
+	 * {@code true} if this archive is indexed by &epsilon;-box; {@code false}
+	 * if the comparator is not supported and every solution in the archive
+	 * is compared against new solutions.
+	 */
+	private final boolean indexed;
+
+	/**
+	 * The aggregate constraint violation shared by all solutions in this
+	 * archive.
+	 */
+	private double constraintViolation;
+
+	/**
+	 * The solutions in this archive keyed by their &epsilon;-box.
+	 */
+	private final Map<Box, Slot> boxes;
+
+	/**
+	 * The ND-Tree indexing the &epsilon;-boxes of the solutions in this
+	 * archive.
+	 */
+	private final NondominatedTree<Slot> tree;
+	
+	/**
+	 * The slot of each solution in this archive, in the same order as the
+	 * solutions.
+	 */
+	private final List<Slot> slots;
+
 	/**
 	 * Constructs an empty &epsilon;-box dominance archive using an additive
 	 * &epsilon;-box dominance comparator with the specified &epsilon;.
@@ -59,7 +107,7 @@ public class EpsilonBoxDominanceArchive extends NondominatedPopulation {
 	 *        dominance comparator
 	 */
 	public EpsilonBoxDominanceArchive(double epsilon) {
-		super(new EpsilonBoxDominanceComparator(epsilon));
+		this(new EpsilonBoxDominanceComparator(epsilon));
 	}
 
 	/**
@@ -73,7 +121,7 @@ public class EpsilonBoxDominanceArchive extends NondominatedPopulation {
 	 */
 	public EpsilonBoxDominanceArchive(double epsilon,
 			Iterable<? extends Solution> iterable) {
-		super(new EpsilonBoxDominanceComparator(epsilon), iterable);
+		this(new EpsilonBoxDominanceComparator(epsilon), iterable);
 	}
 	
 	/**
@@ -84,7 +132,7 @@ public class EpsilonBoxDominanceArchive extends NondominatedPopulation {
 	 *        dominance comparator
 	 */
 	public EpsilonBoxDominanceArchive(double[] epsilon) {
-		super(new EpsilonBoxDominanceComparator(epsilon));
+		this(new EpsilonBoxDominanceComparator(epsilon));
 	}
 	
 	/**
@@ -98,7 +146,7 @@ public class EpsilonBoxDominanceArchive extends NondominatedPopulation {
 	 */
 	public EpsilonBoxDominanceArchive(double[] epsilon,
 			Iterable<? extends Solution> iterable) {
-		super(new EpsilonBoxDominanceComparator(epsilon), iterable);
+		this(new EpsilonBoxDominanceComparator(epsilon), iterable);
 	}
 
 	/**
@@ -110,6 +158,11 @@ public class EpsilonBoxDominanceArchive extends NondominatedPopulation {
 	 */
 	public EpsilonBoxDominanceArchive(EpsilonBoxDominanceComparator comparator) {
 		super(comparator);
+		
+		indexed = comparator.getClass() == EpsilonBoxDominanceComparator.class;
+		boxes = new HashMap<Box, Slot>();
+		tree = new NondominatedTree<Slot>();
+		slots = new ArrayList<Slot>();
 	}
 
 	/**
@@ -123,11 +176,73 @@ public class EpsilonBoxDominanceArchive extends NondominatedPopulation {
 	 */
 	public EpsilonBoxDominanceArchive(EpsilonBoxDominanceComparator comparator,
 			Iterable<? extends Solution> iterable) {
-		super(comparator, iterable);
+		this(comparator);
+		addAll(iterable);
 	}
 
 	@Override
 	public boolean add(Solution newSolution) {
+		if (!indexed) {
+			return addWithoutIndex(newSolution);
+		}
+
+		boolean same = false;
+		boolean dominates = false;
+		List<Entry<Slot>> removed = new ArrayList<Entry<Slot>>();
+
+		if (!tree.isEmpty()) {
+			int flag = Double.compare(
+					AggregateConstraintComparator.getConstraints(newSolution),
+					constraintViolation);
+
+			if (flag > 0) {
+				return false;
+			} else if (flag < 0) {
+				tree.collect(removed);
+				dominates = true;
+			} else {
+				double[] index = getBoxIndex(newSolution);
+				Slot slot = boxes.get(new Box(index));
+
+				if (slot != null) {
+					if (getComparator().compare(newSolution,
+							slot.solution) > 0) {
+						return false;
+					}
+
+					removed.add(slot.entry);
+					same = true;
+				} else if (tree.update(index, removed, null)) {
+					dominates = !removed.isEmpty();
+				} else {
+					return false;
+				}
+			}
+		}
+
+		removeEntries(removed);
+
+		if (!same) {
+			numberOfImprovements++;
+
+			if (dominates) {
+				numberOfDominatingImprovements++;
+			}
+		}
+
+		return forceAddWithoutCheck(newSolution);
+	}
+
+	/**
+	 * Adds the new solution by comparing it against every solution in this
+	 * archive.  This is used when the &epsilon;-box dominance comparator is
+	 * not supported by the index.
+	 * 
+	 * @param newSolution the new solution
+	 * @return {@code true} if the new solution was added; {@code false}
+	 *         otherwise
+	 */
+	private boolean addWithoutIndex(Solution newSolution) {
 		Iterator<Solution> iterator = iterator();
 
 		boolean same = false;
@@ -161,6 +276,164 @@ public class EpsilonBoxDominanceArchive extends NondominatedPopulation {
 		return forceAddWithoutCheck(newSolution);
 	}
 
+	@Override
+	public void replace(int index, Solution newSolution) {
+		try {
+			super.replace(index, newSolution);
+		} finally {
+			reindex();
+		}
+	}
+
+	@Override
+	protected boolean forceAddWithoutCheck(Solution newSolution) {
+		if (indexed) {
+			index(newSolution);
+		}
+
+		return super.forceAddWithoutCheck(newSolution);
+	}
+
+	@Override
+	public void remove(int index) {
+		super.remove(index);
+
+		if (indexed) {
+			unindex(index);
+		}
+	}
+
+	@Override
+	public boolean remove(Solution solution) {
+		int index = indexOf(solution);
+
+		if (index < 0) {
+			return false;
+		}
+
+		remove(index);
+		return true;
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+
+		if (indexed) {
+			boxes.clear();
+			tree.clear();
+			slots.clear();
+		}
+	}
+
+	@Override
+	public void sort(Comparator<? super Solution> comparator) {
+		super.sort(comparator);
+		reindex();
+	}
+
+	@Override
+	public void truncate(int size, Comparator<? super Solution> comparator) {
+		super.truncate(size, comparator);
+		reindex();
+	}
+
+	/**
+	 * Returns the &epsilon;-box index vector of the solution, as computed by
+	 * the &epsilon;-box dominance comparator.
+	 * 
+	 * @param solution the solution
+	 * @return the &epsilon;-box index vector of the solution
+	 */
+	private double[] getBoxIndex(Solution solution) {
+		double[] index = new double[solution.getNumberOfObjectives()];
+
+		for (int i = 0; i < index.length; i++) {
+			index[i] = Math.floor(solution.getObjective(i) /
+					getComparator().getEpsilon(i));
+		}
+
+		return index;
+	}
+
+	/**
+	 * Adds the solution to the index.
+	 * 
+	 * @param solution the solution to add
+	 */
+	private void index(Solution solution) {
+		if (tree.isEmpty()) {
+			constraintViolation =
+					AggregateConstraintComparator.getConstraints(solution);
+		}
+
+		double[] index = getBoxIndex(solution);
+		Slot slot = new Slot(solution, slots.size());
+		
+		slot.entry = tree.add(slot, index);
+		boxes.put(new Box(index), slot);
+		slots.add(slot);
+	}
+
+	/**
+	 * Removes the solution previously at the given position from the index,
+	 * after it was removed from this archive with {@code super.remove}.  The
+	 * stored &epsilon;-box is used, so this works even if the objectives were
+	 * modified after the solution was added.
+	 * 
+	 * @param position the position of the removed solution
+	 */
+	private void unindex(int position) {
+		Slot slot = slots.remove(position);
+		boxes.remove(new Box(slot.entry.getPoint()));
+		tree.remove(slot.entry);
+
+		for (int i = position; i < slots.size(); i++) {
+			slots.get(i).position = i;
+		}
+	}
+
+	/**
+	 * Rebuilds the index after the solutions in this archive were modified
+	 * without updating the index.
+	 */
+	private void reindex() {
+		if (indexed) {
+			boxes.clear();
+			tree.clear();
+			slots.clear();
+
+			for (int i = 0; i < size(); i++) {
+				index(super.get(i));
+			}
+		}
+	}
+
+	/**
+	 * Removes the given entries from the index and this archive.  Each
+	 * removed solution is replaced by the last solution in this archive, so
+	 * each removal takes constant time but the order of the remaining
+	 * solutions is not preserved.
+	 * 
+	 * @param entries the entries to remove
+	 */
+	private void removeEntries(List<Entry<Slot>> entries) {
+		for (Entry<Slot> entry : entries) {
+			Slot slot = entry.getValue();
+			boxes.remove(new Box(entry.getPoint()));
+			tree.remove(entry);
+
+			Slot last = slots.remove(slots.size() - 1);
+
+			if (last != slot) {
+				last.position = slot.position;
+				slots.set(slot.position, last);
+			}
+
+			removeUnordered(slot.position);
+		}
+	}
+
 	/**
 	 * Returns the &epsilon;-box dominance comparator used by this archive.
 	 * 
@@ -191,4 +464,78 @@ public class EpsilonBoxDominanceArchive extends NondominatedPopulation {
 		return numberOfDominatingImprovements;
 	}
 
+	/**
+	 * A solution in this archive, its entry in the ND-Tree, and its position
+	 * in this archive.
+	 */
+	private static class Slot {
+
+		/**
+		 * The solution.
+		 */
+		private final Solution solution;
+
+		/**
+		 * The entry in the ND-Tree for this solution.
+		 */
+		private Entry<Slot> entry;
+
+		/**
+		 * The position of the solution in this archive.
+		 */
+		private int position;
+
+		/**
+		 * Constructs a new slot.
+		 * 
+		 * @param solution the solution
+		 * @param position the position of the solution in this archive
+		 */
+		public Slot(Solution solution, int position) {
+			super();
+			this.solution = solution;
+			this.position = position;
+		}
+
+	}
+
+	/**
+	 * The &epsilon;-box index vector of a solution, suitable for use as a key
+	 * in a hash map.
+	 */
+	private static class Box {
+
+		/**
+		 * The &epsilon;-box index vector.
+		 */
+		private final double[] index;
+
+		/**
+		 * Constructs a new key for the &epsilon;-box index vector.
+		 * 
+		 * @param index the &epsilon;-box index vector
+		 */
+		public Box(double[] index) {
+			super();
+			this.index = index;
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(index);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			} else if ((obj == null) || (obj.getClass() != getClass())) {
+				return false;
+			} else {
+				return Arrays.equals(index, ((Box)obj).index);
+			}
+		}
+
+	}
+
 }
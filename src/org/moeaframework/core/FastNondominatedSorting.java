@@ -119,7 +119,7 @@ public class FastNondominatedSorting extends NondominatedSorting {
 			
 			for (int i = 0; i < currentFront.size(); i++) {
 				Solution solution = population.get(currentFront.get(i));
-				solution.setAttribute(RANK_ATTRIBUTE, rank);
+				solution.setRank(rank);
 				
 				// update the dominated counts as compute next front
 				for (Integer j : dominatesList.get(currentFront.get(i))) {
@@ -0,0 +1,517 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.moeaframework.core.NondominatedTree.Entry;
+import org.moeaframework.core.comparator.AggregateConstraintComparator;
+import org.moeaframework.core.comparator.DominanceComparator;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+import org.moeaframework.core.comparator.ParetoObjectiveComparator;
+
+/**
+ * A non-dominated population backed by an ND-Tree [1], a spatial index that
+ * avoids comparing new solutions against every member of the population.
+ * Each node in the tree stores bounds on the ideal and nadir points of its
+ * solutions, allowing entire subtrees to be skipped, rejected, or removed
+ * without inspecting the individual solutions.  While the worst case remains
+ * linear in the population size, insertions and dominance checks are
+ * sub-linear on average, making this population well suited for large,
+ * unbounded archives.
+ * <p>
+ * This population is a drop-in replacement for {@link NondominatedPopulation}
+ * with the following caveats:
+ * <ol>
+ *   <li>The index requires the Pareto dominance relation, either with or
+ *       without aggregate constraints.  If constructed with any other
+ *       dominance comparator, this behaves identically to
+ *       {@link NondominatedPopulation}.
+ *   <li>Duplicates are identified using the {@link DuplicateMode}, but
+ *       overriding {@link #isDuplicate(Solution, Solution)} is not supported.
+ *       {@link DuplicateMode#ALLOW_DUPLICATE_OBJECTIVES} also requires the
+ *       decision variables to implement {@code hashCode} consistently with
+ *       {@code equals} and to support {@code copy}, as all built-in variable
+ *       types do.
+ *   <li>A solution rejected as a duplicate never removes other members of
+ *       this population.
+ * </ol>
+ * The order of solutions within this population, as seen through
+ * {@link #get(int)} and {@link #iterator()}, is identical to
+ * {@link NondominatedPopulation}.
+ * <p>
+ * References:
+ * <ol>
+ *   <li>Jaszkiewicz, A. and T. Lust (2018).  "ND-Tree-Based Update: A Fast
+ *       Algorithm for the Dynamic Nondominance Problem."  IEEE Transactions on
+ *       Evolutionary Computation, 22(5):778-791.
+ * </ol>
+ */
+public class IndexedNondominatedPopulation extends NondominatedPopulation {
+
+	/**
+	 * {@code true} if this population is indexed; {@code false} if the
+	 * dominance comparator is not supported and the non-indexed
+	 * implementation is used.
+	 */
+	private final boolean indexed;
+
+	/**
+	 * {@code true} if the dominance comparator considers aggregate constraint
+	 * violations; {@code false} otherwise.
+	 */
+	private final boolean constrained;
+
+	/**
+	 * The aggregate constraint violation shared by all solutions in this
+	 * population.  Since a solution with a smaller constraint violation
+	 * dominates any solution with a larger violation, all non-dominated
+	 * solutions must have the same violation.
+	 */
+	private double constraintViolation;
+
+	/**
+	 * The ND-Tree indexing the solutions in this population.
+	 */
+	private final NondominatedTree<Solution> tree;
+
+	/**
+	 * The solutions in this population grouped by their decision variables,
+	 * used to identify duplicates when the duplicate mode is
+	 * {@link DuplicateMode#ALLOW_DUPLICATE_OBJECTIVES}.  The keys are copies
+	 * of the decision variables taken when each solution was added, so
+	 * modifying a solution does not corrupt this map.
+	 */
+	private final Map<List<Variable>, List<Solution>> variables;
+	
+	/**
+	 * The slot of each solution in this population, in the same order as the
+	 * solutions.  Only used if this population is indexed.
+	 */
+	private final List<Slot> slots;
+
+	/**
+	 * Constructs an empty, indexed non-dominated population using the Pareto
+	 * dominance relation.
+	 */
+	public IndexedNondominatedPopulation() {
+		this(new ParetoDominanceComparator());
+	}
+
+	/**
+	 * Constructs an empty, indexed non-dominated population using the Pareto
+	 * dominance relation.
+	 *
+	 * @param duplicateMode specifies how duplicate solutions are handled
+	 */
+	public IndexedNondominatedPopulation(DuplicateMode duplicateMode) {
+		this(new ParetoDominanceComparator(), duplicateMode);
+	}
+
+	/**
+	 * Constructs an empty, indexed non-dominated population using the
+	 * specified dominance relation.
+	 *
+	 * @param comparator the dominance relation used by this non-dominated
+	 *        population
+	 */
+	public IndexedNondominatedPopulation(DominanceComparator comparator) {
+		this(comparator, Settings.getDuplicateMode());
+	}
+
+	/**
+	 * Constructs an empty, indexed non-dominated population using the
+	 * specified dominance relation.
+	 *
+	 * @param comparator the dominance relation used by this non-dominated
+	 *        population
+	 * @param duplicateMode specifies how duplicate solutions are handled
+	 */
+	public IndexedNondominatedPopulation(DominanceComparator comparator,
+			DuplicateMode duplicateMode) {
+		super(comparator, duplicateMode);
+
+		indexed = (comparator instanceof ParetoDominanceComparator) ||
+				(comparator instanceof ParetoObjectiveComparator);
+		constrained = comparator instanceof ParetoDominanceComparator;
+		tree = new NondominatedTree<Solution>();
+		variables = new HashMap<List<Variable>, List<Solution>>();
+		slots = new ArrayList<Slot>();
+	}
+
+	/**
+	 * Constructs an indexed non-dominated population using the Pareto
+	 * dominance relation and initialized with the specified solutions.
+	 *
+	 * @param iterable the solutions used to initialize this non-dominated
+	 *        population
+	 */
+	public IndexedNondominatedPopulation(Iterable<? extends Solution> iterable) {
+		this();
+		addAll(iterable);
+	}
+
+	/**
+	 * Constructs an indexed non-dominated population using the specified
+	 * dominance comparator and initialized with the specified solutions.
+	 *
+	 * @param comparator the dominance relation used by this non-dominated
+	 *        population
+	 * @param iterable the solutions used to initialize this non-dominated
+	 *        population
+	 */
+	public IndexedNondominatedPopulation(DominanceComparator comparator,
+			Iterable<? extends Solution> iterable) {
+		this(comparator);
+		addAll(iterable);
+	}
+
+	@Override
+	public boolean add(Solution newSolution) {
+		if (!indexed) {
+			return super.add(newSolution);
+		}
+
+		List<Entry<Solution>> dominated = findDominated(newSolution);
+
+		if (dominated == null) {
+			return false;
+		}
+
+		removeEntries(dominated);
+		return forceAddWithoutCheck(newSolution);
+	}
+
+	@Override
+	public void replace(int index, Solution newSolution) {
+		if (!indexed) {
+			super.replace(index, newSolution);
+			return;
+		}
+
+		List<Entry<Solution>> dominated = findDominated(newSolution);
+
+		if (dominated == null) {
+			return;
+		}
+
+		removeEntries(dominated);
+
+		// as in the superclass, the solution at the given index after removing
+		// the dominated solutions is replaced
+		Slot oldSlot = slots.get(index);
+		forceReplaceWithoutCheck(index, newSolution);
+		unindex(oldSlot);
+		slots.set(index, index(newSolution));
+	}
+
+	@Override
+	protected boolean forceAddWithoutCheck(Solution newSolution) {
+		if (indexed) {
+			slots.add(index(newSolution));
+		}
+
+		return super.forceAddWithoutCheck(newSolution);
+	}
+
+	@Override
+	public void remove(int index) {
+		super.remove(index);
+
+		if (indexed) {
+			unindex(slots.remove(index));
+		}
+	}
+
+	@Override
+	public boolean remove(Solution solution) {
+		int index = indexOf(solution);
+
+		if (index < 0) {
+			return false;
+		}
+
+		remove(index);
+		return true;
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		tree.clear();
+		variables.clear();
+		slots.clear();
+	}
+
+	@Override
+	public void sort(Comparator<? super Solution> comparator) {
+		super.sort(comparator);
+		reindex();
+	}
+
+	@Override
+	public void truncate(int size, Comparator<? super Solution> comparator) {
+		super.truncate(size, comparator);
+		reindex();
+	}
+
+	/**
+	 * Rebuilds the index after the solutions in this population were
+	 * reordered or removed without updating the index.
+	 */
+	private void reindex() {
+		if (indexed) {
+			tree.clear();
+			variables.clear();
+			slots.clear();
+
+			for (int i = 0; i < size(); i++) {
+				slots.add(index(super.get(i)));
+			}
+		}
+	}
+
+	/**
+	 * Searches the index for solutions dominated by the new solution.
+	 * Returns {@code null} if the new solution is dominated by or a duplicate
+	 * of any solution in this population, and should not be added.
+	 *
+	 * @param newSolution the new solution
+	 * @return the entries dominated by the new solution, or {@code null} if
+	 *         the new solution should not be added
+	 */
+	private List<Entry<Solution>> findDominated(final Solution newSolution) {
+		List<Entry<Solution>> dominated = new ArrayList<Entry<Solution>>();
+
+		if (tree.isEmpty()) {
+			return dominated;
+		}
+
+		if (constrained) {
+			int flag = Double.compare(
+					AggregateConstraintComparator.getConstraints(newSolution),
+					constraintViolation);
+
+			if (flag > 0) {
+				return null;
+			} else if (flag < 0) {
+				tree.collect(dominated);
+				return dominated;
+			}
+		}
+
+		Predicate<Solution> isDuplicate = null;
+
+		if (duplicateMode == DuplicateMode.NO_DUPLICATE_OBJECTIVES) {
+			isDuplicate = solution -> isDuplicate(newSolution, solution);
+		}
+
+		if (!tree.update(newSolution.getObjectives(), dominated, isDuplicate)) {
+			return null;
+		}
+
+		if (duplicateMode == DuplicateMode.ALLOW_DUPLICATE_OBJECTIVES) {
+			List<Solution> matches = variables.get(getVariables(newSolution));
+
+			if (matches != null) {
+				Set<Solution> removed = Collections.newSetFromMap(
+						new IdentityHashMap<Solution, Boolean>());
+
+				for (Entry<Solution> entry : dominated) {
+					removed.add(entry.getValue());
+				}
+
+				for (Solution match : matches) {
+					if (!removed.contains(match) &&
+							isDuplicate(newSolution, match)) {
+						return null;
+					}
+				}
+			}
+		}
+
+		return dominated;
+	}
+
+	/**
+	 * Removes the given entries from the index and this population.
+	 *
+	 * @param entries the entries to remove
+	 */
+	private void removeEntries(List<Entry<Solution>> entries) {
+		if (entries.isEmpty()) {
+			return;
+		}
+
+		Set<Entry<Solution>> removed = Collections.newSetFromMap(
+				new IdentityHashMap<Entry<Solution>, Boolean>());
+
+		for (Entry<Solution> entry : entries) {
+			removed.add(entry);
+			tree.remove(entry);
+		}
+
+		// note the use of super to avoid unindexing the solutions again
+		for (int i = size() - 1; i >= 0; i--) {
+			if (removed.contains(slots.get(i).entry)) {
+				removeVariables(slots.remove(i));
+				super.remove(i);
+			}
+		}
+	}
+
+	/**
+	 * Adds the solution to the index.
+	 *
+	 * @param solution the solution to add
+	 * @return the slot of the solution
+	 */
+	private Slot index(Solution solution) {
+		if (tree.isEmpty() && constrained) {
+			constraintViolation =
+					AggregateConstraintComparator.getConstraints(solution);
+		}
+
+		Slot slot = new Slot(tree.add(solution, solution.getObjectives()));
+
+		if (duplicateMode == DuplicateMode.ALLOW_DUPLICATE_OBJECTIVES) {
+			slot.key = copyVariables(solution);
+			List<Solution> matches = variables.get(slot.key);
+
+			if (matches == null) {
+				matches = new ArrayList<Solution>(1);
+				variables.put(slot.key, matches);
+			}
+
+			matches.add(solution);
+		}
+
+		return slot;
+	}
+
+	/**
+	 * Removes the solution in the given slot from the index.  The stored
+	 * entry and key are used, so this works even if the solution was
+	 * modified after it was added.
+	 *
+	 * @param slot the slot of the solution to remove
+	 */
+	private void unindex(Slot slot) {
+		tree.remove(slot.entry);
+		removeVariables(slot);
+	}
+
+	/**
+	 * Removes the solution in the given slot from the map of decision
+	 * variables.
+	 *
+	 * @param slot the slot of the solution to remove
+	 */
+	private void removeVariables(Slot slot) {
+		if (slot.key != null) {
+			List<Solution> matches = variables.get(slot.key);
+
+			if (matches != null) {
+				for (int i = 0; i < matches.size(); i++) {
+					if (matches.get(i) == slot.entry.getValue()) {
+						matches.remove(i);
+						break;
+					}
+				}
+
+				if (matches.isEmpty()) {
+					variables.remove(slot.key);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns a view of the decision variables of the solution, suitable for
+	 * looking up the solution in the map of decision variables.
+	 *
+	 * @param solution the solution
+	 * @return the decision variables of the solution
+	 */
+	private static List<Variable> getVariables(Solution solution) {
+		Variable[] result = new Variable[solution.getNumberOfVariables()];
+
+		for (int i = 0; i < result.length; i++) {
+			result[i] = solution.getVariable(i);
+		}
+
+		return Arrays.asList(result);
+	}
+
+	/**
+	 * Returns an unmodifiable copy of the decision variables of the solution,
+	 * suitable for use as a key in a hash map that is unaffected by later
+	 * changes to the solution.
+	 *
+	 * @param solution the solution
+	 * @return a copy of the decision variables of the solution
+	 */
+	private static List<Variable> copyVariables(Solution solution) {
+		Variable[] result = new Variable[solution.getNumberOfVariables()];
+
+		for (int i = 0; i < result.length; i++) {
+			result[i] = solution.getVariable(i).copy();
+		}
+
+		return Collections.unmodifiableList(Arrays.asList(result));
+	}
+
+	/**
+	 * A solution in this population, identified by its entry in the ND-Tree,
+	 * and the key of the solution in the map of decision variables.
+	 */
+	private static class Slot {
+
+		/**
+		 * The entry in the ND-Tree for the solution.
+		 */
+		private final Entry<Solution> entry;
+
+		/**
+		 * The copy of the decision variables used as the key in the map of
+		 * decision variables, or {@code null} if the map is not used.
+		 */
+		private List<Variable> key;
+
+		/**
+		 * Constructs a new slot.
+		 *
+		 * @param entry the entry in the ND-Tree for the solution
+		 */
+		public Slot(Entry<Solution> entry) {
+			super();
+			this.entry = entry;
+		}
+
+	}
+
+}
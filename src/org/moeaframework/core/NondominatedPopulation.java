@@ -62,8 +62,8 @@ public class NondominatedPopulation extends Population {
 	 */
 	protected final DominanceComparator comparator;
 	
-	/**
-	 * Specifies how duplicate solutions are handled. 
+	/**
+	 * Specifies how duplicate solutions are handled. 
 	 */
 	protected final DuplicateMode duplicateMode;
 
@@ -204,6 +204,22 @@ public class NondominatedPopulation extends Population {
 	protected boolean forceAddWithoutCheck(Solution newSolution) {
 		return super.add(newSolution);
 	}
+	
+	/**
+	 * Replaces the solution at the given index with the specified solution,
+	 * bypassing the non-domination check.  This method should only be used
+	 * when a non-domination check has been performed elsewhere, such as in a
+	 * subclass.
+	 * <p>
+	 * <b>This method should only be used internally, and should never be made
+	 * public by any subclasses.</b>
+	 * 
+	 * @param index the index of the solution to be replaced
+	 * @param newSolution the replacement solution
+	 */
+	protected void forceReplaceWithoutCheck(int index, Solution newSolution) {
+		super.replace(index, newSolution);
+	}
 
 	/**
 	 * Returns the Euclidean distance between two solutions in objective space.
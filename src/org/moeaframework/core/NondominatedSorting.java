@@ -24,6 +24,7 @@ import org.moeaframework.core.NondominatedPopulation.DuplicateMode;
 import org.moeaframework.core.comparator.DominanceComparator;
 import org.moeaframework.core.comparator.ObjectiveComparator;
 import org.moeaframework.core.comparator.ParetoDominanceComparator;
+import org.moeaframework.core.comparator.ParetoObjectiveComparator;
 
 /**
  * Non-dominated sorting algorithm for dominance depth ranking. Assigns the
@@ -114,7 +115,7 @@ public class NondominatedSorting {
 
 			for (Solution solution : front) {
 				remaining.remove(solution);
-				solution.setAttribute(RANK_ATTRIBUTE, rank);
+				solution.setRank(rank);
 			}
 
 			updateCrowdingDistance(front);
@@ -123,6 +124,139 @@ public class NondominatedSorting {
 		}
 	}
 
+	/**
+	 * Performs non-dominated sorting on the specified compact population,
+	 * storing the rank and crowding distance of each solution in the
+	 * population's primitive arrays.
+	 * 
+	 * @param population the population whose solutions are to be evaluated
+	 */
+	public void evaluate(CompactPopulation population) {
+		evaluate(new Population(population));
+	}
+
+	/**
+	 * Returns {@code true} if the dominance comparator used by this
+	 * non-dominated sorting routine is Pareto dominance, either with or
+	 * without aggregate constraints.  Implementations that operate directly
+	 * on the objective values, rather than through the dominance comparator,
+	 * can only be used when this method returns {@code true}.
+	 * 
+	 * @return {@code true} if the dominance comparator is Pareto dominance;
+	 *         {@code false} otherwise
+	 */
+	protected boolean isParetoDominance() {
+		return (comparator instanceof ParetoDominanceComparator) ||
+				(comparator instanceof ParetoObjectiveComparator);
+	}
+	
+	/**
+	 * Returns the indices of solutions sorted by their aggregate constraint
+	 * violation and then lexicographically by their objective values.  When
+	 * using Pareto dominance, a solution can never be dominated by another
+	 * solution appearing later in this ordering, and duplicate solutions
+	 * appear consecutively.
+	 * 
+	 * @param objectives the objective values of each solution
+	 * @param constraints the aggregate constraint violation of each solution
+	 * @return the indices of the solutions in sorted order
+	 */
+	protected int[] presort(double[][] objectives, double[] constraints) {
+		int size = objectives.length;
+		int[] indices = new int[size];
+		int[] buffer = new int[size];
+		
+		for (int i = 0; i < size; i++) {
+			indices[i] = i;
+		}
+		
+		for (int width = 1; width < size; width *= 2) {
+			for (int low = 0; low < size - width; low += 2 * width) {
+				int mid = low + width;
+				int high = Math.min(low + 2 * width, size);
+				int i = low;
+				int j = mid;
+				int k = low;
+				
+				while ((i < mid) && (j < high)) {
+					if (compareLexicographically(indices[j], indices[i],
+							objectives, constraints) < 0) {
+						buffer[k++] = indices[j++];
+					} else {
+						buffer[k++] = indices[i++];
+					}
+				}
+				
+				while (i < mid) {
+					buffer[k++] = indices[i++];
+				}
+				
+				while (j < high) {
+					buffer[k++] = indices[j++];
+				}
+				
+				System.arraycopy(buffer, low, indices, low, high - low);
+			}
+		}
+		
+		return indices;
+	}
+	
+	/**
+	 * Compares two solutions by their aggregate constraint violation and then
+	 * lexicographically by their objective values.
+	 * 
+	 * @param i the index of the first solution
+	 * @param j the index of the second solution
+	 * @param objectives the objective values of each solution
+	 * @param constraints the aggregate constraint violation of each solution
+	 * @return a negative integer, zero, or a positive integer if the first
+	 *         solution precedes, is equal to, or follows the second solution
+	 */
+	private static int compareLexicographically(int i, int j,
+			double[][] objectives, double[] constraints) {
+		int flag = Double.compare(constraints[i], constraints[j]);
+		
+		for (int k = 0; (flag == 0) && (k < objectives[i].length); k++) {
+			flag = Double.compare(objectives[i][k], objectives[j][k]);
+		}
+		
+		return flag;
+	}
+	
+	/**
+	 * Assigns the {@code rank} attribute to solutions and then computes the
+	 * {@code crowdingDistance} attribute for each front.  Within each front,
+	 * solutions retain the order in which they appear in the population.
+	 * 
+	 * @param population the population whose solutions are to be evaluated
+	 * @param ranks the rank of each solution, indexed by the position of the
+	 *        solution in the population
+	 */
+	protected void updateRanks(Population population, int[] ranks) {
+		int numberOfFronts = 0;
+		
+		for (int i = 0; i < ranks.length; i++) {
+			numberOfFronts = Math.max(numberOfFronts, ranks[i] + 1);
+		}
+		
+		Population[] fronts = new Population[numberOfFronts];
+		
+		for (int i = 0; i < numberOfFronts; i++) {
+			fronts[i] = new Population();
+		}
+		
+		for (int i = 0; i < ranks.length; i++) {
+			Solution solution = population.get(i);
+			solution.setRank(ranks[i]);
+			fronts[ranks[i]].add(solution);
+		}
+		
+		for (int i = 0; i < numberOfFronts; i++) {
+			updateCrowdingDistance(fronts[i]);
+		}
+	}
+
 	/**
 	 * Computes and assigns the {@code crowdingDistance} attribute to solutions.
 	 * The specified population should consist of solutions within the same
@@ -131,64 +265,232 @@ public class NondominatedSorting {
 	 * @param front the population whose solutions are to be evaluated
 	 */
 	public void updateCrowdingDistance(Population front) {
-		// initially assign all crowding distances of 0.0
-		for (Solution solution : front) {
-			solution.setAttribute(CROWDING_ATTRIBUTE, 0.0);
+		int n = front.size();
+		double[][] objectives = new double[n][];
+		
+		for (int i = 0; i < n; i++) {
+			objectives[i] = front.get(i).getObjectives();
 		}
 		
+		double[] distances = calculateCrowdingDistance(objectives);
+		
+		for (int i = 0; i < n; i++) {
+			front.get(i).setCrowdingDistance(distances[i]);
+		}
+	}
+	
+	/**
+	 * Computes the crowding distance of solutions within the same front/rank.
+	 * Duplicate solutions, whose distance in objective space to a preceding
+	 * solution is less than {@link Settings#EPS}, are assigned a crowding
+	 * distance of 0.0.
+	 * 
+	 * @param objectives the objective values of each solution in the front
+	 * @return the crowding distance of each solution in the front
+	 */
+	public static double[] calculateCrowdingDistance(double[][] objectives) {
+		int n = objectives.length;
+		int numberOfObjectives = n == 0 ? 0 : objectives[0].length;
+		double[] distances = new double[n];
+		int[] order = new int[n];
+		int[] buffer = new int[n];
+		
 		// remove any duplicate solutions, the duplicate solutions will retain
 		// the crowding distance of 0.0
-		Population uniqueFront = new Population();
+		n = findUniqueSolutions(objectives, order, buffer);
+
+		// then compute the crowding distance for the unique solutions
+		if (n < 3) {
+			for (int i = 0; i < n; i++) {
+				distances[order[i]] = Double.POSITIVE_INFINITY;
+			}
+		} else {
+			for (int i = 0; i < numberOfObjectives; i++) {
+				sort(order, n, objectives, i, buffer);
+				
+				double minObjective = objectives[order[0]][i];
+				double maxObjective = objectives[order[n - 1]][i];
+				
+				if (maxObjective - minObjective >= Settings.EPS) {
+					distances[order[0]] = Double.POSITIVE_INFINITY;
+					distances[order[n - 1]] = Double.POSITIVE_INFINITY;
+					
+					for (int j = 1; j < n - 1; j++) {
+						distances[order[j]] += (objectives[order[j + 1]][i] -
+								objectives[order[j - 1]][i]) /
+								(maxObjective - minObjective);
+					}
+				}
+			}
+		}
+		
+		return distances;
+	}
+	
+	/**
+	 * Identifies the unique solutions, where a solution is a duplicate if its
+	 * distance in objective space to a preceding unique solution is less than
+	 * {@link Settings#EPS}.  Rather than comparing every pair of solutions,
+	 * only solutions within {@code EPS} of each other in the objective with
+	 * the largest range are compared.
+	 * 
+	 * @param objectives the objective values of each solution
+	 * @param unique array storing the indices of the unique solutions, in
+	 *        their original order
+	 * @param buffer temporary storage of the same length as the number of
+	 *        solutions
+	 * @return the number of unique solutions
+	 */
+	private static int findUniqueSolutions(double[][] objectives, int[] unique,
+			int[] buffer) {
+		int n = objectives.length;
+		int numberOfObjectives = n == 0 ? 0 : objectives[0].length;
+		int[] sorted = new int[n];
+		double[] values = new double[n];
+		boolean[] isUnique = new boolean[n];
+		int key = 0;
+		double range = Double.NEGATIVE_INFINITY;
+		
+		for (int i = 0; i < numberOfObjectives; i++) {
+			double min = Double.POSITIVE_INFINITY;
+			double max = Double.NEGATIVE_INFINITY;
+			
+			for (int j = 0; j < n; j++) {
+				min = Math.min(min, objectives[j][i]);
+				max = Math.max(max, objectives[j][i]);
+			}
+			
+			if (max - min > range) {
+				key = i;
+				range = max - min;
+			}
+		}
 		
-		for (Solution s1 : front) {
+		for (int i = 0; i < n; i++) {
+			sorted[i] = i;
+		}
+		
+		if (numberOfObjectives > 0) {
+			sort(sorted, n, objectives, key, buffer);
+			
+			for (int i = 0; i < n; i++) {
+				values[i] = objectives[sorted[i]][key];
+			}
+		}
+		
+		int size = 0;
+		
+		for (int i = 0; i < n; i++) {
 			boolean isDuplicate = false;
 			
-			for (Solution s2 : uniqueFront) {
-				if (s1.distanceTo(s2) < Settings.EPS) {
-					isDuplicate = true;
-					break;
+			if (numberOfObjectives == 0) {
+				isDuplicate = size > 0;
+			} else {
+				double value = objectives[i][key];
+				
+				for (int j = lowerBound(values, value - Settings.EPS);
+						(j < n) && (values[j] <= value + Settings.EPS); j++) {
+					if (isUnique[sorted[j]] && (distance(objectives[i],
+							objectives[sorted[j]]) < Settings.EPS)) {
+						isDuplicate = true;
+						break;
+					}
 				}
 			}
 			
 			if (!isDuplicate) {
-				uniqueFront.add(s1);
+				isUnique[i] = true;
+				unique[size++] = i;
 			}
 		}
 		
-		front = uniqueFront;
-
-		// then compute the crowding distance for the unique solutions
-		int n = front.size();
+		return size;
+	}
+	
+	/**
+	 * Returns the Euclidean distance between two points, equivalent to
+	 * {@link Solution#distanceTo(Solution)}.
+	 * 
+	 * @param point1 the first point
+	 * @param point2 the second point
+	 * @return the Euclidean distance between the two points
+	 */
+	private static double distance(double[] point1, double[] point2) {
+		double distance = 0.0;
 		
-		if (n < 3) {
-			for (Solution solution : front) {
-				solution.setAttribute(CROWDING_ATTRIBUTE,
-						Double.POSITIVE_INFINITY);
+		for (int i = 0; i < point1.length; i++) {
+			distance += Math.pow(point1[i] - point2[i], 2.0);
+		}
+		
+		return Math.sqrt(distance);
+	}
+	
+	/**
+	 * Returns the index of the first value in the sorted array that is
+	 * greater than or equal to the given value.
+	 * 
+	 * @param values the sorted values
+	 * @param value the value
+	 * @return the index of the first value greater than or equal to the
+	 *         given value
+	 */
+	private static int lowerBound(double[] values, double value) {
+		int low = 0;
+		int high = values.length;
+		
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			
+			if (values[mid] < value) {
+				low = mid + 1;
+			} else {
+				high = mid;
 			}
-		} else {
-			int numberOfObjectives = front.get(0).getNumberOfObjectives();
-
-			for (int i = 0; i < numberOfObjectives; i++) {
-				front.sort(new ObjectiveComparator(i));
-
-				double minObjective = front.get(0).getObjective(i);
-				double maxObjective = front.get(n - 1).getObjective(i);
+		}
+		
+		return low;
+	}
+	
+	/**
+	 * Sorts the indices by the given objective using a stable merge sort.
+	 * Since the sort is stable, the ordering of solutions with equal
+	 * objective values is identical to sorting a {@link Population} with an
+	 * {@link ObjectiveComparator}.
+	 * 
+	 * @param indices the indices to sort
+	 * @param size the number of indices to sort
+	 * @param objectives the objective values of each solution
+	 * @param objective the objective used for sorting
+	 * @param buffer temporary storage of at least {@code size} elements
+	 */
+	private static void sort(int[] indices, int size, double[][] objectives,
+			int objective, int[] buffer) {
+		for (int width = 1; width < size; width *= 2) {
+			for (int low = 0; low < size - width; low += 2 * width) {
+				int mid = low + width;
+				int high = Math.min(low + 2 * width, size);
+				int i = low;
+				int j = mid;
+				int k = low;
 				
-				if (maxObjective - minObjective >= Settings.EPS) {
-					front.get(0).setAttribute(CROWDING_ATTRIBUTE,
-							Double.POSITIVE_INFINITY);
-					front.get(n - 1).setAttribute(CROWDING_ATTRIBUTE,
-							Double.POSITIVE_INFINITY);
-
-					for (int j = 1; j < n - 1; j++) {
-						double distance = (Double)front.get(j).getAttribute(
-								CROWDING_ATTRIBUTE);
-						distance += (front.get(j + 1).getObjective(i) - 
-								front.get(j - 1).getObjective(i))
-								/ (maxObjective - minObjective);
-						front.get(j).setAttribute(CROWDING_ATTRIBUTE, distance);
+				while ((i < mid) && (j < high)) {
+					if (Double.compare(objectives[indices[j]][objective],
+							objectives[indices[i]][objective]) < 0) {
+						buffer[k++] = indices[j++];
+					} else {
+						buffer[k++] = indices[i++];
 					}
 				}
+				
+				while (i < mid) {
+					buffer[k++] = indices[i++];
+				}
+				
+				while (j < high) {
+					buffer[k++] = indices[j++];
+				}
+				
+				System.arraycopy(buffer, low, indices, low, high - low);
 			}
 		}
 	}
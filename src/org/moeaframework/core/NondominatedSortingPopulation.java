@@ -17,8 +17,6 @@
  */
 package org.moeaframework.core;
 
-import static org.moeaframework.core.NondominatedSorting.RANK_ATTRIBUTE;
-
 import java.util.Comparator;
 import java.util.Iterator;
 
@@ -71,11 +69,35 @@ public class NondominatedSortingPopulation extends Population {
 	public NondominatedSortingPopulation(DominanceComparator comparator) {
 		super();
 		modified = false;
+		nondominatedSorting = createNondominatedSorting(comparator);
+	}
+	
+	/**
+	 * Creates the non-dominated sorting implementation configured by
+	 * {@link Settings#getNondominatedSorting()}.
+	 * 
+	 * @param comparator the dominance comparator
+	 * @return the non-dominated sorting implementation
+	 * @throws FrameworkException if the configured implementation is not
+	 *         supported
+	 */
+	private static NondominatedSorting createNondominatedSorting(
+			DominanceComparator comparator) {
+		String name = Settings.getNondominatedSorting();
 		
-		if (Settings.useFastNondominatedSorting()) {
-			nondominatedSorting = new FastNondominatedSorting(comparator);
+		if (name.equalsIgnoreCase("naive")) {
+			return new NondominatedSorting(comparator);
+		} else if (name.equalsIgnoreCase("fast")) {
+			return new FastNondominatedSorting(comparator);
+		} else if (name.equalsIgnoreCase("efficient")) {
+			return new EfficientNondominatedSorting(comparator, false);
+		} else if (name.equalsIgnoreCase("efficient_binary")) {
+			return new EfficientNondominatedSorting(comparator, true);
+		} else if (name.equalsIgnoreCase("divide_and_conquer")) {
+			return new DivideAndConquerNondominatedSorting(comparator);
 		} else {
-			nondominatedSorting = new NondominatedSorting(comparator);
+			throw new FrameworkException(
+					"unsupported non-dominated sorting implementation: " + name);
 		}
 	}
 
@@ -196,12 +218,12 @@ public class NondominatedSortingPopulation extends Population {
 
 		//collect all solutions in the front which must be pruned
 		//note the use of super to prevent repeatedly triggering update()
-		int maxRank = (Integer)super.get(size-1).getAttribute(RANK_ATTRIBUTE);
+		int maxRank = super.get(size-1).getRank();
 		Population front = new Population();
 
 		for (int i=size()-1; i>=0; i--) {
 			Solution solution = super.get(i);
-			int rank = (Integer)solution.getAttribute(RANK_ATTRIBUTE);
+			int rank = solution.getRank();
 			
 			if (rank >= maxRank) {
 				super.remove(i);
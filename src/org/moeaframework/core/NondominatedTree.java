@@ -0,0 +1,669 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * An ND-Tree [1] storing a set of mutually non-dominated points, each
+ * associated with a value.  Each node in the tree stores bounds on the ideal
+ * and nadir points of its entries, allowing entire subtrees to be skipped,
+ * rejected, or removed without inspecting the individual entries.  Points are
+ * compared using Pareto dominance, with {@link Double#compare(double, double)}
+ * determining the ordering of each coordinate.
+ * <p>
+ * This class is used internally to index non-dominated populations and
+ * archives, which are responsible for keeping the tree non-dominated.
+ * <p>
+ * References:
+ * <ol>
+ *   <li>Jaszkiewicz, A. and T. Lust (2018).  "ND-Tree-Based Update: A Fast
+ *       Algorithm for the Dynamic Nondominance Problem."  IEEE Transactions on
+ *       Evolutionary Computation, 22(5):778-791.
+ * </ol>
+ *
+ * @param <T> the type of value associated with each point
+ */
+class NondominatedTree<T> {
+
+	/**
+	 * The maximum number of entries stored in a leaf node before it is split.
+	 */
+	private static final int MAX_LEAF_SIZE = 20;
+
+	/**
+	 * The root of the tree, or {@code null} if this tree is empty.
+	 */
+	private Node<T> root;
+
+	/**
+	 * Constructs an empty ND-Tree.
+	 */
+	public NondominatedTree() {
+		super();
+	}
+
+	/**
+	 * Returns {@code true} if this tree is empty; {@code false} otherwise.
+	 *
+	 * @return {@code true} if this tree is empty; {@code false} otherwise
+	 */
+	public boolean isEmpty() {
+		return root == null;
+	}
+
+	/**
+	 * Removes all entries from this tree.
+	 */
+	public void clear() {
+		root = null;
+	}
+
+	/**
+	 * Adds a new entry to this tree.  The point must be non-dominated with
+	 * respect to all existing entries.
+	 *
+	 * @param value the value associated with the point
+	 * @param point the point
+	 * @return the new entry
+	 */
+	public Entry<T> add(T value, double[] point) {
+		Entry<T> entry = new Entry<T>(value, point);
+
+		if (root == null) {
+			root = new Node<T>(null, point.length);
+		}
+
+		root.insert(entry);
+		return entry;
+	}
+
+	/**
+	 * Removes the entry from this tree.
+	 *
+	 * @param entry the entry to remove
+	 */
+	public void remove(Entry<T> entry) {
+		Node<T> node = entry.leaf;
+		node.remove(entry);
+
+		while (node.isEmpty() && (node.parent != null)) {
+			node.parent.children.remove(node);
+			node = node.parent;
+		}
+
+		if (node.isEmpty()) {
+			root = null;
+		} else if ((root.children != null) && (root.children.size() == 1)) {
+			root = root.children.get(0);
+			root.parent = null;
+		}
+	}
+
+	/**
+	 * Removes the entry with the given value, compared by identity, from
+	 * this tree.
+	 *
+	 * @param value the value to remove
+	 * @param point the point associated with the value, or {@code null} if
+	 *        unknown
+	 * @return {@code true} if the value was found and removed; {@code false}
+	 *         otherwise
+	 */
+	public boolean remove(T value, double[] point) {
+		if (root == null) {
+			return false;
+		}
+
+		Entry<T> entry = (point == null) ? null : root.find(value, point);
+
+		// fall back to a full search if the point has changed
+		if (entry == null) {
+			entry = root.find(value, null);
+		}
+
+		if (entry == null) {
+			return false;
+		}
+
+		remove(entry);
+		return true;
+	}
+
+	/**
+	 * Collects all entries in this tree.
+	 *
+	 * @param result the collection of entries
+	 */
+	public void collect(List<Entry<T>> result) {
+		if (root != null) {
+			root.collect(result);
+		}
+	}
+
+	/**
+	 * Checks the point against the entries in this tree, collecting the
+	 * entries dominated by the point.  If a duplicate check is given, it is
+	 * applied to all non-dominated entries within {@link Settings#EPS} of the
+	 * point.
+	 *
+	 * @param point the point
+	 * @param dominated the collection of dominated entries
+	 * @param isDuplicate the duplicate check, or {@code null} if duplicates
+	 *        are not checked
+	 * @return {@code false} if the point is dominated by or a duplicate of
+	 *         any entry in this tree; {@code true} otherwise
+	 */
+	public boolean update(double[] point, List<Entry<T>> dominated,
+			Predicate<T> isDuplicate) {
+		if (root == null) {
+			return true;
+		}
+
+		return root.update(point, dominated, isDuplicate);
+	}
+
+	/**
+	 * Compares two points using Pareto dominance, returning {@code -1} if the
+	 * first point dominates the second, {@code 1} if the second point
+	 * dominates the first, and {@code 0} otherwise.
+	 *
+	 * @param point1 the first point
+	 * @param point2 the second point
+	 * @return the result of the dominance comparison
+	 */
+	static int compare(double[] point1, double[] point2) {
+		boolean dominate1 = false;
+		boolean dominate2 = false;
+
+		for (int i = 0; i < point1.length; i++) {
+			int flag = Double.compare(point1[i], point2[i]);
+
+			if (flag < 0) {
+				dominate1 = true;
+
+				if (dominate2) {
+					return 0;
+				}
+			} else if (flag > 0) {
+				dominate2 = true;
+
+				if (dominate1) {
+					return 0;
+				}
+			}
+		}
+
+		if (dominate1 == dominate2) {
+			return 0;
+		} else if (dominate1) {
+			return -1;
+		} else {
+			return 1;
+		}
+	}
+
+	/**
+	 * Returns the squared Euclidean distance between two points.
+	 *
+	 * @param point1 the first point
+	 * @param point2 the second point
+	 * @return the squared Euclidean distance between the two points
+	 */
+	private static double distanceSquared(double[] point1, double[] point2) {
+		double distance = 0.0;
+
+		for (int i = 0; i < point1.length; i++) {
+			distance += (point1[i] - point2[i]) * (point1[i] - point2[i]);
+		}
+
+		return distance;
+	}
+
+	/**
+	 * A point and its associated value stored in a leaf node of the ND-Tree.
+	 *
+	 * @param <T> the type of value associated with the point
+	 */
+	static class Entry<T> {
+
+		/**
+		 * The value associated with the point.
+		 */
+		private final T value;
+
+		/**
+		 * The point.
+		 */
+		private final double[] point;
+
+		/**
+		 * The leaf node currently storing this entry.
+		 */
+		private Node<T> leaf;
+
+		/**
+		 * Constructs a new entry.
+		 *
+		 * @param value the value associated with the point
+		 * @param point the point
+		 */
+		private Entry(T value, double[] point) {
+			super();
+			this.value = value;
+			this.point = point;
+		}
+
+		/**
+		 * Returns the value associated with the point.
+		 *
+		 * @return the value associated with the point
+		 */
+		public T getValue() {
+			return value;
+		}
+
+		/**
+		 * Returns the point.
+		 *
+		 * @return the point
+		 */
+		public double[] getPoint() {
+			return point;
+		}
+
+	}
+
+	/**
+	 * A node in the ND-Tree.  Leaf nodes store entries while internal nodes
+	 * store child nodes.  The ideal and nadir points bound all entries
+	 * contained in the subtree, but are only tightened when entries are
+	 * removed from leaf nodes.
+	 *
+	 * @param <T> the type of value associated with each point
+	 */
+	private static class Node<T> {
+
+		/**
+		 * The parent of this node, or {@code null} if this is the root node.
+		 */
+		private Node<T> parent;
+
+		/**
+		 * The children of this node, or {@code null} if this is a leaf node.
+		 */
+		private List<Node<T>> children;
+
+		/**
+		 * The entries stored in this leaf node, or {@code null} if this is an
+		 * internal node.
+		 */
+		private List<Entry<T>> entries;
+
+		/**
+		 * Lower bound on the coordinates of all entries in this subtree.
+		 */
+		private final double[] ideal;
+
+		/**
+		 * Upper bound on the coordinates of all entries in this subtree.
+		 */
+		private final double[] nadir;
+
+		/**
+		 * Constructs a new, empty leaf node.
+		 *
+		 * @param parent the parent node
+		 * @param numberOfObjectives the number of objectives
+		 */
+		public Node(Node<T> parent, int numberOfObjectives) {
+			super();
+			this.parent = parent;
+
+			entries = new ArrayList<Entry<T>>();
+			ideal = new double[numberOfObjectives];
+			nadir = new double[numberOfObjectives];
+
+			Arrays.fill(ideal, Double.POSITIVE_INFINITY);
+			Arrays.fill(nadir, Double.NEGATIVE_INFINITY);
+		}
+
+		/**
+		 * Returns {@code true} if this is a leaf node; {@code false}
+		 * otherwise.
+		 *
+		 * @return {@code true} if this is a leaf node; {@code false}
+		 *         otherwise
+		 */
+		public boolean isLeaf() {
+			return children == null;
+		}
+
+		/**
+		 * Returns {@code true} if this subtree contains no entries;
+		 * {@code false} otherwise.
+		 *
+		 * @return {@code true} if this subtree contains no entries;
+		 *         {@code false} otherwise
+		 */
+		public boolean isEmpty() {
+			return isLeaf() ? entries.isEmpty() : children.isEmpty();
+		}
+
+		/**
+		 * Recursively checks the point against the entries in this subtree,
+		 * collecting the entries dominated by the point.
+		 *
+		 * @param point the point
+		 * @param dominated the collection of dominated entries
+		 * @param isDuplicate the duplicate check, or {@code null} if
+		 *        duplicates are not checked
+		 * @return {@code false} if the point is dominated by or a duplicate
+		 *         of any entry in this subtree; {@code true} otherwise
+		 */
+		public boolean update(double[] point, List<Entry<T>> dominated,
+				Predicate<T> isDuplicate) {
+			if (isLeaf()) {
+				for (Entry<T> entry : entries) {
+					int flag = compare(point, entry.point);
+
+					if (flag < 0) {
+						dominated.add(entry);
+					} else if (flag > 0) {
+						return false;
+					} else if ((isDuplicate != null) &&
+							isDuplicate.test(entry.value)) {
+						return false;
+					}
+				}
+			} else {
+				for (Node<T> child : children) {
+					if (compare(child.nadir, point) < 0) {
+						// every entry in the child dominates the point
+						return false;
+					} else if (compare(point, child.ideal) < 0) {
+						// the point dominates every entry in the child
+						child.collect(dominated);
+					} else if (child.mayDominate(point) ||
+							child.mayBeDominatedBy(point) ||
+							((isDuplicate != null) && child.isNear(point))) {
+						if (!child.update(point, dominated, isDuplicate)) {
+							return false;
+						}
+					}
+				}
+			}
+
+			return true;
+		}
+
+		/**
+		 * Returns {@code true} if an entry in this subtree could weakly
+		 * dominate the point.
+		 *
+		 * @param point the point
+		 * @return {@code true} if an entry in this subtree could weakly
+		 *         dominate the point; {@code false} otherwise
+		 */
+		private boolean mayDominate(double[] point) {
+			for (int i = 0; i < point.length; i++) {
+				if (Double.compare(ideal[i], point[i]) > 0) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		/**
+		 * Returns {@code true} if an entry in this subtree could be weakly
+		 * dominated by the point.
+		 *
+		 * @param point the point
+		 * @return {@code true} if an entry in this subtree could be weakly
+		 *         dominated by the point; {@code false} otherwise
+		 */
+		private boolean mayBeDominatedBy(double[] point) {
+			for (int i = 0; i < point.length; i++) {
+				if (Double.compare(point[i], nadir[i]) > 0) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		/**
+		 * Returns {@code true} if the bounding box of this subtree is within
+		 * {@link Settings#EPS} of the point, and could therefore contain a
+		 * duplicate.
+		 *
+		 * @param point the point
+		 * @return {@code true} if the bounding box of this subtree is within
+		 *         {@code EPS} of the point; {@code false} otherwise
+		 */
+		private boolean isNear(double[] point) {
+			double distance = 0.0;
+
+			for (int i = 0; i < point.length; i++) {
+				double delta = Math.max(0.0, Math.max(ideal[i] - point[i],
+						point[i] - nadir[i]));
+				distance += delta * delta;
+			}
+
+			return !(distance >= Settings.EPS * Settings.EPS);
+		}
+
+		/**
+		 * Collects all entries in this subtree.
+		 *
+		 * @param result the collection of entries
+		 */
+		public void collect(List<Entry<T>> result) {
+			if (isLeaf()) {
+				result.addAll(entries);
+			} else {
+				for (Node<T> child : children) {
+					child.collect(result);
+				}
+			}
+		}
+
+		/**
+		 * Returns the entry storing the given value, or {@code null} if the
+		 * value is not contained in this subtree.
+		 *
+		 * @param value the value
+		 * @param point the point associated with the value, or {@code null}
+		 *        to search every node
+		 * @return the entry storing the given value, or {@code null} if the
+		 *         value is not contained in this subtree
+		 */
+		public Entry<T> find(T value, double[] point) {
+			if ((point != null) &&
+					(!mayDominate(point) || !mayBeDominatedBy(point))) {
+				return null;
+			}
+
+			if (isLeaf()) {
+				for (Entry<T> entry : entries) {
+					if (entry.value == value) {
+						return entry;
+					}
+				}
+			} else {
+				for (Node<T> child : children) {
+					Entry<T> entry = child.find(value, point);
+
+					if (entry != null) {
+						return entry;
+					}
+				}
+			}
+
+			return null;
+		}
+
+		/**
+		 * Inserts the entry into the leaf node whose midpoint is nearest to
+		 * the entry, splitting the leaf node if it becomes too large.
+		 *
+		 * @param entry the entry to insert
+		 */
+		public void insert(Entry<T> entry) {
+			expand(entry.point);
+
+			if (isLeaf()) {
+				entry.leaf = this;
+				entries.add(entry);
+
+				if (entries.size() > MAX_LEAF_SIZE) {
+					split();
+				}
+			} else {
+				nearest(entry.point).insert(entry);
+			}
+		}
+
+		/**
+		 * Removes the entry from this leaf node and recomputes its bounds.
+		 *
+		 * @param entry the entry to remove
+		 */
+		public void remove(Entry<T> entry) {
+			for (int i = 0; i < entries.size(); i++) {
+				if (entries.get(i) == entry) {
+					entries.remove(i);
+					break;
+				}
+			}
+
+			Arrays.fill(ideal, Double.POSITIVE_INFINITY);
+			Arrays.fill(nadir, Double.NEGATIVE_INFINITY);
+
+			for (Entry<T> remaining : entries) {
+				expand(remaining.point);
+			}
+		}
+
+		/**
+		 * Expands the ideal and nadir points to include the given point.
+		 *
+		 * @param point the point
+		 */
+		private void expand(double[] point) {
+			for (int i = 0; i < point.length; i++) {
+				if (Double.compare(point[i], ideal[i]) < 0) {
+					ideal[i] = point[i];
+				}
+
+				if (Double.compare(point[i], nadir[i]) > 0) {
+					nadir[i] = point[i];
+				}
+			}
+		}
+
+		/**
+		 * Returns the child whose midpoint is nearest to the point.
+		 *
+		 * @param point the point
+		 * @return the child whose midpoint is nearest to the point
+		 */
+		private Node<T> nearest(double[] point) {
+			Node<T> nearest = null;
+			double minimumDistance = Double.POSITIVE_INFINITY;
+
+			for (Node<T> child : children) {
+				double distance = 0.0;
+
+				for (int i = 0; i < point.length; i++) {
+					double delta = (child.ideal[i] + child.nadir[i]) / 2.0 -
+							point[i];
+					distance += delta * delta;
+				}
+
+				if ((nearest == null) || (distance < minimumDistance)) {
+					nearest = child;
+					minimumDistance = distance;
+				}
+			}
+
+			return nearest;
+		}
+
+		/**
+		 * Converts this leaf node into an internal node by distributing its
+		 * entries among {@code M+1} new leaf nodes, where {@code M} is the
+		 * number of objectives.  The first entry assigned to each child is
+		 * chosen to be far from the entries assigned to the previous children,
+		 * and all remaining entries are assigned to the nearest child.
+		 */
+		private void split() {
+			int numberOfChildren = Math.min(ideal.length + 1, entries.size());
+			List<Entry<T>> remaining = new ArrayList<Entry<T>>(entries);
+			List<Entry<T>> seeds = new ArrayList<Entry<T>>(numberOfChildren);
+
+			children = new ArrayList<Node<T>>(numberOfChildren);
+			entries = null;
+
+			// the first seed is the entry farthest from all others, and each
+			// subsequent seed is the entry farthest from the existing seeds
+			while (seeds.size() < numberOfChildren) {
+				List<Entry<T>> targets = seeds.isEmpty() ? remaining : seeds;
+				Entry<T> seed = null;
+				double maximumDistance = Double.NEGATIVE_INFINITY;
+
+				for (Entry<T> entry : remaining) {
+					double distance = 0.0;
+
+					for (Entry<T> target : targets) {
+						distance += distanceSquared(entry.point, target.point);
+					}
+
+					if ((seed == null) || (distance > maximumDistance)) {
+						seed = entry;
+						maximumDistance = distance;
+					}
+				}
+
+				seeds.add(seed);
+				remaining.remove(seed);
+			}
+
+			for (Entry<T> entry : seeds) {
+				Node<T> child = new Node<T>(this, ideal.length);
+				child.expand(entry.point);
+				child.entries.add(entry);
+				entry.leaf = child;
+				children.add(child);
+			}
+
+			for (Entry<T> entry : remaining) {
+				Node<T> child = nearest(entry.point);
+				child.expand(entry.point);
+				child.entries.add(entry);
+				entry.leaf = child;
+			}
+		}
+
+	}
+
+}
@@ -21,6 +21,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.math3.random.MersenneTwister;
 import org.apache.commons.math3.random.RandomAdaptor;
@@ -34,6 +36,11 @@ import org.apache.commons.math3.random.RandomAdaptor;
  * thread safety from the underlying implementation.  Unless the underlying
  * implementation is known to be thread-safe, assume that {@code PRNG} is not
  * thread-safe.
+ * <p>
+ * For reproducible parallel runs, use {@link SplittableStreamRandom} as the
+ * source of randomness.  Islands, seeds, and distributed evaluations are then
+ * each run in their own stream, derived from the seed, through
+ * {@link #withStream(long, Callable)}.
  */
 public class PRNG {
 
@@ -41,6 +48,18 @@ public class PRNG {
 	 * Internal source of randomness.
 	 */
 	private static Random random;
+	
+	/**
+	 * The source of randomness used by the current thread in place of
+	 * {@link #random}, if any.
+	 */
+	private static final ThreadLocal<Random> threadRandom = new ThreadLocal<Random>();
+	
+	/**
+	 * The number of threads using their own source of randomness.  When zero,
+	 * the thread-local lookup is skipped.
+	 */
+	private static final AtomicInteger threadRandomCount = new AtomicInteger();
 
 	/**
 	 * Initialize the static variables.
@@ -79,13 +98,110 @@ public class PRNG {
 	}
 
 	/**
-	 * Returns the source of randomness currently used.
+	 * Returns the source of randomness currently used by the calling thread.
+	 * This is the source set by {@link #setRandom(Random)} unless the calling
+	 * thread is running a task created by {@link #withRandom(Random, Callable)}.
 	 * 
 	 * @return the source of randomness currently used
 	 */
 	public static Random getRandom() {
+		return current();
+	}
+	
+	/**
+	 * Returns the source of randomness used by the calling thread.
+	 * 
+	 * @return the source of randomness used by the calling thread
+	 */
+	private static Random current() {
+		if (threadRandomCount.get() > 0) {
+			Random local = threadRandom.get();
+			
+			if (local != null) {
+				return local;
+			}
+		}
+		
 		return random;
 	}
+	
+	/**
+	 * Wraps a task so the thread running it uses the given source of
+	 * randomness instead of the source set by {@link #setRandom(Random)}.
+	 * Other threads are not affected.  This allows, for example, tasks to
+	 * draw from a private {@link SplittableStreamRandom} without replacing the
+	 * source of randomness for the entire process.
+	 * 
+	 * @param <T> the type of the task's result
+	 * @param random the source of randomness used while running the task
+	 * @param task the task
+	 * @return the wrapped task
+	 */
+	public static <T> Callable<T> withRandom(final Random random, final Callable<T> task) {
+		return () -> {
+			Random previous = threadRandom.get();
+			
+			if (previous == null) {
+				threadRandomCount.incrementAndGet();
+			}
+			
+			threadRandom.set(random);
+			
+			try {
+				return task.call();
+			} finally {
+				if (previous == null) {
+					threadRandom.remove();
+					threadRandomCount.decrementAndGet();
+				} else {
+					threadRandom.set(previous);
+				}
+			}
+		};
+	}
+	
+	/**
+	 * Wraps a task so it runs in its own stream of random numbers when the
+	 * source of randomness is a {@link SplittableStreamRandom}.  Otherwise, the
+	 * task is returned unchanged.
+	 * 
+	 * @param <T> the type of the task's result
+	 * @param id the identifier of the stream, which should be unique among
+	 *        tasks created by the same thread or parent task
+	 * @param task the task
+	 * @return the wrapped task
+	 * @see SplittableStreamRandom#withStream(long, Callable)
+	 */
+	public static <T> Callable<T> withStream(long id, Callable<T> task) {
+		Random random = current();
+		
+		if (random instanceof SplittableStreamRandom) {
+			return ((SplittableStreamRandom)random).withStream(id, task);
+		} else {
+			return task;
+		}
+	}
+	
+	/**
+	 * Wraps a task so it runs in its own stream of random numbers when the
+	 * source of randomness is a {@link SplittableStreamRandom}.  Otherwise, the
+	 * task is returned unchanged.
+	 * 
+	 * @param id the identifier of the stream, which should be unique among
+	 *        tasks created by the same thread or parent task
+	 * @param task the task
+	 * @return the wrapped task
+	 * @see SplittableStreamRandom#withStream(long, Runnable)
+	 */
+	public static Runnable withStream(long id, Runnable task) {
+		Random random = current();
+		
+		if (random instanceof SplittableStreamRandom) {
+			return ((SplittableStreamRandom)random).withStream(id, task);
+		} else {
+			return task;
+		}
+	}
 
 	/**
 	 * Returns the next random, uniformly distributed {@code float} value
@@ -95,7 +211,7 @@ public class PRNG {
 	 *         between 0.0 and 1.0
 	 */
 	public static float nextFloat() {
-		return random.nextFloat();
+		return current().nextFloat();
 	}
 
 	/**
@@ -108,7 +224,7 @@ public class PRNG {
 	 *         between {@code min} and {@code max}
 	 */
 	public static float nextFloat(float min, float max) {
-		return min + random.nextFloat() * (max - min);
+		return min + current().nextFloat() * (max - min);
 	}
 
 	/**
@@ -119,7 +235,7 @@ public class PRNG {
 	 *         between 0.0 and 1.0
 	 */
 	public static double nextDouble() {
-		return random.nextDouble();
+		return current().nextDouble();
 	}
 
 	/**
@@ -132,7 +248,7 @@ public class PRNG {
 	 *         between {@code min} and {@code max}
 	 */
 	public static double nextDouble(double min, double max) {
-		return min + random.nextDouble() * (max - min);
+		return min + current().nextDouble() * (max - min);
 	}
 
 	/**
@@ -143,7 +259,7 @@ public class PRNG {
 	 *         {@code Integer.MIN_VALUE} and {@code Integer.MAX_VALUE}.
 	 */
 	public static int nextInt() {
-		return random.nextInt();
+		return current().nextInt();
 	}
 
 	/**
@@ -155,7 +271,7 @@ public class PRNG {
 	 *         {@code 0} (inclusive) and {@code n} (exclusive).
 	 */
 	public static int nextInt(int n) {
-		return random.nextInt(n);
+		return current().nextInt(n);
 	}
 
 	/**
@@ -168,7 +284,7 @@ public class PRNG {
 	 *         {@code min} and {@code max} (both inclusive).
 	 */
 	public static int nextInt(int min, int max) {
-		return min + random.nextInt(max - min + 1);
+		return min + current().nextInt(max - min + 1);
 	}
 
 	/**
@@ -177,7 +293,7 @@ public class PRNG {
 	 * @return the next random, uniformly distributed {@code boolean} value.
 	 */
 	public static boolean nextBoolean() {
-		return random.nextBoolean();
+		return current().nextBoolean();
 	}
 
 	/**
@@ -188,7 +304,7 @@ public class PRNG {
 	 *         mean {@code 0.0} and standard deviation {@code 1.0}.
 	 */
 	public static double nextGaussian() {
-		return random.nextGaussian();
+		return current().nextGaussian();
 	}
 
 	/**
@@ -201,7 +317,7 @@ public class PRNG {
 	 *         mean {@code mean} and standard deviation {@code stdev}.
 	 */
 	public static double nextGaussian(double mean, double stdev) {
-		return stdev * random.nextGaussian() + mean;
+		return stdev * current().nextGaussian() + mean;
 	}
 
 	/**
@@ -358,7 +474,7 @@ public class PRNG {
 	 * @param list the list to be shuffled
 	 */
 	public static <T> void shuffle(List<T> list) {
-		Collections.shuffle(list, random);
+		Collections.shuffle(list, current());
 	}
 
 	/**
@@ -90,6 +90,23 @@ public class Population implements Iterable<Solution> {
 		modCount++;
 		data.remove(index);
 	}
+	
+	/**
+	 * Removes the solution at the specified index by moving the last solution
+	 * into its place.  Unlike {@link #remove(int)}, this takes constant time
+	 * but does not preserve the order of the remaining solutions.
+	 * 
+	 * @param index the index of the solution to be removed
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 *         {@code (index < 0) || (index >= size())}
+	 */
+	void removeUnordered(int index) {
+		modCount++;
+		
+		int last = data.size() - 1;
+		data.set(index, data.get(last));
+		data.remove(last);
+	}
 
 	/**
 	 * Returns the index of the specified solution in this population.
@@ -23,13 +23,10 @@ import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.ArrayList;
@@ -46,7 +43,7 @@ import org.moeaframework.util.io.CommentedLineReader;
  *   <li>{@link #readObjectives} / {@link #writeObjectives} - Stores just the objective values in
  *       a human-readable format.
  *   <li>{@link #readReferenceSet} - Similar to {@code readObjectives} except any dominated solutions
- *       are discarded.
+ *       are discarded.  Reference sets are cached by the {@link ReferenceSetStore}.
  * </ul>
  */
 public class PopulationIO {
@@ -172,27 +169,15 @@ public class PopulationIO {
 	/**
 	 * Reads a reference set file, which contains the objective values for a set of
 	 * non-dominated solutions.  Any dominated solutions are discarded.  The given resource
-	 * can either reference a file on disk or a resource within a JAR.
+	 * can either reference a file on disk or a resource within a JAR.  The file is only parsed
+	 * the first time it is read, later calls return a copy of the cached reference set.
 	 * 
 	 * @param resource the path of the file or resource
 	 * @return the reference set, or {@code null} if the file or resource was not found
 	 * @throws IOException if an I/O error occurred
 	 */
 	public static NondominatedPopulation readReferenceSet(String resource) throws IOException {
-		File file = new File(resource);
-		
-		if (file.exists()) {
-			return new NondominatedPopulation(readObjectives(file));
-		} else {
-			try (InputStream input = PopulationIO.class.getResourceAsStream("/" + resource)) {
-				if (input != null) {
-					return new NondominatedPopulation(readObjectives(
-							new CommentedLineReader(new InputStreamReader(input))));
-				}
-			}
-		}
-		
-		throw new FileNotFoundException(resource);
+		return ReferenceSetStore.load(resource);
 	}
 
 }
@@ -17,6 +17,8 @@
  */
 package org.moeaframework.core;
 
+import java.util.List;
+
 /**
  * Interface for defining optimization problems.  All methods must be thread safe.
  */
@@ -57,6 +59,20 @@ public interface Problem extends AutoCloseable {
 	 * @param solution the solution to be evaluated
 	 */
 	public void evaluate(Solution solution);
+	
+	/**
+	 * Evaluates all of the solutions, updating each solution's objectives in place.  By default, this method
+	 * calls {@link #evaluate(Solution)} on each solution.  Problems can override this method to evaluate the
+	 * solutions in batch, such as vectorizing the computation across all solutions or reducing the number of
+	 * round-trips to an external process.
+	 * 
+	 * @param solutions the solutions to be evaluated
+	 */
+	public default void evaluateAll(List<Solution> solutions) {
+		for (Solution solution : solutions) {
+			evaluate(solution);
+		}
+	}
 
 	/**
 	 * Returns a new solution for this problem. Implementations must initialize the variables so that the
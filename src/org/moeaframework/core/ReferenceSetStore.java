@@ -0,0 +1,413 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.moeaframework.util.io.CommentedLineReader;
+
+/**
+ * Process-wide store of reference sets.  Each reference set is read and
+ * filtered for dominated solutions only once, after which it is kept as an
+ * immutable, column-oriented array of objective values.  Every call to
+ * {@link #load(String)} returns a new population built from this array without
+ * repeating the dominance checks, so callers are free to modify the returned
+ * population.
+ * <p>
+ * Reference sets can also be stored in a binary format, written by
+ * {@link #write(File, Iterable)}, which is memory-mapped when read.  If the
+ * {@value Settings#KEY_REFERENCE_SET_CACHE} property is set, text reference
+ * sets are converted to this binary format in the given directory the first
+ * time they are read, so later processes can skip parsing and filtering.
+ * <p>
+ * The binary format consists of a 16 byte header storing the magic number,
+ * version, number of objectives and number of solutions, followed by the
+ * objective values stored column by column (all values for the first
+ * objective, then the second objective, and so on).  All values are stored in
+ * little-endian byte order.
+ */
+public class ReferenceSetStore {
+	
+	/**
+	 * The magic number identifying binary reference set files.
+	 */
+	private static final int MAGIC = 0x4D525331;
+	
+	/**
+	 * The version of the binary reference set format.
+	 */
+	private static final int VERSION = 1;
+	
+	/**
+	 * The size, in bytes, of the header of binary reference set files.
+	 */
+	private static final int HEADER_SIZE = 16;
+	
+	/**
+	 * The file extension used for cached reference sets.
+	 */
+	private static final String CACHE_EXTENSION = ".rsb";
+	
+	/**
+	 * The cached reference sets, keyed by their source and its modification
+	 * time.
+	 */
+	private static final Map<String, ReferenceSet> CACHE = 
+			new ConcurrentHashMap<String, ReferenceSet>();
+
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private ReferenceSetStore() {
+		super();
+	}
+	
+	/**
+	 * Loads the reference set stored in a file on disk or a resource within a
+	 * JAR.  The file can be either a text file, as read by
+	 * {@link PopulationIO#readObjectives(File)}, or a binary file written by
+	 * {@link #write(File, Iterable)}.  Any dominated solutions are discarded.
+	 * 
+	 * @param resource the path of the file or resource
+	 * @return a new population containing the reference set
+	 * @throws FileNotFoundException if the file or resource was not found
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static NondominatedPopulation load(String resource) throws IOException {
+		File file = new File(resource);
+		String key = null;
+		
+		if (file.exists()) {
+			file = file.getCanonicalFile();
+			key = "file:" + file.getPath() + ":" + file.lastModified() + ":" + file.length();
+		} else {
+			URL url = PopulationIO.class.getResource("/" + resource);
+			
+			if (url == null) {
+				throw new FileNotFoundException(resource);
+			}
+			
+			URLConnection connection = url.openConnection();
+			key = "resource:" + url + ":" + connection.getLastModified() + ":" +
+					connection.getContentLengthLong();
+			file = null;
+		}
+		
+		ReferenceSet referenceSet = CACHE.get(key);
+		
+		if (referenceSet == null) {
+			if ((file != null) && isBinary(file)) {
+				referenceSet = map(file);
+			} else {
+				referenceSet = readAndCache(key, file, resource);
+			}
+			
+			ReferenceSet existing = CACHE.putIfAbsent(key, referenceSet);
+			
+			if (existing != null) {
+				referenceSet = existing;
+			}
+		}
+		
+		return referenceSet.toPopulation();
+	}
+	
+	/**
+	 * Removes all reference sets from this store.  Any cached binary files on
+	 * disk are kept.
+	 */
+	public static void clear() {
+		CACHE.clear();
+	}
+	
+	/**
+	 * Writes the objective values of the given solutions to a binary reference
+	 * set file.  Any dominated solutions are discarded.
+	 * 
+	 * @param file the file to write
+	 * @param solutions the solutions to write
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static void write(File file, Iterable<Solution> solutions) throws IOException {
+		NondominatedPopulation population = null;
+		
+		if ((solutions instanceof NondominatedPopulation) && 
+				(solutions.getClass() == NondominatedPopulation.class)) {
+			population = (NondominatedPopulation)solutions;
+		} else {
+			population = new NondominatedPopulation(solutions);
+		}
+		
+		write(file, ReferenceSet.of(population));
+	}
+	
+	/**
+	 * Returns {@code true} if the file is a binary reference set file;
+	 * {@code false} otherwise.
+	 * 
+	 * @param file the file
+	 * @return {@code true} if the file is a binary reference set file;
+	 *         {@code false} otherwise
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static boolean isBinary(File file) throws IOException {
+		if (file.length() < HEADER_SIZE) {
+			return false;
+		}
+		
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+			return Integer.reverseBytes(raf.readInt()) == MAGIC;
+		}
+	}
+	
+	/**
+	 * Reads a text reference set, filtering any dominated solutions.  If a
+	 * cache directory is configured, the binary form is read from or written to
+	 * the cache directory.
+	 * 
+	 * @param key the key identifying the reference set
+	 * @param file the text file, or {@code null} if reading a resource
+	 * @param resource the name of the resource
+	 * @return the reference set
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static ReferenceSet readAndCache(String key, File file, String resource)
+			throws IOException {
+		String directory = Settings.getReferenceSetCache();
+		File cacheFile = null;
+		
+		if (directory != null) {
+			String name = new File(resource).getName();
+			cacheFile = new File(directory, name + "-" + 
+					Integer.toHexString(key.hashCode()) + CACHE_EXTENSION);
+			
+			if (cacheFile.exists() && isBinary(cacheFile)) {
+				return map(cacheFile);
+			}
+		}
+		
+		NondominatedPopulation population = null;
+		
+		if (file != null) {
+			population = new NondominatedPopulation(PopulationIO.readObjectives(file));
+		} else {
+			try (InputStream input = PopulationIO.class.getResourceAsStream("/" + resource)) {
+				if (input == null) {
+					throw new FileNotFoundException(resource);
+				}
+				
+				population = new NondominatedPopulation(PopulationIO.readObjectives(
+						new CommentedLineReader(new InputStreamReader(input))));
+			}
+		}
+		
+		ReferenceSet referenceSet = ReferenceSet.of(population);
+		
+		if (cacheFile != null) {
+			try {
+				cacheFile.getParentFile().mkdirs();
+				
+				File tempFile = File.createTempFile(cacheFile.getName(), null,
+						cacheFile.getParentFile());
+				write(tempFile, referenceSet);
+				
+				try {
+					Files.move(tempFile.toPath(), cacheFile.toPath(),
+							StandardCopyOption.ATOMIC_MOVE);
+				} catch (AtomicMoveNotSupportedException e) {
+					Files.move(tempFile.toPath(), cacheFile.toPath(),
+							StandardCopyOption.REPLACE_EXISTING);
+				}
+			} catch (IOException e) {
+				// the cache is only an optimization, continue without it
+			}
+		}
+		
+		return referenceSet;
+	}
+	
+	/**
+	 * Writes the reference set to a binary file.
+	 * 
+	 * @param file the file to write
+	 * @param referenceSet the reference set
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static void write(File file, ReferenceSet referenceSet) throws IOException {
+		int length = referenceSet.size * referenceSet.numberOfObjectives;
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + 8 * length);
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putInt(MAGIC);
+		buffer.putInt(VERSION);
+		buffer.putInt(referenceSet.numberOfObjectives);
+		buffer.putInt(referenceSet.size);
+		
+		for (int i = 0; i < length; i++) {
+			buffer.putDouble(referenceSet.values.get(i));
+		}
+		
+		buffer.flip();
+		
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+				FileChannel channel = raf.getChannel()) {
+			raf.setLength(0);
+			
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+	}
+	
+	/**
+	 * Memory-maps a binary reference set file.  The mapping remains valid
+	 * after the file is closed.
+	 * 
+	 * @param file the binary reference set file
+	 * @return the reference set
+	 * @throws IOException if an I/O error occurred or the file is not valid
+	 */
+	private static ReferenceSet map(File file) throws IOException {
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+				FileChannel channel = raf.getChannel()) {
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+					channel.size());
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+			
+			if ((buffer.getInt() != MAGIC) || (buffer.getInt() != VERSION)) {
+				throw new IOException("unsupported reference set file " + file);
+			}
+			
+			int numberOfObjectives = buffer.getInt();
+			int size = buffer.getInt();
+			
+			if (buffer.remaining() != 8L * numberOfObjectives * size) {
+				throw new IOException("reference set file is corrupted " + file);
+			}
+			
+			return new ReferenceSet(size, numberOfObjectives,
+					buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer());
+		}
+	}
+	
+	/**
+	 * An immutable, column-oriented reference set.
+	 */
+	private static class ReferenceSet {
+		
+		/**
+		 * The number of solutions.
+		 */
+		private final int size;
+		
+		/**
+		 * The number of objectives.
+		 */
+		private final int numberOfObjectives;
+		
+		/**
+		 * The objective values, where objective {@code j} of solution
+		 * {@code i} is stored at index {@code j*size + i}.  Only absolute reads
+		 * are used, so the buffer can be shared between threads.
+		 */
+		private final DoubleBuffer values;
+
+		/**
+		 * Constructs a new reference set.
+		 * 
+		 * @param size the number of solutions
+		 * @param numberOfObjectives the number of objectives
+		 * @param values the objective values
+		 */
+		public ReferenceSet(int size, int numberOfObjectives, DoubleBuffer values) {
+			super();
+			this.size = size;
+			this.numberOfObjectives = numberOfObjectives;
+			this.values = values;
+		}
+		
+		/**
+		 * Creates a reference set from the objective values of the given
+		 * non-dominated population.
+		 * 
+		 * @param population the non-dominated population
+		 * @return the reference set
+		 */
+		public static ReferenceSet of(NondominatedPopulation population) {
+			int size = population.size();
+			int numberOfObjectives = size == 0 ? 0 :
+				population.get(0).getNumberOfObjectives();
+			double[] values = new double[size * numberOfObjectives];
+			
+			for (int i = 0; i < size; i++) {
+				Solution solution = population.get(i);
+				
+				if (solution.getNumberOfObjectives() != numberOfObjectives) {
+					throw new FrameworkException(
+							"reference set contains solutions with different number of objectives");
+				}
+				
+				for (int j = 0; j < numberOfObjectives; j++) {
+					values[j * size + i] = solution.getObjective(j);
+				}
+			}
+			
+			return new ReferenceSet(size, numberOfObjectives, DoubleBuffer.wrap(values));
+		}
+		
+		/**
+		 * Returns a new population containing this reference set.  The
+		 * solutions are known to be non-dominated, so the dominance checks are
+		 * skipped.
+		 * 
+		 * @return a new population containing this reference set
+		 */
+		public NondominatedPopulation toPopulation() {
+			NondominatedPopulation population = new NondominatedPopulation();
+			
+			for (int i = 0; i < size; i++) {
+				double[] objectives = new double[numberOfObjectives];
+				
+				for (int j = 0; j < numberOfObjectives; j++) {
+					objectives[j] = values.get(j * size + i);
+				}
+				
+				population.forceAddWithoutCheck(new Solution(objectives));
+			}
+			
+			return population;
+		}
+		
+	}
+
+}
@@ -33,6 +33,7 @@ import org.moeaframework.util.TypedProperties;
 import org.apache.commons.text.StringTokenizer;
 import org.moeaframework.core.NondominatedPopulation.DuplicateMode;
 import org.moeaframework.core.indicator.Hypervolume;
+import org.moeaframework.core.indicator.WFGHypervolume;
 
 /**
  * Global settings used by this framework.  The {@code PROPERTIES} object
@@ -98,6 +99,26 @@ public class Settings {
 	public static final String KEY_FAST_NONDOMINATED_SORTING = KEY_PREFIX +
 			"core.fast_nondominated_sorting";
 	
+	/**
+	 * The property key for the non-dominated sorting implementation.
+	 */
+	public static final String KEY_NONDOMINATED_SORTING = KEY_PREFIX +
+			"core.nondominated_sorting";
+	
+	/**
+	 * The property key to indicate that archives should be backed by a
+	 * spatial index.
+	 */
+	public static final String KEY_INDEXED_ARCHIVE = KEY_PREFIX +
+			"core.indexed_archive";
+	
+	/**
+	 * The property key for the directory storing binary copies of reference
+	 * sets.
+	 */
+	public static final String KEY_REFERENCE_SET_CACHE = KEY_PREFIX +
+			"core.reference_set_cache";
+	
 	/**
 	 * The property key for the continuity correction flag.
 	 */
@@ -129,6 +150,12 @@ public class Settings {
 	public static final String KEY_HYPERVOLUME = KEY_PREFIX +
 			"core.indicator.hypervolume";
 	
+	/**
+	 * The property key for the hypervolume algorithm.
+	 */
+	public static final String KEY_HYPERVOLUME_ALGORITHM = KEY_PREFIX +
+			"core.indicator.hypervolume_algorithm";
+	
 	/**
 	 * The property key for the hypervolume inversion flag.
 	 */
@@ -200,6 +227,13 @@ public class Settings {
 	public static final String KEY_EXTERNAL_PROBLEM_DEBUGGING = KEY_PREFIX + 
 			"problem.external_problem_debugging";
 	
+	/**
+	 * The property key for the maximum number of requests sent to an external
+	 * problem before waiting for a response.
+	 */
+	public static final String KEY_EXTERNAL_PROBLEM_PIPELINE_SIZE =
+			KEY_PREFIX + "problem.external_problem_pipeline_size";
+	
 	/**
 	 * Loads the properties.
 	 */
@@ -296,7 +330,7 @@ public class Settings {
 		return PROPERTIES.getDouble(KEY_IGD_POWER, 1.0);
 	}
 	
-	/**
+	/**
 	 * Returns the ideal point for the given problem, or {@code null} if
 	 * one is not specified.
 	 * 
@@ -320,7 +354,7 @@ public class Settings {
 				null);
 	}
 	
-	/**
+	/**
 	 * Returns {@code true} if fast non-dominated sorting should be used;
 	 * or {@code false} if the naive non-dominated sorting implementation is
 	 * preferred.  The default is {@code false} since while the fast version
@@ -332,7 +366,48 @@ public class Settings {
 	 *         implementation is preferred
 	 */
 	public static boolean useFastNondominatedSorting() {
-		return PROPERTIES.getBoolean(KEY_FAST_NONDOMINATED_SORTING, false);
+		return PROPERTIES.getBoolean(KEY_FAST_NONDOMINATED_SORTING, false);
+	}
+	
+	/**
+	 * Returns the non-dominated sorting implementation used by
+	 * {@link NondominatedSortingPopulation}.  Possible values are
+	 * {@code naive}, {@code fast}, {@code efficient},
+	 * {@code efficient_binary}, and {@code divide_and_conquer}.  If not
+	 * specified, defaults to {@code fast} or {@code naive} depending on
+	 * {@link #useFastNondominatedSorting()}.
+	 * 
+	 * @return the non-dominated sorting implementation
+	 */
+	public static String getNondominatedSorting() {
+		return PROPERTIES.getString(KEY_NONDOMINATED_SORTING,
+				useFastNondominatedSorting() ? "fast" : "naive");
+	}
+	
+	/**
+	 * Returns {@code true} if the unbounded archives created by the
+	 * {@link org.moeaframework.Executor} and {@link org.moeaframework.Analyzer}
+	 * should be backed by a spatial index; {@code false} otherwise.  See
+	 * {@link IndexedNondominatedPopulation} for details.  The default is
+	 * {@code false}, as the index only pays off for large archives.
+	 * 
+	 * @return {@code true} if the unbounded archives should be backed by a
+	 *         spatial index; {@code false} otherwise
+	 */
+	public static boolean useIndexedArchive() {
+		return PROPERTIES.getBoolean(KEY_INDEXED_ARCHIVE, false);
+	}
+	
+	/**
+	 * Returns the directory where binary copies of reference sets are stored,
+	 * or {@code null} if reference sets are not cached on disk.  See
+	 * {@link ReferenceSetStore} for details.
+	 * 
+	 * @return the directory where binary copies of reference sets are stored,
+	 *         or {@code null} if reference sets are not cached on disk
+	 */
+	public static String getReferenceSetCache() {
+		return PROPERTIES.getString(KEY_REFERENCE_SET_CACHE, null);
 	}
 	
 	/**
@@ -367,6 +442,19 @@ public class Settings {
 		return PROPERTIES.getString(KEY_HYPERVOLUME, null);
 	}
 	
+	/**
+	 * Returns the algorithm used to calculate the hypervolume when no native
+	 * hypervolume command is specified.  Possible values are {@code wfg},
+	 * the default, which uses {@link WFGHypervolume}, and {@code hso}, which
+	 * uses the original hypervolume by slicing objectives implementation
+	 * provided by {@link Hypervolume#calculateHypervolume}.
+	 * 
+	 * @return the algorithm used to calculate the hypervolume
+	 */
+	public static String getHypervolumeAlgorithm() {
+		return PROPERTIES.getString(KEY_HYPERVOLUME_ALGORITHM, "wfg");
+	}
+	
 	/**
 	 * Returns {@code true} if the approximation set is inverted prior to being
 	 * passed to the custom hypervolume implementation; otherwise {@code false}.
@@ -579,6 +667,20 @@ public class Settings {
 		return PROPERTIES.getBoolean(KEY_EXTERNAL_PROBLEM_DEBUGGING, false);
 	}
 	
+	/**
+	 * Returns the maximum number of requests sent to an external problem
+	 * before waiting for a response.  Larger values hide the latency of each
+	 * round trip when evaluating solutions in batch, but the responses must
+	 * fit within the buffers of the underlying streams.  A value of {@code 1}
+	 * disables pipelining.
+	 * 
+	 * @return the maximum number of requests sent to an external problem
+	 *         before waiting for a response
+	 */
+	public static int getExternalProblemPipelineSize() {
+		return PROPERTIES.getInt(KEY_EXTERNAL_PROBLEM_PIPELINE_SIZE, 16);
+	}
+	
 	/**
 	 * Returns the MOEA Framework icons of various sizes.
 	 * 
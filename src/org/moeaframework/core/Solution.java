@@ -18,8 +18,15 @@
 package org.moeaframework.core;
 
 import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 import org.apache.commons.lang3.SerializationUtils;
 
@@ -29,6 +36,14 @@ import org.apache.commons.lang3.SerializationUtils;
  * (key, value)} pairs; they are instance-specific and are not carried over in
  * the copy constructor.
  * <p>
+ * The frequently used {@code rank}, {@code crowdingDistance}, and
+ * {@code fitness} attributes are stored in primitive fields rather than in the
+ * attribute map, avoiding boxing and hashing.  They can be accessed either
+ * through the typed methods, such as {@link #getRank()} and
+ * {@link #setRank(int)}, or through the attribute methods using their keys.
+ * Values of any other type assigned to these keys are stored in the attribute
+ * map.
+ * <p>
  * Solutions should only be constructed in {@link Problem#newSolution()} or 
  * cloned from an existing solution with {@link #copy()}.  This ensures the
  * solutions and configured correctly for the given optimization problem.
@@ -56,6 +71,50 @@ public class Solution implements Serializable {
 	 * The attributes of this solutions.
 	 */
 	private final Map<String, Serializable> attributes;
+	
+	/**
+	 * The flag indicating the {@code rank} attribute is stored in
+	 * {@link #rank}.
+	 */
+	private static final int RANK_SLOT = 1;
+	
+	/**
+	 * The flag indicating the {@code crowdingDistance} attribute is stored in
+	 * {@link #crowdingDistance}.
+	 */
+	private static final int CROWDING_SLOT = 2;
+	
+	/**
+	 * The flag indicating the {@code fitness} attribute is stored in
+	 * {@link #fitness}.
+	 */
+	private static final int FITNESS_SLOT = 4;
+	
+	/**
+	 * The flags indicating which primitive attribute slots are assigned.
+	 */
+	private int slots;
+	
+	/**
+	 * The value of the {@code rank} attribute, if assigned.
+	 */
+	private int rank;
+	
+	/**
+	 * The value of the {@code crowdingDistance} attribute, if assigned.
+	 */
+	private double crowdingDistance;
+	
+	/**
+	 * The value of the {@code fitness} attribute, if assigned.
+	 */
+	private double fitness;
+	
+	/**
+	 * The write-through view of the attributes returned by
+	 * {@link #getAttributes()}, created when first requested.
+	 */
+	private transient Map<String, Serializable> attributeView;
 
 	/**
 	 * Constructs a solution with the specified number of variables and 
@@ -329,6 +388,43 @@ public class Solution implements Serializable {
 		constraints[index] = constraint;
 	}
 
+	/**
+	 * Returns the flag of the primitive slot storing the attribute, or
+	 * {@code 0} if the attribute is only stored in the attribute map.
+	 * 
+	 * @param key the key of the attribute
+	 * @return the flag of the primitive slot storing the attribute, or
+	 *         {@code 0} if the attribute is only stored in the attribute map
+	 */
+	private static int getSlot(String key) {
+		if (NondominatedSorting.RANK_ATTRIBUTE.equals(key)) {
+			return RANK_SLOT;
+		} else if (NondominatedSorting.CROWDING_ATTRIBUTE.equals(key)) {
+			return CROWDING_SLOT;
+		} else if (FitnessEvaluator.FITNESS_ATTRIBUTE.equals(key)) {
+			return FITNESS_SLOT;
+		} else {
+			return 0;
+		}
+	}
+	
+	/**
+	 * Returns the boxed value stored in an assigned primitive slot.
+	 * 
+	 * @param slot the flag of the primitive slot
+	 * @return the boxed value stored in the primitive slot
+	 */
+	private Serializable getSlotValue(int slot) {
+		switch (slot) {
+		case RANK_SLOT:
+			return rank;
+		case CROWDING_SLOT:
+			return crowdingDistance;
+		default:
+			return fitness;
+		}
+	}
+
 	/**
 	 * Returns the value of the attribute that is associated with the specified
 	 * key, or {@code null} if no value has been associated with the key.
@@ -338,6 +434,12 @@ public class Solution implements Serializable {
 	 *         no value has been associated with the key
 	 */
 	public Object getAttribute(String key) {
+		int slot = getSlot(key);
+		
+		if ((slots & slot) != 0) {
+			return getSlotValue(slot);
+		}
+		
 		return attributes.get(key);
 	}
 
@@ -352,7 +454,28 @@ public class Solution implements Serializable {
 	 *         prior value has been associated with the key
 	 */
 	public Object setAttribute(String key, Serializable value) {
-		return attributes.put(key, value);
+		int slot = getSlot(key);
+		
+		if (slot == 0) {
+			return attributes.put(key, value);
+		}
+		
+		Object oldValue = removeSlotAttribute(key, slot);
+		
+		if ((slot == RANK_SLOT) && (value instanceof Integer)) {
+			rank = (Integer)value;
+			slots |= slot;
+		} else if ((slot == CROWDING_SLOT) && (value instanceof Double)) {
+			crowdingDistance = (Double)value;
+			slots |= slot;
+		} else if ((slot == FITNESS_SLOT) && (value instanceof Double)) {
+			fitness = (Double)value;
+			slots |= slot;
+		} else {
+			attributes.put(key, value);
+		}
+		
+		return oldValue;
 	}
 
 	/**
@@ -365,7 +488,33 @@ public class Solution implements Serializable {
 	 *         prior value has been associated with the key
 	 */
 	public Object removeAttribute(String key) {
-		return attributes.remove(key);
+		int slot = getSlot(key);
+		
+		if (slot == 0) {
+			return attributes.remove(key);
+		}
+		
+		return removeSlotAttribute(key, slot);
+	}
+	
+	/**
+	 * Removes an attribute that can be stored in a primitive slot, clearing
+	 * both the slot and any value stored in the attribute map.
+	 * 
+	 * @param key the key to be removed
+	 * @param slot the flag of the primitive slot
+	 * @return the old value associated with the key, or {@code null} if no
+	 *         prior value has been associated with the key
+	 */
+	private Object removeSlotAttribute(String key, int slot) {
+		Object oldValue = attributes.isEmpty() ? null : attributes.remove(key);
+		
+		if ((slots & slot) != 0) {
+			oldValue = getSlotValue(slot);
+			slots &= ~slot;
+		}
+		
+		return oldValue;
 	}
 
 	/**
@@ -377,16 +526,135 @@ public class Solution implements Serializable {
 	 *         attributes; {@code false} otherwise
 	 */
 	public boolean hasAttribute(String key) {
-		return attributes.containsKey(key);
+		return ((slots & getSlot(key)) != 0) || attributes.containsKey(key);
 	}
 
 	/**
-	 * Returns the {@link Map} containing this solution's attributes.
+	 * Returns the {@link Map} containing this solution's attributes, including
+	 * those stored in primitive slots.  The map is a view backed by this
+	 * solution, so changes to the map are reflected in the solution and
+	 * vice versa.
 	 * 
 	 * @return the {@code Map} containing this solution's attributes
 	 */
 	public Map<String, Serializable> getAttributes() {
-		return attributes;
+		if (attributeView == null) {
+			attributeView = new AttributeMap();
+		}
+		
+		return attributeView;
+	}
+	
+	/**
+	 * Returns the value of an attribute that can be stored in a primitive
+	 * slot but is not, throwing an exception if the attribute is not set.
+	 * This matches the behavior of unboxing the value returned by
+	 * {@link #getAttribute(String)}.
+	 * 
+	 * @param key the key of the attribute
+	 * @return the value of the attribute
+	 * @throws NullPointerException if the attribute is not set
+	 */
+	private Object getRequiredAttribute(String key) {
+		Object value = attributes.get(key);
+		
+		if (value == null) {
+			throw new NullPointerException("attribute " + key + " is not set");
+		}
+		
+		return value;
+	}
+	
+	/**
+	 * Returns the {@code rank} attribute assigned by non-dominated sorting.
+	 * 
+	 * @return the {@code rank} attribute
+	 * @throws NullPointerException if the {@code rank} attribute is not set
+	 */
+	public int getRank() {
+		if ((slots & RANK_SLOT) != 0) {
+			return rank;
+		}
+		
+		return (Integer)getRequiredAttribute(NondominatedSorting.RANK_ATTRIBUTE);
+	}
+	
+	/**
+	 * Sets the {@code rank} attribute.  This is equivalent to, but faster
+	 * than, {@code setAttribute(NondominatedSorting.RANK_ATTRIBUTE, rank)}.
+	 * 
+	 * @param rank the rank
+	 */
+	public void setRank(int rank) {
+		if (!attributes.isEmpty()) {
+			attributes.remove(NondominatedSorting.RANK_ATTRIBUTE);
+		}
+		
+		this.rank = rank;
+		slots |= RANK_SLOT;
+	}
+	
+	/**
+	 * Returns the {@code crowdingDistance} attribute assigned by non-dominated
+	 * sorting.
+	 * 
+	 * @return the {@code crowdingDistance} attribute
+	 * @throws NullPointerException if the {@code crowdingDistance} attribute
+	 *         is not set
+	 */
+	public double getCrowdingDistance() {
+		if ((slots & CROWDING_SLOT) != 0) {
+			return crowdingDistance;
+		}
+		
+		return (Double)getRequiredAttribute(NondominatedSorting.CROWDING_ATTRIBUTE);
+	}
+	
+	/**
+	 * Sets the {@code crowdingDistance} attribute.  This is equivalent to, but
+	 * faster than, {@code setAttribute(NondominatedSorting.CROWDING_ATTRIBUTE,
+	 * crowdingDistance)}.
+	 * 
+	 * @param crowdingDistance the crowding distance
+	 */
+	public void setCrowdingDistance(double crowdingDistance) {
+		if (!attributes.isEmpty()) {
+			attributes.remove(NondominatedSorting.CROWDING_ATTRIBUTE);
+		}
+		
+		this.crowdingDistance = crowdingDistance;
+		slots |= CROWDING_SLOT;
+	}
+	
+	/**
+	 * Returns the {@code fitness} attribute assigned by a
+	 * {@link FitnessEvaluator}.
+	 * 
+	 * @return the {@code fitness} attribute
+	 * @throws NullPointerException if the {@code fitness} attribute is not
+	 *         set
+	 */
+	public double getFitness() {
+		if ((slots & FITNESS_SLOT) != 0) {
+			return fitness;
+		}
+		
+		return (Double)getRequiredAttribute(FitnessEvaluator.FITNESS_ATTRIBUTE);
+	}
+	
+	/**
+	 * Sets the {@code fitness} attribute.  This is equivalent to, but faster
+	 * than, {@code setAttribute(FitnessEvaluator.FITNESS_ATTRIBUTE, fitness)}.
+	 * 
+	 * @param fitness the fitness
+	 */
+	public void setFitness(double fitness) {
+		if (!attributes.isEmpty()) {
+			attributes.remove(FitnessEvaluator.FITNESS_ATTRIBUTE);
+		}
+		
+		this.fitness = fitness;
+		slots |= FITNESS_SLOT;
 	}
 
 	/**
@@ -404,6 +672,7 @@ public class Solution implements Serializable {
 	 */
 	public void clearAttributes() {
 		attributes.clear();
+		slots = 0;
 	}
 	
 	/**
@@ -428,5 +697,134 @@ public class Solution implements Serializable {
 
 		return Math.sqrt(distance);
 	}
+	
+	/**
+	 * View of the attributes of this solution.  All operations are performed
+	 * through the attribute methods of the solution, so the values stored in
+	 * primitive slots are included and subclasses storing attributes elsewhere
+	 * are supported.
+	 */
+	private class AttributeMap extends AbstractMap<String, Serializable> {
+		
+		/**
+		 * The keys of the attributes that can be stored in primitive slots.
+		 */
+		private final String[] slotKeys = { NondominatedSorting.RANK_ATTRIBUTE,
+				NondominatedSorting.CROWDING_ATTRIBUTE, FitnessEvaluator.FITNESS_ATTRIBUTE };
+		
+		/**
+		 * Returns the keys of all attributes.
+		 * 
+		 * @return the keys of all attributes
+		 */
+		private List<String> keys() {
+			List<String> keys = new ArrayList<String>(attributes.size() + slotKeys.length);
+			
+			for (String key : slotKeys) {
+				if (hasAttribute(key)) {
+					keys.add(key);
+				}
+			}
+			
+			for (String key : attributes.keySet()) {
+				if ((getSlot(key) == 0) || !keys.contains(key)) {
+					keys.add(key);
+				}
+			}
+			
+			return keys;
+		}
+
+		@Override
+		public int size() {
+			return keys().size();
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return (key instanceof String) && hasAttribute((String)key);
+		}
+
+		@Override
+		public Serializable get(Object key) {
+			return (key instanceof String) ? (Serializable)getAttribute((String)key) : null;
+		}
+
+		@Override
+		public Serializable put(String key, Serializable value) {
+			return (Serializable)setAttribute(key, value);
+		}
+
+		@Override
+		public Serializable remove(Object key) {
+			return (key instanceof String) ? (Serializable)removeAttribute((String)key) : null;
+		}
+
+		@Override
+		public void clear() {
+			clearAttributes();
+		}
+
+		@Override
+		public Set<Map.Entry<String, Serializable>> entrySet() {
+			return new AbstractSet<Map.Entry<String, Serializable>>() {
+
+				@Override
+				public Iterator<Map.Entry<String, Serializable>> iterator() {
+					final Iterator<String> iterator = keys().iterator();
+					
+					return new Iterator<Map.Entry<String, Serializable>>() {
+						
+						private String lastKey;
+
+						@Override
+						public boolean hasNext() {
+							return iterator.hasNext();
+						}
+
+						@Override
+						public Map.Entry<String, Serializable> next() {
+							if (!iterator.hasNext()) {
+								throw new NoSuchElementException();
+							}
+							
+							final String key = iterator.next();
+							lastKey = key;
+							
+							return new AbstractMap.SimpleEntry<String, Serializable>(key, get(key)) {
+
+								private static final long serialVersionUID = -3527264582532513937L;
+
+								@Override
+								public Serializable setValue(Serializable value) {
+									super.setValue(value);
+									return put(key, value);
+								}
+								
+							};
+						}
+
+						@Override
+						public void remove() {
+							if (lastKey == null) {
+								throw new IllegalStateException();
+							}
+							
+							removeAttribute(lastKey);
+							lastKey = null;
+						}
+						
+					};
+				}
+
+				@Override
+				public int size() {
+					return AttributeMap.this.size();
+				}
+				
+			};
+		}
+		
+	}
 
 }
@@ -0,0 +1,455 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A thread-safe source of randomness producing independent, reproducible
+ * streams for parallel tasks.  Each thread draws numbers from its own stream,
+ * backed by a {@link SplittableRandom}, so threads never contend on a shared
+ * generator.  Tasks wrapped with {@link #withStream(long, Callable)} run in a
+ * stream derived deterministically from the stream of the thread that created
+ * the task and the given stream identifier.  Consequently, as long as each task
+ * is given a distinct identifier, such as the index of the island, seed, or
+ * evaluation, the random numbers it observes are identical from run to run
+ * regardless of how the tasks are scheduled on threads.
+ * <p>
+ * The thread calling {@link #setSeed(long)} uses the root stream for the
+ * seed.  Other threads not running a wrapped task are assigned a new stream
+ * when they first draw a number, which is reproducible only if the threads
+ * first draw numbers in the same order.
+ * <p>
+ * Use with {@link PRNG} by calling
+ * {@code PRNG.setRandom(new SplittableStreamRandom(seed))}; the helpers
+ * {@link PRNG#withStream(long, Callable)} and
+ * {@link PRNG#withStream(long, Runnable)} then wrap tasks with streams, and
+ * have no effect when any other source of randomness is used.
+ */
+public class SplittableStreamRandom extends Random {
+
+	private static final long serialVersionUID = 5309411826622592380L;
+	
+	/**
+	 * The odd constant used to spread identifiers when deriving streams, equal
+	 * to the golden ratio scaled to 64 bits.
+	 */
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	/**
+	 * The master seed.
+	 */
+	private volatile long seed;
+	
+	/**
+	 * Incremented each time the master seed changes, so threads not running a
+	 * wrapped task can detect that their stream is stale.
+	 */
+	private volatile int generation;
+	
+	/**
+	 * The number of streams assigned to threads not running a wrapped task.
+	 */
+	private transient AtomicLong unassignedStreams;
+	
+	/**
+	 * The stream used by each thread.
+	 */
+	private transient ThreadLocal<Stream> streams;
+	
+	/**
+	 * Constructs a new source of randomness with a random seed.
+	 */
+	public SplittableStreamRandom() {
+		this(new SplittableRandom().nextLong());
+	}
+	
+	/**
+	 * Constructs a new source of randomness with the given seed.
+	 * 
+	 * @param seed the seed
+	 */
+	public SplittableStreamRandom(long seed) {
+		super(seed);
+		initialize();
+		setSeed(seed);
+	}
+	
+	/**
+	 * Initializes the transient fields.
+	 */
+	private void initialize() {
+		unassignedStreams = new AtomicLong();
+		streams = new ThreadLocal<Stream>();
+	}
+	
+	/**
+	 * Sets the master seed and assigns the root stream of the new seed to the
+	 * calling thread.
+	 */
+	@Override
+	public void setSeed(long seed) {
+		// invoked by the superclass constructor before initialization
+		if (streams == null) {
+			return;
+		}
+		
+		synchronized (this) {
+			this.seed = seed;
+			generation++;
+			unassignedStreams.set(0);
+			streams.set(new Stream(seed, generation, false));
+		}
+	}
+	
+	/**
+	 * Returns the master seed.
+	 * 
+	 * @return the master seed
+	 */
+	public long getSeed() {
+		return seed;
+	}
+	
+	/**
+	 * Returns the stream used by the calling thread.
+	 * 
+	 * @return the stream used by the calling thread
+	 */
+	private Stream current() {
+		Stream stream = streams.get();
+		
+		if ((stream == null) || (!stream.assigned && (stream.generation != generation))) {
+			synchronized (this) {
+				stream = new Stream(derive(seed, -unassignedStreams.incrementAndGet()), generation, false);
+			}
+			
+			streams.set(stream);
+		}
+		
+		return stream;
+	}
+	
+	/**
+	 * Returns the seed of the stream with the given identifier derived from a
+	 * parent stream.
+	 * 
+	 * @param parentSeed the seed of the parent stream
+	 * @param id the identifier of the derived stream
+	 * @return the seed of the derived stream
+	 */
+	static long derive(long parentSeed, long id) {
+		return mix64(parentSeed + mix64((id + 1) * GOLDEN_GAMMA));
+	}
+	
+	/**
+	 * The 64-bit finalizer from MurmurHash3, also used by
+	 * {@link SplittableRandom}, which ensures seeds differing in a few bits
+	 * produce uncorrelated streams.
+	 * 
+	 * @param z the value to mix
+	 * @return the mixed value
+	 */
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+		z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		return z ^ (z >>> 33);
+	}
+	
+	/**
+	 * Wraps a task so it runs in the stream with the given identifier, derived
+	 * from the calling thread's current stream.  The wrapped task is
+	 * serializable if the task is serializable.
+	 * 
+	 * @param <T> the type of the task's result
+	 * @param id the identifier of the stream, which should be unique among
+	 *        tasks created by the same parent
+	 * @param task the task
+	 * @return the wrapped task
+	 */
+	public <T> Callable<T> withStream(long id, Callable<T> task) {
+		return new StreamTask<T>(getStreamSeed(id), task);
+	}
+	
+	/**
+	 * Returns the seed of the stream with the given identifier, derived from
+	 * the calling thread's current stream.  Together with
+	 * {@link #callInStream(long, Callable)}, this lets callers define their
+	 * own serializable tasks that run in a stream, carrying only the seed.
+	 * 
+	 * @param id the identifier of the stream, which should be unique among
+	 *        tasks created by the same parent
+	 * @return the seed of the stream
+	 */
+	public long getStreamSeed(long id) {
+		return derive(current().seed, id);
+	}
+	
+	/**
+	 * Runs a task in the stream with the given seed, previously returned by
+	 * {@link #getStreamSeed(long)}.  If the active source of randomness in
+	 * {@link PRNG} is not a {@code SplittableStreamRandom}, such as when the
+	 * task is sent to another machine, the task runs without changing the
+	 * source of randomness.
+	 * 
+	 * @param <T> the type of the task's result
+	 * @param streamSeed the seed of the stream
+	 * @param task the task
+	 * @return the result of the task
+	 * @throws Exception if the task failed
+	 */
+	public static <T> T callInStream(long streamSeed, Callable<T> task) throws Exception {
+		Random random = PRNG.getRandom();
+		
+		if (random instanceof SplittableStreamRandom) {
+			return ((SplittableStreamRandom)random).call(streamSeed, task);
+		} else {
+			return task.call();
+		}
+	}
+	
+	/**
+	 * Wraps a task so it runs in the stream with the given identifier, derived
+	 * from the calling thread's current stream.
+	 * 
+	 * @param id the identifier of the stream, which should be unique among
+	 *        tasks created by the same parent
+	 * @param task the task
+	 * @return the wrapped task
+	 */
+	public Runnable withStream(long id, Runnable task) {
+		final Callable<Object> callable = withStream(id, () -> {
+			task.run();
+			return null;
+		});
+		
+		return () -> {
+			try {
+				callable.call();
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new FrameworkException(e);
+			}
+		};
+	}
+	
+	/**
+	 * Runs a task in the stream with the given seed, restoring the calling
+	 * thread's previous stream afterwards.
+	 * 
+	 * @param <T> the type of the task's result
+	 * @param streamSeed the seed of the stream
+	 * @param task the task
+	 * @return the result of the task
+	 * @throws Exception if the task failed
+	 */
+	<T> T call(long streamSeed, Callable<T> task) throws Exception {
+		Stream previous = streams.get();
+		streams.set(new Stream(streamSeed, generation, true));
+		
+		try {
+			return task.call();
+		} finally {
+			streams.set(previous);
+		}
+	}
+	
+	@Override
+	protected int next(int bits) {
+		return current().random.nextInt() >>> (32 - bits);
+	}
+
+	@Override
+	public int nextInt() {
+		return current().random.nextInt();
+	}
+
+	@Override
+	public int nextInt(int bound) {
+		return current().random.nextInt(bound);
+	}
+
+	@Override
+	public long nextLong() {
+		return current().random.nextLong();
+	}
+
+	@Override
+	public boolean nextBoolean() {
+		return current().random.nextBoolean();
+	}
+
+	@Override
+	public float nextFloat() {
+		return (current().random.nextInt() >>> 8) * 0x1.0p-24f;
+	}
+
+	@Override
+	public double nextDouble() {
+		return current().random.nextDouble();
+	}
+
+	@Override
+	public double nextGaussian() {
+		return current().nextGaussian();
+	}
+	
+	/**
+	 * Restores the transient fields after deserialization.
+	 * 
+	 * @param in the stream from which this object is read
+	 * @throws IOException if an I/O error occurred
+	 * @throws ClassNotFoundException if a class could not be found
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		initialize();
+		setSeed(seed);
+	}
+	
+	/**
+	 * The state of a stream used by a thread.
+	 */
+	private static class Stream {
+		
+		/**
+		 * The seed of this stream, from which child streams are derived.
+		 */
+		private final long seed;
+		
+		/**
+		 * The generation of the master seed when this stream was created.
+		 */
+		private final int generation;
+		
+		/**
+		 * {@code true} if this stream was assigned to a wrapped task;
+		 * {@code false} otherwise.
+		 */
+		private final boolean assigned;
+		
+		/**
+		 * The generator producing the numbers in this stream.
+		 */
+		private final SplittableRandom random;
+		
+		/**
+		 * The second Gaussian value produced by the polar method, if
+		 * available.
+		 */
+		private double nextNextGaussian;
+		
+		/**
+		 * {@code true} if {@link #nextNextGaussian} is available; {@code false}
+		 * otherwise.
+		 */
+		private boolean haveNextNextGaussian;
+		
+		/**
+		 * Constructs a new stream.
+		 * 
+		 * @param seed the seed of this stream
+		 * @param generation the generation of the master seed
+		 * @param assigned {@code true} if this stream is assigned to a wrapped
+		 *        task; {@code false} otherwise
+		 */
+		public Stream(long seed, int generation, boolean assigned) {
+			super();
+			this.seed = seed;
+			this.generation = generation;
+			this.assigned = assigned;
+			this.random = new SplittableRandom(seed);
+		}
+		
+		/**
+		 * Returns the next Gaussian value using the polar method, as in
+		 * {@link Random#nextGaussian()}.
+		 * 
+		 * @return the next Gaussian value
+		 */
+		public double nextGaussian() {
+			if (haveNextNextGaussian) {
+				haveNextNextGaussian = false;
+				return nextNextGaussian;
+			}
+			
+			double v1, v2, s;
+			
+			do {
+				v1 = 2 * random.nextDouble() - 1;
+				v2 = 2 * random.nextDouble() - 1;
+				s = v1 * v1 + v2 * v2;
+			} while ((s >= 1) || (s == 0));
+			
+			double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+			nextNextGaussian = v2 * multiplier;
+			haveNextNextGaussian = true;
+			return v1 * multiplier;
+		}
+		
+	}
+	
+	/**
+	 * A task that runs in a given stream.  If the active source of randomness
+	 * in {@link PRNG} is not a {@code SplittableStreamRandom} when the task
+	 * runs, such as when the task is sent to another machine, the task runs
+	 * without changing the source of randomness.
+	 * 
+	 * @param <T> the type of the task's result
+	 */
+	private static class StreamTask<T> implements Callable<T>, Serializable {
+
+		private static final long serialVersionUID = -4019447627437036185L;
+
+		/**
+		 * The seed of the stream.
+		 */
+		private final long streamSeed;
+		
+		/**
+		 * The task.
+		 */
+		private final Callable<T> task;
+		
+		/**
+		 * Constructs a task that runs in the given stream.
+		 * 
+		 * @param streamSeed the seed of the stream
+		 * @param task the task
+		 */
+		public StreamTask(long streamSeed, Callable<T> task) {
+			super();
+			this.streamSeed = streamSeed;
+			this.task = task;
+		}
+
+		@Override
+		public T call() throws Exception {
+			return callInStream(streamSeed, task);
+		}
+		
+	}
+
+}
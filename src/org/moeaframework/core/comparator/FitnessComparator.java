@@ -17,8 +17,6 @@
  */
 package org.moeaframework.core.comparator;
 
-import static org.moeaframework.core.FitnessEvaluator.FITNESS_ATTRIBUTE;
-
 import java.io.Serializable;
 import java.util.Comparator;
 
@@ -56,8 +54,7 @@ Comparator<Solution>, Serializable {
 	@Override
 	public int compare(Solution solution1, Solution solution2) {
 		return (largerValuesPreferred ? -1 : 1) * Double.compare(
-				(Double)solution1.getAttribute(FITNESS_ATTRIBUTE),
-				(Double)solution2.getAttribute(FITNESS_ATTRIBUTE));
+				solution1.getFitness(), solution2.getFitness());
 	}
 
 }
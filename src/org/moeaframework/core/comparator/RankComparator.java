@@ -17,8 +17,6 @@
  */
 package org.moeaframework.core.comparator;
 
-import static org.moeaframework.core.FastNondominatedSorting.RANK_ATTRIBUTE;
-
 import java.io.Serializable;
 import java.util.Comparator;
 
@@ -42,10 +40,7 @@ Comparator<Solution>, Serializable {
 
 	@Override
 	public int compare(Solution solution1, Solution solution2) {
-		int rank1 = (Integer)solution1.getAttribute(RANK_ATTRIBUTE);
-		int rank2 = (Integer)solution2.getAttribute(RANK_ATTRIBUTE);
-		
-		return Integer.compare(rank1, rank2);
+		return Integer.compare(solution1.getRank(), solution2.getRank());
 	}
 
 }
@@ -72,12 +72,11 @@ public class AdditiveEpsilonIndicatorFitnessEvaluator extends
 	 */
 	@Override
 	protected double calculateIndicator(Solution solution1, 
-			Solution solution2) {
+			double[] objectives1, Solution solution2, double[] objectives2) {
 		double eps = Double.NEGATIVE_INFINITY;
 
 		for (int i = 0; i < getProblem().getNumberOfObjectives(); i++) {
-			double temp_eps = solution1.getObjective(i) - 
-					solution2.getObjective(i);
+			double temp_eps = objectives1[i] - objectives2[i];
 
 			if (temp_eps > eps) {
 				eps = temp_eps;
@@ -86,10 +85,22 @@ public class AdditiveEpsilonIndicatorFitnessEvaluator extends
 
 		return eps;
 	}
+	
+	@Override
+	protected double calculateIndicator(Solution solution1, 
+			Solution solution2) {
+		return calculateIndicator(solution1, solution1.getObjectives(),
+				solution2, solution2.getObjectives());
+	}
 
 	@Override
 	public boolean areLargerValuesPreferred() {
 		return false;
 	}
+	
+	@Override
+	protected boolean isParallelizable() {
+		return true;
+	}
 
 }
@@ -17,14 +17,14 @@
  */
 package org.moeaframework.core.fitness;
 
-import org.moeaframework.core.FastNondominatedSorting;
 import org.moeaframework.core.FitnessEvaluator;
+import org.moeaframework.core.NondominatedSorting;
 import org.moeaframework.core.Population;
 import org.moeaframework.core.Solution;
 
 /**
- * Assigns fitness values based on the crowding distance from fast
- * non-dominated sorting.
+ * Assigns fitness values based on the crowding distance from non-dominated
+ * sorting.
  */
 public class CrowdingDistanceFitnessEvaluator implements FitnessEvaluator {
 	
@@ -37,30 +37,21 @@ public class CrowdingDistanceFitnessEvaluator implements FitnessEvaluator {
 
 	@Override
 	public void evaluate(Population population) {
-		new FastNondominatedSorting().updateCrowdingDistance(copy(population));
+		int n = population.size();
+		double[][] objectives = new double[n][];
 		
-		for (Solution solution : population) {
-			solution.setAttribute(FITNESS_ATTRIBUTE,
-					(Double)solution.getAttribute(FastNondominatedSorting.CROWDING_ATTRIBUTE));
+		for (int i = 0; i < n; i++) {
+			objectives[i] = population.get(i).getObjectives();
 		}
-	}
-	
-	/**
-	 * Returns a copy of the population.  The fast non-dominated sorting
-	 * routine reorders solutions in the population, so creating a copy allows
-	 * the original population to remain unchanged.  
-	 * 
-	 * @param population the original population
-	 * @return a copy of the population
-	 */
-	private Population copy(Population population) {
-		Population result = new Population();
 		
-		for (Solution solution : population) {
-			result.add(solution);
-		}
+		double[] distances = NondominatedSorting.calculateCrowdingDistance(
+				objectives);
 		
-		return result;
+		for (int i = 0; i < n; i++) {
+			Solution solution = population.get(i);
+			solution.setCrowdingDistance(distances[i]);
+			solution.setFitness(distances[i]);
+		}
 	}
 	
 	@Override
@@ -22,17 +22,38 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.moeaframework.core.FitnessEvaluator;
+import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Population;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
-import org.moeaframework.core.indicator.Hypervolume;
+import org.moeaframework.core.indicator.WFGHypervolume;
 
 /**
  * Assigns the fitness of solutions based on their contribution to the overall
- * hypervolume.
+ * hypervolume.  The exclusive contributions of all solutions are computed in
+ * a single pass using {@link WFGHypervolume#calculateContributions}, which
+ * is exact and uses dimension-sweep algorithms for two and three objectives.
+ * <p>
+ * With four or more objectives, the contributions can instead be estimated
+ * using Monte Carlo sampling.  Each solution is sampled in batches until the
+ * 99% confidence bounds identify the solution with the smallest contribution,
+ * which is the solution removed by SMS-EMOA, or until the maximum number of
+ * samples is reached.
  */
 public class HypervolumeContributionFitnessEvaluator implements FitnessEvaluator {
 	
+	/**
+	 * The number of samples drawn for each solution in each round of Monte
+	 * Carlo sampling.
+	 */
+	private static final int BATCH_SIZE = 100;
+	
+	/**
+	 * The critical value for the 99% confidence bounds of the Monte Carlo
+	 * estimates.
+	 */
+	private static final double CRITICAL_VALUE = 2.576;
+	
 	/**
 	 * The problem.
 	 */
@@ -44,6 +65,12 @@ public class HypervolumeContributionFitnessEvaluator implements FitnessEvaluator
 	 */
 	private final double offset;
 	
+	/**
+	 * The maximum number of Monte Carlo samples for each solution, or
+	 * {@code 0} if the contributions are computed exactly.
+	 */
+	private final int numberOfSamples;
+	
 	/**
 	 * Constructs a new hypervolume contribution fitness evaluator with an
 	 * offset of 100.
@@ -62,68 +89,251 @@ public class HypervolumeContributionFitnessEvaluator implements FitnessEvaluator
 	 *               the hypervolume calculation.
 	 */
 	public HypervolumeContributionFitnessEvaluator(Problem problem, double offset) {
+		this(problem, offset, 0);
+	}
+	
+	/**
+	 * Constructs a new hypervolume contribution fitness evaluator that
+	 * estimates the contributions using Monte Carlo sampling when the problem
+	 * has four or more objectives.
+	 * 
+	 * @param problem the problem
+	 * @param offset the offset used when determining the reference point for
+	 *               the hypervolume calculation.
+	 * @param numberOfSamples the maximum number of Monte Carlo samples for
+	 *        each solution, or {@code 0} to compute the contributions exactly
+	 */
+	public HypervolumeContributionFitnessEvaluator(Problem problem, double offset,
+			int numberOfSamples) {
 		super();
 		this.problem = problem;
 		this.offset = offset;
+		this.numberOfSamples = numberOfSamples;
 	}
 
 	@Override
 	public void evaluate(Population population) {
 		if (population.size() <= 2) {
 			for (Solution solution : population) {
-				solution.setAttribute(FITNESS_ATTRIBUTE, 0.0);
+				solution.setFitness(0.0);
 			}
 		} else {
 			int numberOfObjectives = problem.getNumberOfObjectives();
-			List<Solution> solutions = normalize(population);
-			List<Solution> solutionsCopy = new ArrayList<Solution>(solutions);
-			double totalVolume = Hypervolume.calculateHypervolume(solutionsCopy, solutionsCopy.size(), numberOfObjectives);
+			double[][] points = normalize(population);
+			double[] referencePoint = new double[numberOfObjectives];
+			double[] contributions = null;
+			
+			if ((numberOfSamples > 0) && (numberOfObjectives > 3)) {
+				contributions = estimateContributions(points, referencePoint);
+			} else {
+				contributions = WFGHypervolume.calculateContributions(points,
+						referencePoint);
+			}
 			
 			for (int i = 0; i < population.size(); i++) {
-				solutionsCopy = new ArrayList<Solution>(solutions);
-				solutionsCopy.remove(i);
-				
-				double volume = Hypervolume.calculateHypervolume(solutionsCopy, solutionsCopy.size(), numberOfObjectives);
-				population.get(i).setAttribute(FITNESS_ATTRIBUTE, totalVolume - volume);
+				population.get(i).setFitness(contributions[i]);
 			}
 		}
 	}
 	
 	/**
 	 * Normalizes the population using a reference point calculated by the
-	 * maximum extent of the population plus an offset.
+	 * maximum extent of the population plus an offset.  The normalized
+	 * objectives are negated, so they are minimized with a reference point at
+	 * the origin.
 	 * 
 	 * @param population the population to normalize
-	 * @return the normalized solutions
+	 * @return the normalized objectives
 	 */
-	private List<Solution> normalize(Population population) {
-		List<Solution> result = new ArrayList<Solution>();
+	private double[][] normalize(Population population) {
+		int numberOfObjectives = problem.getNumberOfObjectives();
+		double[][] result = new double[population.size()][numberOfObjectives];
 		
-		double[] min = new double[problem.getNumberOfObjectives()];
-		double[] max = new double[problem.getNumberOfObjectives()];
+		double[] min = new double[numberOfObjectives];
+		double[] max = new double[numberOfObjectives];
 		
 		Arrays.fill(min, Double.POSITIVE_INFINITY);
 		Arrays.fill(max, Double.NEGATIVE_INFINITY);
 		
 		for (Solution solution : population) {
-			for (int i = 0; i < problem.getNumberOfObjectives(); i++) {
+			for (int i = 0; i < numberOfObjectives; i++) {
 				min[i] = Math.min(min[i], solution.getObjective(i));
 				max[i] = Math.max(max[i], solution.getObjective(i));
 			}
 		}
 		
-		for (Solution solution : population) {
-			Solution newSolution = solution.copy();
+		for (int j = 0; j < population.size(); j++) {
+			Solution solution = population.get(j);
 			
-			for (int i = 0; i < problem.getNumberOfObjectives(); i++) {
-				newSolution.setObjective(i, (max[i] - (newSolution.getObjective(i) - min[i]) + offset) / (max[i] - min[i]));
+			for (int i = 0; i < numberOfObjectives; i++) {
+				result[j][i] = -(max[i] - (solution.getObjective(i) - min[i]) + offset) / (max[i] - min[i]);
 			}
-
-			result.add(newSolution);
 		}
 		
 		return result;
 	}
+	
+	/**
+	 * Estimates the exclusive hypervolume contribution of each point using
+	 * Monte Carlo sampling.  Each point is sampled within the smallest box
+	 * that contains its exclusive contribution, and only the points that might
+	 * still have the smallest contribution continue to be sampled.
+	 * 
+	 * @param points the points, which are minimized
+	 * @param referencePoint the reference point
+	 * @return the estimated exclusive hypervolume contribution of each point
+	 */
+	private double[] estimateContributions(double[][] points,
+			double[] referencePoint) {
+		int size = points.length;
+		int numberOfObjectives = referencePoint.length;
+		double[][] upperBounds = new double[size][];
+		double[] volumes = new double[size];
+		int[][] candidates = new int[size][];
+		int[] hits = new int[size];
+		int[] samples = new int[size];
+		double[] estimates = new double[size];
+		double[] errors = new double[size];
+		
+		for (int i = 0; i < size; i++) {
+			upperBounds[i] = WFGHypervolume.calculateUpperBound(points, i,
+					referencePoint);
+			
+			if (upperBounds[i] != null) {
+				volumes[i] = 1.0;
+				
+				for (int k = 0; k < numberOfObjectives; k++) {
+					volumes[i] *= upperBounds[i][k] - points[i][k];
+				}
+				
+				candidates[i] = findCandidates(points, i, upperBounds[i]);
+			}
+		}
+		
+		double[] sample = new double[numberOfObjectives];
+		boolean[] active = new boolean[size];
+		
+		while (true) {
+			// find the smallest estimate and the points whose confidence
+			// bounds overlap with it
+			int smallest = -1;
+			
+			for (int i = 0; i < size; i++) {
+				if ((smallest < 0) || (estimates[i] < estimates[smallest])) {
+					smallest = i;
+				}
+			}
+			
+			boolean sampled = false;
+			
+			for (int i = 0; i < size; i++) {
+				active[i] = (volumes[i] > 0.0) &&
+						(samples[i] < numberOfSamples) &&
+						((i == smallest) || (estimates[i] - errors[i] <=
+								estimates[smallest] + errors[smallest]));
+			}
+			
+			for (int i = 0; i < size; i++) {
+				if (!active[i]) {
+					continue;
+				}
+				
+				int batch = Math.min(BATCH_SIZE, numberOfSamples - samples[i]);
+				
+				for (int j = 0; j < batch; j++) {
+					for (int k = 0; k < numberOfObjectives; k++) {
+						sample[k] = PRNG.nextDouble(points[i][k],
+								upperBounds[i][k]);
+					}
+					
+					if (!isDominated(sample, points, candidates[i])) {
+						hits[i]++;
+					}
+				}
+				
+				samples[i] += batch;
+				sampled = true;
+				
+				// use the Laplace-smoothed fraction so the estimates and
+				// bounds do not collapse when all or none of the samples are
+				// hits, which would wrongly mark a large box as the smallest
+				// contributor
+				double fraction = (hits[i] + 1.0) / (samples[i] + 2.0);
+				
+				estimates[i] = volumes[i] * fraction;
+				errors[i] = CRITICAL_VALUE * volumes[i] *
+						Math.sqrt(fraction * (1.0 - fraction) / samples[i]);
+			}
+			
+			if (!sampled) {
+				break;
+			}
+		}
+		
+		return estimates;
+	}
+	
+	/**
+	 * Returns the indices of the points that can dominate samples drawn from
+	 * the box of the given point.
+	 * 
+	 * @param points the points
+	 * @param index the index of the point
+	 * @param upperBound the upper corner of the box
+	 * @return the indices of the points that can dominate samples from the
+	 *         box
+	 */
+	private int[] findCandidates(double[][] points, int index,
+			double[] upperBound) {
+		List<Integer> candidates = new ArrayList<Integer>();
+		
+		outer: for (int j = 0; j < points.length; j++) {
+			if (j == index) {
+				continue;
+			}
+			
+			for (int k = 0; k < upperBound.length; k++) {
+				if (points[j][k] >= upperBound[k]) {
+					continue outer;
+				}
+			}
+			
+			candidates.add(j);
+		}
+		
+		int[] result = new int[candidates.size()];
+		
+		for (int j = 0; j < result.length; j++) {
+			result[j] = candidates.get(j);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Returns {@code true} if the sample is weakly dominated by any of the
+	 * candidate points; {@code false} otherwise.
+	 * 
+	 * @param sample the sample
+	 * @param points the points
+	 * @param candidates the indices of the candidate points
+	 * @return {@code true} if the sample is weakly dominated by any of the
+	 *         candidate points; {@code false} otherwise
+	 */
+	private boolean isDominated(double[] sample, double[][] points,
+			int[] candidates) {
+		outer: for (int j : candidates) {
+			for (int k = 0; k < sample.length; k++) {
+				if (points[j][k] > sample[k]) {
+					continue outer;
+				}
+			}
+			
+			return true;
+		}
+		
+		return false;
+	}
 
 	@Override
 	public boolean areLargerValuesPreferred() {
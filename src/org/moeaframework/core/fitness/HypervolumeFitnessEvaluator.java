@@ -51,11 +51,24 @@ public class HypervolumeFitnessEvaluator extends IndicatorFitnessEvaluator {
 	@Override
 	protected double calculateIndicator(Solution solution1, 
 			Solution solution2) {
+		return calculateIndicator(solution1, solution1.getObjectives(),
+				solution2, solution2.getObjectives());
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Pareto dominance is unaffected by normalization, so dominance is
+	 * determined using the original solutions and their constraints.
+	 */
+	@Override
+	protected double calculateIndicator(Solution solution1,
+			double[] objectives1, Solution solution2, double[] objectives2) {
 		if (dominanceComparator.compare(solution1, solution2) < 0) {
-			return -calculateHypervolume(solution1, solution2, getProblem()
+			return -calculateHypervolume(objectives1, objectives2, getProblem()
 					.getNumberOfObjectives());
 		} else {
-			return calculateHypervolume(solution2, solution1, getProblem()
+			return calculateHypervolume(objectives2, objectives1, getProblem()
 					.getNumberOfObjectives());
 		}
 	}
@@ -107,12 +120,28 @@ public class HypervolumeFitnessEvaluator extends IndicatorFitnessEvaluator {
 	 */
 	protected double calculateHypervolume(Solution solution1,
 			Solution solution2, int d) {
+		return calculateHypervolume(solution1.getObjectives(),
+				solution2 == null ? null : solution2.getObjectives(), d);
+	}
+	
+	/**
+	 * Calculates the hypervolume of the portion of the objective space that is
+	 * dominated by {@code objectives1} but not by {@code objectives2}.
+	 * 
+	 * @param objectives1 the objectives of the first solution
+	 * @param objectives2 the objectives of the second solution
+	 * @param d the current objective
+	 * @return the hypervolume of the portion of the objective space that is
+	 *         dominated by {@code objectives1} but not by {@code objectives2}.
+	 */
+	protected double calculateHypervolume(double[] objectives1,
+			double[] objectives2, int d) {
 		double max = rho;
-		double a = solution1.getObjective(d - 1);
+		double a = objectives1[d - 1];
 		double b = max;
 
-		if (solution2 != null) {
-			b = solution2.getObjective(d - 1);
+		if (objectives2 != null) {
+			b = objectives2[d - 1];
 		}
 
 		double volume = 0.0;
@@ -123,12 +152,12 @@ public class HypervolumeFitnessEvaluator extends IndicatorFitnessEvaluator {
 			}
 		} else {
 			if (a < b) {
-				volume = calculateHypervolume(solution1, null, d - 1) * 
+				volume = calculateHypervolume(objectives1, null, d - 1) * 
 						(b - a) / rho
-						+ calculateHypervolume(solution1, solution2, d - 1) * 
+						+ calculateHypervolume(objectives1, objectives2, d - 1) * 
 						(max - b) / rho;
 			} else {
-				volume = calculateHypervolume(solution1, solution2, d - 1) *
+				volume = calculateHypervolume(objectives1, objectives2, d - 1) *
 						(max - a) / rho;
 			}
 		}
@@ -140,5 +169,10 @@ public class HypervolumeFitnessEvaluator extends IndicatorFitnessEvaluator {
 	public boolean areLargerValuesPreferred() {
 		return false;
 	}
+	
+	@Override
+	protected boolean isParallelizable() {
+		return true;
+	}
 
 }
@@ -17,17 +17,30 @@
  */
 package org.moeaframework.core.fitness;
 
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
 import org.moeaframework.core.FitnessEvaluator;
 import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.Population;
 import org.moeaframework.core.Problem;
+import org.moeaframework.core.Settings;
 import org.moeaframework.core.Solution;
-import org.moeaframework.core.indicator.Normalizer;
 
 /**
  * Abstract class for assigning fitness based on a binary indicator.  This
  * class combines the pair-wise fitness of each solution into an aggregate
  * fitness within the entire population.
+ * <p>
+ * The pair-wise indicator values are stored in a flat array.  When the
+ * normalization bounds are unchanged, values for pairs of solutions that were
+ * part of the previous call to {@link #evaluate(Population)} are reused rather
+ * than recomputed.  For large populations, the indicator values are computed in
+ * parallel if the subclass indicates {@link #calculateIndicator} is
+ * thread-safe.
  */
 public abstract class IndicatorFitnessEvaluator implements FitnessEvaluator {
 
@@ -41,6 +54,12 @@ public abstract class IndicatorFitnessEvaluator implements FitnessEvaluator {
 	 */
 	private static final double kappa = 0.05;
 	
+	/**
+	 * The minimum population size before the indicator values are computed in
+	 * parallel.
+	 */
+	private static final int PARALLEL_THRESHOLD = 128;
+	
 	/**
 	 * Record of the maximum indicator value from the last call to
 	 * {@link #evaluate(Population)}.
@@ -49,9 +68,42 @@ public abstract class IndicatorFitnessEvaluator implements FitnessEvaluator {
 	
 	/**
 	 * Record of the fitness components from the last call to
-	 * {@link #evaluate(Population)}.
+	 * {@link #evaluate(Population)}.  The indicator value of solutions
+	 * {@code i} and {@code j} is stored at index {@code i*size + j}.
+	 */
+	private double[] fitcomp;
+	
+	/**
+	 * The number of rows and columns in {@link #fitcomp}.
+	 */
+	private int size;
+	
+	/**
+	 * Maps the index of each solution remaining in the population to its row
+	 * and column in {@link #fitcomp}.
+	 */
+	private int[] indices;
+	
+	/**
+	 * The solutions, in the order of the rows in {@link #fitcomp}.
 	 */
-	private double[][] fitcomp;
+	private Solution[] solutions;
+	
+	/**
+	 * The objective values of the solutions when {@link #fitcomp} was
+	 * computed, used to detect modified solutions.
+	 */
+	private double[][] objectives;
+	
+	/**
+	 * The minimum bounds used to normalize the objectives.
+	 */
+	private double[] minimum;
+	
+	/**
+	 * The maximum bounds used to normalize the objectives.
+	 */
+	private double[] maximum;
 
 	/**
 	 * Constructs an indicator-based fitness for the specified problem.
@@ -108,35 +160,82 @@ public abstract class IndicatorFitnessEvaluator implements FitnessEvaluator {
 	 */
 	@Override
 	public void evaluate(Population population) {
-		Normalizer normalizer = new Normalizer(problem, population);
-		Population normalizedPopulation = normalizer.normalize(population);
-
-		// compute fitness components
-		fitcomp = new double[population.size()][population.size()];
+		int n = population.size();
+		double[] newMinimum = new double[problem.getNumberOfObjectives()];
+		double[] newMaximum = new double[problem.getNumberOfObjectives()];
+		
+		calculateRanges(population, newMinimum, newMaximum);
+		
+		Solution[] newSolutions = new Solution[n];
+		double[][] newObjectives = new double[n][];
+		double[][] normalizedObjectives = new double[n][];
+		int[] previousIndices = findPreviousIndices(population, newMinimum,
+				newMaximum);
+		
+		for (int i = 0; i < n; i++) {
+			newSolutions[i] = population.get(i);
+			newObjectives[i] = newSolutions[i].getObjectives();
+			normalizedObjectives[i] = normalize(newObjectives[i], newMinimum,
+					newMaximum);
+		}
+		
+		// compute fitness components, reusing those of surviving solutions
+		double[] previousFitcomp = fitcomp;
+		int previousSize = size;
+		double[] newFitcomp = new double[n * n];
+		
+		IntConsumer computeRow = i -> {
+			for (int j = 0; j < n; j++) {
+				if ((previousIndices[i] >= 0) && (previousIndices[j] >= 0)) {
+					newFitcomp[i * n + j] = previousFitcomp[
+							previousIndices[i] * previousSize + previousIndices[j]];
+				} else {
+					newFitcomp[i * n + j] = calculateIndicator(
+							newSolutions[i], normalizedObjectives[i],
+							newSolutions[j], normalizedObjectives[j]);
+				}
+			}
+		};
+		
+		if ((n >= PARALLEL_THRESHOLD) && isParallelizable()) {
+			IntStream.range(0, n).parallel().forEach(computeRow);
+		} else {
+			for (int i = 0; i < n; i++) {
+				computeRow.accept(i);
+			}
+		}
+		
 		maxAbsIndicatorValue = Double.NEGATIVE_INFINITY;
 
-		for (int i = 0; i < population.size(); i++) {
-			for (int j = 0; j < population.size(); j++) {
-				fitcomp[i][j] = calculateIndicator(normalizedPopulation.get(i),
-						normalizedPopulation.get(j));
-
-				if (Math.abs(fitcomp[i][j]) > maxAbsIndicatorValue) {
-					maxAbsIndicatorValue = Math.abs(fitcomp[i][j]);
-				}
+		for (int i = 0; i < n * n; i++) {
+			if (Math.abs(newFitcomp[i]) > maxAbsIndicatorValue) {
+				maxAbsIndicatorValue = Math.abs(newFitcomp[i]);
 			}
 		}
+		
+		fitcomp = newFitcomp;
+		size = n;
+		solutions = newSolutions;
+		objectives = newObjectives;
+		minimum = newMinimum;
+		maximum = newMaximum;
+		indices = new int[n];
+		
+		for (int i = 0; i < n; i++) {
+			indices[i] = i;
+		}
 
 		// calculate fitness from fitness components
-		for (int i = 0; i < population.size(); i++) {
+		for (int i = 0; i < n; i++) {
 			double sum = 0.0;
 			
-			for (int j = 0; j < population.size(); j++) {
+			for (int j = 0; j < n; j++) {
 				if (i != j) {
-					sum += Math.exp((-fitcomp[j][i] / maxAbsIndicatorValue) / kappa);
+					sum += Math.exp((-newFitcomp[j * n + i] / maxAbsIndicatorValue) / kappa);
 				}
 			}
 			
-			population.get(i).setAttribute(FitnessEvaluator.FITNESS_ATTRIBUTE, sum);
+			population.get(i).setFitness(sum);
 		}
 	}
 	
@@ -145,7 +244,9 @@ public abstract class IndicatorFitnessEvaluator implements FitnessEvaluator {
 	 * iteratively remove solutions from the population while updating the
 	 * fitness value. There must be no other modifications to the population
 	 * between invocations of {@link #evaluate(Population)} and this method
-	 * other than removing solutions using this method.
+	 * other than removing solutions using this method.  The removed solution
+	 * is only masked from the fitness components, so each call takes time
+	 * linear in the population size.
 	 * 
 	 * @param population the population
 	 * @param removeIndex the index to remove
@@ -155,29 +256,172 @@ public abstract class IndicatorFitnessEvaluator implements FitnessEvaluator {
 			throw new FrameworkException("evaluate must be called first");
 		}
 		
+		int removeRow = indices[removeIndex] * size;
+		
 		for (int i = 0; i < population.size(); i++) {
 			if (i != removeIndex) {
 				Solution solution = population.get(i);
-				double fitness = (Double)solution.getAttribute(
-						FitnessEvaluator.FITNESS_ATTRIBUTE);
+				double fitness = solution.getFitness();
 				
-				fitness -= Math.exp((-fitcomp[removeIndex][i] / maxAbsIndicatorValue) / kappa);
+				fitness -= Math.exp((-fitcomp[removeRow + indices[i]] / maxAbsIndicatorValue) / kappa);
 				
-				solution.setAttribute(FITNESS_ATTRIBUTE, fitness);
+				solution.setFitness(fitness);
 			}
 		}
 		
-		for (int i = 0; i < population.size(); i++) {
-			for (int j = removeIndex+1; j < population.size(); j++) {
-				fitcomp[i][j-1] = fitcomp[i][j];
+		System.arraycopy(indices, removeIndex + 1, indices, removeIndex,
+				population.size() - removeIndex - 1);
+
+		population.remove(removeIndex);
+	}
+	
+	/**
+	 * Returns {@code true} if {@link #calculateIndicator} can be safely called
+	 * from multiple threads, allowing the fitness components of large
+	 * populations to be computed in parallel.  The default implementation
+	 * returns {@code false}.
+	 * 
+	 * @return {@code true} if {@link #calculateIndicator} can be safely called
+	 *         from multiple threads; {@code false} otherwise
+	 */
+	protected boolean isParallelizable() {
+		return false;
+	}
+	
+	/**
+	 * Computes the bounds of the objectives of the feasible solutions in the
+	 * population.
+	 * 
+	 * @param population the population
+	 * @param minimum the array to store the minimum bounds
+	 * @param maximum the array to store the maximum bounds
+	 * @throws IllegalArgumentException if the population contains fewer than
+	 *         two solutions or any objective has an empty range
+	 */
+	private void calculateRanges(Population population, double[] minimum,
+			double[] maximum) {
+		if (population.size() < 2) {
+			throw new IllegalArgumentException(
+					"requires at least two solutions");
+		}
+		
+		Arrays.fill(minimum, Double.POSITIVE_INFINITY);
+		Arrays.fill(maximum, Double.NEGATIVE_INFINITY);
+		
+		for (Solution solution : population) {
+			if (solution.violatesConstraints()) {
+				continue;
 			}
 			
-			if (i > removeIndex) {
-				fitcomp[i-1] = fitcomp[i];
+			for (int j = 0; j < minimum.length; j++) {
+				minimum[j] = Math.min(minimum[j], solution.getObjective(j));
+				maximum[j] = Math.max(maximum[j], solution.getObjective(j));
 			}
 		}
-
-		population.remove(removeIndex);
+		
+		for (int j = 0; j < minimum.length; j++) {
+			if (Math.abs(minimum[j] - maximum[j]) < Settings.EPS) {
+				throw new IllegalArgumentException(
+						"objective with empty range");
+			}
+		}
+	}
+	
+	/**
+	 * Returns the index of each solution in the fitness components from the
+	 * previous call to {@link #evaluate(Population)}, or {@code -1} if the
+	 * solution was not present, was modified, or the normalization bounds
+	 * changed.
+	 * 
+	 * @param population the population
+	 * @param newMinimum the new minimum bounds
+	 * @param newMaximum the new maximum bounds
+	 * @return the index of each solution in the previous fitness components
+	 */
+	private int[] findPreviousIndices(Population population, double[] newMinimum,
+			double[] newMaximum) {
+		int[] result = new int[population.size()];
+		Arrays.fill(result, -1);
+		
+		if ((fitcomp == null) || !Arrays.equals(minimum, newMinimum) ||
+				!Arrays.equals(maximum, newMaximum)) {
+			return result;
+		}
+		
+		Map<Solution, Integer> previousIndices = new IdentityHashMap<Solution, Integer>();
+		
+		for (int i = 0; i < size; i++) {
+			previousIndices.put(solutions[i], i);
+		}
+		
+		for (int i = 0; i < population.size(); i++) {
+			Solution solution = population.get(i);
+			Integer index = previousIndices.get(solution);
+			
+			if ((index != null) && Arrays.equals(objectives[index],
+					solution.getObjectives())) {
+				result[i] = index;
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Returns the objectives normalized to the given bounds.
+	 * 
+	 * @param objectives the objectives
+	 * @param minimum the minimum bounds
+	 * @param maximum the maximum bounds
+	 * @return the normalized objectives
+	 */
+	private double[] normalize(double[] objectives, double[] minimum,
+			double[] maximum) {
+		double[] result = new double[objectives.length];
+		
+		for (int j = 0; j < minimum.length; j++) {
+			result[j] = (objectives[j] - minimum[j]) /
+					(maximum[j] - minimum[j]);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Returns the indicator value relative to the two solutions using their
+	 * normalized objectives.  The default implementation copies the normalized
+	 * objectives and the constraints into new solutions, without any decision
+	 * variables, and calls {@link #calculateIndicator(Solution, Solution)}.
+	 * Subclasses should override this method to compute the indicator directly
+	 * on the normalized objectives.
+	 * 
+	 * @param solution1 the first solution
+	 * @param objectives1 the normalized objectives of the first solution
+	 * @param solution2 the second solution
+	 * @param objectives2 the normalized objectives of the second solution
+	 * @return the indicator value relative to the two solutions
+	 */
+	protected double calculateIndicator(Solution solution1,
+			double[] objectives1, Solution solution2, double[] objectives2) {
+		return calculateIndicator(toSolution(solution1, objectives1),
+				toSolution(solution2, objectives2));
+	}
+	
+	/**
+	 * Returns a solution, without any decision variables, with the given
+	 * objectives and the constraints of the original solution.
+	 * 
+	 * @param solution the original solution
+	 * @param objectives the objectives
+	 * @return the solution with the given objectives
+	 */
+	private Solution toSolution(Solution solution, double[] objectives) {
+		Solution result = new Solution(0, objectives.length,
+				solution.getNumberOfConstraints());
+		
+		result.setObjectives(objectives);
+		result.setConstraints(solution.getConstraints());
+		return result;
 	}
 
 	/**
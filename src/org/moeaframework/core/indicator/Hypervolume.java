@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.moeaframework.core.FrameworkException;
@@ -66,6 +67,11 @@ import org.moeaframework.util.io.RedirectStream;
  * Hypervolume indicator. Represents the volume of objective space dominated by
  * solutions in the approximation set.
  * <p>
+ * By default, the hypervolume is calculated by {@link WFGHypervolume}.  The
+ * original hypervolume by slicing objectives (HSO) algorithm, provided by
+ * {@link #calculateHypervolume(List, int, int)}, can be selected with
+ * {@link Settings#KEY_HYPERVOLUME_ALGORITHM}.
+ * <p>
  * Due to the computational burden of computing the hypervolume indicator and
  * the various estimation algorithms available, the ability to redirect the
  * hypervolume calculation to an external third-party executable is provided.
@@ -315,6 +321,17 @@ public class Hypervolume extends NormalizedIndicator {
 			isInverted = Settings.isHypervolumeInverted();
 		}
 
+		if (!isCustomHypervolume) {
+			String algorithm = Settings.getHypervolumeAlgorithm();
+			
+			if (algorithm.equalsIgnoreCase("wfg")) {
+				return evaluateWFG(problem, approximationSet);
+			} else if (!algorithm.equalsIgnoreCase("hso")) {
+				throw new FrameworkException(
+						"unsupported hypervolume algorithm " + algorithm);
+			}
+		}
+
 		List<Solution> solutions = new ArrayList<Solution>();
 
 		outer: for (Solution solution : approximationSet) {
@@ -341,6 +358,46 @@ public class Hypervolume extends NormalizedIndicator {
 					problem.getNumberOfObjectives());
 		}
 	}
+	
+	/**
+	 * Computes the hypervolume of the normalized approximation set using
+	 * {@link WFGHypervolume}.  This applies the same pruning and truncation
+	 * of objective values as the HSO implementation, but without copying or
+	 * inverting the solutions.
+	 * 
+	 * @param problem the problem
+	 * @param approximationSet the normalized approximation set
+	 * @return the hypervolume of the normalized approximation set
+	 */
+	private static double evaluateWFG(Problem problem,
+			NondominatedPopulation approximationSet) {
+		int numberOfObjectives = problem.getNumberOfObjectives();
+		double[][] points = new double[approximationSet.size()][];
+		double[] referencePoint = new double[numberOfObjectives];
+		int size = 0;
+		
+		Arrays.fill(referencePoint, 1.0);
+
+		outer: for (Solution solution : approximationSet) {
+			double[] point = new double[numberOfObjectives];
+			
+			for (int i = 0; i < numberOfObjectives; i++) {
+				double value = solution.getObjective(i);
+				
+				//prune any solutions which exceed the Nadir point
+				if (value > 1.0) {
+					continue outer;
+				}
+				
+				point[i] = Math.max(value, 0.0);
+			}
+			
+			points[size++] = point;
+		}
+		
+		return WFGHypervolume.calculate(Arrays.copyOf(points, size),
+				referencePoint);
+	}
 
 	/**
 	 * Since hypervolume calculation is expensive, this method provides the
@@ -0,0 +1,612 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.indicator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exact hypervolume calculation operating directly on arrays of objective
+ * values.  Two and three objectives are handled by dimension-sweep algorithms
+ * requiring {@code O(N log N)} time [1].  Four or more objectives use the WFG
+ * algorithm [2], which computes the hypervolume as the sum of the exclusive
+ * hypervolumes of each point, slicing along the last objective so that each
+ * exclusive hypervolume is computed with one fewer objective.
+ * <p>
+ * All methods assume minimized objectives, and compute the volume of the
+ * region dominated by the points and bounded by the reference point.  Points
+ * that do not strictly dominate the reference point contribute no volume.
+ * <p>
+ * References:
+ * <ol>
+ *   <li>Beume, N., C. M. Fonseca, M. Lopez-Ibanez, L. Paquete, and J. Vahrenhold
+ *       (2009).  "On the Complexity of Computing the Hypervolume Indicator."
+ *       IEEE Transactions on Evolutionary Computation, 13(5):1075-1082.
+ *   <li>While, L., L. Bradstreet, and L. Barone (2012).  "A Fast Way of
+ *       Calculating Exact Hypervolumes."  IEEE Transactions on Evolutionary
+ *       Computation, 16(1):86-95.
+ * </ol>
+ */
+public class WFGHypervolume {
+
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private WFGHypervolume() {
+		super();
+	}
+
+	/**
+	 * Returns the hypervolume of the region dominated by the points and
+	 * bounded by the reference point.  The points are not modified.
+	 *
+	 * @param points the objective values of each point
+	 * @param referencePoint the reference point
+	 * @return the hypervolume of the region dominated by the points and
+	 *         bounded by the reference point
+	 */
+	public static double calculate(double[][] points,
+			double[] referencePoint) {
+		int numberOfObjectives = referencePoint.length;
+		double[][] front = new double[points.length][];
+		int size = 0;
+
+		for (double[] point : points) {
+			if (dominatesReferencePoint(point, referencePoint)) {
+				front[size++] = point;
+			}
+		}
+
+		return calculate(front, size, numberOfObjectives, referencePoint);
+	}
+
+	/**
+	 * Returns the exclusive hypervolume contribution of each point, defined as
+	 * the volume dominated only by that point.  Points sharing identical
+	 * objective values, or that are dominated by another point, have no
+	 * exclusive contribution.  The points are not modified.
+	 *
+	 * @param points the objective values of each point
+	 * @param referencePoint the reference point
+	 * @return the exclusive hypervolume contribution of each point
+	 */
+	public static double[] calculateContributions(double[][] points,
+			double[] referencePoint) {
+		int numberOfObjectives = referencePoint.length;
+		double[] contributions = new double[points.length];
+
+		if (numberOfObjectives == 2) {
+			calculateContributions2D(points, referencePoint, contributions);
+			return contributions;
+		}
+
+		double[][] others = new double[points.length][];
+
+		for (int i = 0; i < points.length; i++) {
+			double[] point = points[i];
+			double[] upperBound = calculateUpperBound(points, i,
+					referencePoint);
+
+			if (upperBound == null) {
+				continue;
+			}
+
+			// the exclusive contribution is the volume of the box containing
+			// it less the volume of the remaining points limited by the point,
+			// using the upper corner of the box as the reference point to
+			// avoid cancellation errors
+			int size = 0;
+
+			for (int j = 0; j < points.length; j++) {
+				if ((j != i) && dominatesReferencePoint(points[j],
+						upperBound)) {
+					others[size++] = limit(points[j], point,
+							numberOfObjectives);
+				}
+			}
+
+			size = filterNondominated(others, size, numberOfObjectives);
+
+			contributions[i] = Math.max(0.0, inclusiveHypervolume(point,
+					numberOfObjectives, upperBound) - calculate(others,
+							size, numberOfObjectives, upperBound));
+		}
+
+		return contributions;
+	}
+
+	/**
+	 * Returns the upper corner of the smallest box, with the point as its
+	 * lower corner, that contains the exclusive contribution of the point.  In
+	 * each objective, the box is bounded by the reference point and by the
+	 * other points that are no worse than the point in every other objective.
+	 * Returns {@code null} if the point has no exclusive contribution, either
+	 * because it does not strictly dominate the reference point or because it
+	 * is weakly dominated by another point.
+	 *
+	 * @param points the points
+	 * @param index the index of the point
+	 * @param referencePoint the reference point
+	 * @return the upper corner of the box, or {@code null} if the point has
+	 *         no exclusive contribution
+	 */
+	public static double[] calculateUpperBound(double[][] points, int index,
+			double[] referencePoint) {
+		double[] point = points[index];
+
+		if (!dominatesReferencePoint(point, referencePoint)) {
+			return null;
+		}
+
+		double[] upperBound = referencePoint.clone();
+
+		for (int j = 0; j < points.length; j++) {
+			if (j == index) {
+				continue;
+			}
+
+			int worse = -1;
+			int count = 0;
+
+			for (int k = 0; k < point.length; k++) {
+				if (points[j][k] > point[k]) {
+					worse = k;
+					count++;
+				}
+			}
+
+			if (count == 0) {
+				return null;
+			} else if (count == 1) {
+				upperBound[worse] = Math.min(upperBound[worse],
+						points[j][worse]);
+			}
+		}
+
+		return upperBound;
+	}
+
+	/**
+	 * Returns {@code true} if the point strictly dominates the reference
+	 * point in every objective; {@code false} otherwise.
+	 *
+	 * @param point the point
+	 * @param referencePoint the reference point
+	 * @return {@code true} if the point strictly dominates the reference
+	 *         point in every objective; {@code false} otherwise
+	 */
+	private static boolean dominatesReferencePoint(double[] point,
+			double[] referencePoint) {
+		for (int i = 0; i < referencePoint.length; i++) {
+			if (!(point[i] < referencePoint[i])) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns the hypervolume of the first {@code size} points considering
+	 * the first {@code numberOfObjectives} objectives.  All points must
+	 * strictly dominate the reference point.  The order of the points in the
+	 * array may be modified.
+	 *
+	 * @param points the points
+	 * @param size the number of points
+	 * @param numberOfObjectives the number of objectives
+	 * @param referencePoint the reference point
+	 * @return the hypervolume of the points
+	 */
+	private static double calculate(double[][] points, int size,
+			int numberOfObjectives, double[] referencePoint) {
+		if (size == 0) {
+			return 0.0;
+		} else if (size == 1) {
+			return inclusiveHypervolume(points[0], numberOfObjectives,
+					referencePoint);
+		} else if (numberOfObjectives == 1) {
+			double minimum = points[0][0];
+
+			for (int i = 1; i < size; i++) {
+				minimum = Math.min(minimum, points[i][0]);
+			}
+
+			return referencePoint[0] - minimum;
+		} else if (numberOfObjectives == 2) {
+			return calculate2D(points, size, referencePoint);
+		} else if (numberOfObjectives == 3) {
+			return calculate3D(points, size, referencePoint);
+		} else {
+			return calculateWFG(points, size, numberOfObjectives,
+					referencePoint);
+		}
+	}
+
+	/**
+	 * Returns the volume of the box between the point and the reference
+	 * point.
+	 *
+	 * @param point the point
+	 * @param numberOfObjectives the number of objectives
+	 * @param referencePoint the reference point
+	 * @return the volume of the box between the point and the reference point
+	 */
+	private static double inclusiveHypervolume(double[] point,
+			int numberOfObjectives, double[] referencePoint) {
+		double volume = 1.0;
+
+		for (int i = 0; i < numberOfObjectives; i++) {
+			volume *= referencePoint[i] - point[i];
+		}
+
+		return volume;
+	}
+
+	/**
+	 * Returns the point whose objectives are the worse of the two points.
+	 *
+	 * @param point the point being limited
+	 * @param bound the point limiting the first point
+	 * @param numberOfObjectives the number of objectives
+	 * @return the point whose objectives are the worse of the two points
+	 */
+	private static double[] limit(double[] point, double[] bound,
+			int numberOfObjectives) {
+		double[] result = new double[numberOfObjectives];
+
+		for (int i = 0; i < numberOfObjectives; i++) {
+			result[i] = Math.max(point[i], bound[i]);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Reorders the first {@code size} points so that the non-dominated points
+	 * appear first, returning the number of non-dominated points.  Only one
+	 * copy of duplicate points is retained.
+	 *
+	 * @param points the points
+	 * @param size the number of points
+	 * @param numberOfObjectives the number of objectives
+	 * @return the number of non-dominated points
+	 */
+	private static int filterNondominated(double[][] points, int size,
+			int numberOfObjectives) {
+		int n = 0;
+
+		outer: for (int i = 0; i < size; i++) {
+			double[] point = points[i];
+			int j = 0;
+
+			while (j < n) {
+				int flag = compare(points[j], point, numberOfObjectives);
+
+				if (flag <= 0) {
+					// the point is dominated by or a duplicate of a retained
+					// point
+					continue outer;
+				} else if (flag == 2) {
+					// the retained point is dominated, replace it with the
+					// last retained point
+					points[j] = points[--n];
+				} else {
+					j++;
+				}
+			}
+
+			// all points before index i have been processed, so n <= i
+			points[n++] = point;
+		}
+
+		return n;
+	}
+
+	/**
+	 * Compares two points, returning {@code -1} if the first point dominates
+	 * the second, {@code 0} if the points are identical, {@code 2} if the
+	 * second point dominates the first, and {@code 1} if the points are
+	 * non-dominated.
+	 *
+	 * @param point1 the first point
+	 * @param point2 the second point
+	 * @param numberOfObjectives the number of objectives
+	 * @return the result of comparing the two points
+	 */
+	private static int compare(double[] point1, double[] point2,
+			int numberOfObjectives) {
+		boolean better = false;
+		boolean worse = false;
+
+		for (int i = 0; i < numberOfObjectives; i++) {
+			if (point1[i] < point2[i]) {
+				better = true;
+			} else if (point1[i] > point2[i]) {
+				worse = true;
+			}
+
+			if (better && worse) {
+				return 1;
+			}
+		}
+
+		if (better) {
+			return -1;
+		} else if (worse) {
+			return 2;
+		} else {
+			return 0;
+		}
+	}
+
+	/**
+	 * Sorts the first {@code size} points by the given objective.
+	 *
+	 * @param points the points
+	 * @param size the number of points
+	 * @param objective the objective
+	 * @param descending {@code true} to sort in descending order;
+	 *        {@code false} to sort in ascending order
+	 */
+	private static void sort(double[][] points, int size, final int objective,
+			final boolean descending) {
+		Arrays.sort(points, 0, size, new Comparator<double[]>() {
+
+			@Override
+			public int compare(double[] point1, double[] point2) {
+				int flag = Double.compare(point1[objective],
+						point2[objective]);
+				return descending ? -flag : flag;
+			}
+
+		});
+	}
+
+	/**
+	 * Returns the hypervolume of the first {@code size} points in two
+	 * objectives.  The points are swept in order of the first objective,
+	 * accumulating the area added by each point.
+	 *
+	 * @param points the points
+	 * @param size the number of points
+	 * @param referencePoint the reference point
+	 * @return the hypervolume of the points in two objectives
+	 */
+	private static double calculate2D(double[][] points, int size,
+			double[] referencePoint) {
+		sort(points, size, 0, false);
+
+		double volume = 0.0;
+		double height = referencePoint[1];
+
+		for (int i = 0; i < size; i++) {
+			if (points[i][1] < height) {
+				volume += (referencePoint[0] - points[i][0]) *
+						(height - points[i][1]);
+				height = points[i][1];
+			}
+		}
+
+		return volume;
+	}
+
+	/**
+	 * Computes the exclusive hypervolume contribution of each point in two
+	 * objectives.  The non-dominated points form a staircase, where the
+	 * exclusive region of each point is the rectangle bounded by its
+	 * neighbors, less the area covered by any points it dominates.  Each
+	 * dominated point can only overlap the rectangle of a single point on the
+	 * staircase, so all contributions are found in {@code O(N log N)} time.
+	 *
+	 * @param points the points
+	 * @param referencePoint the reference point
+	 * @param contributions the array storing the contributions
+	 */
+	private static void calculateContributions2D(final double[][] points,
+			double[] referencePoint, double[] contributions) {
+		Integer[] order = new Integer[points.length];
+		int size = 0;
+
+		for (int i = 0; i < points.length; i++) {
+			if (dominatesReferencePoint(points[i], referencePoint)) {
+				order[size++] = i;
+			}
+		}
+
+		// sort by the first objective, breaking ties with the second
+		Arrays.sort(order, 0, size, new Comparator<Integer>() {
+
+			@Override
+			public int compare(Integer i, Integer j) {
+				int flag = Double.compare(points[i][0], points[j][0]);
+
+				if (flag == 0) {
+					flag = Double.compare(points[i][1], points[j][1]);
+				}
+
+				return flag;
+			}
+
+		});
+
+		// split the points into the staircase and the dominated points, which
+		// are assigned to the staircase point whose rectangle they overlap
+		int[] staircase = new int[size];
+		int[] owners = new int[size];
+		int[] dominated = new int[size];
+		int staircaseSize = 0;
+		int dominatedSize = 0;
+		double height = referencePoint[1];
+
+		for (int k = 0; k < size; k++) {
+			int i = order[k];
+
+			if (points[i][1] < height) {
+				staircase[staircaseSize++] = i;
+				height = points[i][1];
+			} else {
+				owners[dominatedSize] = staircaseSize - 1;
+				dominated[dominatedSize++] = i;
+			}
+		}
+
+		double[][] overlap = new double[dominatedSize][];
+		int start = 0;
+
+		for (int k = 0; k < staircaseSize; k++) {
+			double[] point = points[staircase[k]];
+			double[] bound = new double[] {
+					(k + 1 < staircaseSize) ? points[staircase[k + 1]][0] :
+						referencePoint[0],
+					(k > 0) ? points[staircase[k - 1]][1] : referencePoint[1] };
+			int overlapSize = 0;
+
+			while ((start < dominatedSize) && (owners[start] == k)) {
+				if (dominatesReferencePoint(points[dominated[start]], bound)) {
+					overlap[overlapSize++] = points[dominated[start]];
+				}
+
+				start++;
+			}
+
+			contributions[staircase[k]] = Math.max(0.0, inclusiveHypervolume(
+					point, 2, bound) - calculate(overlap, overlapSize, 2,
+							bound));
+		}
+	}
+
+	/**
+	 * Returns the hypervolume of the first {@code size} points in three
+	 * objectives.  The points are swept in order of the third objective,
+	 * maintaining the two-dimensional non-dominated staircase of the points
+	 * swept so far and its area.
+	 *
+	 * @param points the points
+	 * @param size the number of points
+	 * @param referencePoint the reference point
+	 * @return the hypervolume of the points in three objectives
+	 */
+	private static double calculate3D(double[][] points, int size,
+			double[] referencePoint) {
+		sort(points, size, 2, false);
+
+		TreeMap<Double, Double> staircase = new TreeMap<Double, Double>();
+		double volume = 0.0;
+		double area = 0.0;
+		double depth = points[0][2];
+
+		for (int i = 0; i < size; i++) {
+			double[] point = points[i];
+			double x = point[0];
+			double y = point[1];
+
+			volume += area * (point[2] - depth);
+			depth = point[2];
+
+			// skip points dominated by the staircase
+			Map.Entry<Double, Double> lower = staircase.floorEntry(x);
+
+			if ((lower != null) && (lower.getValue() <= y)) {
+				continue;
+			}
+
+			// remove points dominated by the new point, accumulating the
+			// area added between each step of the staircase
+			lower = staircase.lowerEntry(x);
+			double height = (lower == null) ? referencePoint[1] :
+				lower.getValue();
+			double left = x;
+			boolean bounded = false;
+
+			while (true) {
+				Map.Entry<Double, Double> next = staircase.ceilingEntry(x);
+
+				if (next == null) {
+					break;
+				}
+
+				area += (next.getKey() - left) * (height - y);
+				left = next.getKey();
+
+				if (next.getValue() < y) {
+					bounded = true;
+					break;
+				}
+
+				height = next.getValue();
+				staircase.remove(next.getKey());
+			}
+
+			if (!bounded) {
+				area += (referencePoint[0] - left) * (height - y);
+			}
+
+			staircase.put(x, y);
+		}
+
+		volume += area * (referencePoint[2] - depth);
+		return volume;
+	}
+
+	/**
+	 * Returns the hypervolume of the first {@code size} points using the
+	 * WFG algorithm.  The points are sorted from worst to best in the last
+	 * objective, so that limiting any later point by an earlier point sets
+	 * the last objective to that of the earlier point.  The exclusive
+	 * hypervolume of each point is therefore the product of its extent in the
+	 * last objective and its exclusive hypervolume in the remaining
+	 * objectives.
+	 *
+	 * @param points the points
+	 * @param size the number of points
+	 * @param numberOfObjectives the number of objectives
+	 * @param referencePoint the reference point
+	 * @return the hypervolume of the points
+	 */
+	private static double calculateWFG(double[][] points, int size,
+			int numberOfObjectives, double[] referencePoint) {
+		int last = numberOfObjectives - 1;
+		double[][] limited = new double[size][];
+		double volume = 0.0;
+
+		sort(points, size, last, true);
+
+		for (int i = 0; i < size; i++) {
+			double[] point = points[i];
+			int limitedSize = 0;
+
+			for (int j = i + 1; j < size; j++) {
+				limited[limitedSize++] = limit(points[j], point, last);
+			}
+
+			limitedSize = filterNondominated(limited, limitedSize, last);
+
+			double exclusive = inclusiveHypervolume(point, last,
+					referencePoint) - calculate(limited, limitedSize, last,
+							referencePoint);
+
+			volume += exclusive * (referencePoint[last] - point[last]);
+		}
+
+		return volume;
+	}
+
+}
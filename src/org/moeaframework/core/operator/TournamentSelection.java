@@ -17,6 +17,8 @@
  */
 package org.moeaframework.core.operator;
 
+import java.io.Serializable;
+
 import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Population;
 import org.moeaframework.core.Selection;
@@ -38,7 +40,9 @@ import org.moeaframework.core.comparator.ParetoDominanceComparator;
  * tournament sizes result in greedier selection. Solutions are selected with
  * replacement.
  */
-public class TournamentSelection implements Selection {
+public class TournamentSelection implements Selection, Serializable {
+
+	private static final long serialVersionUID = -6197433516163522435L;
 
 	/**
 	 * The comparator used to determine the tournament winner.
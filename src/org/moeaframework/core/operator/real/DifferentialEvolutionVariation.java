@@ -17,6 +17,7 @@
  */
 package org.moeaframework.core.operator.real;
 
+import org.moeaframework.core.CompactPopulation;
 import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.Variation;
@@ -121,5 +122,49 @@ public class DifferentialEvolutionVariation implements Variation {
 
 		return new Solution[] { result };
 	}
+	
+	/**
+	 * Applies this operator to four parents stored in a compact population,
+	 * appending the offspring to another compact population.  This produces
+	 * the same offspring as {@link #evolve(Solution[])}, using the same
+	 * sequence of random numbers, without creating any objects.
+	 * 
+	 * @param parents the population containing the parents
+	 * @param indices the indices of the four parents, where the first parent
+	 *        is the target vector
+	 * @param offspring the population where the offspring is appended, which
+	 *        may be the same as the parent population
+	 * @return the index of the offspring
+	 */
+	public int evolve(CompactPopulation parents, int[] indices,
+			CompactPopulation offspring) {
+		int result = offspring.add(parents, indices[0]);
+		int numberOfVariables = offspring.getNumberOfVariables();
+		
+		offspring.setRank(result, -1);
+		offspring.setCrowdingDistance(result, Double.NaN);
+
+		int jrand = PRNG.nextInt(numberOfVariables);
+
+		for (int j = 0; j < numberOfVariables; j++) {
+			if ((PRNG.nextDouble() <= CR) || (j == jrand)) {
+				double y = parents.getVariable(indices[3], j) + F *
+						(parents.getVariable(indices[1], j) -
+						parents.getVariable(indices[2], j));
+
+				if (y < offspring.getLowerBound(j)) {
+					y = offspring.getLowerBound(j);
+				}
+
+				if (y > offspring.getUpperBound(j)) {
+					y = offspring.getUpperBound(j);
+				}
+
+				offspring.setVariable(result, j, y);
+			}
+		}
+
+		return result;
+	}
 
 }
@@ -17,6 +17,7 @@
  */
 package org.moeaframework.core.operator.real;
 
+import org.moeaframework.core.CompactPopulation;
 import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.Variable;
@@ -109,6 +110,26 @@ public class PM implements Variation {
 
 		return new Solution[] { result };
 	}
+	
+	/**
+	 * Mutates, in place, a solution stored in a compact population.  This
+	 * produces the same result as {@link #evolve(Solution[])}, using the same
+	 * sequence of random numbers, without creating any objects.
+	 * 
+	 * @param population the population containing the solution
+	 * @param index the index of the solution
+	 */
+	public void evolve(CompactPopulation population, int index) {
+		for (int i = 0; i < population.getNumberOfVariables(); i++) {
+			if (PRNG.nextDouble() <= probability) {
+				population.setVariable(index, i, evolve(
+						population.getVariable(index, i),
+						population.getLowerBound(i),
+						population.getUpperBound(i),
+						distributionIndex));
+			}
+		}
+	}
 
 	/*
 	 * The following source code is modified from the DTLZ variator module for
@@ -153,10 +174,23 @@ public class PM implements Variation {
 	 *        the polynomial mutation
 	 */
 	public static void evolve(RealVariable v, double distributionIndex) {
+		v.setValue(evolve(v.getValue(), v.getLowerBound(), v.getUpperBound(),
+				distributionIndex));
+	}
+	
+	/**
+	 * Mutates a value using polynomial mutation.
+	 * 
+	 * @param x the value to be mutated
+	 * @param lb the lower bound of the value
+	 * @param ub the upper bound of the value
+	 * @param distributionIndex the distribution index controlling the shape of
+	 *        the polynomial mutation
+	 * @return the mutated value
+	 */
+	public static double evolve(double x, double lb, double ub,
+			double distributionIndex) {
 		double u = PRNG.nextDouble();
-		double x = v.getValue();
-		double lb = v.getLowerBound();
-		double ub = v.getUpperBound();
 		double dx = ub - lb;
 		double delta;
 
@@ -180,7 +214,7 @@ public class PM implements Variation {
 			x = ub;
 		}
 
-		v.setValue(x);
+		return x;
 	}
 
 	@Override
@@ -17,6 +17,7 @@
  */
 package org.moeaframework.core.operator.real;
 
+import org.moeaframework.core.CompactPopulation;
 import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Settings;
 import org.moeaframework.core.Solution;
@@ -154,27 +155,70 @@ public class SBX implements Variation {
 		Solution result2 = parents[1].copy();
 
 		if (PRNG.nextDouble() <= probability) {
+			double[] children = new double[2];
+			
 			for (int i = 0; i < result1.getNumberOfVariables(); i++) {
 				Variable variable1 = result1.getVariable(i);
 				Variable variable2 = result2.getVariable(i);
 
 				if (PRNG.nextBoolean() && (variable1 instanceof RealVariable)
 						&& (variable2 instanceof RealVariable)) {
-					if (symmetric) {
-						evolve_symmetric((RealVariable)variable1,
-								(RealVariable)variable2, distributionIndex,
-								swap);
-					} else {
-						evolve_asymmetric((RealVariable)variable1,
-								(RealVariable)variable2, distributionIndex,
-								swap);
-					}
+					evolve((RealVariable)variable1, (RealVariable)variable2,
+							distributionIndex, symmetric, swap, children);
 				}
 			}
 		}
 
 		return new Solution[] { result1, result2 };
 	}
+	
+	/**
+	 * Applies this operator to two parents stored in a compact population,
+	 * appending the two offspring to another compact population.  This
+	 * produces the same offspring as {@link #evolve(Solution[])}, using the
+	 * same sequence of random numbers, without creating any objects.
+	 * 
+	 * @param parents the population containing the parents
+	 * @param parent1 the index of the first parent
+	 * @param parent2 the index of the second parent
+	 * @param offspring the population where the offspring are appended, which
+	 *        may be the same as the parent population
+	 * @return the index of the first offspring; the second offspring is
+	 *         stored at the next index
+	 */
+	public int evolve(CompactPopulation parents, int parent1, int parent2,
+			CompactPopulation offspring) {
+		int result1 = offspring.add(parents, parent1);
+		int result2 = offspring.add(parents, parent2);
+		int numberOfVariables = offspring.getNumberOfVariables();
+		
+		offspring.setRank(result1, -1);
+		offspring.setRank(result2, -1);
+		offspring.setCrowdingDistance(result1, Double.NaN);
+		offspring.setCrowdingDistance(result2, Double.NaN);
+
+		if (PRNG.nextDouble() <= probability) {
+			double[] values = offspring.getVariables();
+			double[] children = new double[2];
+			
+			for (int i = 0; i < numberOfVariables; i++) {
+				if (PRNG.nextBoolean()) {
+					int index1 = result1 * numberOfVariables + i;
+					int index2 = result2 * numberOfVariables + i;
+					
+					if (evolve(values[index1], values[index2],
+							offspring.getLowerBound(i),
+							offspring.getUpperBound(i), distributionIndex,
+							symmetric, swap, children)) {
+						values[index1] = children[0];
+						values[index2] = children[1];
+					}
+				}
+			}
+		}
+		
+		return result1;
+	}
 
 	/**
 	 * Evolves the specified variables using the SBX operator.
@@ -188,12 +232,6 @@ public class SBX implements Variation {
 		evolve_asymmetric(v1, v2, distributionIndex, true);
 	}
 
-	/*
-	 * The following code was provided by Haitham Seada on Dec 14, 2015.  This
-	 * replaces the old implementation based on PISA, which appears to have
-	 * some numerical issues, particularly on problems like DTLZ3.
-	 */
-
 	/**
 	 * Evolves the specified variables using the SBX operator using symmetric
 	 * distributions.
@@ -205,71 +243,7 @@ public class SBX implements Variation {
 	 */
 	public static void evolve_symmetric(RealVariable v1, RealVariable v2,
 			double distributionIndex, boolean swap) {
-		double y1, y2, betaq, beta, alpha, rand;
-		double x1 = v1.getValue();
-		double x2 = v2.getValue();
-		double lb = v1.getLowerBound();
-		double ub = v1.getUpperBound();
-
-		// avoid division by zero
-		if (Math.abs(x1 - x2) > Settings.EPS) {
-			if (x2 > x1) {
-				y2 = x2;
-				y1 = x1;
-			} else {
-				y2 = x1;
-				y1 = x2;
-			}
-
-			// compute beta
-			if ((y1 - lb) > (ub - y2)) {
-				beta = 1 + (2 * (ub - y2) / (y2 - y1));
-			} else {
-				beta = 1 + (2 * (y1 - lb) / (y2 - y1));
-			}
-
-			// compute alpha
-			beta = 1.0 / beta;
-			alpha = 2.0 - Math.pow(beta, distributionIndex + 1.0);
-			rand = PRNG.nextDouble();
-
-			// compute betaq
-			if (rand <= 1.0 / alpha) {
-				alpha = alpha * rand;
-				betaq = Math.pow(alpha, 1.0 / (distributionIndex + 1.0));
-			} else {
-				alpha = alpha * rand;
-				alpha = 1.0 / (2.0 - alpha);
-				betaq = Math.pow(alpha, 1.0 / (distributionIndex + 1.0));
-			}
-
-			// generate two children
-			x1 = 0.5 * ((y1 + y2) - betaq * (y2 - y1));
-			x2 = 0.5 * ((y1 + y2) + betaq * (y2 - y1));
-			
-			// ensure the children are within bounds
-			if (x1 < lb) {
-				x1 = lb;
-			} else if (x1 > ub) {
-				x1 = ub;
-			}
-			
-			if (x2 < lb) {
-				x2 = lb;
-			} else if (x2 > ub) {
-				x2 = ub;
-			}
-			
-			// randomly swap the variables
-			if (swap && PRNG.nextBoolean()) {
-				double temp = x1;
-				x1 = x2;
-				x2 = temp;
-			}
-			
-			v1.setValue(x1);
-			v2.setValue(x2);
-		}
+		evolve(v1, v2, distributionIndex, true, swap, new double[2]);
 	}
 	
 	/**
@@ -283,76 +257,142 @@ public class SBX implements Variation {
 	 */
 	public static void evolve_asymmetric(RealVariable v1, RealVariable v2,
 			double distributionIndex, boolean swap) {
-		double y1, y2, betaq, beta, alpha, rand;
-		double x1 = v1.getValue();
-		double x2 = v2.getValue();
-		double lb = v1.getLowerBound();
-		double ub = v1.getUpperBound();
+		evolve(v1, v2, distributionIndex, false, swap, new double[2]);
+	}
+	
+	/**
+	 * Evolves the specified variables using the SBX operator.
+	 * 
+	 * @param v1 the first variable
+	 * @param v2 the second variable
+	 * @param distributionIndex the distribution index of this SBX operator
+	 * @param symmetric use symmetric distributions
+	 * @param swap randomly swap the variable between the two parents
+	 * @param children the array, of length 2, reused to store the children
+	 */
+	private static void evolve(RealVariable v1, RealVariable v2,
+			double distributionIndex, boolean symmetric, boolean swap,
+			double[] children) {
+		if (evolve(v1.getValue(), v2.getValue(), v1.getLowerBound(),
+				v1.getUpperBound(), distributionIndex, symmetric, swap,
+				children)) {
+			v1.setValue(children[0]);
+			v2.setValue(children[1]);
+		}
+	}
 
-		// avoid division by zero
-		if (Math.abs(x1 - x2) > Settings.EPS) {
-			if (x2 > x1) {
-				y2 = x2;
-				y1 = x1;
-			} else {
-				y2 = x1;
-				y1 = x2;
-			}
+	/*
+	 * The following code was provided by Haitham Seada on Dec 14, 2015.  This
+	 * replaces the old implementation based on PISA, which appears to have
+	 * some numerical issues, particularly on problems like DTLZ3.
+	 */
 
-			// generate first offspring
-			beta = 1.0 / (1.0 + (2.0 * (y1 - lb) / (y2 - y1)));
-			alpha = 2.0 - Math.pow(beta, distributionIndex + 1.0);
-			rand = PRNG.nextDouble();
+	/**
+	 * Computes the two children of the SBX operator from two parent values.
+	 * This is the kernel shared by the {@link RealVariable} and
+	 * {@link CompactPopulation} forms of this operator.  No random numbers are
+	 * drawn if the parents are nearly identical.
+	 * 
+	 * @param x1 the value of the first parent
+	 * @param x2 the value of the second parent
+	 * @param lb the lower bound of the values
+	 * @param ub the upper bound of the values
+	 * @param distributionIndex the distribution index of this SBX operator
+	 * @param symmetric use symmetric distributions
+	 * @param swap randomly swap the variable between the two parents
+	 * @param children the array, of length 2, where the children are stored
+	 * @return {@code true} if the children were stored; {@code false} if the
+	 *         parents are nearly identical and are left unchanged
+	 */
+	private static boolean evolve(double x1, double x2, double lb, double ub,
+			double distributionIndex, boolean symmetric, boolean swap,
+			double[] children) {
+		double y1, y2, betaq1, betaq2, rand;
 
-			if (rand <= 1.0 / alpha) {
-				alpha = alpha * rand;
-				betaq = Math.pow(alpha, 1.0 / (distributionIndex + 1.0));
-			} else {
-				alpha = alpha * rand;
-				alpha = 1.0 / (2.0 - alpha);
-				betaq = Math.pow(alpha, 1.0 / (distributionIndex + 1.0));
-			}
-			
-			x1 = 0.5 * ((y1 + y2) - betaq * (y2 - y1));
-			
-			// generate second offspring
-			beta = 1.0 / (1.0 + (2.0 * (ub - y2) / (y2 - y1)));
-			alpha = 2.0 - Math.pow(beta, distributionIndex + 1.0);
+		// avoid division by zero
+		if (Math.abs(x1 - x2) <= Settings.EPS) {
+			return false;
+		}
+		
+		if (x2 > x1) {
+			y2 = x2;
+			y1 = x1;
+		} else {
+			y2 = x1;
+			y1 = x2;
+		}
+
+		if (symmetric) {
+			double beta;
 			
-			if (rand <= 1.0 / alpha) {
-				alpha = alpha * rand;
-				betaq = Math.pow(alpha, 1.0 / (distributionIndex + 1.0));
+			// compute beta
+			if ((y1 - lb) > (ub - y2)) {
+				beta = 1 + (2 * (ub - y2) / (y2 - y1));
 			} else {
-				alpha = alpha * rand;
-				alpha = 1.0 / (2.0 - alpha);
-				betaq = Math.pow(alpha, 1.0 / (distributionIndex + 1.0));
-			}
-			
-			x2 = 0.5 * ((y1 + y2) + betaq * (y2 - y1));
-			
-			// ensure the children are within bounds
-			if (x1 < lb) {
-				x1 = lb;
-			} else if (x1 > ub) {
-				x1 = ub;
-			}
-			
-			if (x2 < lb) {
-				x2 = lb;
-			} else if (x2 > ub) {
-				x2 = ub;
-			}
-			
-			// randomly swap the variables
-			if (swap && PRNG.nextBoolean()) {
-				double temp = x1;
-				x1 = x2;
-				x2 = temp;
+				beta = 1 + (2 * (y1 - lb) / (y2 - y1));
 			}
 			
-			v1.setValue(x1);
-			v2.setValue(x2);
+			rand = PRNG.nextDouble();
+			betaq1 = computeBetaq(1.0 / beta, rand, distributionIndex);
+			betaq2 = betaq1;
+		} else {
+			rand = PRNG.nextDouble();
+			betaq1 = computeBetaq(1.0 / (1.0 + (2.0 * (y1 - lb) / (y2 - y1))),
+					rand, distributionIndex);
+			betaq2 = computeBetaq(1.0 / (1.0 + (2.0 * (ub - y2) / (y2 - y1))),
+					rand, distributionIndex);
+		}
+
+		// generate two children
+		x1 = 0.5 * ((y1 + y2) - betaq1 * (y2 - y1));
+		x2 = 0.5 * ((y1 + y2) + betaq2 * (y2 - y1));
+		
+		// ensure the children are within bounds
+		if (x1 < lb) {
+			x1 = lb;
+		} else if (x1 > ub) {
+			x1 = ub;
+		}
+		
+		if (x2 < lb) {
+			x2 = lb;
+		} else if (x2 > ub) {
+			x2 = ub;
+		}
+		
+		// randomly swap the variables
+		if (swap && PRNG.nextBoolean()) {
+			double temp = x1;
+			x1 = x2;
+			x2 = temp;
+		}
+		
+		children[0] = x1;
+		children[1] = x2;
+		return true;
+	}
+	
+	/**
+	 * Computes the spread factor, betaq, of a child.
+	 * 
+	 * @param beta the inverse of the spread factor between the parents and the
+	 *        nearest bound
+	 * @param rand the uniformly distributed random number
+	 * @param distributionIndex the distribution index of this SBX operator
+	 * @return the spread factor of the child
+	 */
+	private static double computeBetaq(double beta, double rand,
+			double distributionIndex) {
+		double alpha = 2.0 - Math.pow(beta, distributionIndex + 1.0);
+
+		if (rand <= 1.0 / alpha) {
+			alpha = alpha * rand;
+		} else {
+			alpha = alpha * rand;
+			alpha = 1.0 / (2.0 - alpha);
 		}
+		
+		return Math.pow(alpha, 1.0 / (distributionIndex + 1.0));
 	}
 
 }
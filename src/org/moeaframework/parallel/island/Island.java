@@ -51,11 +51,37 @@ public class Island {
 	 * @param population the initial population for this island
 	 */
 	public Island(Algorithm algorithm, Population population) {
+		this(algorithm, population, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Creates a new island with the given algorithm and population, whose
+	 * immigration queue holds at most the given number of solutions.  When
+	 * full, the oldest immigrants are discarded.
+	 * 
+	 * @param algorithm the algorithm assigned to this island
+	 * @param population the initial population for this island
+	 * @param immigrationCapacity the maximum number of solutions held by the
+	 *        immigration queue
+	 */
+	public Island(Algorithm algorithm, Population population, int immigrationCapacity) {
+		this(algorithm, population, new ImmigrationQueue(immigrationCapacity));
+	}
+	
+	/**
+	 * Creates a new island with the given algorithm, population, and
+	 * immigration queue.  Islands running in other processes are represented
+	 * by an island whose immigration queue forwards solutions to that process.
+	 * 
+	 * @param algorithm the algorithm assigned to this island
+	 * @param population the initial population for this island
+	 * @param immigrationQueue the immigration queue for this island
+	 */
+	public Island(Algorithm algorithm, Population population, ImmigrationQueue immigrationQueue) {
 		super();
 		this.algorithm = algorithm;
 		this.population = population;
-		
-		immigrationQueue = new ImmigrationQueue();
+		this.immigrationQueue = immigrationQueue;
 	}
 
 	/**
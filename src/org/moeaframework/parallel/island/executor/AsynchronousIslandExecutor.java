@@ -0,0 +1,349 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel.island.executor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.parallel.island.Island;
+import org.moeaframework.parallel.island.IslandModel;
+
+/**
+ * Executes an island model asynchronously on a work-stealing
+ * {@link ForkJoinPool}.  Unlike {@link BasicIslandExecutor}, which runs each
+ * island to completion on its own thread, islands are advanced a few steps at
+ * a time and then rescheduled.  Consequently, any number of islands can share
+ * a smaller number of threads, and idle threads steal work from busy ones so
+ * fast islands never wait on slow islands.  The pool runs in asynchronous
+ * (FIFO) mode, so rescheduled islands take turns rather than the most recent
+ * island running repeatedly.
+ * <p>
+ * All islands draw from a shared evaluation budget rather than receiving an
+ * equal share.  The run ends once the budget is spent, so the total number of
+ * evaluations can exceed the budget by at most one step per island.
+ * Migrations never block, since islands only exchange solutions through the
+ * lock-free immigration queues of their neighbors.  Bound these queues with
+ * {@link Island#Island(org.moeaframework.core.Algorithm,
+ * org.moeaframework.core.Population, int)} to limit the backlog of slow
+ * islands.
+ * <p>
+ * The number of evaluations and the time spent running each island are
+ * recorded, from which the throughput of each island is reported.  These
+ * statistics can be read while the island model is running.
+ */
+public class AsynchronousIslandExecutor implements IslandExecutor {
+	
+	private final IslandModel model;
+	
+	private final ForkJoinPool pool;
+	
+	/**
+	 * The number of steps an island runs before it is rescheduled.
+	 */
+	private final int stepsPerTask;
+	
+	/**
+	 * The state of the current or last run.
+	 */
+	private volatile Run run;
+	
+	/**
+	 * Constructs an asynchronous island model executor using one thread per
+	 * available processor.
+	 * 
+	 * @param model the island model
+	 */
+	public AsynchronousIslandExecutor(IslandModel model) {
+		this(model, Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Constructs an asynchronous island model executor using the given number
+	 * of threads.
+	 * 
+	 * @param model the island model
+	 * @param numberOfThreads the number of threads shared by all islands
+	 */
+	public AsynchronousIslandExecutor(IslandModel model, int numberOfThreads) {
+		this(model, numberOfThreads, 1);
+	}
+	
+	/**
+	 * Constructs an asynchronous island model executor using the given number
+	 * of threads.  Running several steps before rescheduling an island reduces
+	 * the scheduling overhead when each step is inexpensive.
+	 * 
+	 * @param model the island model
+	 * @param numberOfThreads the number of threads shared by all islands
+	 * @param stepsPerTask the number of steps an island runs before it is
+	 *        rescheduled
+	 * @throws IllegalArgumentException if {@code numberOfThreads} or
+	 *         {@code stepsPerTask} is not positive
+	 */
+	public AsynchronousIslandExecutor(IslandModel model, int numberOfThreads,
+			int stepsPerTask) {
+		super();
+		
+		if (stepsPerTask <= 0) {
+			throw new IllegalArgumentException("stepsPerTask must be positive");
+		}
+		
+		this.model = model;
+		this.stepsPerTask = stepsPerTask;
+		
+		pool = new ForkJoinPool(numberOfThreads,
+				ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+		
+		run = new Run(0, model.getIslands().size());
+	}
+
+	@Override
+	public NondominatedPopulation run(int maxEvaluations) {
+		List<Island> islands = model.getIslands();
+		Run currentRun = new Run(maxEvaluations, islands.size());
+		
+		final List<Runnable> tasks = new ArrayList<Runnable>();
+		
+		run = currentRun;
+		
+		for (int i = 0; i < islands.size(); i++) {
+			IslandTask task = new IslandTask(i, new IslandMigrationAction(islands.get(i), model),
+					currentRun);
+			
+			// each island draws random numbers from its own stream when supported
+			tasks.add(PRNG.withStream(i, task));
+		}
+		
+		// fork the islands from within the pool so they share one FIFO queue
+		pool.execute(() -> {
+			for (Runnable task : tasks) {
+				ForkJoinTask.adapt(task).fork();
+			}
+		});
+		
+		// wait for all to complete and aggregate the result
+		try {
+			currentRun.latch.await();
+		} catch (InterruptedException e) {
+			currentRun.failure = e;
+			throw new FrameworkException("execution was interrupted", e);
+		}
+		
+		if (currentRun.failure != null) {
+			throw new FrameworkException("execution failed", currentRun.failure);
+		}
+		
+		NondominatedPopulation result = new NondominatedPopulation();
+		
+		for (Island island : islands) {
+			result.addAll(island.getAlgorithm().getResult());
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Returns the total number of evaluations performed by all islands during
+	 * the current or last run.
+	 * 
+	 * @return the total number of evaluations
+	 */
+	public long getNumberOfEvaluations() {
+		return run.totalEvaluations.get();
+	}
+	
+	/**
+	 * Returns the number of evaluations performed by an island during the
+	 * current or last run.
+	 * 
+	 * @param island the index of the island
+	 * @return the number of evaluations performed by the island
+	 */
+	public long getNumberOfEvaluations(int island) {
+		return run.evaluations.get(island);
+	}
+	
+	/**
+	 * Returns the time, in seconds, spent running an island during the current
+	 * or last run.  This excludes any time the island spent waiting to be
+	 * scheduled.
+	 * 
+	 * @param island the index of the island
+	 * @return the time spent running the island
+	 */
+	public double getElapsedTime(int island) {
+		return run.elapsedTime.get(island) / 1e9;
+	}
+	
+	/**
+	 * Returns the throughput of an island, in evaluations per second, during
+	 * the current or last run.
+	 * 
+	 * @param island the index of the island
+	 * @return the throughput of the island
+	 */
+	public double getThroughput(int island) {
+		double elapsedTime = getElapsedTime(island);
+		return elapsedTime > 0.0 ? getNumberOfEvaluations(island) / elapsedTime : 0.0;
+	}
+
+	@Override
+	public void close() throws IOException {
+		pool.shutdown();
+	}
+	
+	/**
+	 * The state shared by all islands during a single run.
+	 */
+	private static class Run {
+		
+		/**
+		 * The evaluation budget shared by all islands.
+		 */
+		private final long maxEvaluations;
+		
+		/**
+		 * The total number of evaluations performed by all islands.
+		 */
+		private final AtomicLong totalEvaluations;
+		
+		/**
+		 * The number of evaluations performed by each island.
+		 */
+		private final AtomicLongArray evaluations;
+		
+		/**
+		 * The time, in nanoseconds, spent running each island.
+		 */
+		private final AtomicLongArray elapsedTime;
+		
+		/**
+		 * Counts down as each island finishes.
+		 */
+		private final CountDownLatch latch;
+		
+		/**
+		 * The first error raised by any island, which stops all islands.
+		 */
+		private volatile Throwable failure;
+		
+		/**
+		 * Constructs the state for a new run.
+		 * 
+		 * @param maxEvaluations the evaluation budget shared by all islands
+		 * @param numberOfIslands the number of islands
+		 */
+		public Run(long maxEvaluations, int numberOfIslands) {
+			super();
+			this.maxEvaluations = maxEvaluations;
+			
+			totalEvaluations = new AtomicLong();
+			evaluations = new AtomicLongArray(numberOfIslands);
+			elapsedTime = new AtomicLongArray(numberOfIslands);
+			latch = new CountDownLatch(numberOfIslands);
+		}
+		
+		/**
+		 * Returns {@code true} if the budget is spent or any island failed.
+		 * 
+		 * @return {@code true} if the budget is spent or any island failed;
+		 *         {@code false} otherwise
+		 */
+		public boolean isFinished() {
+			return failure != null || totalEvaluations.get() >= maxEvaluations;
+		}
+		
+	}
+	
+	/**
+	 * Advances one island by a few steps, rescheduling itself until the run is
+	 * finished.
+	 */
+	private class IslandTask implements Runnable {
+		
+		/**
+		 * The index of the island.
+		 */
+		private final int index;
+		
+		/**
+		 * The action stepping the island's algorithm and triggering migrations.
+		 */
+		private final IslandMigrationAction action;
+		
+		/**
+		 * The state of the run.
+		 */
+		private final Run run;
+		
+		/**
+		 * Constructs a new task for advancing an island.
+		 * 
+		 * @param index the index of the island
+		 * @param action the action stepping the island's algorithm and
+		 *        triggering migrations
+		 * @param run the state of the run
+		 */
+		public IslandTask(int index, IslandMigrationAction action, Run run) {
+			super();
+			this.index = index;
+			this.action = action;
+			this.run = run;
+		}
+
+		@Override
+		public void run() {
+			long startTime = System.nanoTime();
+			
+			try {
+				for (int i = 0; i < stepsPerTask && !run.isFinished(); i++) {
+					int numberOfEvaluations = action.getNumberOfEvaluations();
+					action.step();
+					
+					int delta = action.getNumberOfEvaluations() - numberOfEvaluations;
+					run.evaluations.addAndGet(index, delta);
+					run.totalEvaluations.addAndGet(delta);
+				}
+			} catch (Throwable t) {
+				if (run.failure == null) {
+					run.failure = t;
+				}
+			} finally {
+				run.elapsedTime.addAndGet(index, System.nanoTime() - startTime);
+			}
+			
+			if (run.isFinished()) {
+				run.latch.countDown();
+			} else {
+				// the next task continues from a stream derived from this island's stream
+				ForkJoinTask.adapt(PRNG.withStream(index, this)).fork();
+			}
+		}
+		
+	}
+
+}
@@ -27,6 +27,7 @@ import java.util.concurrent.Future;
 
 import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
 import org.moeaframework.parallel.island.Island;
 import org.moeaframework.parallel.island.IslandModel;
 
@@ -62,8 +63,11 @@ public class BasicIslandExecutor implements IslandExecutor {
 		//start threads to process each island
 		List<Future<NondominatedPopulation>> futures = new ArrayList<Future<NondominatedPopulation>>();
 			
-		for (final Island island : islands) {
-			futures.add(executorService.submit(new Callable<NondominatedPopulation>() {
+		for (int i = 0; i < islands.size(); i++) {
+			final Island island = islands.get(i);
+			
+			// each island draws random numbers from its own stream when supported
+			futures.add(executorService.submit(PRNG.withStream(i, new Callable<NondominatedPopulation>() {
 
 				@Override
 				public NondominatedPopulation call() {
@@ -76,7 +80,7 @@ public class BasicIslandExecutor implements IslandExecutor {
 					return action.getResult();
 				}
 				
-			}));
+			})));
 		}
 
 		//wait for all to complete and aggregate the result
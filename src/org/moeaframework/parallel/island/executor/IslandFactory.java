@@ -0,0 +1,41 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel.island.executor;
+
+import java.io.Serializable;
+
+import org.moeaframework.parallel.island.Island;
+
+/**
+ * Creates the islands of an island model.  Used by executors that run each
+ * island in a separate process, where the island must be constructed within
+ * that process.  The factory is serialized and sent to each process, so it
+ * and any state it captures must be serializable.
+ */
+public interface IslandFactory extends Serializable {
+	
+	/**
+	 * Creates the island with the given index.  This is invoked again with
+	 * the same index if the island is restarted.
+	 * 
+	 * @param index the index of the island, starting at {@code 0}
+	 * @return the island
+	 */
+	public Island createIsland(int index);
+
+}
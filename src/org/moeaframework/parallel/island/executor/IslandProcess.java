@@ -0,0 +1,504 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel.island.executor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.moeaframework.algorithm.Checkpoints;
+import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Solution;
+import org.moeaframework.parallel.island.Island;
+import org.moeaframework.parallel.island.IslandModel;
+import org.moeaframework.parallel.island.migration.Migration;
+import org.moeaframework.parallel.island.topology.Topology;
+import org.moeaframework.parallel.util.ImmigrationQueue;
+import org.moeaframework.parallel.util.SolutionCodec;
+
+/**
+ * Runs a single island of a {@link ProcessIslandExecutor} in its own process.
+ * This class is launched by the executor and is not intended to be run
+ * directly.  The process connects to the executor on the loopback interface,
+ * authenticates with the single-use token given on its command line,
+ * receives its configuration, and constructs its island using the
+ * {@link IslandFactory}.  Every other island is represented locally by an
+ * island whose immigration queue sends migrants to the executor, which
+ * forwards them to the process running that island.  Consequently, the
+ * {@link Topology} and {@link Migration} strategies work unchanged.
+ * <p>
+ * Messages start with a one byte type.  Migrants sent to the executor are
+ * followed by the index of the target island, the length of the payload, and
+ * the payload, which holds the number of migrants followed by each migrant in
+ * the {@link SolutionCodec} format.  Migrants forwarded by the executor omit
+ * the target island.  Once the island has used its evaluations, the result is
+ * sent using Java serialization and the process exits after the executor
+ * closes the connection.
+ */
+public class IslandProcess {
+	
+	/**
+	 * The message type for migrants.
+	 */
+	static final byte MIGRANTS = 1;
+	
+	/**
+	 * The message type for the result of an island.
+	 */
+	static final byte RESULT = 2;
+	
+	/**
+	 * The length, in bytes, of the token authenticating the process to the
+	 * executor.
+	 */
+	static final int TOKEN_LENGTH = 16;
+	
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private IslandProcess() {
+		super();
+	}
+	
+	/**
+	 * Starts the island process.
+	 * 
+	 * @param args the port of the executor, the index of the island, and the
+	 *        hex-encoded token authenticating this process
+	 * @throws Exception if an error occurred while running the island
+	 */
+	public static void main(String[] args) throws Exception {
+		int port = Integer.parseInt(args[0]);
+		int index = Integer.parseInt(args[1]);
+		byte[] token = decodeToken(args[2]);
+		
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+			socket.setTcpNoDelay(true);
+			
+			DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			
+			out.writeInt(index);
+			out.write(token);
+			out.flush();
+			
+			byte[] bytes = new byte[in.readInt()];
+			in.readFully(bytes);
+			
+			run((Configuration)deserialize(bytes), in, out);
+		}
+		
+		System.exit(0);
+	}
+	
+	/**
+	 * Encodes a token as a hexadecimal string.
+	 * 
+	 * @param token the token
+	 * @return the hexadecimal string
+	 */
+	static String encodeToken(byte[] token) {
+		StringBuilder sb = new StringBuilder();
+		
+		for (byte value : token) {
+			sb.append(Character.forDigit((value >> 4) & 0xF, 16));
+			sb.append(Character.forDigit(value & 0xF, 16));
+		}
+		
+		return sb.toString();
+	}
+	
+	/**
+	 * Decodes a token from a hexadecimal string.
+	 * 
+	 * @param hex the hexadecimal string
+	 * @return the token
+	 * @throws IllegalArgumentException if the string is not a valid token
+	 */
+	static byte[] decodeToken(String hex) {
+		if (hex.length() != 2 * TOKEN_LENGTH) {
+			throw new IllegalArgumentException("invalid token");
+		}
+		
+		byte[] token = new byte[TOKEN_LENGTH];
+		
+		for (int i = 0; i < TOKEN_LENGTH; i++) {
+			int high = Character.digit(hex.charAt(2 * i), 16);
+			int low = Character.digit(hex.charAt(2 * i + 1), 16);
+			
+			if ((high < 0) || (low < 0)) {
+				throw new IllegalArgumentException("invalid token");
+			}
+			
+			token[i] = (byte)((high << 4) | low);
+		}
+		
+		return token;
+	}
+	
+	/**
+	 * Runs the island until it uses its evaluations and sends the result to
+	 * the executor.
+	 * 
+	 * @param configuration the configuration of the island
+	 * @param in the input stream from the executor
+	 * @param out the output stream to the executor
+	 * @throws Exception if an error occurred while running the island
+	 */
+	private static void run(Configuration configuration, DataInputStream in, DataOutputStream out)
+			throws Exception {
+		PRNG.setSeed(configuration.seed);
+		
+		Island island = configuration.factory.createIsland(configuration.index);
+		Solution template = island.getAlgorithm().getProblem().newSolution();
+		IslandModel model = new IslandModel(configuration.migrationFrequency,
+				configuration.migration, configuration.topology);
+		
+		for (int i = 0; i < configuration.numberOfIslands; i++) {
+			if (i == configuration.index) {
+				model.addIsland(island);
+			} else {
+				model.addIsland(new Island(null, null, new RemoteImmigrationQueue(i, out)));
+			}
+		}
+		
+		Algorithm algorithm = new IslandMigrationAction(island, model);
+		
+		if (configuration.checkpointFile != null) {
+			algorithm = new Checkpoints(algorithm, configuration.checkpointFile,
+					configuration.checkpointFrequency);
+		}
+		
+		Receiver receiver = new Receiver(island, template, in);
+		receiver.start();
+		
+		while (algorithm.getNumberOfEvaluations() < configuration.maxEvaluations) {
+			algorithm.step();
+		}
+		
+		receiver.finished = true;
+		
+		ArrayList<Solution> result = new ArrayList<Solution>();
+		
+		for (Solution solution : algorithm.getResult()) {
+			result.add(solution);
+		}
+		
+		byte[] bytes = serialize(result);
+		out.writeByte(RESULT);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+		out.flush();
+		
+		// wait for the executor to close the connection
+		receiver.join();
+	}
+	
+	/**
+	 * Serializes an object using Java serialization.
+	 * 
+	 * @param object the object
+	 * @return the serialized object
+	 * @throws IOException if an I/O error occurred
+	 */
+	static byte[] serialize(Serializable object) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		
+		try (ObjectOutputStream oos = new ObjectOutputStream(buffer)) {
+			oos.writeObject(object);
+		}
+		
+		return buffer.toByteArray();
+	}
+	
+	/**
+	 * Deserializes an object using Java serialization.
+	 * 
+	 * @param bytes the serialized object
+	 * @return the object
+	 * @throws IOException if an I/O error occurred
+	 */
+	static Object deserialize(byte[] bytes) throws IOException {
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			return ois.readObject();
+		} catch (ClassNotFoundException e) {
+			throw new IOException(e);
+		}
+	}
+	
+	/**
+	 * The configuration sent by the executor to each island process.
+	 */
+	static class Configuration implements Serializable {
+
+		private static final long serialVersionUID = -2237806587493361707L;
+
+		/**
+		 * The index of the island.
+		 */
+		final int index;
+		
+		/**
+		 * The number of islands.
+		 */
+		final int numberOfIslands;
+		
+		/**
+		 * The factory creating the island.
+		 */
+		final IslandFactory factory;
+		
+		/**
+		 * The migration frequency, in function evaluations.
+		 */
+		final int migrationFrequency;
+		
+		/**
+		 * The migration strategy.
+		 */
+		final Migration migration;
+		
+		/**
+		 * The island topology.
+		 */
+		final Topology topology;
+		
+		/**
+		 * The number of evaluations used by the island.
+		 */
+		final int maxEvaluations;
+		
+		/**
+		 * The file storing checkpoints of the island, or {@code null} if
+		 * checkpoints are disabled.
+		 */
+		final File checkpointFile;
+		
+		/**
+		 * The checkpoint frequency, in function evaluations.
+		 */
+		final int checkpointFrequency;
+		
+		/**
+		 * The seed for the island's source of randomness.
+		 */
+		final long seed;
+		
+		/**
+		 * Constructs the configuration of an island process.
+		 * 
+		 * @param index the index of the island
+		 * @param numberOfIslands the number of islands
+		 * @param factory the factory creating the island
+		 * @param migrationFrequency the migration frequency, in function
+		 *        evaluations
+		 * @param migration the migration strategy
+		 * @param topology the island topology
+		 * @param maxEvaluations the number of evaluations used by the island
+		 * @param checkpointFile the file storing checkpoints of the island, or
+		 *        {@code null} if checkpoints are disabled
+		 * @param checkpointFrequency the checkpoint frequency, in function
+		 *        evaluations
+		 * @param seed the seed for the island's source of randomness
+		 */
+		public Configuration(int index, int numberOfIslands, IslandFactory factory,
+				int migrationFrequency, Migration migration, Topology topology, int maxEvaluations,
+				File checkpointFile, int checkpointFrequency, long seed) {
+			super();
+			this.index = index;
+			this.numberOfIslands = numberOfIslands;
+			this.factory = factory;
+			this.migrationFrequency = migrationFrequency;
+			this.migration = migration;
+			this.topology = topology;
+			this.maxEvaluations = maxEvaluations;
+			this.checkpointFile = checkpointFile;
+			this.checkpointFrequency = checkpointFrequency;
+			this.seed = seed;
+		}
+		
+	}
+	
+	/**
+	 * Immigration queue of an island running in another process.  Solutions
+	 * are encoded and sent to the executor immediately, so no copies are kept.
+	 */
+	private static class RemoteImmigrationQueue extends ImmigrationQueue {
+		
+		/**
+		 * The index of the island receiving the solutions.
+		 */
+		private final int target;
+		
+		/**
+		 * The output stream to the executor.
+		 */
+		private final DataOutputStream out;
+		
+		/**
+		 * Constructs the immigration queue of an island running in another
+		 * process.
+		 * 
+		 * @param target the index of the island receiving the solutions
+		 * @param out the output stream to the executor
+		 */
+		public RemoteImmigrationQueue(int target, DataOutputStream out) {
+			super();
+			this.target = target;
+			this.out = out;
+		}
+
+		@Override
+		public void add(Solution solution) {
+			send(Arrays.asList(solution));
+		}
+
+		@Override
+		public void addAll(Solution[] solutions) {
+			send(Arrays.asList(solutions));
+		}
+
+		@Override
+		public void addAll(Collection<? extends Solution> solutions) {
+			send(solutions);
+		}
+		
+		/**
+		 * Sends the solutions to the executor.
+		 * 
+		 * @param solutions the solutions
+		 */
+		private void send(Collection<? extends Solution> solutions) {
+			try {
+				ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+				DataOutputStream data = new DataOutputStream(buffer);
+				
+				data.writeInt(solutions.size());
+				
+				for (Solution solution : solutions) {
+					SolutionCodec.write(solution, data);
+				}
+				
+				out.writeByte(MIGRANTS);
+				out.writeInt(target);
+				out.writeInt(buffer.size());
+				buffer.writeTo(out);
+				out.flush();
+			} catch (IOException e) {
+				throw new FrameworkException("failed to send migrants", e);
+			}
+		}
+		
+	}
+	
+	/**
+	 * Thread receiving migrants forwarded by the executor and adding them to
+	 * the island's immigration queue.  If the executor closes the connection
+	 * before the island finishes, the process exits.
+	 */
+	private static class Receiver extends Thread {
+		
+		/**
+		 * The island receiving the migrants.
+		 */
+		private final Island island;
+		
+		/**
+		 * The template for decoding migrants.
+		 */
+		private final Solution template;
+		
+		/**
+		 * The input stream from the executor.
+		 */
+		private final DataInputStream in;
+		
+		/**
+		 * {@code true} if the island has finished and the connection is
+		 * expected to close.
+		 */
+		private volatile boolean finished;
+		
+		/**
+		 * Constructs the thread receiving migrants.
+		 * 
+		 * @param island the island receiving the migrants
+		 * @param template the template for decoding migrants
+		 * @param in the input stream from the executor
+		 */
+		public Receiver(Island island, Solution template, DataInputStream in) {
+			super("island-receiver");
+			this.island = island;
+			this.template = template;
+			this.in = in;
+			
+			setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (true) {
+					byte type = in.readByte();
+					byte[] bytes = new byte[in.readInt()];
+					in.readFully(bytes);
+					
+					if (type == MIGRANTS) {
+						DataInputStream data = new DataInputStream(new ByteArrayInputStream(bytes));
+						List<Solution> migrants = new ArrayList<Solution>();
+						
+						for (int count = data.readInt(); count > 0; count--) {
+							migrants.add(SolutionCodec.read(template, data));
+						}
+						
+						island.getImmigrationQueue().addAll(migrants);
+					}
+				}
+			} catch (EOFException e) {
+				if (!finished) {
+					System.err.println("connection to the island executor closed unexpectedly");
+					System.exit(-1);
+				}
+			} catch (IOException e) {
+				if (!finished) {
+					e.printStackTrace();
+					System.exit(-1);
+				}
+			}
+		}
+		
+	}
+
+}
@@ -0,0 +1,591 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel.island.executor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Solution;
+import org.moeaframework.parallel.island.migration.Migration;
+import org.moeaframework.parallel.island.topology.Topology;
+
+/**
+ * Executes an island model with each island running in a separate Java
+ * process on the local machine.  Each process has its own heap and garbage
+ * collector, allowing a single machine to host island models larger than fit
+ * within one process.  The processes connect to this executor over TCP on the
+ * loopback interface, and migrants are routed through this executor using a
+ * compact binary format.  Each process authenticates its connection with a
+ * random, single-use token given on its command line, so other local
+ * processes can not connect to this executor.  The {@link Topology} and {@link Migration}
+ * strategies are the same as used by the other executors, but they, along
+ * with the {@link IslandFactory} creating each island, must be serializable.
+ * <p>
+ * Each island receives an equal share of the evaluations.  If a process exits
+ * before its island finishes, the process is restarted, up to a maximum number
+ * of restarts per island.  When checkpoints are enabled, the restarted island
+ * resumes from its last checkpoint; otherwise, the island starts over.
+ * Migrants sent to an island while it is restarting are discarded.
+ * <p>
+ * Each process is started with the same Java executable and class path as the
+ * current process.  Additional options, such as the heap size, are given by
+ * {@link #withJavaOptions(String...)}.
+ */
+public class ProcessIslandExecutor implements IslandExecutor {
+	
+	/**
+	 * The default maximum number of times each island is restarted.
+	 */
+	public static final int DEFAULT_MAX_RESTARTS = 3;
+	
+	/**
+	 * The maximum time, in milliseconds, allowed for a process to
+	 * authenticate after connecting.
+	 */
+	private static final int HANDSHAKE_TIMEOUT = 30000;
+	
+	private final IslandFactory factory;
+	
+	private final int numberOfIslands;
+	
+	private final int migrationFrequency;
+	
+	private final Migration migration;
+	
+	private final Topology topology;
+	
+	/**
+	 * The additional options passed to each Java process.
+	 */
+	private final List<String> javaOptions;
+	
+	/**
+	 * The directory storing checkpoints, or {@code null} if checkpoints are
+	 * disabled.
+	 */
+	private File checkpointDirectory;
+	
+	/**
+	 * The checkpoint frequency, in function evaluations.
+	 */
+	private int checkpointFrequency;
+	
+	/**
+	 * The maximum number of times each island is restarted.
+	 */
+	private int maxRestarts;
+	
+	/**
+	 * The number of times any island was restarted during the last run.
+	 */
+	private final AtomicInteger numberOfRestarts;
+	
+	/**
+	 * The processes running each island during the current run.
+	 */
+	private final Process[] processes;
+	
+	/**
+	 * Constructs an island model executor running each island in a separate
+	 * process.
+	 * 
+	 * @param factory the factory creating each island
+	 * @param numberOfIslands the number of islands
+	 * @param migrationFrequency the migration frequency, in function evaluations
+	 * @param migration the migration strategy
+	 * @param topology the island topology
+	 */
+	public ProcessIslandExecutor(IslandFactory factory, int numberOfIslands,
+			int migrationFrequency, Migration migration, Topology topology) {
+		super();
+		
+		if (numberOfIslands <= 0) {
+			throw new IllegalArgumentException("numberOfIslands must be positive");
+		}
+		
+		this.factory = factory;
+		this.numberOfIslands = numberOfIslands;
+		this.migrationFrequency = migrationFrequency;
+		this.migration = migration;
+		this.topology = topology;
+		
+		javaOptions = new ArrayList<String>();
+		maxRestarts = DEFAULT_MAX_RESTARTS;
+		numberOfRestarts = new AtomicInteger();
+		processes = new Process[numberOfIslands];
+	}
+	
+	/**
+	 * Sets additional options passed to each Java process, such as
+	 * {@code -Xmx4g}.
+	 * 
+	 * @param options the options
+	 * @return a reference to this executor
+	 */
+	public ProcessIslandExecutor withJavaOptions(String... options) {
+		javaOptions.clear();
+		javaOptions.addAll(Arrays.asList(options));
+		return this;
+	}
+	
+	/**
+	 * Enables checkpoints, allowing restarted islands to resume from their
+	 * last checkpoint.  Each island stores its checkpoint in the file
+	 * {@code island<index>.state} within the given directory.  These files are
+	 * not deleted, so a later run using the same directory resumes from the
+	 * checkpoints.
+	 * 
+	 * @param directory the directory storing checkpoints
+	 * @param frequency the checkpoint frequency, in function evaluations
+	 * @return a reference to this executor
+	 */
+	public ProcessIslandExecutor withCheckpoints(File directory, int frequency) {
+		this.checkpointDirectory = directory;
+		this.checkpointFrequency = frequency;
+		return this;
+	}
+	
+	/**
+	 * Sets the maximum number of times each island is restarted.  The run
+	 * fails if an island exits more often.
+	 * 
+	 * @param maxRestarts the maximum number of times each island is restarted
+	 * @return a reference to this executor
+	 */
+	public ProcessIslandExecutor withMaxRestarts(int maxRestarts) {
+		this.maxRestarts = maxRestarts;
+		return this;
+	}
+	
+	/**
+	 * Returns the number of times any island was restarted during the last
+	 * run.
+	 * 
+	 * @return the number of restarts
+	 */
+	public int getNumberOfRestarts() {
+		return numberOfRestarts.get();
+	}
+	
+	/**
+	 * Returns the file storing the checkpoint of an island.
+	 * 
+	 * @param index the index of the island
+	 * @return the file storing the checkpoint of the island, or {@code null}
+	 *         if checkpoints are disabled
+	 */
+	public File getCheckpointFile(int index) {
+		return checkpointDirectory == null ? null : new File(checkpointDirectory,
+				"island" + index + ".state");
+	}
+
+	@Override
+	public NondominatedPopulation run(int maxEvaluations) {
+		numberOfRestarts.set(0);
+		
+		try (ServerSocket server = new ServerSocket(0, numberOfIslands,
+				InetAddress.getLoopbackAddress())) {
+			return new Hub(server, maxEvaluations / numberOfIslands).run();
+		} catch (IOException e) {
+			throw new FrameworkException("failed to start island processes", e);
+		} finally {
+			destroyProcesses();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		destroyProcesses();
+	}
+	
+	/**
+	 * Destroys any processes still running.
+	 */
+	private void destroyProcesses() {
+		synchronized (processes) {
+			for (int i = 0; i < processes.length; i++) {
+				if (processes[i] != null) {
+					processes[i].destroyForcibly();
+					processes[i] = null;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Launches and supervises the island processes, and routes migrants
+	 * between them, during a single run.
+	 */
+	private class Hub {
+		
+		/**
+		 * The socket accepting connections from the island processes.
+		 */
+		private final ServerSocket server;
+		
+		/**
+		 * The number of evaluations used by each island.
+		 */
+		private final int evaluationsPerIsland;
+		
+		/**
+		 * The seed for each island's source of randomness.
+		 */
+		private final long[] seeds;
+		
+		/**
+		 * The output stream to each connected island, or {@code null} if the
+		 * island is not connected.
+		 */
+		private final AtomicReferenceArray<DataOutputStream> connections;
+		
+		/**
+		 * The token expected from the process most recently launched for each
+		 * island, or {@code null} if that process has already connected.  Each
+		 * token is accepted only once.
+		 */
+		private final AtomicReferenceArray<byte[]> tokens;
+		
+		/**
+		 * The source of the tokens authenticating the island processes.
+		 */
+		private final SecureRandom tokenRandom;
+		
+		/**
+		 * The result of each island, or {@code null} if the island has not
+		 * finished.
+		 */
+		private final AtomicReferenceArray<NondominatedPopulation> results;
+		
+		/**
+		 * Counts down as each island finishes, or immediately upon failure.
+		 */
+		private final CountDownLatch latch;
+		
+		/**
+		 * The threads supervising the processes and handling their
+		 * connections.
+		 */
+		private final ExecutorService threads;
+		
+		/**
+		 * The error causing the run to fail.
+		 */
+		private volatile Throwable failure;
+		
+		/**
+		 * Constructs the hub for a single run.
+		 * 
+		 * @param server the socket accepting connections from the island
+		 *        processes
+		 * @param evaluationsPerIsland the number of evaluations used by each
+		 *        island
+		 */
+		public Hub(ServerSocket server, int evaluationsPerIsland) {
+			super();
+			this.server = server;
+			this.evaluationsPerIsland = evaluationsPerIsland;
+			
+			seeds = new long[numberOfIslands];
+			connections = new AtomicReferenceArray<DataOutputStream>(numberOfIslands);
+			tokens = new AtomicReferenceArray<byte[]>(numberOfIslands);
+			tokenRandom = new SecureRandom();
+			results = new AtomicReferenceArray<NondominatedPopulation>(numberOfIslands);
+			latch = new CountDownLatch(numberOfIslands);
+			
+			threads = Executors.newCachedThreadPool(runnable -> {
+				Thread thread = new Thread(runnable, "island-executor");
+				thread.setDaemon(true);
+				return thread;
+			});
+			
+			for (int i = 0; i < numberOfIslands; i++) {
+				seeds[i] = PRNG.getRandom().nextLong();
+			}
+		}
+		
+		/**
+		 * Runs the islands and aggregates their results.
+		 * 
+		 * @return the aggregated result
+		 */
+		public NondominatedPopulation run() {
+			try {
+				threads.execute(this::accept);
+				
+				for (int i = 0; i < numberOfIslands; i++) {
+					final int index = i;
+					threads.execute(() -> supervise(index));
+				}
+				
+				latch.await();
+			} catch (InterruptedException e) {
+				throw new FrameworkException("execution was interrupted", e);
+			} finally {
+				threads.shutdownNow();
+			}
+			
+			if (failure != null) {
+				throw new FrameworkException("execution failed", failure);
+			}
+			
+			NondominatedPopulation result = new NondominatedPopulation();
+			
+			for (int i = 0; i < numberOfIslands; i++) {
+				result.addAll(results.get(i));
+			}
+			
+			return result;
+		}
+		
+		/**
+		 * Fails the run, releasing the thread waiting for the result.
+		 * 
+		 * @param cause the error causing the run to fail
+		 */
+		private void fail(Throwable cause) {
+			if (failure == null) {
+				failure = cause;
+			}
+			
+			while (latch.getCount() > 0) {
+				latch.countDown();
+			}
+		}
+		
+		/**
+		 * Launches the process running an island, restarting the process each
+		 * time it exits before the island finishes.
+		 * 
+		 * @param index the index of the island
+		 */
+		private void supervise(int index) {
+			int restarts = 0;
+			
+			try {
+				while (true) {
+					Process process = launch(index);
+					int exitValue = process.waitFor();
+					
+					if (results.get(index) != null) {
+						latch.countDown();
+						return;
+					} else if (failure != null) {
+						return;
+					} else if (restarts++ >= maxRestarts) {
+						fail(new FrameworkException("island " + index + " exited with code " +
+								exitValue + " after " + maxRestarts + " restarts"));
+						return;
+					}
+					
+					System.err.println("island " + index + " exited with code " + exitValue +
+							", restarting");
+					numberOfRestarts.incrementAndGet();
+				}
+			} catch (IOException e) {
+				fail(e);
+			} catch (InterruptedException e) {
+				// the run is finished or failed
+			}
+		}
+		
+		/**
+		 * Launches the process running an island, passing it a new token to
+		 * authenticate its connection.
+		 * 
+		 * @param index the index of the island
+		 * @return the process
+		 * @throws IOException if an I/O error occurred starting the process
+		 */
+		private Process launch(int index) throws IOException {
+			List<String> command = new ArrayList<String>();
+			command.add(System.getProperty("java.home") + File.separator + "bin" +
+					File.separator + "java");
+			command.addAll(javaOptions);
+			command.add("-cp");
+			command.add(System.getProperty("java.class.path"));
+			command.add(IslandProcess.class.getName());
+			command.add(Integer.toString(server.getLocalPort()));
+			command.add(Integer.toString(index));
+			
+			byte[] token = new byte[IslandProcess.TOKEN_LENGTH];
+			tokenRandom.nextBytes(token);
+			command.add(IslandProcess.encodeToken(token));
+			tokens.set(index, token);
+			
+			synchronized (processes) {
+				Process process = new ProcessBuilder(command).inheritIO().start();
+				processes[index] = process;
+				return process;
+			}
+		}
+		
+		/**
+		 * Accepts connections from the island processes until the socket is
+		 * closed.
+		 */
+		private void accept() {
+			try {
+				while (true) {
+					Socket socket = server.accept();
+					threads.execute(() -> handle(socket));
+				}
+			} catch (IOException e) {
+				// the socket is closed at the end of the run
+			}
+		}
+		
+		/**
+		 * Handles the connection from an island process, sending its
+		 * configuration, forwarding its migrants, and receiving its result.
+		 * The connection is closed without reading anything further unless it
+		 * presents the token of the process most recently launched for a valid
+		 * island index.  Since each token is accepted once, a second
+		 * connection for the same island is also rejected.
+		 * 
+		 * @param socket the connection from the island process
+		 */
+		private void handle(Socket socket) {
+			int index = -1;
+			DataOutputStream out = null;
+			
+			try {
+				socket.setTcpNoDelay(true);
+				socket.setSoTimeout(HANDSHAKE_TIMEOUT);
+				
+				DataInputStream in = new DataInputStream(new BufferedInputStream(
+						socket.getInputStream()));
+				
+				index = in.readInt();
+				
+				byte[] token = new byte[IslandProcess.TOKEN_LENGTH];
+				in.readFully(token);
+				
+				if ((index < 0) || (index >= numberOfIslands)) {
+					throw new IOException("invalid island index " + index);
+				}
+				
+				byte[] expected = tokens.get(index);
+				
+				if ((expected == null) || !MessageDigest.isEqual(expected, token) ||
+						!tokens.compareAndSet(index, expected, null)) {
+					throw new IOException("invalid token for island " + index);
+				}
+				
+				socket.setSoTimeout(0);
+				
+				out = new DataOutputStream(new BufferedOutputStream(
+						socket.getOutputStream()));
+				
+				byte[] configuration = IslandProcess.serialize(new IslandProcess.Configuration(
+						index, numberOfIslands, factory, migrationFrequency, migration, topology,
+						evaluationsPerIsland, getCheckpointFile(index), checkpointFrequency,
+						seeds[index]));
+				
+				synchronized (out) {
+					out.writeInt(configuration.length);
+					out.write(configuration);
+					out.flush();
+				}
+				
+				connections.set(index, out);
+				
+				while (true) {
+					byte type = in.readByte();
+					
+					if (type == IslandProcess.MIGRANTS) {
+						int target = in.readInt();
+						byte[] migrants = new byte[in.readInt()];
+						in.readFully(migrants);
+						forward(target, migrants);
+					} else if (type == IslandProcess.RESULT) {
+						byte[] result = new byte[in.readInt()];
+						in.readFully(result);
+						
+						@SuppressWarnings("unchecked")
+						List<Solution> solutions = (List<Solution>)IslandProcess.deserialize(result);
+						results.set(index, new NondominatedPopulation(solutions));
+						break;
+					} else {
+						throw new IOException("unexpected message type " + type);
+					}
+				}
+			} catch (IOException e) {
+				// the process exited, which is handled by the supervisor, or
+				// the connection was rejected
+			} finally {
+				if (out != null) {
+					// a restarted island may have already replaced this connection
+					connections.compareAndSet(index, out, null);
+				}
+				
+				try {
+					socket.close();
+				} catch (IOException e) {
+					// ignore
+				}
+			}
+		}
+		
+		/**
+		 * Forwards migrants to an island.  The migrants are discarded if the
+		 * island is not connected.
+		 * 
+		 * @param target the index of the island receiving the migrants
+		 * @param migrants the encoded migrants
+		 */
+		private void forward(int target, byte[] migrants) {
+			DataOutputStream out = connections.get(target);
+			
+			if (out != null) {
+				synchronized (out) {
+					try {
+						out.writeByte(IslandProcess.MIGRANTS);
+						out.writeInt(migrants.length);
+						out.write(migrants);
+						out.flush();
+					} catch (IOException e) {
+						// the island is restarting, discard the migrants
+					}
+				}
+			}
+		}
+		
+	}
+
+}
@@ -17,6 +17,7 @@
  */
 package org.moeaframework.parallel.island.migration;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import org.moeaframework.core.PRNG;
@@ -30,7 +31,9 @@ import org.moeaframework.parallel.island.Island;
  * Migration strategy that sends migrants to exactly one neighboring
  * island each iteration.
  */
-public class SingleNeighborMigration implements Migration {
+public class SingleNeighborMigration implements Migration, Serializable {
+
+	private static final long serialVersionUID = 5306914651539213735L;
 	
 	/**
 	 * The number of solutions migrated each iteration.
@@ -17,6 +17,7 @@
  */
 package org.moeaframework.parallel.island.topology;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import org.moeaframework.parallel.island.Island;
@@ -25,7 +26,9 @@ import org.moeaframework.parallel.island.Island;
  * A fully-connected or "star" topology where each island is connected
  * to every other island.
  */
-public class FullyConnectedTopology implements Topology {
+public class FullyConnectedTopology implements Topology, Serializable {
+
+	private static final long serialVersionUID = 2658917427958453346L;
 	
 	/**
 	 * Constructs a fully-connected topology instance.
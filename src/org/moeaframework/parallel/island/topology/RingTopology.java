@@ -17,6 +17,7 @@
  */
 package org.moeaframework.parallel.island.topology;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import org.moeaframework.parallel.island.Island;
@@ -25,7 +26,9 @@ import org.moeaframework.parallel.island.Island;
  * A ring topology where each island is only connected to two adjacent
  * islands, thus forming the shape of a ring.
  */
-public class RingTopology implements Topology {
+public class RingTopology implements Topology, Serializable {
+
+	private static final long serialVersionUID = -3186584377165426018L;
 
 	/**
 	 * Constructs a ring topology instance.
@@ -5,6 +5,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.moeaframework.core.Solution;
 
@@ -12,6 +13,11 @@ import org.moeaframework.core.Solution;
  * A queue for tracking migrating solutions that is (1) thread-safe, and (2)
  * automatically creates copies of the solutions to avoid issues in shared-memory
  * environments.
+ * <p>
+ * The queue may optionally be bounded.  Once the capacity is reached, adding a
+ * solution discards the oldest immigrant, so senders never block and a slow
+ * island only receives the most recent migrants.  Neither adding nor removing
+ * solutions acquires a lock.
  */
 public class ImmigrationQueue {
 	
@@ -21,11 +27,60 @@ public class ImmigrationQueue {
 	private final Queue<Solution> queue;
 	
 	/**
-	 * Creates a new, empty immigration queue.
+	 * The maximum number of solutions held by this queue.
+	 */
+	private final int capacity;
+	
+	/**
+	 * The number of solutions in this queue.  Since {@link Queue#size()} is
+	 * not a constant-time operation for concurrent queues, the size is tracked
+	 * separately.
+	 */
+	private final AtomicInteger size;
+	
+	/**
+	 * Creates a new, empty and unbounded immigration queue.
 	 */
 	public ImmigrationQueue() {
+		this(Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Creates a new, empty immigration queue holding at most the given number
+	 * of solutions.
+	 * 
+	 * @param capacity the maximum number of solutions held by this queue
+	 * @throws IllegalArgumentException if the capacity is not positive
+	 */
+	public ImmigrationQueue(int capacity) {
 		super();
+		
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive");
+		}
+		
+		this.capacity = capacity;
+		
 		queue = new ConcurrentLinkedQueue<Solution>();
+		size = new AtomicInteger();
+	}
+	
+	/**
+	 * Returns the maximum number of solutions held by this queue.
+	 * 
+	 * @return the maximum number of solutions held by this queue
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	/**
+	 * Returns the number of solutions currently in this queue.
+	 * 
+	 * @return the number of solutions currently in this queue
+	 */
+	public int size() {
+		return Math.max(size.get(), 0);
 	}
 	
 	/**
@@ -34,7 +89,23 @@ public class ImmigrationQueue {
 	 * @param solution the solution to add
 	 */
 	public void add(Solution solution) {
-		queue.add(solution.copy());
+		offer(solution.copy());
+	}
+	
+	/**
+	 * Appends the solution to this queue, discarding the oldest solution if
+	 * the capacity is exceeded.
+	 * 
+	 * @param solution the solution, which must already be copied
+	 */
+	private void offer(Solution solution) {
+		queue.add(solution);
+		
+		if (size.incrementAndGet() > capacity) {
+			if (queue.poll() != null) {
+				size.decrementAndGet();
+			}
+		}
 	}
 	
 	/**
@@ -44,7 +115,7 @@ public class ImmigrationQueue {
 	 */
 	public void addAll(Solution[] solutions) {
 		for (Solution solution : solutions) {
-			queue.add(solution.copy());
+			offer(solution.copy());
 		}
 	}
 	
@@ -55,7 +126,7 @@ public class ImmigrationQueue {
 	 */
 	public void addAll(Collection<? extends Solution> solutions) {
 		for (Solution solution : solutions) {
-			queue.add(solution.copy());
+			offer(solution.copy());
 		}
 	}
 	
@@ -65,7 +136,9 @@ public class ImmigrationQueue {
 	 * @return the solution that was removed
 	 */
 	public Solution pop() {
-		return queue.remove();
+		Solution solution = queue.remove();
+		size.decrementAndGet();
+		return solution;
 	}
 	
 	/**
@@ -75,9 +148,11 @@ public class ImmigrationQueue {
 	 */
 	public List<Solution> popAll() {
 		List<Solution> result = new ArrayList<Solution>();
+		Solution solution = null;
 		
-		while (!queue.isEmpty()) {
-			result.add(queue.remove());
+		while ((solution = queue.poll()) != null) {
+			size.decrementAndGet();
+			result.add(solution);
 		}
 		
 		return result;
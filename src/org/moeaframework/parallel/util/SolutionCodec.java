@@ -0,0 +1,185 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.Variable;
+import org.moeaframework.core.variable.BinaryVariable;
+import org.moeaframework.core.variable.Permutation;
+import org.moeaframework.core.variable.RealVariable;
+
+/**
+ * Compact binary format for exchanging solutions between processes.  Only the
+ * values of the decision variables, objectives, and constraints are written.
+ * The structure of the solution, such as the types and bounds of the
+ * variables, is not written and is instead supplied by a template solution
+ * when reading, typically {@code problem.newSolution()}.  Both sides must
+ * therefore agree on the problem.
+ * <p>
+ * Real variables are written as doubles, binary variables as packed bits, and
+ * permutations as ints.  Any other type of variable falls back to Java
+ * serialization.  Attributes are not written.
+ */
+public class SolutionCodec {
+	
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private SolutionCodec() {
+		super();
+	}
+	
+	/**
+	 * Writes the solution in the compact binary format.
+	 * 
+	 * @param solution the solution
+	 * @param out the output receiving the solution
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static void write(Solution solution, DataOutput out) throws IOException {
+		for (int i = 0; i < solution.getNumberOfVariables(); i++) {
+			writeVariable(solution.getVariable(i), out);
+		}
+		
+		for (int i = 0; i < solution.getNumberOfObjectives(); i++) {
+			out.writeDouble(solution.getObjective(i));
+		}
+		
+		for (int i = 0; i < solution.getNumberOfConstraints(); i++) {
+			out.writeDouble(solution.getConstraint(i));
+		}
+	}
+	
+	/**
+	 * Reads a solution in the compact binary format.
+	 * 
+	 * @param template the template solution defining the structure of the
+	 *        solution, which is not modified
+	 * @param in the input containing the solution
+	 * @return the solution that was read
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static Solution read(Solution template, DataInput in) throws IOException {
+		Solution solution = template.copy();
+		
+		for (int i = 0; i < solution.getNumberOfVariables(); i++) {
+			solution.setVariable(i, readVariable(solution.getVariable(i), in));
+		}
+		
+		for (int i = 0; i < solution.getNumberOfObjectives(); i++) {
+			solution.setObjective(i, in.readDouble());
+		}
+		
+		for (int i = 0; i < solution.getNumberOfConstraints(); i++) {
+			solution.setConstraint(i, in.readDouble());
+		}
+		
+		return solution;
+	}
+	
+	/**
+	 * Writes the value of a decision variable.
+	 * 
+	 * @param variable the decision variable
+	 * @param out the output receiving the value
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static void writeVariable(Variable variable, DataOutput out) throws IOException {
+		if (variable instanceof RealVariable) {
+			out.writeDouble(((RealVariable)variable).getValue());
+		} else if (variable instanceof BinaryVariable) {
+			BinaryVariable bv = (BinaryVariable)variable;
+			byte[] bytes = new byte[(bv.getNumberOfBits() + 7) / 8];
+			
+			for (int i = 0; i < bv.getNumberOfBits(); i++) {
+				if (bv.get(i)) {
+					bytes[i / 8] |= 1 << (i % 8);
+				}
+			}
+			
+			out.write(bytes);
+		} else if (variable instanceof Permutation) {
+			Permutation p = (Permutation)variable;
+			
+			for (int i = 0; i < p.size(); i++) {
+				out.writeInt(p.get(i));
+			}
+		} else {
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			
+			try (ObjectOutputStream oos = new ObjectOutputStream(buffer)) {
+				oos.writeObject(variable);
+			}
+			
+			out.writeInt(buffer.size());
+			out.write(buffer.toByteArray());
+		}
+	}
+	
+	/**
+	 * Reads the value of a decision variable.
+	 * 
+	 * @param variable the decision variable from the template, which is
+	 *        updated in place when possible
+	 * @param in the input containing the value
+	 * @return the decision variable holding the value
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static Variable readVariable(Variable variable, DataInput in) throws IOException {
+		if (variable instanceof RealVariable) {
+			((RealVariable)variable).setValue(in.readDouble());
+		} else if (variable instanceof BinaryVariable) {
+			BinaryVariable bv = (BinaryVariable)variable;
+			byte[] bytes = new byte[(bv.getNumberOfBits() + 7) / 8];
+			in.readFully(bytes);
+			
+			for (int i = 0; i < bv.getNumberOfBits(); i++) {
+				bv.set(i, (bytes[i / 8] & (1 << (i % 8))) != 0);
+			}
+		} else if (variable instanceof Permutation) {
+			Permutation p = (Permutation)variable;
+			int[] values = new int[p.size()];
+			
+			for (int i = 0; i < values.length; i++) {
+				values[i] = in.readInt();
+			}
+			
+			p.fromArray(values);
+		} else {
+			byte[] bytes = new byte[in.readInt()];
+			in.readFully(bytes);
+			
+			try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+				return (Variable)ois.readObject();
+			} catch (ClassNotFoundException e) {
+				throw new IOException(e);
+			}
+		}
+		
+		return variable;
+	}
+
+}
@@ -16,6 +16,11 @@ import org.apache.commons.math3.random.MersenneTwister;
  * that can provide similar access to random numbers across threads.
  * The Mersenne Twister, however, has better characteristics
  * (extremely long period, high equidistribution, etc.).
+ * <p>
+ * Each thread is seeded from a {@link java.security.SecureRandom}, so results
+ * are not reproducible.  Use
+ * {@link org.moeaframework.core.SplittableStreamRandom} for reproducible
+ * parallel runs.
  */
 public class ThreadLocalMersenneTwister extends Random {
 
@@ -17,8 +17,14 @@
  */
 package org.moeaframework.problem;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -27,6 +33,11 @@ import java.io.OutputStreamWriter;
 import java.net.InetAddress;
 import java.net.Socket;
 import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Settings;
@@ -82,6 +93,36 @@ import org.moeaframework.util.io.RedirectStream;
  * Whitespace is one or more spaces, tabs or any combination thereof. The
  * newline is either the line feed ('\n'), carriage return ('\r') or a carriage
  * return followed immediately by a line feed ("\r\n"). 
+ * 
+ * <h2>Pipelining</h2>
+ * When solutions are evaluated in batch with {@link #evaluateAll(List)}, up to
+ * {@link Settings#getExternalProblemPipelineSize()} requests are sent before
+ * waiting for a response, hiding the latency of each round trip.  The process
+ * reads and responds to each request in order, so no changes to the process
+ * are required.  Since the process stops reading requests while its unread
+ * responses fill the pipe or socket buffer, fewer requests are pipelined when
+ * the responses are large, keeping the unread responses within
+ * {@value #MAX_RESPONSE_BYTES_IN_FLIGHT} bytes.  If a response can not be
+ * read, the outstanding responses are drained so later evaluations do not
+ * read the wrong response.  If the streams can not be resynchronized, such
+ * as after an I/O error, all later evaluations fail.
+ * 
+ * <h2>Binary Protocol</h2>
+ * Subclasses can override {@link #useBinaryProtocol()} to exchange solutions
+ * using a compact binary protocol instead of text, avoiding the cost of
+ * formatting and parsing numbers.  The process must also be configured to use
+ * the binary protocol, such as by calling {@code MOEA_Enable_binary()} in the
+ * C/C++ interface.  All numbers are big-endian.  Each request consists of a
+ * 4-byte integer request identifier, a 4-byte integer payload length in bytes,
+ * and the payload.  The payload contains each decision variable in order,
+ * where real-valued variables are 8-byte IEEE 754 doubles, binary variables
+ * are packed into {@code ceil(bits / 8)} bytes with bit {@code i} stored in
+ * bit {@code i % 8} of byte {@code i / 8}, and permutations are a 4-byte
+ * integer for each element.  Each response consists of the request
+ * identifier, a 4-byte integer count of the values that follow, and the
+ * objectives followed by the constraints as 8-byte doubles.  Since responses
+ * are matched to requests by their identifier, the process may respond to
+ * pipelined requests in any order.
  * <p>
  * <b>It is critical that the {@link #close()} method be invoked to ensure the
  * external process is shutdown cleanly.</b>
@@ -93,6 +134,18 @@ public abstract class ExternalProblem implements Problem {
 	 * evaluation processes via sockets.
 	 */
 	public static final int DEFAULT_PORT = 16801;
+	
+	/**
+	 * The maximum size, in bytes, of the unread responses while requests are
+	 * pipelined.  This is below the smallest pipe buffer on common platforms.
+	 */
+	private static final int MAX_RESPONSE_BYTES_IN_FLIGHT = 4096;
+	
+	/**
+	 * The maximum size, in bytes, of each value in a text response, which is
+	 * the longest string form of a {@code double} plus a separator.
+	 */
+	private static final int MAX_TEXT_BYTES_PER_VALUE = 25;
 
 	/**
 	 * Reader connected to the process' standard output.
@@ -104,6 +157,36 @@ public abstract class ExternalProblem implements Problem {
 	 */
 	private final BufferedWriter writer;
 	
+	/**
+	 * Binary input stream connected to the process' standard output.  Only
+	 * one of {@code reader} or {@code input} is used depending on the
+	 * protocol.
+	 */
+	private final DataInputStream input;
+	
+	/**
+	 * Binary output stream connected to the process' standard input.  Only
+	 * one of {@code writer} or {@code output} is used depending on the
+	 * protocol.
+	 */
+	private final DataOutputStream output;
+	
+	/**
+	 * Buffer storing the payload of each binary request.
+	 */
+	private final ByteArrayOutputStream payload;
+	
+	/**
+	 * The identifier assigned to the next request.
+	 */
+	private int nextRequestID;
+	
+	/**
+	 * {@code true} if communication with the process failed and the streams
+	 * can no longer be matched to requests; {@code false} otherwise.
+	 */
+	private boolean failed;
+	
 	/**
 	 * Writer for debugging messages.
 	 */
@@ -192,8 +275,15 @@ public abstract class ExternalProblem implements Problem {
 	 */
 	ExternalProblem(InputStream input, OutputStream output) {
 		super();
-		reader = new BufferedReader(new InputStreamReader(input));
-		writer = new BufferedWriter(new OutputStreamWriter(output));
+		
+		BufferedInputStream bufferedInput = new BufferedInputStream(input);
+		BufferedOutputStream bufferedOutput = new BufferedOutputStream(output);
+		
+		reader = new BufferedReader(new InputStreamReader(bufferedInput));
+		writer = new BufferedWriter(new OutputStreamWriter(bufferedOutput));
+		this.input = new DataInputStream(bufferedInput);
+		this.output = new DataOutputStream(bufferedOutput);
+		payload = new ByteArrayOutputStream();
 		
 		if (Settings.getExternalProblemDebuggingEnabled()) {
 			setDebugStream(System.out);
@@ -215,6 +305,19 @@ public abstract class ExternalProblem implements Problem {
 		}
 	}
 
+	/**
+	 * Returns {@code true} if solutions are exchanged with the process using
+	 * the binary protocol; {@code false} if using the text protocol.  The
+	 * default implementation returns {@code false}.  Subclasses overriding
+	 * this method must return the same value for the lifetime of this problem.
+	 * 
+	 * @return {@code true} if solutions are exchanged with the process using
+	 *         the binary protocol; {@code false} if using the text protocol
+	 */
+	protected boolean useBinaryProtocol() {
+		return false;
+	}
+
 	/**
 	 * Closes the connection to the process. No further invocations of
 	 * {@code evaluate} are permitted.
@@ -243,55 +346,245 @@ public abstract class ExternalProblem implements Problem {
 	@Override
 	public synchronized void evaluate(Solution solution) 
 	throws ProblemException {
-		BufferedWriter debug = this.debug;
+		evaluateAll(Collections.singletonList(solution));
+	}
+	
+	/**
+	 * Evaluates the specified solutions using the process defined by this
+	 * class' constructor.  Requests are pipelined, sending up to
+	 * {@link Settings#getExternalProblemPipelineSize()} requests before
+	 * waiting for a response.
+	 * 
+	 * @param solutions the solutions to evaluate
+	 */
+	@Override
+	public synchronized void evaluateAll(List<Solution> solutions)
+	throws ProblemException {
+		if (failed) {
+			throw new ProblemException(this, "communication with external process previously failed");
+		}
+		
+		boolean binary = useBinaryProtocol();
+		int pipelineSize = getPipelineSize(binary);
+		Map<Integer, Solution> pending = new LinkedHashMap<Integer, Solution>();
 		
-		// send variables to external process
 		try {
-			StringBuilder sb = new StringBuilder();
-			
-			sb.append(encode(solution.getVariable(0)));
+			for (Solution solution : solutions) {
+				if (pending.size() >= pipelineSize) {
+					receive(pending, binary);
+				}
+				
+				int requestID = nextRequestID++;
+				send(requestID, solution, binary);
+				pending.put(requestID, solution);
+			}
 			
-			for (int i = 1; i < solution.getNumberOfVariables(); i++) {
-				sb.append(" ");
-				sb.append(encode(solution.getVariable(i)));
+			while (!pending.isEmpty()) {
+				receive(pending, binary);
 			}
+		} catch (ProblemException e) {
+			drain(pending, binary, e);
+			throw e;
+		}
+	}
+	
+	/**
+	 * Returns the maximum number of requests sent before waiting for a
+	 * response, limited so the unread responses fit within
+	 * {@value #MAX_RESPONSE_BYTES_IN_FLIGHT} bytes.
+	 * 
+	 * @param binary {@code true} to use the binary protocol; {@code false}
+	 *        to use the text protocol
+	 * @return the maximum number of requests sent before waiting for a
+	 *         response
+	 */
+	private int getPipelineSize(boolean binary) {
+		int count = getNumberOfObjectives() + getNumberOfConstraints();
+		int responseSize = 0;
+		
+		if (binary) {
+			responseSize = 8 + 8 * count;
+		} else {
+			responseSize = MAX_TEXT_BYTES_PER_VALUE * count + Settings.NEW_LINE.length();
+		}
+		
+		return Math.max(1, Math.min(Settings.getExternalProblemPipelineSize(),
+				MAX_RESPONSE_BYTES_IN_FLIGHT / Math.max(1, responseSize)));
+	}
+	
+	/**
+	 * Reads the outstanding responses after an error so the streams remain in
+	 * sync for later evaluations.  Any further errors are suppressed by the
+	 * original error.  Stops if the streams can not be resynchronized.
+	 * 
+	 * @param pending the pending solutions indexed by their request
+	 *        identifier
+	 * @param binary {@code true} to use the binary protocol; {@code false}
+	 *        to use the text protocol
+	 * @param cause the original error
+	 */
+	private void drain(Map<Integer, Solution> pending, boolean binary, ProblemException cause) {
+		while (!pending.isEmpty() && !failed) {
+			try {
+				receive(pending, binary);
+			} catch (ProblemException e) {
+				cause.addSuppressed(e);
+			}
+		}
+	}
+	
+	/**
+	 * Sends the variables of a solution to the external process.  The request
+	 * is buffered and not sent until the next response is read.
+	 * 
+	 * @param requestID the identifier of this request
+	 * @param solution the solution being evaluated
+	 * @param binary {@code true} to use the binary protocol; {@code false}
+	 *        to use the text protocol
+	 * @throws ProblemException if an error occurred sending the variables
+	 */
+	private void send(int requestID, Solution solution, boolean binary)
+	throws ProblemException {
+		BufferedWriter debug = this.debug;
+		
+		try {
+			String line = null;
 			
-			sb.append(Settings.NEW_LINE);
+			// the binary protocol only formats the text line for debugging
+			if (!binary || (debug != null)) {
+				StringBuilder sb = new StringBuilder();
+				
+				sb.append(encode(solution.getVariable(0)));
+				
+				for (int i = 1; i < solution.getNumberOfVariables(); i++) {
+					sb.append(" ");
+					sb.append(encode(solution.getVariable(i)));
+				}
+				
+				sb.append(Settings.NEW_LINE);
+				line = sb.toString();
+			}
 			
 			if (debug != null) {
 				debug.write("<< ");
-				debug.write(sb.toString());
+				
+				if (binary) {
+					debug.write("#" + requestID + " ");
+				}
+				
+				debug.write(line);
 				debug.flush();
 			}
 			
-			writer.write(sb.toString());
-			writer.flush();
+			if (binary) {
+				DataOutputStream data = new DataOutputStream(payload);
+				payload.reset();
+				
+				for (int i = 0; i < solution.getNumberOfVariables(); i++) {
+					encode(solution.getVariable(i), data);
+				}
+				
+				output.writeInt(requestID);
+				output.writeInt(payload.size());
+				payload.writeTo(output);
+			} else {
+				writer.write(line);
+			}
 		} catch (IOException e) {
 			throw new ProblemException(this, "error sending variables to external process", e);
 		}
-
-		// receive objectives from external process
+	}
+	
+	/**
+	 * Reads the next response from the external process, assigning the
+	 * objectives and constraints to the corresponding pending solution.  Any
+	 * buffered requests are sent before reading the response.  The entire
+	 * response is read before it is validated, so a malformed response
+	 * leaves the streams in sync.  If the streams can not be resynchronized,
+	 * {@link #failed} is set.
+	 * 
+	 * @param pending the pending solutions indexed by their request
+	 *        identifier, in the order the requests were sent
+	 * @param binary {@code true} to use the binary protocol; {@code false}
+	 *        to use the text protocol
+	 * @throws ProblemException if an error occurred receiving the response
+	 */
+	private void receive(Map<Integer, Solution> pending, boolean binary)
+	throws ProblemException {
+		BufferedWriter debug = this.debug;
+		
 		try {
-			String line = reader.readLine();
-
-			if (line == null) {
+			if (binary) {
+				output.flush();
+			} else {
+				writer.flush();
+			}
+		} catch (IOException e) {
+			failed = true;
+			throw new ProblemException(this, "error sending variables to external process", e);
+		}
+		
+		try {
+			double[] values = null;
+			Solution solution = null;
+			String line = null;
+			
+			if (binary) {
+				int requestID = 0;
+				
+				try {
+					requestID = input.readInt();
+				} catch (EOFException e) {
+					throw endOfStream();
+				}
+				
+				int count = input.readInt();
+				solution = pending.remove(requestID);
+				
+				// responses can not be matched to requests if the frame is invalid
+				if ((solution == null) || (count < 0)) {
+					failed = true;
+					throw new ProblemException(this, solution == null ?
+							"response contained an unknown request identifier" :
+							"response contained a negative number of values");
+				}
+				
+				// read the entire response, even if it has too many values
+				int expected = solution.getNumberOfObjectives() + solution.getNumberOfConstraints();
+				values = new double[Math.min(count, expected)];
+				
+				for (int i = 0; i < count; i++) {
+					double value = input.readDouble();
+					
+					if (i < values.length) {
+						values[i] = value;
+					}
+				}
+				
 				if (debug != null) {
-					debug.write("Reached end of stream");
-					debug.newLine();
+					StringBuilder sb = new StringBuilder();
+					sb.append("#");
+					sb.append(requestID);
 					
-					if (process != null) {
-						try {
-							int exitCode = process.exitValue();
-							debug.write("Process exited with code " + exitCode);
-						} catch (IllegalThreadStateException e) {
-							debug.write("Process is still alive");
-						}
+					for (int i = 0; i < values.length; i++) {
+						sb.append(" ");
+						sb.append(values[i]);
 					}
 					
-					debug.flush();
+					line = sb.toString();
+				}
+				
+				checkNumberOfValues(solution, count);
+			} else {
+				line = reader.readLine();
+	
+				if (line == null) {
+					throw endOfStream();
 				}
 				
-				throw new ProblemException(this, "end of stream reached when response expected");
+				Iterator<Solution> iterator = pending.values().iterator();
+				solution = iterator.next();
+				iterator.remove();
 			}
 
 			if (debug != null) {
@@ -301,30 +594,90 @@ public abstract class ExternalProblem implements Problem {
 				debug.flush();
 			}
 			
-			String[] tokens = line.split("\\s+");
-			
-			if (tokens.length != (solution.getNumberOfObjectives() + 
-					solution.getNumberOfConstraints())) {
-				throw new ProblemException(this, "response contained fewer tokens than expected");
+			if (!binary) {
+				String[] tokens = line.split("\\s+");
+				
+				checkNumberOfValues(solution, tokens.length);
+				
+				values = new double[tokens.length];
+				
+				for (int i = 0; i < tokens.length; i++) {
+					values[i] = Double.parseDouble(tokens[i]);
+				}
 			}
 			
 			int index = 0;
 
 			for (int i = 0; i < solution.getNumberOfObjectives(); i++) {
-				solution.setObjective(i, Double.parseDouble(tokens[index]));
+				solution.setObjective(i, values[index]);
 				index++;
 			}
 			
 			for (int i = 0; i < solution.getNumberOfConstraints(); i++) {
-				solution.setConstraint(i, Double.parseDouble(tokens[index]));
+				solution.setConstraint(i, values[index]);
 				index++;
 			}
 		} catch (IOException e) {
+			failed = true;
 			throw new ProblemException(this, "error receiving variables from external process", e);
 		} catch (NumberFormatException e) {
 			throw new ProblemException(this, "error receiving variables from external process", e);
 		}
 	}
+	
+	/**
+	 * Checks if a response contains one value for each objective and
+	 * constraint of the solution.
+	 * 
+	 * @param solution the solution being evaluated
+	 * @param count the number of values in the response
+	 * @throws ProblemException if the response contains fewer or more values
+	 *         than expected
+	 */
+	private void checkNumberOfValues(Solution solution, int count)
+	throws ProblemException {
+		int expected = solution.getNumberOfObjectives() +
+				solution.getNumberOfConstraints();
+		
+		if (count < expected) {
+			throw new ProblemException(this, "response contained fewer values than expected (" + count + " < " +
+					expected + ")");
+		} else if (count > expected) {
+			throw new ProblemException(this, "response contained more values than expected (" + count + " > " +
+					expected + ")");
+		}
+	}
+	
+	/**
+	 * Returns the exception thrown when the end of stream is reached while
+	 * waiting for a response, marking the streams as failed and writing details
+	 * about the process to the debug stream if enabled.
+	 * 
+	 * @return the exception thrown when the end of stream is reached
+	 * @throws IOException if an error occurred writing to the debug stream
+	 */
+	private ProblemException endOfStream() throws IOException {
+		BufferedWriter debug = this.debug;
+		failed = true;
+		
+		if (debug != null) {
+			debug.write("Reached end of stream");
+			debug.newLine();
+			
+			if (process != null) {
+				try {
+					int exitCode = process.exitValue();
+					debug.write("Process exited with code " + exitCode);
+				} catch (IllegalThreadStateException e) {
+					debug.write("Process is still alive");
+				}
+			}
+			
+			debug.flush();
+		}
+		
+		return new ProblemException(this, "end of stream reached when response expected");
+	}
 
 	/**
 	 * Serializes a variable to a string form.
@@ -361,5 +714,38 @@ public abstract class ExternalProblem implements Problem {
 		
 		return sb.toString();
 	}
+	
+	/**
+	 * Serializes a variable to its binary form.
+	 * 
+	 * @param variable the variable whose value is serialized
+	 * @param data the stream receiving the serialized variable
+	 * @throws IOException if an error occurs during serialization
+	 */
+	private void encode(Variable variable, DataOutputStream data) throws IOException {
+		if (variable instanceof RealVariable) {
+			RealVariable rv = (RealVariable)variable;
+			data.writeDouble(rv.getValue());
+		} else if (variable instanceof BinaryVariable) {
+			BinaryVariable bv = (BinaryVariable)variable;
+			byte[] bytes = new byte[(bv.getNumberOfBits() + 7) / 8];
+			
+			for (int i=0; i<bv.getNumberOfBits(); i++) {
+				if (bv.get(i)) {
+					bytes[i / 8] |= 1 << (i % 8);
+				}
+			}
+			
+			data.write(bytes);
+		} else if (variable instanceof Permutation) {
+			Permutation p = (Permutation)variable;
+
+			for (int i=0; i<p.size(); i++) {
+				data.writeInt(p.get(i));
+			}
+		} else {
+			throw new IOException("unable to serialize variable");
+		}
+	}
 
 }
@@ -0,0 +1,518 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.problem;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+
+/**
+ * Evaluate solutions using a pool of external processes.  Each process
+ * communicates using the same protocol as {@link ExternalProblem}, and
+ * therefore any program written for {@code ExternalProblem} in standard I/O
+ * mode can be used with this class.  Unlike {@code ExternalProblem}, where all
+ * threads share a single process, this class starts several copies of the
+ * program and evaluates solutions on whichever process is idle:
+ * <pre>
+ *   new PooledExternalProblem("./problem.exe", "arg1", "arg2") { ... }
+ * </pre>
+ * Calls to {@link #evaluate(Solution)} from multiple threads run concurrently
+ * on separate processes.  Calls to {@link #evaluateAll(List)} distribute the
+ * solutions across all processes in the pool, so a single-threaded algorithm
+ * also benefits from the pool.
+ * <p>
+ * If a process terminates unexpectedly or fails to respond within the
+ * evaluation timeout, the process is destroyed, a replacement is started, and
+ * the evaluation is retried.  An evaluation that fails {@value #MAX_ATTEMPTS}
+ * times is reported by throwing a {@link ProblemException}.
+ * <p>
+ * <b>It is critical that the {@link #close()} method be invoked to ensure the
+ * external processes are shutdown cleanly.</b>
+ */
+public abstract class PooledExternalProblem implements Problem {
+	
+	/**
+	 * The maximum number of times an evaluation is attempted before failing.
+	 */
+	public static final int MAX_ATTEMPTS = 3;
+	
+	/**
+	 * The command used to start each process.
+	 */
+	private final String[] command;
+	
+	/**
+	 * The number of processes in the pool.
+	 */
+	private final int poolSize;
+	
+	/**
+	 * The maximum time, in milliseconds, allowed for each evaluation, or
+	 * {@code 0} if evaluations are not timed out.
+	 */
+	private final long timeout;
+	
+	/**
+	 * All workers in the pool, including those currently evaluating a
+	 * solution.
+	 */
+	private final List<Worker> workers;
+	
+	/**
+	 * The workers that are not currently evaluating a solution.
+	 */
+	private final BlockingQueue<Worker> idleWorkers;
+	
+	/**
+	 * {@code true} if {@link #close()} has been invoked; {@code false}
+	 * otherwise.  No processes are started once closed.
+	 */
+	private volatile boolean closed;
+	
+	/**
+	 * The threads driving the processes when evaluating solutions in batch.
+	 */
+	private final ExecutorService executor;
+	
+	/**
+	 * The thread destroying processes that exceed the evaluation timeout, or
+	 * {@code null} if evaluations are not timed out.
+	 */
+	private final ScheduledExecutorService watchdog;
+	
+	/**
+	 * Constructs an external problem with one process for each available
+	 * processor and no evaluation timeout.  Each process is started using
+	 * {@code new ProcessBuilder(command).start()}.
+	 * 
+	 * @param command a specified system command
+	 * @throws IOException if an I/O error occurred starting the processes
+	 */
+	public PooledExternalProblem(String... command) throws IOException {
+		this(Runtime.getRuntime().availableProcessors(), 0, TimeUnit.MILLISECONDS, command);
+	}
+	
+	/**
+	 * Constructs an external problem with the given number of processes.  Each
+	 * process is started using {@code new ProcessBuilder(command).start()}.
+	 * 
+	 * @param poolSize the number of processes
+	 * @param timeout the maximum time allowed for each evaluation before the
+	 *        process is restarted, or {@code 0} to disable the timeout
+	 * @param unit the unit of the timeout
+	 * @param command a specified system command
+	 * @throws IOException if an I/O error occurred starting the processes
+	 */
+	public PooledExternalProblem(int poolSize, long timeout, TimeUnit unit, String... command)
+			throws IOException {
+		super();
+		
+		if (poolSize <= 0) {
+			throw new IllegalArgumentException("poolSize must be positive");
+		}
+		
+		if (timeout < 0) {
+			throw new IllegalArgumentException("timeout must be non-negative");
+		}
+		
+		this.command = command.clone();
+		this.poolSize = poolSize;
+		this.timeout = unit.toMillis(timeout);
+		
+		ThreadFactory threadFactory = runnable -> {
+			Thread thread = new Thread(runnable);
+			thread.setDaemon(true);
+			return thread;
+		};
+		
+		executor = Executors.newFixedThreadPool(poolSize, threadFactory);
+		watchdog = timeout > 0 ? Executors.newSingleThreadScheduledExecutor(threadFactory) : null;
+		workers = new ArrayList<Worker>();
+		idleWorkers = new LinkedBlockingQueue<Worker>();
+		
+		try {
+			for (int i = 0; i < poolSize; i++) {
+				Worker worker = new Worker();
+				workers.add(worker);
+				worker.start();
+				idleWorkers.add(worker);
+			}
+		} catch (IOException e) {
+			close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Returns the number of processes in the pool.
+	 * 
+	 * @return the number of processes in the pool
+	 */
+	public int getPoolSize() {
+		return poolSize;
+	}
+	
+	/**
+	 * Returns {@code true} if solutions are exchanged with the processes using
+	 * the binary protocol; {@code false} if using the text protocol.  See
+	 * {@link ExternalProblem#useBinaryProtocol()} for details.
+	 * 
+	 * @return {@code true} if solutions are exchanged with the processes using
+	 *         the binary protocol; {@code false} if using the text protocol
+	 */
+	protected boolean useBinaryProtocol() {
+		return false;
+	}
+
+	/**
+	 * Evaluates the specified solution using the next idle process, blocking
+	 * until a process is available.  If the process of the idle worker failed
+	 * to restart after an earlier evaluation, another restart is attempted.
+	 * 
+	 * @param solution the solution to evaluate
+	 * @throws ProblemException if the evaluation failed after
+	 *         {@value #MAX_ATTEMPTS} attempts or if the process could not be
+	 *         started
+	 */
+	@Override
+	public void evaluate(Solution solution) throws ProblemException {
+		Worker worker = null;
+		
+		try {
+			worker = idleWorkers.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ProblemException(this, "interrupted while waiting for a process", e);
+		}
+		
+		try {
+			for (int attempt = 1; ; attempt++) {
+				if (!worker.isRunning()) {
+					try {
+						worker.start();
+					} catch (IOException e) {
+						throw new ProblemException(this, "unable to restart process", e);
+					}
+				}
+				
+				try {
+					worker.evaluate(solution);
+					return;
+				} catch (ProblemException e) {
+					worker.close();
+					
+					if (attempt >= MAX_ATTEMPTS) {
+						throw new ProblemException(this, "evaluation failed after " + attempt + " attempts", e);
+					}
+				}
+			}
+		} finally {
+			// a worker whose process is not running restarts it when next used
+			idleWorkers.add(worker);
+		}
+	}
+	
+	/**
+	 * Evaluates the specified solutions, distributing the solutions across
+	 * all processes in the pool.
+	 * 
+	 * @param solutions the solutions to evaluate
+	 * @throws ProblemException if the evaluation of any solution failed after
+	 *         {@value #MAX_ATTEMPTS} attempts
+	 */
+	@Override
+	public void evaluateAll(List<Solution> solutions) throws ProblemException {
+		int numberOfTasks = Math.min(poolSize, solutions.size());
+		
+		if (numberOfTasks <= 1) {
+			for (Solution solution : solutions) {
+				evaluate(solution);
+			}
+			
+			return;
+		}
+		
+		AtomicInteger nextIndex = new AtomicInteger();
+		List<Future<?>> futures = new ArrayList<Future<?>>();
+		
+		for (int i = 0; i < numberOfTasks; i++) {
+			futures.add(executor.submit(() -> {
+				int index;
+				
+				while ((index = nextIndex.getAndIncrement()) < solutions.size()) {
+					evaluate(solutions.get(index));
+				}
+			}));
+		}
+		
+		ProblemException exception = null;
+		
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ProblemException(this, "interrupted while evaluating solutions", e);
+			} catch (ExecutionException e) {
+				if (exception == null) {
+					if (e.getCause() instanceof ProblemException) {
+						exception = (ProblemException)e.getCause();
+					} else {
+						exception = new ProblemException(this, e.getCause());
+					}
+				}
+			}
+		}
+		
+		if (exception != null) {
+			throw exception;
+		}
+	}
+
+	/**
+	 * Closes the connections to all processes.  The processes of any
+	 * evaluations in flight are destroyed, causing those evaluations to fail.
+	 * No further invocations of {@code evaluate} are permitted.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		executor.shutdownNow();
+		
+		if (watchdog != null) {
+			watchdog.shutdownNow();
+		}
+		
+		closeIdleWorkers();
+		
+		// the evaluating threads close these workers once their evaluations fail
+		for (Worker worker : workers) {
+			worker.destroy();
+		}
+		
+		// close any workers whose evaluations completed in the meantime
+		closeIdleWorkers();
+	}
+	
+	/**
+	 * Closes the workers that are not currently evaluating a solution.
+	 */
+	private void closeIdleWorkers() {
+		Worker worker = null;
+		
+		while ((worker = idleWorkers.poll()) != null) {
+			worker.close();
+		}
+	}
+	
+	/**
+	 * A slot in the pool running a single process at a time.  The process is
+	 * replaced by calling {@link #close()} followed by {@link #start()}.
+	 */
+	private class Worker {
+		
+		/**
+		 * The process, or {@code null} if not running.
+		 */
+		private Process process;
+		
+		/**
+		 * The external problem communicating with the process, or {@code null}
+		 * if not running.
+		 */
+		private ExternalProblem problem;
+		
+		/**
+		 * Starts a new process.
+		 * 
+		 * @throws IOException if an I/O error occurred starting the process or
+		 *         if the pool is closed
+		 */
+		public synchronized void start() throws IOException {
+			if (closed) {
+				throw new IOException("pool is closed");
+			}
+			
+			process = new ProcessBuilder(command).start();
+			problem = new WorkerProblem(process);
+		}
+		
+		/**
+		 * Returns {@code true} if this worker has a running process;
+		 * {@code false} otherwise.
+		 * 
+		 * @return {@code true} if this worker has a running process;
+		 *         {@code false} otherwise
+		 */
+		public synchronized boolean isRunning() {
+			return problem != null;
+		}
+		
+		/**
+		 * Evaluates the solution on this process, destroying the process if
+		 * the evaluation timeout is exceeded.
+		 * 
+		 * @param solution the solution to evaluate
+		 * @throws ProblemException if an error occurred communicating with the
+		 *         process, including if the process was destroyed or closed
+		 */
+		public void evaluate(Solution solution) throws ProblemException {
+			Process process = null;
+			ExternalProblem problem = null;
+			
+			synchronized (this) {
+				process = this.process;
+				problem = this.problem;
+			}
+			
+			if (problem == null) {
+				throw new ProblemException(PooledExternalProblem.this, "process is not running");
+			}
+			
+			ScheduledFuture<?> task = null;
+			
+			if (watchdog != null) {
+				task = watchdog.schedule(process::destroyForcibly, timeout, TimeUnit.MILLISECONDS);
+			}
+			
+			try {
+				problem.evaluate(solution);
+			} finally {
+				if (task != null) {
+					task.cancel(false);
+				}
+			}
+		}
+		
+		/**
+		 * Forcibly destroys the process, if running, without closing the
+		 * connection.  Unlike {@link #close()}, this does not wait for an
+		 * evaluation in flight, which instead fails.
+		 */
+		public void destroy() {
+			Process process = null;
+			
+			synchronized (this) {
+				process = this.process;
+			}
+			
+			if (process != null) {
+				process.destroyForcibly();
+			}
+		}
+		
+		/**
+		 * Closes the connection to this process, destroying the process if it
+		 * does not terminate on its own.  This waits for any evaluation in
+		 * flight on this process to complete.
+		 */
+		public void close() {
+			Process process = null;
+			ExternalProblem problem = null;
+			
+			synchronized (this) {
+				process = this.process;
+				problem = this.problem;
+				this.process = null;
+				this.problem = null;
+			}
+			
+			if (problem == null) {
+				return;
+			}
+			
+			try {
+				problem.close();
+			} catch (ProblemException e) {
+				// the process likely already terminated
+			}
+			
+			try {
+				if (!process.waitFor(1, TimeUnit.SECONDS)) {
+					process.destroyForcibly();
+				}
+			} catch (InterruptedException e) {
+				process.destroyForcibly();
+				Thread.currentThread().interrupt();
+			}
+		}
+		
+	}
+	
+	/**
+	 * The {@link ExternalProblem} communicating with a single process, using
+	 * the definition of the enclosing problem.
+	 */
+	private class WorkerProblem extends ExternalProblem {
+		
+		/**
+		 * Constructs an external problem communicating with the given process.
+		 * 
+		 * @param process the process
+		 */
+		public WorkerProblem(Process process) {
+			super(process);
+		}
+
+		@Override
+		public String getName() {
+			return PooledExternalProblem.this.getName();
+		}
+
+		@Override
+		public int getNumberOfVariables() {
+			return PooledExternalProblem.this.getNumberOfVariables();
+		}
+
+		@Override
+		public int getNumberOfObjectives() {
+			return PooledExternalProblem.this.getNumberOfObjectives();
+		}
+
+		@Override
+		public int getNumberOfConstraints() {
+			return PooledExternalProblem.this.getNumberOfConstraints();
+		}
+
+		@Override
+		public Solution newSolution() {
+			return PooledExternalProblem.this.newSolution();
+		}
+		
+		@Override
+		protected boolean useBinaryProtocol() {
+			return PooledExternalProblem.this.useBinaryProtocol();
+		}
+		
+	}
+
+}
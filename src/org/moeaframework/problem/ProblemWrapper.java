@@ -1,12 +1,15 @@
 package org.moeaframework.problem;
 
+import java.util.List;
+
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
 
 /**
  * Wraps a problem instance to modify or extend its functionality.  All methods
  * call the corresponding method on the wrapped problem, unless overridden by
- * a subclass.
+ * a subclass.  If a subclass overrides {@link #evaluate(Solution)}, batches
+ * are evaluated by calling the override for each solution.
  */
 public abstract class ProblemWrapper implements Problem {
 
@@ -15,6 +18,12 @@ public abstract class ProblemWrapper implements Problem {
 	 */
 	protected final Problem problem;
 	
+	/**
+	 * {@code true} if this class overrides {@link #evaluate(Solution)}, in
+	 * which case batches are not forwarded to the wrapped problem.
+	 */
+	private final boolean evaluateOverridden;
+	
 	/**
 	 * Constructs a new problem wrapper to modify or extend the functionality of the
 	 * given problem.
@@ -24,6 +33,25 @@ public abstract class ProblemWrapper implements Problem {
 	protected ProblemWrapper(Problem problem) {
 		super();
 		this.problem = problem;
+		
+		evaluateOverridden = isEvaluateOverridden(getClass());
+	}
+	
+	/**
+	 * Returns {@code true} if the given class overrides
+	 * {@link #evaluate(Solution)}.
+	 * 
+	 * @param type the class
+	 * @return {@code true} if the given class overrides {@code evaluate};
+	 *         {@code false} otherwise
+	 */
+	private static boolean isEvaluateOverridden(Class<?> type) {
+		try {
+			return type.getMethod("evaluate", Solution.class).getDeclaringClass() !=
+					ProblemWrapper.class;
+		} catch (NoSuchMethodException e) {
+			return true;
+		}
 	}
 	
 	@Override
@@ -50,6 +78,17 @@ public abstract class ProblemWrapper implements Problem {
 	public void evaluate(Solution solution) {
 		problem.evaluate(solution);
 	}
+	
+	@Override
+	public void evaluateAll(List<Solution> solutions) {
+		if (evaluateOverridden) {
+			for (Solution solution : solutions) {
+				evaluate(solution);
+			}
+		} else {
+			problem.evaluateAll(solutions);
+		}
+	}
 
 	@Override
 	public Solution newSolution() {
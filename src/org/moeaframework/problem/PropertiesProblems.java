@@ -17,7 +17,6 @@
  */
 package org.moeaframework.problem;
 
-import java.io.File;
 
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.PopulationIO;
@@ -91,8 +90,7 @@ public class PropertiesProblems extends ProblemProvider {
 			
 			if (fileName != null) {
 				try {
-					return new NondominatedPopulation(
-							PopulationIO.readObjectives(new File(fileName)));
+					return PopulationIO.readReferenceSet(fileName);
 				} catch (Exception e) {
 					return null;
 				}
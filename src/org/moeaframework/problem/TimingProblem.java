@@ -17,6 +17,8 @@
  */
 package org.moeaframework.problem;
 
+import java.util.List;
+
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
 
@@ -51,6 +53,15 @@ public class TimingProblem extends ProblemWrapper {
 		time += (end - start) / 1e9;
 	}
 	
+	@Override
+	public void evaluateAll(List<Solution> solutions) {
+		long start = System.nanoTime();
+		problem.evaluateAll(solutions);
+		long end = System.nanoTime();
+		
+		time += (end - start) / 1e9;
+	}
+	
 	/**
 	 * Clears any timing data collected.  
 	 */
@@ -18,12 +18,24 @@
 package org.moeaframework.util.distributed;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
+import org.moeaframework.core.SplittableStreamRandom;
 import org.moeaframework.problem.ProblemException;
 import org.moeaframework.problem.ProblemWrapper;
 
@@ -32,9 +44,23 @@ import org.moeaframework.problem.ProblemWrapper;
  * cores or compute nodes using the provided {@link ExecutorService}. The
  * {@code ExecutorService} defines the type and method of distribution. The
  * problem must be {@link Serializable} if executing on remote nodes.
+ * <p>
+ * When solutions are evaluated in batch using {@link #evaluateAll(List)}, the
+ * solutions are grouped into chunks and each chunk is submitted as a single
+ * job, reducing the overhead of scheduling many small jobs.  When the source
+ * of randomness is a {@link SplittableStreamRandom}, each solution is evaluated
+ * in its own stream of random numbers, so the results do not depend on the
+ * number of threads.
  */
 public class DistributedProblem extends ProblemWrapper {
 
+	/**
+	 * The number of chunks created for each thread when evaluating solutions
+	 * in batch.  Using several chunks per thread balances the load when
+	 * evaluation times vary.
+	 */
+	private static final int CHUNKS_PER_THREAD = 4;
+
 	/**
 	 * The {@code ExecutorService} for distributing jobs across multiple
 	 * threads, cores or compute nodes.
@@ -129,19 +155,355 @@ public class DistributedProblem extends ProblemWrapper {
 
 	}
 
+	/**
+	 * The {@link Callable} sent to the {@code ExecutorService} to evaluate a
+	 * solution in its own stream of random numbers when the source of
+	 * randomness is a {@link SplittableStreamRandom}.  Only the seed of the
+	 * stream is carried, so this job is serializable whenever the problem and
+	 * solution are serializable.
+	 */
+	private static class StreamProblemEvaluator implements Callable<Solution>, Serializable {
+
+		private static final long serialVersionUID = 6950741937386513702L;
+
+		/**
+		 * The problem.
+		 */
+		private final Problem problem;
+
+		/**
+		 * The solution being evaluated.
+		 */
+		private final Solution solution;
+		
+		/**
+		 * The seed of the stream in which the solution is evaluated.
+		 */
+		private final long streamSeed;
+
+		/**
+		 * Constructs a distributed job to evaluate the specified solution in
+		 * the given stream.
+		 * 
+		 * @param problem the problem
+		 * @param solution the solution to be evaluated
+		 * @param streamSeed the seed of the stream
+		 */
+		public StreamProblemEvaluator(Problem problem, Solution solution, long streamSeed) {
+			super();
+			this.problem = problem;
+			this.solution = solution;
+			this.streamSeed = streamSeed;
+		}
+
+		@Override
+		public Solution call() throws Exception {
+			return SplittableStreamRandom.callInStream(streamSeed, new ProblemEvaluator(problem, solution));
+		}
+
+	}
+
+	/**
+	 * The {@link Callable} sent to the {@code ExecutorService} to evaluate a
+	 * chunk of solutions in batch.  As with {@link ProblemEvaluator},
+	 * serialization may result in the returned solutions being different
+	 * instances than provided to the constructor.
+	 */
+	private static class ProblemBatchEvaluator implements Callable<List<Solution>>, Serializable {
+
+		private static final long serialVersionUID = 3419521463094164316L;
+
+		/**
+		 * The problem.
+		 */
+		private final Problem problem;
+
+		/**
+		 * The solutions being evaluated.
+		 */
+		private final ArrayList<Solution> solutions;
+
+		/**
+		 * Constructs a distributed job to evaluate the specified solutions.
+		 * 
+		 * @param problem the problem
+		 * @param solutions the solutions to be evaluated
+		 */
+		public ProblemBatchEvaluator(Problem problem, ArrayList<Solution> solutions) {
+			super();
+			this.problem = problem;
+			this.solutions = solutions;
+		}
+
+		@Override
+		public List<Solution> call() throws Exception {
+			problem.evaluateAll(solutions);
+			return solutions;
+		}
+
+	}
+	
+	/**
+	 * The {@link Callable} sent to the {@code ExecutorService} to evaluate a
+	 * chunk of solutions, each in its own stream of random numbers.  Unlike
+	 * {@link ProblemBatchEvaluator}, the solutions are evaluated individually
+	 * so the random numbers seen by each solution do not depend on how the
+	 * solutions are grouped into chunks.
+	 */
+	private static class StreamBatchEvaluator implements Callable<List<Solution>>, Serializable {
+
+		private static final long serialVersionUID = -2645370968135823180L;
+
+		/**
+		 * The tasks evaluating each solution in its own stream.
+		 */
+		private final ArrayList<StreamProblemEvaluator> tasks;
+
+		/**
+		 * Constructs a distributed job to evaluate a chunk of solutions.
+		 * 
+		 * @param tasks the tasks evaluating each solution in its own stream
+		 */
+		public StreamBatchEvaluator(ArrayList<StreamProblemEvaluator> tasks) {
+			super();
+			this.tasks = tasks;
+		}
+
+		@Override
+		public List<Solution> call() throws Exception {
+			List<Solution> solutions = new ArrayList<Solution>(tasks.size());
+			
+			for (StreamProblemEvaluator task : tasks) {
+				solutions.add(task.call());
+			}
+			
+			return solutions;
+		}
+
+	}
+	
+	/**
+	 * Adapts the {@code Future} of a chunk of solutions to the {@code Future}
+	 * of a single solution within that chunk.  Cancelling this future cancels
+	 * the entire chunk.
+	 */
+	private static class ChunkFuture implements Future<Solution> {
+		
+		/**
+		 * The {@code Future} for the chunk of solutions.
+		 */
+		private final Future<List<Solution>> future;
+		
+		/**
+		 * The index of the solution within the chunk.
+		 */
+		private final int index;
+		
+		/**
+		 * Constructs a future for a single solution within a chunk.
+		 * 
+		 * @param future the {@code Future} for the chunk of solutions
+		 * @param index the index of the solution within the chunk
+		 */
+		public ChunkFuture(Future<List<Solution>> future, int index) {
+			super();
+			this.future = future;
+			this.index = index;
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			return future.cancel(mayInterruptIfRunning);
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return future.isCancelled();
+		}
+
+		@Override
+		public boolean isDone() {
+			return future.isDone();
+		}
+
+		@Override
+		public Solution get() throws InterruptedException, ExecutionException {
+			return future.get().get(index);
+		}
+
+		@Override
+		public Solution get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException,
+		TimeoutException {
+			return future.get(timeout, unit).get(index);
+		}
+		
+	}
+
+	/**
+	 * The {@code Future} of a job run on a local thread pool, which signals
+	 * each {@link FutureSolution} evaluated by the job when it completes.
+	 * This lets callers block until any evaluation completes instead of
+	 * polling.
+	 * 
+	 * @param <T> the type of result
+	 */
+	private static class SignallingFuture<T> extends FutureTask<T> {
+		
+		/**
+		 * The solutions evaluated by the job.
+		 */
+		private final List<FutureSolution> solutions;
+		
+		/**
+		 * Constructs a future signalling the given solutions when the job
+		 * completes.
+		 * 
+		 * @param task the job
+		 * @param solutions the solutions evaluated by the job
+		 */
+		public SignallingFuture(Callable<T> task, List<FutureSolution> solutions) {
+			super(task);
+			this.solutions = solutions;
+		}
+		
+		@Override
+		protected void done() {
+			for (FutureSolution solution : solutions) {
+				solution.done();
+			}
+		}
+		
+	}
+	
+	/**
+	 * Returns {@code true} if the executor runs jobs on a local thread pool,
+	 * in which case jobs are submitted as {@link SignallingFuture}s;
+	 * {@code false} otherwise.  Other executors may serialize the job, so the
+	 * job is submitted as is.
+	 * 
+	 * @return {@code true} if the executor runs jobs on a local thread pool;
+	 *         {@code false} otherwise
+	 */
+	private boolean isLocal() {
+		return (executor instanceof ThreadPoolExecutor) || (executor instanceof ForkJoinPool);
+	}
+
 	@Override
 	public void evaluate(Solution solution) {
 		if (solution instanceof FutureSolution) {
 			FutureSolution futureSolution = (FutureSolution)solution;
 			futureSolution.setDistributedEvaluationID(nextDistributedEvaluationID());
 			
-			Future<Solution> future = executor.submit(new ProblemEvaluator(problem, futureSolution));
-			futureSolution.setFuture(future);
+			Random random = PRNG.getRandom();
+			Callable<Solution> task = null;
+			
+			if (random instanceof SplittableStreamRandom) {
+				task = new StreamProblemEvaluator(problem, futureSolution,
+						((SplittableStreamRandom)random).getStreamSeed(futureSolution.getDistributedEvaluationID()));
+			} else {
+				task = new ProblemEvaluator(problem, futureSolution);
+			}
+			
+			if (isLocal()) {
+				SignallingFuture<Solution> future = new SignallingFuture<Solution>(task,
+						Collections.singletonList(futureSolution));
+				futureSolution.setFuture(future, true);
+				executor.execute(future);
+			} else {
+				futureSolution.setFuture(executor.submit(task));
+			}
 		} else {
 			throw new ProblemException(this, "requires FutureSolution");
 		}
 	}
 
+	@Override
+	public void evaluateAll(List<Solution> solutions) {
+		for (Solution solution : solutions) {
+			if (!(solution instanceof FutureSolution)) {
+				throw new ProblemException(this, "requires FutureSolution");
+			}
+		}
+		
+		long numberOfChunks = (long)CHUNKS_PER_THREAD * getParallelism();
+		int chunkSize = (int)Math.max(1, (solutions.size() + numberOfChunks - 1) / numberOfChunks);
+		
+		if (chunkSize == 1) {
+			for (Solution solution : solutions) {
+				evaluate(solution);
+			}
+			
+			return;
+		}
+		
+		for (int start = 0; start < solutions.size(); start += chunkSize) {
+			int end = Math.min(start + chunkSize, solutions.size());
+			ArrayList<Solution> chunk = new ArrayList<Solution>(solutions.subList(start, end));
+			
+			for (Solution solution : chunk) {
+				((FutureSolution)solution).setDistributedEvaluationID(nextDistributedEvaluationID());
+			}
+			
+			Random random = PRNG.getRandom();
+			Callable<List<Solution>> task = null;
+			
+			if (random instanceof SplittableStreamRandom) {
+				// derive the streams per solution, since the chunk size depends on the parallelism
+				ArrayList<StreamProblemEvaluator> tasks = new ArrayList<StreamProblemEvaluator>(chunk.size());
+				
+				for (Solution solution : chunk) {
+					tasks.add(new StreamProblemEvaluator(problem, solution,
+							((SplittableStreamRandom)random).getStreamSeed(
+									((FutureSolution)solution).getDistributedEvaluationID())));
+				}
+				
+				task = new StreamBatchEvaluator(tasks);
+			} else {
+				task = new ProblemBatchEvaluator(problem, chunk);
+			}
+			
+			if (isLocal()) {
+				List<FutureSolution> futureSolutions = new ArrayList<FutureSolution>(chunk.size());
+				
+				for (Solution solution : chunk) {
+					futureSolutions.add((FutureSolution)solution);
+				}
+				
+				SignallingFuture<List<Solution>> future = new SignallingFuture<List<Solution>>(task,
+						futureSolutions);
+				
+				for (int i = 0; i < chunk.size(); i++) {
+					futureSolutions.get(i).setFuture(new ChunkFuture(future, i), true);
+				}
+				
+				executor.execute(future);
+			} else {
+				Future<List<Solution>> future = executor.submit(task);
+				
+				for (int i = 0; i < chunk.size(); i++) {
+					((FutureSolution)chunk.get(i)).setFuture(new ChunkFuture(future, i));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Returns the number of threads available to the executor.  If the type
+	 * of executor is not recognized, the number of available processors is
+	 * used.
+	 * 
+	 * @return the number of threads available to the executor
+	 */
+	private int getParallelism() {
+		if (executor instanceof ThreadPoolExecutor) {
+			return ((ThreadPoolExecutor)executor).getMaximumPoolSize();
+		} else if (executor instanceof ForkJoinPool) {
+			return ((ForkJoinPool)executor).getParallelism();
+		} else {
+			return Runtime.getRuntime().availableProcessors();
+		}
+	}
+
 	synchronized long nextDistributedEvaluationID() {
 		return nextDistributedEvaluationID++;
 	}
@@ -45,6 +45,18 @@ public class FutureSolution extends Solution {
 	 * {@code null} if no asynchronous evaluation is underway.
 	 */
 	private transient Future<Solution> future;
+	
+	/**
+	 * {@code true} if the {@code Future} calls {@link #done()} when the
+	 * asynchronous evaluation completes; {@code false} otherwise.
+	 */
+	private transient boolean signalsCompletion;
+	
+	/**
+	 * The action run when the asynchronous evaluation completes, or
+	 * {@code null} if no action is registered.
+	 */
+	private transient Runnable completionAction;
 
 	/**
 	 * The unique identifier for this solution.
@@ -67,7 +79,39 @@ public class FutureSolution extends Solution {
 	 * @param future the future
 	 */
 	synchronized void setFuture(Future<Solution> future) {
+		setFuture(future, false);
+	}
+	
+	/**
+	 * Sets the {@code Future} for this solution.
+	 * 
+	 * @param future the future
+	 * @param signalsCompletion {@code true} if the future calls
+	 *        {@link #done()} when the evaluation completes; {@code false}
+	 *        otherwise
+	 */
+	synchronized void setFuture(Future<Solution> future,
+			boolean signalsCompletion) {
 		this.future = future;
+		this.signalsCompletion = signalsCompletion;
+		completionAction = null;
+	}
+	
+	/**
+	 * Called when the asynchronous evaluation of this solution completes,
+	 * running the registered completion action, if any.
+	 */
+	void done() {
+		Runnable action = null;
+		
+		synchronized (this) {
+			action = completionAction;
+			completionAction = null;
+		}
+		
+		if (action != null) {
+			action.run();
+		}
 	}
 
 	/**
@@ -95,6 +139,53 @@ public class FutureSolution extends Solution {
 		return this.distributedEvaluationID;		
 	}
 	
+	/**
+	 * Returns {@code true} if the asynchronous evaluation of this solution has
+	 * completed or if no evaluation is underway; {@code false} otherwise.
+	 * Unlike the methods reading the objectives and constraints, this method
+	 * never blocks waiting for the evaluation.
+	 * 
+	 * @return {@code true} if the asynchronous evaluation of this solution has
+	 *         completed or if no evaluation is underway; {@code false}
+	 *         otherwise
+	 */
+	public synchronized boolean isDone() {
+		return (future == null) || future.isDone();
+	}
+	
+	/**
+	 * Runs the given action once the asynchronous evaluation of this solution
+	 * completes.  The action runs immediately on the calling thread if the
+	 * evaluation has already completed or no evaluation is underway;
+	 * otherwise, it runs on the thread completing the evaluation.  Only one
+	 * action can be registered for each evaluation.
+	 * <p>
+	 * Completion can only be signalled if {@link DistributedProblem} runs the
+	 * evaluation on a local thread pool.  Otherwise, this method returns
+	 * {@code false} without registering the action, and callers must instead
+	 * wait by reading the objectives.
+	 * 
+	 * @param action the action run when the evaluation completes
+	 * @return {@code true} if the action was run or will be run when the
+	 *         evaluation completes; {@code false} if completion can not be
+	 *         signalled
+	 */
+	public boolean whenDone(Runnable action) {
+		synchronized (this) {
+			if (!isDone()) {
+				if (!signalsCompletion) {
+					return false;
+				}
+				
+				completionAction = action;
+				return true;
+			}
+		}
+		
+		action.run();
+		return true;
+	}
+	
 	/**
 	 * Updates this solution with the result of the {@code Future}, or blocks
 	 * until the result is available. Since the result is a serialized copy of
@@ -171,5 +262,23 @@ public class FutureSolution extends Solution {
 		update();
 		return super.getAttributes();
 	}
+	
+	@Override
+	public int getRank() {
+		update();
+		return super.getRank();
+	}
+	
+	@Override
+	public double getCrowdingDistance() {
+		update();
+		return super.getCrowdingDistance();
+	}
+	
+	@Override
+	public double getFitness() {
+		update();
+		return super.getFitness();
+	}
 
 }
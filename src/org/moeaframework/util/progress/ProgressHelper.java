@@ -17,6 +17,9 @@
  */
 package org.moeaframework.util.progress;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.apache.commons.lang3.event.EventListenerSupport;
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
 import org.moeaframework.Executor;
@@ -101,6 +104,12 @@ public class ProgressHelper {
 	 */
 	private int lastNFE;
 	
+	/**
+	 * The NFE of each seed currently running, used when seeds run
+	 * concurrently.
+	 */
+	private final Map<Integer, Integer> runningNFE;
+	
 	/**
 	 * Constructs a new progress helper for generating progress reports for
 	 * the given executor.
@@ -112,6 +121,7 @@ public class ProgressHelper {
 		this.executor = executor;
 		
 		statistics = new DescriptiveStatistics(25);
+		runningNFE = new HashMap<Integer, Integer>();
 		listeners = EventListenerSupport.create(ProgressListener.class);
 	}
 	
@@ -218,7 +228,7 @@ public class ProgressHelper {
 	 * 
 	 * @param currentNFE the current number of objective function evaluations
 	 */
-	public void setCurrentNFE(int currentNFE) {
+	public synchronized void setCurrentNFE(int currentNFE) {
 		this.currentNFE = currentNFE;
 		
 		updateStatistics();
@@ -236,7 +246,7 @@ public class ProgressHelper {
 	 * @param currentSeed the current seed being processed, starting at
 	 *        {@code 1}
 	 */
-	public void setCurrentSeed(int currentSeed) {
+	public synchronized void setCurrentSeed(int currentSeed) {
 		if (this.currentSeed != currentSeed) {
 			this.currentSeed = currentSeed;
 	
@@ -251,7 +261,7 @@ public class ProgressHelper {
 	 * 
 	 * @param algorithm - the algorithm that is going to be running
 	 */
-	public void setCurrentAlgorithm(Algorithm algorithm) {
+	public synchronized void setCurrentAlgorithm(Algorithm algorithm) {
 		this.currentAlgorithm = algorithm;
 		
 	}
@@ -262,7 +272,8 @@ public class ProgressHelper {
 	 * generate a progress report.  This method should be invoked after every
 	 * seed completes in order to notify listeners that the seed completed.
 	 */
-	public void nextSeed() {
+	public synchronized void nextSeed() {
+		runningNFE.clear();
 		currentSeed++;
 		currentNFE = 0;
 		
@@ -270,6 +281,58 @@ public class ProgressHelper {
 		sendProgressEvent(true);
 	}
 	
+	/**
+	 * Sets the current number of objective function evaluations of the given
+	 * seed.  When seeds run concurrently, the reported NFE is the total across
+	 * all running seeds, so the percentage complete and remaining time
+	 * account for the progress of each seed.  This method will generate a
+	 * progress report.
+	 * 
+	 * @param seed the seed, starting at {@code 1}
+	 * @param algorithm the algorithm running the seed
+	 * @param currentNFE the current number of objective function evaluations
+	 *        of the seed
+	 */
+	public synchronized void setCurrentNFE(int seed, Algorithm algorithm,
+			int currentNFE) {
+		runningNFE.put(seed, currentNFE);
+		this.currentAlgorithm = algorithm;
+		setCurrentNFE(getRunningNFE());
+	}
+	
+	/**
+	 * Notifies listeners that the given seed completed.  As with
+	 * {@link #nextSeed()}, the reported NFE is 0, but the progress of other
+	 * seeds running concurrently is retained and included in their next
+	 * report.  This method will generate a progress report.
+	 * 
+	 * @param seed the seed that completed, starting at {@code 1}
+	 */
+	public synchronized void nextSeed(int seed) {
+		runningNFE.remove(seed);
+		currentSeed++;
+		currentNFE = 0;
+		currentAlgorithm = null;
+		
+		updateStatistics();
+		sendProgressEvent(true);
+	}
+	
+	/**
+	 * Returns the total NFE across all running seeds.
+	 * 
+	 * @return the total NFE across all running seeds
+	 */
+	private int getRunningNFE() {
+		int total = 0;
+		
+		for (int nfe : runningNFE.values()) {
+			total += nfe;
+		}
+		
+		return total;
+	}
+	
 	/**
 	 * Prepares this progress helper for use.  This method must be invoked
 	 * prior to calling all other methods.  The internal state of the progress
@@ -281,12 +344,13 @@ public class ProgressHelper {
 	 *        seed
 	 * @param maxTime the maximum time
 	 */
-	public void start(int totalSeeds, int maxNFE, long maxTime) {
+	public synchronized void start(int totalSeeds, int maxNFE, long maxTime) {
 		this.totalSeeds = totalSeeds;
 		this.maxNFE = maxNFE;
 		this.maxTime = maxTime;
 		
 		// reset all internal parameters
+		runningNFE.clear();
 		lastSeed = 1;
 		lastNFE = 0;
 		currentSeed = 1;
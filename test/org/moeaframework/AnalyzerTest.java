@@ -21,6 +21,10 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -125,6 +129,86 @@ public class AnalyzerTest {
 				TestUtils.loadFile(actualFile));
 	}
 	
+	@Test
+	public void testDistributed() throws IOException {
+		Map<String, List<NondominatedPopulation>> data = generateData();
+		Analyzer analyzer = createAnalyzer();
+		copyData(data, analyzer);
+		
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		analyzer.printAnalysis(new PrintStream(expected));
+		
+		Analyzer distributedAnalyzer = createAnalyzer().distributeOnAllCores();
+		copyData(data, distributedAnalyzer);
+		
+		ByteArrayOutputStream actual = new ByteArrayOutputStream();
+		distributedAnalyzer.printAnalysis(new PrintStream(actual));
+		
+		Assert.assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+	}
+	
+	@Test
+	public void testIncremental() throws IOException {
+		Map<String, List<NondominatedPopulation>> data = generateData();
+		Analyzer incrementalAnalyzer = createAnalyzer().distributeOn(2);
+		
+		NondominatedPopulation extra = new Executor()
+				.withProblem("DTLZ2_2")
+				.withAlgorithm("NSGAII")
+				.withMaxEvaluations(1000)
+				.run();
+		
+		//analyze, then add another seed and modify an existing one
+		copyData(data, incrementalAnalyzer);
+		incrementalAnalyzer.getAnalysis();
+		incrementalAnalyzer.add("NSGAII", extra);
+		incrementalAnalyzer.getAnalysis();
+		data.get("eMOEA").get(0).remove(0);
+		
+		ByteArrayOutputStream actual = new ByteArrayOutputStream();
+		incrementalAnalyzer.printAnalysis(new PrintStream(actual));
+		
+		Analyzer freshAnalyzer = createAnalyzer();
+		copyData(data, freshAnalyzer);
+		freshAnalyzer.add("NSGAII", extra);
+		
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		freshAnalyzer.printAnalysis(new PrintStream(expected));
+		
+		Assert.assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+	}
+	
+	private void copyData(Map<String, List<NondominatedPopulation>> data,
+			Analyzer analyzer) {
+		for (Map.Entry<String, List<NondominatedPopulation>> entry : data.entrySet()) {
+			analyzer.addAll(entry.getKey(), entry.getValue());
+		}
+	}
+	
+	private Analyzer createAnalyzer() {
+		return new Analyzer()
+				.withProblem("DTLZ2_2")
+				.withEpsilon(new double[] { 0.01 })
+				.includeAllMetrics()
+				.showAll();
+	}
+	
+	private Map<String, List<NondominatedPopulation>> generateData() {
+		Map<String, List<NondominatedPopulation>> data =
+				new LinkedHashMap<String, List<NondominatedPopulation>>();
+		
+		for (String algorithm : new String[] { "eMOEA", "NSGAII" }) {
+			data.put(algorithm, new ArrayList<NondominatedPopulation>(new Executor()
+					.withProblem("DTLZ2_2")
+					.withAlgorithm(algorithm)
+					.withEpsilon(new double[] { 0.01 })
+					.withMaxEvaluations(1000)
+					.runSeeds(10)));
+		}
+		
+		return data;
+	}
+	
 	private Analyzer generate() {
 		String[] algorithms = { "eMOEA", "NSGAII" };
 		
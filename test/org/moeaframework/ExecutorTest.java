@@ -17,13 +17,23 @@
  */
 package org.moeaframework;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.SplittableStreamRandom;
 import org.moeaframework.core.spi.AlgorithmFactoryTestWrapper;
 import org.moeaframework.core.spi.ProblemFactoryTestWrapper;
+import org.moeaframework.problem.DTLZ.DTLZ2;
 
 /**
  * Tests the {@link Executor} class.
@@ -64,10 +74,29 @@ public class ExecutorTest {
 		Assert.assertEquals(1, problemFactory.getCloseCount());
 	}
 	
+	@Test
+	public void testRunAsynchronous() throws IOException {
+		new Executor()
+				.usingAlgorithmFactory(algorithmFactory)
+				.usingProblemFactory(problemFactory)
+				.withProblem("DTLZ2_2")
+				.withAlgorithm("eMOEA")
+				.withProperty("maxEvaluations", 1000)
+				.distributeOnAllCores()
+				.withAsynchronousEvaluation()
+				.checkpointEveryIteration()
+				.withCheckpointFile(TestUtils.createTempFile())
+				.run();
+		
+		Assert.assertEquals(1, algorithmFactory.getTerminateCount());
+		Assert.assertEquals(1, problemFactory.getCloseCount());
+	}
+	
 	@Test
 	public void testRunSeeds() throws IOException {
-		//the checkpoint should be ignored, possibly emitting a warning
-		Assert.assertEquals(10, new Executor()
+		//each seed writes to its own checkpoint file
+		File checkpointFile = TestUtils.createTempFile();
+		Executor executor = new Executor()
 				.usingAlgorithmFactory(algorithmFactory)
 				.usingProblemFactory(problemFactory)
 				.withProblem("DTLZ2_2")
@@ -76,11 +105,183 @@ public class ExecutorTest {
 				.withProperty("maxEvaluations", 1000)
 				.distributeOnAllCores()
 				.checkpointEveryIteration()
-				.withCheckpointFile(TestUtils.createTempFile())
-				.runSeeds(10).size());
+				.withCheckpointFile(checkpointFile);
 		
+		Assert.assertEquals(10, executor.runSeeds(10).size());
 		Assert.assertEquals(10, algorithmFactory.getTerminateCount());
 		Assert.assertEquals(10, problemFactory.getCloseCount());
+		Assert.assertTrue(new File(checkpointFile.getPath() + ".10").exists());
+		
+		executor.resetCheckpointFile();
+		Assert.assertFalse(new File(checkpointFile.getPath() + ".10").exists());
+	}
+	
+	@Test
+	public void testRunSeedsConcurrently() throws IOException {
+		File checkpointFile = TestUtils.createTempFile();
+		Executor executor = new Executor()
+				.usingAlgorithmFactory(algorithmFactory)
+				.usingProblemFactory(problemFactory)
+				.withProblem("DTLZ2_2")
+				.withAlgorithm("NSGAII")
+				.withProperty("populationSize", 100)
+				.withProperty("maxEvaluations", 1000)
+				.distributeSeedsOn(4)
+				.checkpointEveryIteration()
+				.withCheckpointFile(checkpointFile);
+		
+		Assert.assertEquals(10, executor.runSeeds(10).size());
+		Assert.assertEquals(10, algorithmFactory.getTerminateCount());
+		Assert.assertEquals(10, problemFactory.getCloseCount());
+		
+		for (int i = 1; i <= 10; i++) {
+			Assert.assertTrue(new File(checkpointFile.getPath() + "." + i).exists());
+		}
+		
+		executor.resetCheckpointFile();
+	}
+	
+	@Test
+	public void testRunSeedsConcurrentlyIsReproducible() {
+		Executor executor = new Executor()
+				.withProblem("DTLZ2_2")
+				.withAlgorithm("NSGAII")
+				.withMaxEvaluations(1000);
+		
+		PRNG.setSeed(12345);
+		List<NondominatedPopulation> expected = executor.distributeSeedsOn(2).runSeeds(5);
+		
+		PRNG.setSeed(12345);
+		List<NondominatedPopulation> actual = executor.distributeSeedsOn(5).runSeeds(5);
+		
+		Assert.assertEquals(5, actual.size());
+		
+		for (int i = 0; i < expected.size(); i++) {
+			TestUtils.assertEquals(expected.get(i), actual.get(i));
+		}
+	}
+	
+	@Test
+	public void testRunSeedsConcurrentlyMatchesSequential() {
+		Random originalRandom = PRNG.getRandom();
+		
+		try {
+			PRNG.setRandom(new SplittableStreamRandom());
+			
+			Executor executor = new Executor()
+					.withProblem("DTLZ2_2")
+					.withAlgorithm("NSGAII")
+					.withMaxEvaluations(1000);
+			
+			PRNG.setSeed(12345);
+			List<NondominatedPopulation> expected = executor.runSeeds(3);
+			
+			PRNG.setSeed(12345);
+			List<NondominatedPopulation> actual = executor.distributeSeedsOn(3).runSeeds(3);
+			
+			for (int i = 0; i < expected.size(); i++) {
+				TestUtils.assertEquals(expected.get(i), actual.get(i));
+			}
+		} finally {
+			PRNG.setRandom(originalRandom);
+		}
+	}
+	
+	@Test
+	public void testRunSeedsInStreamsIndependentOfThreads() {
+		Executor executor = new Executor()
+				.withProblem("DTLZ2_2")
+				.withAlgorithm("NSGAII")
+				.withMaxEvaluations(1000);
+		
+		PRNG.setSeed(12345);
+		List<NondominatedPopulation> expected = executor.distributeSeedsOn(1).runSeeds(3);
+		
+		PRNG.setSeed(12345);
+		List<NondominatedPopulation> actual = executor.distributeSeedsOn(3).runSeeds(3);
+		
+		Assert.assertEquals(3, actual.size());
+		
+		for (int i = 0; i < expected.size(); i++) {
+			TestUtils.assertEquals(expected.get(i), actual.get(i));
+		}
+	}
+	
+	@Test
+	public void testRunSeedsConcurrentlyKeepsGlobalRandom() throws InterruptedException {
+		final Random originalRandom = PRNG.getRandom();
+		final AtomicBoolean running = new AtomicBoolean(true);
+		final AtomicBoolean replaced = new AtomicBoolean();
+		
+		Thread observer = new Thread(() -> {
+			while (running.get()) {
+				if (PRNG.getRandom() != originalRandom) {
+					replaced.set(true);
+				}
+			}
+		});
+		
+		observer.start();
+		
+		try {
+			new Executor()
+					.withProblem("DTLZ2_2")
+					.withAlgorithm("NSGAII")
+					.withMaxEvaluations(1000)
+					.distributeSeedsOn(3)
+					.runSeeds(3);
+		} finally {
+			running.set(false);
+			observer.join();
+		}
+		
+		Assert.assertFalse(replaced.get());
+		Assert.assertSame(originalRandom, PRNG.getRandom());
+	}
+	
+	@Test
+	public void testRunSeedsConcurrentlyUsesRunSingleSeed() {
+		final AtomicInteger count = new AtomicInteger();
+		
+		Executor executor = new Executor() {
+			
+			@Override
+			protected NondominatedPopulation runSingleSeed(int seed, int numberOfSeeds) {
+				count.incrementAndGet();
+				return super.runSingleSeed(seed, numberOfSeeds);
+			}
+			
+		};
+		
+		executor.withProblem("DTLZ2_2")
+				.withAlgorithm("NSGAII")
+				.withMaxEvaluations(1000)
+				.distributeSeedsOn(3)
+				.runSeeds(3);
+		
+		Assert.assertEquals(3, count.get());
+	}
+	
+	@Test
+	public void testRunSeedsConcurrentlyDoesNotCloseProblemInstance() {
+		final AtomicInteger closeCount = new AtomicInteger();
+		
+		List<NondominatedPopulation> results = new Executor()
+				.withProblem(new DTLZ2(2) {
+					
+					@Override
+					public void close() {
+						closeCount.incrementAndGet();
+					}
+					
+				})
+				.withAlgorithm("NSGAII")
+				.withMaxEvaluations(1000)
+				.distributeSeedsOn(3)
+				.runSeeds(3);
+		
+		Assert.assertEquals(3, results.size());
+		Assert.assertEquals(0, closeCount.get());
 	}
 	
 	@Test
@@ -124,6 +325,27 @@ public class ExecutorTest {
 		Assert.assertEquals(1.0, listener.getLastEvent().getPercentComplete(), 0.0);
 		Assert.assertEquals(0.0, listener.getLastEvent().getRemainingTime(), 0.0);
 	}
+	
+	@Test
+	public void testProgressListenerConcurrentSeeds() {
+		TestProgressListener listener = new TestProgressListener();
+		
+		new Executor()
+			.withProblem("DTLZ2_2")
+			.withAlgorithm("NSGAII")
+			.withProgressListener(listener)
+			.withMaxEvaluations(1000)
+			.distributeSeedsOn(3)
+			.runSeeds(5);
+		
+		Assert.assertEquals(5, listener.getSeedCount());
+		Assert.assertEquals(55, listener.getCallCount());
+		Assert.assertEquals(0, listener.getLastEvent().getCurrentNFE());
+		Assert.assertEquals(5, listener.getLastEvent().getTotalSeeds());
+		Assert.assertEquals(6, listener.getLastEvent().getCurrentSeed());
+		Assert.assertEquals(1.0, listener.getLastEvent().getPercentComplete(), 0.0);
+		Assert.assertEquals(0.0, listener.getLastEvent().getRemainingTime(), 0.0);
+	}
 
 	@Test(expected = IllegalArgumentException.class)
 	public void testNoProblem() {
@@ -19,7 +19,9 @@ package org.moeaframework.algorithm;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -264,6 +266,55 @@ public class AbstractAlgorithmTest {
 
 		Assert.assertEquals(202, algorithm.getNumberOfEvaluations());
 	}
+	
+	/**
+	 * Tests if {@code evaluateAll} passes the solutions to the
+	 * {@code evaluateBatch} hook in a single batch.
+	 */
+	@Test
+	public void testEvaluateBatch() {
+		final List<Integer> batchSizes = new ArrayList<Integer>();
+		
+		AbstractAlgorithm algorithm = new TestAbstractAlgorithm() {
+			
+			@Override
+			protected void evaluateBatch(List<Solution> solutions) {
+				batchSizes.add(solutions.size());
+				super.evaluateBatch(solutions);
+			}
+			
+		};
+		
+		algorithm.evaluateAll(new Solution[100]);
+		algorithm.evaluate(null);
+		
+		Assert.assertEquals(Arrays.asList(100), batchSizes);
+		Assert.assertEquals(101, algorithm.getNumberOfEvaluations());
+	}
+	
+	/**
+	 * Tests if {@code evaluateAll} calls {@code evaluate} for each solution
+	 * when a subclass overrides {@code evaluate}.
+	 */
+	@Test
+	public void testEvaluateAllUsesOverriddenEvaluate() {
+		final List<Solution> evaluated = new ArrayList<Solution>();
+		
+		AbstractAlgorithm algorithm = new TestAbstractAlgorithm() {
+			
+			@Override
+			public void evaluate(Solution solution) {
+				evaluated.add(solution);
+				super.evaluate(solution);
+			}
+			
+		};
+		
+		algorithm.evaluateAll(new Solution[100]);
+		
+		Assert.assertEquals(100, evaluated.size());
+		Assert.assertEquals(100, algorithm.getNumberOfEvaluations());
+	}
 
 	/**
 	 * While this is technically an error as the {@code AbstractAlgorithm} is
@@ -0,0 +1,188 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.algorithm;
+
+import java.io.NotSerializableException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.TestUtils;
+import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.spi.AlgorithmFactory;
+import org.moeaframework.core.spi.ProblemFactory;
+import org.moeaframework.util.TypedProperties;
+import org.moeaframework.util.distributed.DistributedProblem;
+
+/**
+ * Tests the {@link AsynchronousSteadyStateAlgorithm} class.
+ */
+public class AsynchronousSteadyStateAlgorithmTest {
+	
+	private static final String[] ALGORITHMS = { "MOEAD", "SMSEMOA",
+			"eMOEA", "PAES" };
+	
+	/**
+	 * Tests that evaluating one offspring at a time produces the same result
+	 * as running the algorithm serially.
+	 */
+	@Test
+	public void testSerial() {
+		Problem problem = ProblemFactory.getInstance().getProblem("DTLZ2_2");
+		
+		for (String algorithmName : ALGORITHMS) {
+			PRNG.setSeed(1);
+			Algorithm expected = AlgorithmFactory.getInstance().getAlgorithm(
+					algorithmName, new TypedProperties(), problem);
+			
+			while (expected.getNumberOfEvaluations() < 1000) {
+				expected.step();
+			}
+			
+			PRNG.setSeed(1);
+			Algorithm actual = new AsynchronousSteadyStateAlgorithm(
+					(SteadyStateAlgorithm)AlgorithmFactory.getInstance()
+					.getAlgorithm(algorithmName, new TypedProperties(), problem),
+					1);
+			
+			while (actual.getNumberOfEvaluations() <
+					expected.getNumberOfEvaluations()) {
+				actual.step();
+			}
+			
+			Assert.assertEquals(expected.getNumberOfEvaluations(),
+					actual.getNumberOfEvaluations());
+			TestUtils.assertEquals(expected.getResult(), actual.getResult());
+		}
+	}
+	
+	/**
+	 * Tests that offspring are evaluated concurrently and that all pending
+	 * offspring are integrated when terminated.
+	 */
+	@Test
+	public void testDistributed() {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		
+		try (Problem problem = new DistributedProblem(ProblemFactory
+				.getInstance().getProblem("DTLZ2_2"), executor, true)) {
+			for (String algorithmName : ALGORITHMS) {
+				AsynchronousSteadyStateAlgorithm algorithm =
+						new AsynchronousSteadyStateAlgorithm(
+								(SteadyStateAlgorithm)AlgorithmFactory
+								.getInstance().getAlgorithm(algorithmName,
+										new TypedProperties(), problem), 4);
+				
+				while (algorithm.getNumberOfEvaluations() < 1000) {
+					algorithm.step();
+					Assert.assertTrue(
+							algorithm.getNumberOfPendingEvaluations() < 4);
+				}
+				
+				algorithm.terminate();
+				
+				Assert.assertEquals(0,
+						algorithm.getNumberOfPendingEvaluations());
+				
+				NondominatedPopulation result = algorithm.getResult();
+				Assert.assertFalse(result.isEmpty());
+				
+				for (Solution solution : result) {
+					Assert.assertFalse(Double.isNaN(solution.getObjective(0)));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Tests that no evaluations are submitted beyond the maximum number of
+	 * evaluations.
+	 */
+	@Test
+	public void testMaxEvaluations() {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		
+		try (Problem problem = new DistributedProblem(ProblemFactory
+				.getInstance().getProblem("DTLZ2_2"), executor, true)) {
+			for (String algorithmName : ALGORITHMS) {
+				AsynchronousSteadyStateAlgorithm algorithm =
+						new AsynchronousSteadyStateAlgorithm(
+								(SteadyStateAlgorithm)AlgorithmFactory
+								.getInstance().getAlgorithm(algorithmName,
+										new TypedProperties(), problem), 4,
+								1000);
+				
+				while (algorithm.getNumberOfEvaluations() < 1000) {
+					algorithm.step();
+				}
+				
+				algorithm.step();
+				algorithm.terminate();
+				
+				Assert.assertEquals(1000, algorithm.getNumberOfEvaluations());
+			}
+		}
+	}
+	
+	/**
+	 * Tests that saving the state neither waits for nor integrates the
+	 * evaluations in flight.
+	 */
+	@Test
+	public void testGetStateDoesNotIntegrate() throws NotSerializableException {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		
+		try (Problem problem = new DistributedProblem(ProblemFactory
+				.getInstance().getProblem("DTLZ2_2"), executor, true)) {
+			for (String algorithmName : ALGORITHMS) {
+				AsynchronousSteadyStateAlgorithm algorithm =
+						new AsynchronousSteadyStateAlgorithm(
+								(SteadyStateAlgorithm)AlgorithmFactory
+								.getInstance().getAlgorithm(algorithmName,
+										new TypedProperties(), problem), 4);
+				
+				while (algorithm.getNumberOfEvaluations() < 500) {
+					algorithm.step();
+				}
+				
+				int pending = algorithm.getNumberOfPendingEvaluations();
+				
+				Assert.assertNotNull(algorithm.getState());
+				Assert.assertEquals(pending,
+						algorithm.getNumberOfPendingEvaluations());
+				
+				algorithm.terminate();
+			}
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidMaxPendingEvaluations() {
+		Problem problem = ProblemFactory.getInstance().getProblem("DTLZ2_2");
+		
+		new AsynchronousSteadyStateAlgorithm((SteadyStateAlgorithm)
+				AlgorithmFactory.getInstance().getAlgorithm("eMOEA",
+						new TypedProperties(), problem), 0);
+	}
+
+}
@@ -18,14 +18,23 @@
 package org.moeaframework.algorithm;
 
 import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.moeaframework.Retryable;
 import org.moeaframework.CIRunner;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.indicator.GenerationalDistance;
+import org.moeaframework.core.operator.RandomInitialization;
 import org.moeaframework.core.spi.AlgorithmFactory;
+import org.moeaframework.core.spi.OperatorFactory;
+import org.moeaframework.core.spi.ProblemFactory;
 import org.moeaframework.problem.MockRealProblem;
 import org.moeaframework.util.TypedProperties;
 
@@ -86,4 +95,83 @@ public class MOEADTest extends AlgorithmTest {
 		Assert.assertFalse(moead.useDE);
 	}
 
+	@Test
+	public void testParallel() {
+		Problem problem = ProblemFactory.getInstance().getProblem("DTLZ2_2");
+		TypedProperties properties = new TypedProperties();
+		properties.setInt("numberOfThreads", 4);
+		
+		MOEAD moead = (MOEAD)AlgorithmFactory.getInstance().getAlgorithm(
+				"MOEA/D", properties, problem);
+		
+		Assert.assertEquals(4, moead.getNumberOfThreads());
+		
+		try {
+			moead.step();
+			
+			// each generation searches every subproblem once
+			int evaluations = moead.getNumberOfEvaluations();
+			moead.step();
+			Assert.assertEquals(2 * evaluations, moead.getNumberOfEvaluations());
+			
+			while (moead.getNumberOfEvaluations() < 20000) {
+				moead.step();
+			}
+			
+			NondominatedPopulation result = moead.getResult();
+			GenerationalDistance gd = new GenerationalDistance(problem,
+					ProblemFactory.getInstance().getReferenceSet("DTLZ2_2"));
+			
+			Assert.assertTrue(result.size() > 50);
+			Assert.assertTrue(gd.evaluate(result) < 0.01);
+		} finally {
+			moead.terminate();
+		}
+	}
+	
+	@Test
+	public void testParallelUsesEvaluateAndKeepsRandom() {
+		Problem problem = ProblemFactory.getInstance().getProblem("DTLZ2_2");
+		AtomicInteger count = new AtomicInteger();
+		
+		MOEAD moead = new MOEAD(problem, 20,
+				new RandomInitialization(problem, 100),
+				OperatorFactory.getInstance().getVariation("de+pm", new TypedProperties(), problem),
+				0.9, 2) {
+			
+			@Override
+			public void evaluate(Solution solution) {
+				count.incrementAndGet();
+				super.evaluate(solution);
+			}
+			
+		};
+		
+		moead.setNumberOfThreads(4);
+		
+		Random random = PRNG.getRandom();
+		
+		try {
+			moead.step();
+			count.set(0);
+			
+			int evaluations = moead.getNumberOfEvaluations();
+			moead.step();
+			
+			Assert.assertEquals(moead.getNumberOfEvaluations() - evaluations, count.get());
+			Assert.assertSame(random, PRNG.getRandom());
+		} finally {
+			moead.terminate();
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidNumberOfThreads() {
+		Problem problem = new MockRealProblem();
+		MOEAD moead = (MOEAD)AlgorithmFactory.getInstance().getAlgorithm(
+				"MOEA/D", new TypedProperties(), problem);
+		
+		moead.setNumberOfThreads(0);
+	}
+
 }
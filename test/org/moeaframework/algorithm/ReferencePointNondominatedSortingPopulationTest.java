@@ -27,6 +27,7 @@ import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Settings;
 import org.moeaframework.core.Solution;
 import org.moeaframework.util.weights.NormalBoundaryDivisions;
+import org.moeaframework.util.weights.NormalBoundaryIntersectionGenerator;
 
 /**
  * Tests the {@link ReferencePointNondominatedSortingPopulation} class.
@@ -241,4 +242,113 @@ public class ReferencePointNondominatedSortingPopulationTest {
 		Assert.assertTrue(population.contains(s3));
 	}
 
+	/**
+	 * Tests if the reference point index, with and without pruning, associates
+	 * points with the same reference point as comparing the point to every
+	 * reference point, including points that are equidistant to several
+	 * reference points.
+	 */
+	@Test
+	public void testReferencePointIndex() {
+		int numberOfObjectives = 8;
+		List<double[]> weights = new NormalBoundaryIntersectionGenerator(
+				numberOfObjectives, new NormalBoundaryDivisions(3, 2)).generate();
+		
+		ReferencePointNondominatedSortingPopulation.ReferencePointIndex index =
+				new ReferencePointNondominatedSortingPopulation.ReferencePointIndex(
+						weights, numberOfObjectives, false);
+		ReferencePointNondominatedSortingPopulation.ReferencePointIndex prunedIndex =
+				new ReferencePointNondominatedSortingPopulation.ReferencePointIndex(
+						weights, numberOfObjectives, true);
+		
+		Assert.assertFalse(index.isPruning());
+		Assert.assertTrue(prunedIndex.isPruning());
+		
+		double[][] points = new double[1000][numberOfObjectives];
+		
+		for (int i = 0; i < points.length; i++) {
+			for (int j = 0; j < numberOfObjectives; j++) {
+				if (i % 4 == 0) {
+					// grid points produce ties between reference points
+					points[i][j] = PRNG.nextInt(3) / 2.0;
+				} else if (i % 4 == 1) {
+					points[i][j] = 2.0 * weights.get(i % weights.size())[j];
+				} else {
+					points[i][j] = PRNG.nextDouble();
+				}
+			}
+		}
+		
+		int[] indices = new int[points.length];
+		int[] prunedIndices = new int[points.length];
+		double[] distances = new double[points.length];
+		double[] prunedDistances = new double[points.length];
+		
+		index.associate(points, indices, distances);
+		prunedIndex.associate(points, prunedIndices, prunedDistances);
+		
+		for (int i = 0; i < points.length; i++) {
+			double minDistance = Double.POSITIVE_INFINITY;
+			int minIndex = -1;
+			
+			for (int j = 0; j < weights.size(); j++) {
+				double distance = ReferencePointNondominatedSortingPopulation.pointLineDistance(
+						weights.get(j), points[i]);
+				
+				Assert.assertEquals(distance, index.distance(j, points[i]), 0.0);
+				
+				if (distance < minDistance) {
+					minDistance = distance;
+					minIndex = j;
+				}
+			}
+			
+			Assert.assertEquals(minIndex, indices[i]);
+			Assert.assertEquals(minIndex, prunedIndices[i]);
+			Assert.assertEquals(minDistance, distances[i], 0.0);
+			Assert.assertEquals(minDistance, prunedDistances[i], 0.0);
+		}
+	}
+	
+	/**
+	 * Tests if truncation produces the same population with and without
+	 * pruning reference points.
+	 */
+	@Test
+	public void testTruncateWithPruning() {
+		NormalBoundaryDivisions divisions = new NormalBoundaryDivisions(3, 2);
+		List<Solution> solutions = new ArrayList<Solution>();
+		
+		for (int i = 0; i < 400; i++) {
+			double[] objectives = new double[6];
+			
+			for (int j = 0; j < objectives.length; j++) {
+				objectives[j] = PRNG.nextDouble();
+			}
+			
+			solutions.add(TestUtils.newSolution(objectives));
+		}
+		
+		ReferencePointNondominatedSortingPopulation population =
+				new ReferencePointNondominatedSortingPopulation(6, divisions, solutions);
+		ReferencePointNondominatedSortingPopulation prunedPopulation =
+				new ReferencePointNondominatedSortingPopulation(6, divisions, solutions);
+		
+		prunedPopulation.setReferencePointPruning(true);
+		Assert.assertTrue(prunedPopulation.isReferencePointPruning());
+		
+		PRNG.setSeed(1234);
+		population.truncate(100);
+		
+		PRNG.setSeed(1234);
+		prunedPopulation.truncate(100);
+		
+		Assert.assertEquals(100, population.size());
+		Assert.assertEquals(100, prunedPopulation.size());
+		
+		for (int i = 0; i < population.size(); i++) {
+			Assert.assertSame(population.get(i), prunedPopulation.get(i));
+		}
+	}
+
 }
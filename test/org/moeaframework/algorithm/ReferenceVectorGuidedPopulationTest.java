@@ -17,11 +17,13 @@
  */
 package org.moeaframework.algorithm;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Test;
 import org.moeaframework.TestUtils;
+import org.moeaframework.algorithm.ReferenceVectorGuidedPopulation.ReferenceVectorGuidedPopulationState;
 import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Settings;
 import org.moeaframework.core.Solution;
@@ -189,4 +191,92 @@ public class ReferenceVectorGuidedPopulationTest {
 		Assert.assertTrue(population.weights.get(1)[0] <= population.weights.get(1)[1]);
 	}
 
+	/**
+	 * Tests if the minimum angles between reference vectors, both initially
+	 * and after adapting, match the angles computed between every pair of
+	 * reference vectors.
+	 */
+	@Test
+	public void testMinAngles() {
+		ReferenceVectorGuidedPopulation population = new ReferenceVectorGuidedPopulation(
+				10, new NormalBoundaryDivisions(3, 2), 2.0);
+		
+		assertMinAngles(population);
+		
+		for (int i = 0; i < 100; i++) {
+			double[] objectives = new double[10];
+			
+			for (int j = 0; j < objectives.length; j++) {
+				objectives[j] = (j + 1) * PRNG.nextDouble();
+			}
+			
+			population.add(TestUtils.newSolution(objectives));
+		}
+		
+		population.adapt();
+		assertMinAngles(population);
+		
+		// adapting again with the same solutions leaves the vectors unchanged
+		List<double[]> weights = new ArrayList<double[]>(population.weights);
+		population.adapt();
+		
+		for (int i = 0; i < weights.size(); i++) {
+			Assert.assertSame(weights.get(i), population.weights.get(i));
+		}
+	}
+	
+	private void assertMinAngles(ReferenceVectorGuidedPopulation population) {
+		ReferenceVectorGuidedPopulationState state = population.getState();
+		
+		for (int i = 0; i < population.weights.size(); i++) {
+			Assert.assertEquals(population.smallestAngleBetweenWeights(i),
+					state.getMinAngles()[i], 0.0);
+		}
+	}
+	
+	/**
+	 * Tests if truncating a large population selects one solution for each
+	 * reference vector using the angle-penalized distance.
+	 */
+	@Test
+	public void testTruncateLargePopulation() {
+		ReferenceVectorGuidedPopulation population = new ReferenceVectorGuidedPopulation(
+				10, new NormalBoundaryDivisions(3, 2), 2.0);
+		
+		for (int i = 0; i < 500; i++) {
+			double[] objectives = new double[10];
+			
+			for (int j = 0; j < objectives.length; j++) {
+				objectives[j] = PRNG.nextDouble();
+			}
+			
+			population.add(TestUtils.newSolution(objectives));
+		}
+		
+		population.setScalingFactor(0.5);
+		
+		ReferenceVectorGuidedPopulation copy = new ReferenceVectorGuidedPopulation(
+				10, new NormalBoundaryDivisions(3, 2), 2.0, population);
+		copy.setScalingFactor(0.5);
+		copy.calculateIdealPoint();
+		copy.translateByIdealPoint();
+		
+		List<Solution> expected = new ArrayList<Solution>();
+		List<List<Solution>> members = copy.associateToReferencePoint(copy);
+		
+		for (int i = 0; i < members.size(); i++) {
+			if (!members.get(i).isEmpty()) {
+				expected.add(copy.select(members.get(i), i));
+			}
+		}
+		
+		population.truncate();
+		
+		Assert.assertEquals(expected.size(), population.size());
+		
+		for (int i = 0; i < expected.size(); i++) {
+			Assert.assertSame(expected.get(i), population.get(i));
+		}
+	}
+
 }
@@ -19,36 +19,85 @@ package org.moeaframework.algorithm;
 
 import java.io.IOException;
 
+import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.moeaframework.IgnoreOnCI;
 import org.moeaframework.CIRunner;
+import org.moeaframework.core.FastNondominatedSorting;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.spi.AlgorithmFactory;
+import org.moeaframework.core.spi.ProblemFactory;
+import org.moeaframework.util.TypedProperties;
 
 /**
  * Tests the {@link SMSEMOA} class.
  */
 @RunWith(CIRunner.class)
-@IgnoreOnCI("exceeds 10 minute timeout")
-@Ignore
 public class SMSEMOATest extends AlgorithmTest {
 	
+	/**
+	 * Tests that the incrementally updated ranks match the ranks assigned by
+	 * sorting the entire population.
+	 */
 	@Test
+	public void testIncrementalRanks() {
+		for (String problemName : new String[] { "DTLZ2_2", "DTLZ1_3" }) {
+			Problem problem = ProblemFactory.getInstance().getProblem(
+					problemName);
+			SMSEMOA algorithm = (SMSEMOA)AlgorithmFactory.getInstance()
+					.getAlgorithm("SMSEMOA", new TypedProperties(), problem);
+			
+			for (int i = 0; i < 1000; i++) {
+				algorithm.step();
+				
+				Population population = algorithm.getPopulation();
+				int[] ranks = new int[population.size()];
+				
+				for (int j = 0; j < population.size(); j++) {
+					ranks[j] = (Integer)population.get(j).getAttribute(
+							FastNondominatedSorting.RANK_ATTRIBUTE);
+				}
+				
+				new FastNondominatedSorting().evaluate(population);
+				
+				for (int j = 0; j < population.size(); j++) {
+					Solution solution = population.get(j);
+					
+					Assert.assertEquals(solution.getAttribute(
+							FastNondominatedSorting.RANK_ATTRIBUTE), ranks[j]);
+				}
+			}
+		}
+	}
+	
+	@Test
+	@Ignore
+	@IgnoreOnCI("exceeds 10 minute timeout")
 	public void testDTLZ1() throws IOException {
 		test("DTLZ1_2", "SMSEMOA", "SMSEMOA-JMetal");
 	}
 	
 	@Test
+	@Ignore
+	@IgnoreOnCI("exceeds 10 minute timeout")
 	public void testDTLZ2() throws IOException {
 		test("DTLZ2_2", "SMSEMOA", "SMSEMOA-JMetal");
 	}
 	
 	@Test
+	@Ignore
+	@IgnoreOnCI("exceeds 10 minute timeout")
 	public void testDTLZ7() throws IOException {
 		test("DTLZ7_2", "SMSEMOA", "SMSEMOA-JMetal");
 	}
 	
 	@Test
+	@Ignore
+	@IgnoreOnCI("exceeds 10 minute timeout")
 	public void testUF1() throws IOException {
 		test("UF1", "SMSEMOA", "SMSEMOA-JMetal");
 	}
@@ -18,6 +18,12 @@
 package org.moeaframework.algorithm;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -26,9 +32,11 @@ import org.moeaframework.Retryable;
 import org.moeaframework.TestUtils;
 import org.moeaframework.CIRunner;
 import org.moeaframework.core.FitnessEvaluator;
+import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Population;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
 import org.moeaframework.core.operator.RandomInitialization;
 import org.moeaframework.core.spi.OperatorFactory;
 import org.moeaframework.core.spi.ProblemFactory;
@@ -179,6 +187,128 @@ public class SPEA2Test extends AlgorithmTest {
 		}
 	}
 	
+	@Test
+	@SuppressWarnings("deprecation")
+	public void testNearestNeighborIndex() {
+		SPEA2 spea2 = new SPEA2(new MockRealProblem(2), null, null, 0, 1);
+		
+		for (int trial = 0; trial < 10; trial++) {
+			// use points on a coarse grid to produce many tied distances
+			Population population = new Population();
+			
+			for (int i = 0; i < 60; i++) {
+				population.add(TestUtils.newSolution(PRNG.nextInt(8), PRNG.nextInt(8)));
+			}
+			
+			double[][] distances = spea2.computeDistanceMatrix(population);
+			SPEA2.MutableDistanceMap expected = new SPEA2.MutableDistanceMap(distances);
+			SPEA2.NearestNeighborIndex actual = new SPEA2.NearestNeighborIndex(distances);
+			
+			List<Integer> remaining = new ArrayList<Integer>();
+			
+			for (int i = 0; i < population.size(); i++) {
+				remaining.add(i);
+			}
+			
+			while (remaining.size() > 2) {
+				int expectedIndex = expected.findMostCrowdedPoint();
+				int actualIndex = actual.findMostCrowdedPoint();
+				
+				Assert.assertEquals(remaining.get(expectedIndex).intValue(), actualIndex);
+				
+				expected.removePoint(expectedIndex);
+				actual.removePoint(actualIndex);
+				remaining.remove(expectedIndex);
+				Assert.assertTrue(actual.isRemoved(actualIndex));
+			}
+		}
+	}
+	
+	@Test
+	public void testLargePopulation() {
+		Problem problem = new MockRealProblem(2);
+		SPEA2 spea2 = new SPEA2(problem, null, null, 0, 1);
+		Population population = new Population();
+		
+		for (int i = 0; i < 300; i++) {
+			double x = PRNG.nextDouble();
+			population.add(TestUtils.newSolution(x, 1.0 - x));
+		}
+		
+		spea2.fitnessEvaluator.evaluate(population);
+		Population result = spea2.truncate(population, 100);
+		
+		Assert.assertEquals(100, result.size());
+	}
+	
+	@Test
+	public void testComparatorNotParallelizable() {
+		Problem problem = new MockRealProblem(2);
+		SPEA2 spea2 = new SPEA2(problem, null, null, 0, 1);
+		Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+		
+		SPEA2.StrengthFitnessEvaluator fitnessEvaluator = spea2.new StrengthFitnessEvaluator(1,
+				new ParetoDominanceComparator() {
+
+			@Override
+			public int compare(Solution solution1, Solution solution2) {
+				threads.add(Thread.currentThread());
+				return super.compare(solution1, solution2);
+			}
+			
+		});
+		
+		Population population = new Population();
+		
+		for (int i = 0; i < 300; i++) {
+			population.add(TestUtils.newSolution(PRNG.nextDouble(), PRNG.nextDouble()));
+		}
+		
+		fitnessEvaluator.evaluate(population);
+		
+		Assert.assertEquals(Collections.singleton(Thread.currentThread()), threads);
+	}
+	
+	@Test
+	public void testTruncateUsesComputeDistanceMatrix() {
+		AtomicInteger count = new AtomicInteger();
+		
+		SPEA2 spea2 = new SPEA2(new MockRealProblem(), null, null, 0, 1) {
+			
+			@Override
+			protected double[][] computeDistanceMatrix(Population population) {
+				count.incrementAndGet();
+				return super.computeDistanceMatrix(population);
+			}
+			
+		};
+		
+		Population population = new Population();
+		population.add(TestUtils.newSolution(0.0, 1.0));
+		population.add(TestUtils.newSolution(1.0, 0.0));
+		population.add(TestUtils.newSolution(0.5, 0.5));
+		
+		spea2.fitnessEvaluator.evaluate(population);
+		Assert.assertEquals(1, count.get());
+		
+		// the distances are reused when the population is unchanged
+		spea2.truncate(population, 2);
+		Assert.assertEquals(1, count.get());
+		
+		// otherwise the distances are computed by truncate
+		population = new Population();
+		population.add(TestUtils.newSolution(0.0, 1.0));
+		population.add(TestUtils.newSolution(1.0, 0.0));
+		population.add(TestUtils.newSolution(0.5, 0.5));
+		
+		for (Solution solution : population) {
+			solution.setFitness(0.0);
+		}
+		
+		spea2.truncate(population, 2);
+		Assert.assertEquals(2, count.get());
+	}
+	
 	@Test(expected = ArrayIndexOutOfBoundsException.class)
 	public void testLargeK() {
 		Problem problem = ProblemFactory.getInstance().getProblem("DTLZ2_2");
@@ -0,0 +1,170 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.TestUtils;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.spi.ProblemFactory;
+import org.moeaframework.util.TypedProperties;
+
+/**
+ * Tests the {@link BinaryResultFileReader} and {@link ResultFileConverter}
+ * classes.
+ */
+public class BinaryResultFileReaderTest {
+	
+	private NondominatedPopulation createPopulation(Problem problem, int size) {
+		NondominatedPopulation population = new NondominatedPopulation();
+		
+		for (int i = 0; i < size; i++) {
+			Solution solution = problem.newSolution();
+			
+			for (int j = 0; j < solution.getNumberOfVariables(); j++) {
+				solution.getVariable(j).randomize();
+			}
+			
+			problem.evaluate(solution);
+			population.add(solution);
+		}
+		
+		return population;
+	}
+	
+	@Test
+	public void testRandomAccess() throws IOException {
+		File file = TestUtils.createTempFile();
+		
+		try (Problem problem = ProblemFactory.getInstance().getProblem("DTLZ2_2")) {
+			NondominatedPopulation[] populations = new NondominatedPopulation[10];
+			
+			try (BinaryResultFileWriter writer = new BinaryResultFileWriter(problem, file, true, true)) {
+				for (int i = 0; i < populations.length; i++) {
+					populations[i] = createPopulation(problem, 20);
+					writer.append(new ResultEntry(populations[i], TypedProperties.withProperty(
+							"NFE", Integer.toString(i))));
+				}
+			}
+			
+			Assert.assertTrue(BinaryResultFileReader.isBinaryResultFile(file));
+			
+			try (BinaryResultFileReader reader = new BinaryResultFileReader(problem, file)) {
+				Assert.assertEquals(populations.length, reader.getNumberOfEntries());
+				
+				for (int i = populations.length - 1; i >= 0; i--) {
+					ResultEntry entry = reader.get(PRNG.nextInt(populations.length));
+					int index = entry.getProperties().getInt("NFE", -1);
+					TestUtils.assertEquals(populations[index], entry.getPopulation());
+				}
+				
+				int count = 0;
+				
+				for (ResultEntry entry : reader) {
+					TestUtils.assertEquals(populations[count++], entry.getPopulation());
+				}
+				
+				Assert.assertEquals(populations.length, count);
+			}
+		}
+	}
+	
+	@Test
+	public void testConvert() throws Exception {
+		File textFile = TestUtils.createTempFile();
+		File binaryFile = TestUtils.createTempFile();
+		File convertedFile = TestUtils.createTempFile();
+		
+		try (Problem problem = ProblemFactory.getInstance().getProblem("DTLZ2_2")) {
+			try (ResultFileWriter writer = new ResultFileWriter(problem, textFile)) {
+				for (int i = 0; i < 5; i++) {
+					writer.append(new ResultEntry(createPopulation(problem, 10),
+							TypedProperties.withProperty("NFE", Integer.toString(i))));
+				}
+			}
+			
+			ResultFileConverter.main(new String[] {
+					"-b", "DTLZ2_2",
+					"-i", textFile.getPath(),
+					"-o", binaryFile.getPath(),
+					"-c" });
+			
+			Assert.assertFalse(BinaryResultFileReader.isBinaryResultFile(textFile));
+			Assert.assertTrue(BinaryResultFileReader.isBinaryResultFile(binaryFile));
+			
+			ResultFileConverter.main(new String[] {
+					"-b", "DTLZ2_2",
+					"-i", binaryFile.getPath(),
+					"-o", convertedFile.getPath() });
+			
+			try (ResultFileReader expected = new ResultFileReader(problem, textFile);
+					ResultFileReader actual = new ResultFileReader(problem, convertedFile)) {
+				while (expected.hasNext()) {
+					ResultEntry expectedEntry = expected.next();
+					ResultEntry actualEntry = actual.next();
+					
+					TestUtils.assertEquals(expectedEntry.getPopulation(), actualEntry.getPopulation());
+					Assert.assertEquals(expectedEntry.getProperties(), actualEntry.getProperties());
+				}
+				
+				Assert.assertFalse(actual.hasNext());
+			}
+		}
+	}
+	
+	@Test
+	public void testConvertWithoutVariables() throws Exception {
+		File textFile = TestUtils.createTempFile();
+		File binaryFile = TestUtils.createTempFile();
+		
+		try (Problem problem = ProblemFactory.getInstance().getProblem("DTLZ2_2")) {
+			try (ResultFileWriter writer = new ResultFileWriter(problem, textFile, false)) {
+				for (int i = 0; i < 5; i++) {
+					writer.append(new ResultEntry(createPopulation(problem, 10),
+							TypedProperties.withProperty("NFE", Integer.toString(i))));
+				}
+			}
+			
+			ResultFileConverter.toBinary(problem, textFile, binaryFile, false);
+			
+			try (ResultFileReader expected = new ResultFileReader(problem, textFile);
+					BinaryResultFileReader actual = new BinaryResultFileReader(problem, binaryFile)) {
+				while (expected.hasNext()) {
+					ResultEntry expectedEntry = expected.next();
+					ResultEntry actualEntry = actual.next();
+					
+					for (Solution solution : actualEntry.getPopulation()) {
+						Assert.assertEquals(0, solution.getNumberOfVariables());
+					}
+					
+					TestUtils.assertEquals(expectedEntry.getPopulation(), actualEntry.getPopulation());
+					Assert.assertEquals(expectedEntry.getProperties(), actualEntry.getProperties());
+				}
+				
+				Assert.assertFalse(actual.hasNext());
+			}
+		}
+	}
+
+}
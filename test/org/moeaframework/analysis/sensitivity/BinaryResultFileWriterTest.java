@@ -0,0 +1,291 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.moeaframework.TestUtils;
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.variable.BinaryVariable;
+import org.moeaframework.core.variable.Permutation;
+import org.moeaframework.core.variable.RealVariable;
+import org.moeaframework.problem.AbstractProblem;
+import org.moeaframework.util.TypedProperties;
+
+/**
+ * Tests the {@link BinaryResultFileWriter} class.
+ */
+public class BinaryResultFileWriterTest {
+	
+	/**
+	 * The problem used for testing.
+	 */
+	private Problem problem;
+	
+	/**
+	 * A feasible solution.
+	 */
+	private Solution solution1;
+	
+	/**
+	 * Another feasible solution.
+	 */
+	private Solution solution2;
+	
+	/**
+	 * A solution violating its constraints.
+	 */
+	private Solution solution3;
+
+	/**
+	 * Creates the problem used for testing.
+	 */
+	@Before
+	public void setUp() {
+		problem = new AbstractProblem(3, 2, 1) {
+			
+			@Override
+			public void evaluate(Solution solution) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public Solution newSolution() {
+				Solution solution = new Solution(3, 2, 1);
+				solution.setVariable(0, new RealVariable(0.0, 1.0));
+				solution.setVariable(1, new BinaryVariable(5));
+				solution.setVariable(2, new Permutation(3));
+				return solution;
+			}
+			
+		};
+		
+		solution1 = problem.newSolution();
+		((RealVariable)solution1.getVariable(0)).setValue(0.25);
+		((BinaryVariable)solution1.getVariable(1)).set(2, true);
+		((Permutation)solution1.getVariable(2)).swap(0, 2);
+		solution1.setObjectives(new double[] { 0.0, 1.0 });
+		
+		solution2 = problem.newSolution();
+		((RealVariable)solution2.getVariable(0)).setValue(1.0);
+		((BinaryVariable)solution2.getVariable(1)).set(1, true);
+		((Permutation)solution2.getVariable(2)).swap(0, 1);
+		solution2.setObjectives(new double[] { 1.0, 0.0 });
+		
+		solution3 = problem.newSolution();
+		solution3.setObjectives(new double[] { 0.5, 0.5 });
+		solution3.setConstraints(new double[] { -1.0 });
+	}
+
+	/**
+	 * Removes references to shared objects so they can be garbage collected.
+	 */
+	@After
+	public void tearDown() {
+		problem = null;
+		solution1 = null;
+		solution2 = null;
+		solution3 = null;
+	}
+	
+	private NondominatedPopulation createPopulation() {
+		NondominatedPopulation population = new NondominatedPopulation();
+		population.add(solution1);
+		population.add(solution2);
+		return population;
+	}
+	
+	private TypedProperties createProperties(int index) {
+		TypedProperties properties = new TypedProperties();
+		properties.setInt("index", index);
+		return properties;
+	}
+	
+	@Test
+	public void testNormal() throws IOException {
+		test(false);
+	}
+	
+	@Test
+	public void testCompressed() throws IOException {
+		test(true);
+	}
+	
+	private void test(boolean compress) throws IOException {
+		File file = TestUtils.createTempFile();
+		NondominatedPopulation population = createPopulation();
+		
+		try (BinaryResultFileWriter writer = new BinaryResultFileWriter(problem, file, true, compress)) {
+			writer.append(new ResultEntry(population, createProperties(0)));
+			Assert.assertEquals(1, writer.getNumberOfEntries());
+		}
+		
+		try (BinaryResultFileReader reader = new BinaryResultFileReader(problem, file)) {
+			ResultEntry entry = reader.next();
+			TestUtils.assertEquals(population, entry.getPopulation());
+			Assert.assertEquals(createProperties(0), entry.getProperties());
+			Assert.assertFalse(reader.hasNext());
+		}
+	}
+	
+	@Test
+	public void testSpecialCharactersInProperties() throws IOException {
+		File file = TestUtils.createTempFile();
+		
+		TypedProperties properties = new TypedProperties();
+		properties.setString("\"'!@#$=:%^&*()\\\r\n//\t é", "\"'!@#$=:%^&*()\\\r\n//\t é");
+		
+		try (BinaryResultFileWriter writer = new BinaryResultFileWriter(problem, file)) {
+			writer.append(new ResultEntry(new NondominatedPopulation(), properties));
+			writer.append(new ResultEntry(new NondominatedPopulation(), (TypedProperties)null));
+		}
+		
+		try (BinaryResultFileReader reader = new BinaryResultFileReader(problem, file)) {
+			Assert.assertEquals(properties, reader.next().getProperties());
+			Assert.assertEquals(new TypedProperties(), reader.next().getProperties());
+		}
+	}
+	
+	@Test
+	public void testNoVariables() throws IOException {
+		File file = TestUtils.createTempFile();
+		
+		try (BinaryResultFileWriter writer = new BinaryResultFileWriter(problem, file, false, false)) {
+			writer.append(new ResultEntry(createPopulation()));
+		}
+		
+		NondominatedPopulation population = new NondominatedPopulation();
+		population.add(new Solution(solution1.getObjectives()));
+		population.add(new Solution(solution2.getObjectives()));
+		
+		try (BinaryResultFileReader reader = new BinaryResultFileReader(problem, file)) {
+			TestUtils.assertEquals(population, reader.next().getPopulation());
+		}
+	}
+	
+	@Test
+	public void testConstrainedSolution() throws IOException {
+		File file = TestUtils.createTempFile();
+		
+		NondominatedPopulation population = new NondominatedPopulation();
+		population.add(solution3);
+		
+		try (BinaryResultFileWriter writer = new BinaryResultFileWriter(problem, file)) {
+			writer.append(new ResultEntry(population));
+		}
+		
+		try (BinaryResultFileReader reader = new BinaryResultFileReader(problem, file)) {
+			Assert.assertTrue(reader.next().getPopulation().isEmpty());
+		}
+	}
+	
+	@Test
+	public void testAppend() throws IOException {
+		File file = TestUtils.createTempFile();
+		
+		try (BinaryResultFileWriter writer = new BinaryResultFileWriter(problem, file)) {
+			writer.append(new ResultEntry(createPopulation(), createProperties(0)));
+			writer.append(new ResultEntry(createPopulation(), createProperties(1)));
+		}
+		
+		try (BinaryResultFileWriter writer = new BinaryResultFileWriter(problem, file)) {
+			Assert.assertEquals(2, writer.getNumberOfEntries());
+			writer.append(new ResultEntry(createPopulation(), createProperties(2)));
+		}
+		
+		try (BinaryResultFileReader reader = new BinaryResultFileReader(problem, file)) {
+			Assert.assertEquals(3, reader.getNumberOfEntries());
+			
+			for (int i = 0; i < 3; i++) {
+				Assert.assertEquals(createProperties(i), reader.next().getProperties());
+			}
+		}
+	}
+	
+	@Test
+	public void testResumeAfterIncompleteEntry() throws IOException {
+		File file = TestUtils.createTempFile();
+		long length = 0;
+		
+		// simulate a crash while writing the third entry, which leaves no footer
+		try (BinaryResultFileWriter writer = new BinaryResultFileWriter(problem, file)) {
+			writer.append(new ResultEntry(createPopulation(), createProperties(0)));
+			writer.append(new ResultEntry(createPopulation(), createProperties(1)));
+			length = file.length();
+			writer.append(new ResultEntry(createPopulation(), createProperties(2)));
+		}
+		
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.setLength(length + 10);
+		}
+		
+		try (BinaryResultFileReader reader = new BinaryResultFileReader(problem, file)) {
+			Assert.assertEquals(2, reader.getNumberOfEntries());
+		}
+		
+		try (BinaryResultFileWriter writer = new BinaryResultFileWriter(problem, file)) {
+			Assert.assertEquals(2, writer.getNumberOfEntries());
+			writer.append(new ResultEntry(createPopulation(), createProperties(2)));
+		}
+		
+		try (BinaryResultFileReader reader = new BinaryResultFileReader(problem, file)) {
+			Assert.assertEquals(3, reader.getNumberOfEntries());
+			Assert.assertEquals(createProperties(2), reader.get(2).getProperties());
+		}
+	}
+	
+	@Test(expected = FrameworkException.class)
+	public void testIncompatibleFile() throws IOException {
+		File file = TestUtils.createTempFile();
+		
+		try (BinaryResultFileWriter writer = new BinaryResultFileWriter(problem, file, false, false)) {
+			writer.append(new ResultEntry(createPopulation()));
+		}
+		
+		new BinaryResultFileWriter(problem, file).close();
+	}
+	
+	@Test
+	public void testMissingVariables() throws IOException {
+		File file = TestUtils.createTempFile();
+		
+		NondominatedPopulation population = new NondominatedPopulation();
+		population.add(new Solution(solution1.getObjectives()));
+		
+		try (BinaryResultFileWriter writer = new BinaryResultFileWriter(problem, file)) {
+			writer.append(new ResultEntry(population));
+			Assert.fail("expected FrameworkException");
+		} catch (FrameworkException e) {
+			// expected
+		}
+		
+		try (BinaryResultFileReader reader = new BinaryResultFileReader(problem, file)) {
+			Assert.assertEquals(0, reader.getNumberOfEntries());
+		}
+	}
+
+}
@@ -0,0 +1,271 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.moeaframework.TestUtils;
+import org.moeaframework.core.operator.RandomInitialization;
+import org.moeaframework.core.operator.real.DifferentialEvolutionVariation;
+import org.moeaframework.core.operator.real.PM;
+import org.moeaframework.core.operator.real.SBX;
+import org.moeaframework.core.variable.BinaryVariable;
+import org.moeaframework.core.variable.EncodingUtils;
+import org.moeaframework.core.variable.RealVariable;
+import org.moeaframework.problem.DTLZ.DTLZ2;
+
+/**
+ * Tests the {@link CompactPopulation} class.
+ */
+public class CompactPopulationTest {
+	
+	/**
+	 * The problem used by these tests.
+	 */
+	private Problem problem;
+	
+	/**
+	 * The initial solutions used by these tests.
+	 */
+	private Solution[] solutions;
+	
+	/**
+	 * Creates the problem and a set of evaluated, random solutions.
+	 */
+	@Before
+	public void setUp() {
+		problem = new DTLZ2(2);
+		solutions = new RandomInitialization(problem, 50).initialize();
+		
+		for (Solution solution : solutions) {
+			problem.evaluate(solution);
+		}
+	}
+	
+	/**
+	 * Returns a compact population containing copies of the solutions.
+	 * 
+	 * @return a compact population containing copies of the solutions
+	 */
+	private CompactPopulation createCompactPopulation() {
+		CompactPopulation population = new CompactPopulation(problem);
+		
+		for (Solution solution : solutions) {
+			population.add(solution);
+		}
+		
+		return population;
+	}
+	
+	@Test
+	public void testAdd() {
+		CompactPopulation population = createCompactPopulation();
+		
+		Assert.assertEquals(solutions.length, population.size());
+		
+		for (int i = 0; i < solutions.length; i++) {
+			TestUtils.assertEquals(solutions[i], population.get(i).copy());
+			Assert.assertArrayEquals(EncodingUtils.getReal(solutions[i]),
+					EncodingUtils.getReal(population.get(i)), 0.0);
+		}
+	}
+	
+	@Test
+	public void testViewWritesThrough() {
+		CompactPopulation population = createCompactPopulation();
+		Solution view = population.get(3);
+		
+		EncodingUtils.setReal(view.getVariable(0), 0.25);
+		view.setObjective(1, 5.0);
+		view.setAttribute(NondominatedSorting.RANK_ATTRIBUTE, 2);
+		view.setAttribute(NondominatedSorting.CROWDING_ATTRIBUTE, 0.5);
+		view.setAttribute("foo", "bar");
+		
+		Assert.assertEquals(0.25, population.getVariable(3, 0), 0.0);
+		Assert.assertEquals(5.0, population.getObjective(3, 1), 0.0);
+		Assert.assertEquals(2, population.getRank(3));
+		Assert.assertEquals(0.5, population.getCrowdingDistance(3), 0.0);
+		Assert.assertEquals("bar", view.getAttribute("foo"));
+		Assert.assertEquals(3, view.getAttributes().size());
+		
+		view.clearAttributes();
+		
+		Assert.assertEquals(-1, population.getRank(3));
+		Assert.assertTrue(Double.isNaN(population.getCrowdingDistance(3)));
+		Assert.assertFalse(view.hasAttribute(NondominatedSorting.RANK_ATTRIBUTE));
+		Assert.assertFalse(view.hasAttribute("foo"));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testViewChecksBounds() {
+		CompactPopulation population = createCompactPopulation();
+		EncodingUtils.setReal(population.get(0).getVariable(0), 2.0);
+	}
+	
+	@Test
+	public void testCopyIsIndependent() {
+		CompactPopulation population = createCompactPopulation();
+		Solution copy = population.get(0).copy();
+		
+		Assert.assertEquals(Solution.class, copy.getClass());
+		Assert.assertEquals(RealVariable.class, copy.getVariable(0).getClass());
+		
+		population.setObjective(0, 0, 10.0);
+		population.setVariable(0, 0, 0.0);
+		
+		Assert.assertEquals(solutions[0].getObjective(0), copy.getObjective(0), 0.0);
+		Assert.assertEquals(EncodingUtils.getReal(solutions[0].getVariable(0)),
+				EncodingUtils.getReal(copy.getVariable(0)), 0.0);
+	}
+	
+	@Test
+	public void testSerialization() {
+		CompactPopulation population = createCompactPopulation();
+		population.setRank(0, 1);
+		
+		Solution copy = SerializationUtils.clone(population.get(0));
+		
+		Assert.assertEquals(Solution.class, copy.getClass());
+		Assert.assertEquals(1, copy.getAttribute(NondominatedSorting.RANK_ATTRIBUTE));
+		TestUtils.assertEquals(solutions[0], copy);
+	}
+	
+	@Test
+	public void testRetain() {
+		CompactPopulation population = createCompactPopulation();
+		Solution view2 = population.get(2);
+		Solution view4 = population.get(4);
+		
+		population.retain(new int[] { 4, 1 });
+		
+		Assert.assertEquals(2, population.size());
+		TestUtils.assertEquals(solutions[4], population.get(0).copy());
+		TestUtils.assertEquals(solutions[1], population.get(1).copy());
+		Assert.assertSame(view4, population.get(0));
+		
+		try {
+			view2.getObjective(0);
+			Assert.fail("expected IllegalStateException");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testRequiresRealVariables() {
+		Solution solution = new Solution(1, 1);
+		solution.setVariable(0, new BinaryVariable(5));
+		new CompactPopulation(solution);
+	}
+	
+	@Test
+	public void testNondominatedSorting() {
+		Population expected = new Population(solutions);
+		CompactPopulation population = createCompactPopulation();
+		
+		new NondominatedSorting().evaluate(expected);
+		new NondominatedSorting().evaluate(population);
+		
+		for (int i = 0; i < solutions.length; i++) {
+			Assert.assertEquals(expected.get(i).getAttribute(NondominatedSorting.RANK_ATTRIBUTE),
+					population.getRank(i));
+			Assert.assertEquals((Double)expected.get(i).getAttribute(NondominatedSorting.CROWDING_ATTRIBUTE),
+					population.getCrowdingDistance(i), 0.0);
+		}
+	}
+	
+	@Test
+	public void testEvaluate() {
+		CompactPopulation population = createCompactPopulation();
+		
+		for (int i = 0; i < population.size(); i++) {
+			population.setObjective(i, 0, 0.0);
+			population.setObjective(i, 1, 0.0);
+		}
+		
+		population.evaluate(problem);
+		
+		for (int i = 0; i < solutions.length; i++) {
+			TestUtils.assertEquals(solutions[i], population.get(i).copy());
+		}
+	}
+	
+	@Test
+	public void testSBX() {
+		SBX sbx = new SBX(1.0, 15.0);
+		CompactPopulation population = createCompactPopulation();
+		CompactPopulation offspring = new CompactPopulation(problem);
+		
+		PRNG.setSeed(1234);
+		Solution[] expected = sbx.evolve(new Solution[] { solutions[0], solutions[1] });
+		
+		PRNG.setSeed(1234);
+		int index = sbx.evolve(population, 0, 1, offspring);
+		
+		assertVariablesEqual(expected[0], offspring, index);
+		assertVariablesEqual(expected[1], offspring, index + 1);
+	}
+	
+	@Test
+	public void testPM() {
+		PM pm = new PM(1.0, 20.0);
+		CompactPopulation population = createCompactPopulation();
+		
+		PRNG.setSeed(1234);
+		Solution[] expected = pm.evolve(new Solution[] { solutions[5] });
+		
+		PRNG.setSeed(1234);
+		pm.evolve(population, 5);
+		
+		assertVariablesEqual(expected[0], population, 5);
+	}
+	
+	@Test
+	public void testDifferentialEvolution() {
+		DifferentialEvolutionVariation de = new DifferentialEvolutionVariation(0.5, 0.5);
+		CompactPopulation population = createCompactPopulation();
+		
+		PRNG.setSeed(1234);
+		Solution[] expected = de.evolve(new Solution[] { solutions[0], solutions[1],
+				solutions[2], solutions[3] });
+		
+		PRNG.setSeed(1234);
+		int index = de.evolve(population, new int[] { 0, 1, 2, 3 }, population);
+		
+		Assert.assertEquals(solutions.length, index);
+		assertVariablesEqual(expected[0], population, index);
+	}
+	
+	/**
+	 * Asserts that the decision variables of the solution match those stored
+	 * in the compact population.
+	 * 
+	 * @param expected the expected solution
+	 * @param population the compact population
+	 * @param index the index of the solution in the compact population
+	 */
+	private void assertVariablesEqual(Solution expected, CompactPopulation population, int index) {
+		for (int i = 0; i < expected.getNumberOfVariables(); i++) {
+			Assert.assertEquals(EncodingUtils.getReal(expected.getVariable(i)),
+					population.getVariable(index, i), 0.0);
+		}
+	}
+
+}
@@ -0,0 +1,36 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import org.junit.Before;
+
+/**
+ * Tests the {@link EfficientNondominatedSorting} class.
+ */
+public class EfficientNondominatedSortingTest extends NondominatedSortingTest {
+	
+	/**
+	 * Prepare an empty population and a sorting object using a dummy problem.
+	 */
+	@Before
+	public void setUp() {
+		population = new Population();
+		sorting = new EfficientNondominatedSorting();
+	}
+
+}
@@ -21,6 +21,7 @@ import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.moeaframework.core.comparator.EpsilonBoxDominanceComparator;
 
 /**
  * Tests the {@link EpsilonBoxDominanceArchive} class.
@@ -138,4 +139,102 @@ public class EpsilonBoxDominanceArchiveTest {
 		Assert.assertEquals(2, archive.getNumberOfImprovements());
 	}
 
+	/**
+	 * Tests that the archive indexed by &epsilon;-box produces the same
+	 * solutions, in the same order, and the same improvement counts as
+	 * comparing against every solution in the archive.
+	 */
+	@Test
+	public void testIndex() {
+		for (int numberOfObjectives = 2; numberOfObjectives <= 5;
+				numberOfObjectives++) {
+			// subclassing the comparator disables the index
+			EpsilonBoxDominanceArchive expected = new EpsilonBoxDominanceArchive(
+					new EpsilonBoxDominanceComparator(0.05) {
+
+						private static final long serialVersionUID =
+								-2914216355725187318L;
+
+					});
+			EpsilonBoxDominanceArchive actual = new EpsilonBoxDominanceArchive(
+					new EpsilonBoxDominanceComparator(0.05));
+
+			for (int i = 0; i < 20000; i++) {
+				Solution solution = new Solution(0, numberOfObjectives, 1);
+
+				for (int j = 0; j < numberOfObjectives; j++) {
+					solution.setObjective(j, PRNG.nextDouble());
+				}
+
+				if (PRNG.nextDouble() < 0.01) {
+					solution.setConstraint(0, PRNG.nextInt(3));
+				}
+
+				// the index does not preserve the order of solutions, so remove
+				// the same solution from both archives
+				if ((PRNG.nextDouble() < 0.01) && !expected.isEmpty()) {
+					Solution removed = expected.get(PRNG.nextInt(expected.size()));
+					expected.remove(removed);
+					Assert.assertTrue(actual.remove(removed));
+				} else {
+					Assert.assertEquals(expected.add(solution),
+							actual.add(solution));
+				}
+
+				Assert.assertEquals(expected.getNumberOfImprovements(),
+						actual.getNumberOfImprovements());
+				Assert.assertEquals(
+						expected.getNumberOfDominatingImprovements(),
+						actual.getNumberOfDominatingImprovements());
+			}
+
+			Assert.assertEquals(expected.size(), actual.size());
+
+			for (Solution solution : expected) {
+				Assert.assertTrue(actual.contains(solution));
+			}
+		}
+	}
+	
+	/**
+	 * Tests if the archive remains consistent when solutions are removed by
+	 * position after other solutions were replaced out of order.
+	 */
+	@Test
+	public void testRemoveAfterReplacement() {
+		EpsilonBoxDominanceArchive archive = new EpsilonBoxDominanceArchive(0.1);
+		Solution s1 = newSolution(0.0, 1.0);
+		Solution s2 = newSolution(0.5, 0.5);
+		Solution s3 = newSolution(1.0, 0.0);
+		Solution s4 = newSolution(0.0, 0.9);
+		
+		archive.add(s1);
+		archive.add(s2);
+		archive.add(s3);
+		
+		// dominates the first solution, moving the last solution into its place
+		Assert.assertTrue(archive.add(s4));
+		Assert.assertEquals(3, archive.size());
+		Assert.assertSame(s3, archive.get(0));
+		Assert.assertSame(s2, archive.get(1));
+		Assert.assertSame(s4, archive.get(2));
+		
+		archive.remove(0);
+		archive.remove(s4);
+		archive.remove(0);
+		Assert.assertTrue(archive.isEmpty());
+		
+		// succeeds only if the removed solutions were also removed from the index
+		Assert.assertTrue(archive.add(s3));
+		Assert.assertTrue(archive.add(s2));
+		Assert.assertTrue(archive.add(s4));
+		Assert.assertEquals(3, archive.size());
+	}
+	
+	private Solution newSolution(double... objectives) {
+		Solution solution = new Solution(0, objectives.length);
+		solution.setObjectives(objectives);
+		return solution;
+	}
+
 }
@@ -0,0 +1,314 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.util.Iterator;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.NondominatedPopulation.DuplicateMode;
+import org.moeaframework.core.comparator.CrowdingComparator;
+import org.moeaframework.core.comparator.DominanceComparator;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+import org.moeaframework.core.comparator.ObjectiveComparator;
+import org.moeaframework.core.comparator.ParetoObjectiveComparator;
+import org.moeaframework.core.variable.RealVariable;
+
+/**
+ * Tests the {@link IndexedNondominatedPopulation} class by comparing its
+ * behavior against {@link NondominatedPopulation}.
+ */
+public class IndexedNondominatedPopulationTest {
+
+	/**
+	 * Tests that nearly identical solutions are rejected.
+	 */
+	@Test
+	public void testAddSimilar() {
+		NondominatedPopulation population =
+				new IndexedNondominatedPopulation();
+
+		Solution solution1 = new Solution(new double[] { 0.0, 0.0,
+				Settings.EPS / 2.0 });
+		Solution solution2 = new Solution(new double[] { 0.0,
+				Settings.EPS / 2.0, 0.0 });
+
+		Assert.assertTrue(population.add(solution1));
+		Assert.assertFalse(population.add(solution2));
+		Assert.assertEquals(1, population.size());
+		Assert.assertTrue(population.contains(solution1));
+	}
+
+	/**
+	 * Tests that solutions with a smaller constraint violation replace all
+	 * existing solutions.
+	 */
+	@Test
+	public void testConstraints() {
+		NondominatedPopulation population =
+				new IndexedNondominatedPopulation();
+
+		Solution solution1 = new Solution(0, 2, 1);
+		solution1.setObjectives(new double[] { 0.0, 0.0 });
+		solution1.setConstraint(0, 1.0);
+
+		Solution solution2 = new Solution(0, 2, 1);
+		solution2.setObjectives(new double[] { 1.0, 1.0 });
+		solution2.setConstraint(0, 0.0);
+
+		Assert.assertTrue(population.add(solution1));
+		Assert.assertTrue(population.add(solution2));
+		Assert.assertEquals(1, population.size());
+		Assert.assertFalse(population.add(solution1));
+		Assert.assertTrue(population.contains(solution2));
+	}
+
+	/**
+	 * Tests random insertions with discrete objective values, producing many
+	 * duplicate and weakly-dominated solutions.
+	 */
+	@Test
+	public void testDiscrete() {
+		for (DuplicateMode duplicateMode : DuplicateMode.values()) {
+			for (int numberOfObjectives = 2; numberOfObjectives <= 4;
+					numberOfObjectives++) {
+				test(new ParetoDominanceComparator(), duplicateMode,
+						numberOfObjectives, 10, false);
+				test(new ParetoObjectiveComparator(), duplicateMode,
+						numberOfObjectives, 10, false);
+			}
+		}
+	}
+
+	/**
+	 * Tests random insertions with continuous objective values, producing
+	 * large archives.
+	 */
+	@Test
+	public void testContinuous() {
+		for (DuplicateMode duplicateMode : DuplicateMode.values()) {
+			for (int numberOfObjectives = 2; numberOfObjectives <= 4;
+					numberOfObjectives++) {
+				test(new ParetoDominanceComparator(), duplicateMode,
+						numberOfObjectives, 0, false);
+			}
+		}
+	}
+
+	/**
+	 * Tests random insertions with constraint violations.
+	 */
+	@Test
+	public void testConstrained() {
+		for (DuplicateMode duplicateMode : DuplicateMode.values()) {
+			test(new ParetoDominanceComparator(), duplicateMode, 3, 10, true);
+		}
+	}
+
+	/**
+	 * Tests that unsupported dominance comparators fall back to the
+	 * non-indexed implementation.
+	 */
+	@Test
+	public void testUnsupportedComparator() {
+		test(new ObjectiveComparator(1), DuplicateMode.NO_DUPLICATE_OBJECTIVES,
+				3, 10, false);
+	}
+
+	/**
+	 * Tests that removing solutions, including through the iterator, updates
+	 * the index.
+	 */
+	@Test
+	public void testRemove() {
+		NondominatedPopulation population =
+				new IndexedNondominatedPopulation();
+
+		for (int i = 0; i < 100; i++) {
+			population.add(new Solution(new double[] { i, 100 - i }));
+		}
+
+		Solution solution = population.get(50);
+		population.remove(solution);
+		Assert.assertEquals(99, population.size());
+		Assert.assertTrue(population.add(solution));
+
+		Iterator<Solution> iterator = population.iterator();
+
+		while (iterator.hasNext()) {
+			if (iterator.next().getObjective(0) < 50) {
+				iterator.remove();
+			}
+		}
+
+		Assert.assertEquals(50, population.size());
+		Assert.assertTrue(population.add(new Solution(new double[] { 0, 100 })));
+		Assert.assertEquals(51, population.size());
+
+		population.clear();
+		Assert.assertTrue(population.add(solution));
+		Assert.assertEquals(1, population.size());
+	}
+
+	/**
+	 * Tests that modifying the decision variables of a solution after adding
+	 * it does not corrupt the index of decision variables.
+	 */
+	@Test
+	public void testModifiedVariables() {
+		NondominatedPopulation population = new IndexedNondominatedPopulation(
+				DuplicateMode.ALLOW_DUPLICATE_OBJECTIVES);
+
+		Solution solution = new Solution(1, 2);
+		solution.setVariable(0, new RealVariable(0.25, 0.0, 1.0));
+		solution.setObjectives(new double[] { 0.0, 1.0 });
+		Assert.assertTrue(population.add(solution));
+
+		((RealVariable)solution.getVariable(0)).setValue(0.75);
+
+		// as with NondominatedPopulation, duplicates are identified by the
+		// current variables, so this is not a duplicate
+		Solution original = new Solution(1, 2);
+		original.setVariable(0, new RealVariable(0.25, 0.0, 1.0));
+		original.setObjectives(new double[] { 0.0, 1.0 });
+		Assert.assertTrue(population.add(original));
+		Assert.assertEquals(2, population.size());
+
+		Assert.assertTrue(population.remove(solution));
+		Assert.assertTrue(population.remove(original));
+		Assert.assertTrue(population.isEmpty());
+		Assert.assertTrue(population.add(solution));
+	}
+
+	/**
+	 * Tests that truncating the population updates the index.
+	 */
+	@Test
+	public void testTruncate() {
+		NondominatedPopulation population =
+				new IndexedNondominatedPopulation();
+
+		for (int i = 0; i < 100; i++) {
+			Solution solution = new Solution(new double[] { i, 100 - i });
+			solution.setAttribute(NondominatedSorting.CROWDING_ATTRIBUTE,
+					(double)i);
+			population.add(solution);
+		}
+
+		population.truncate(10, new CrowdingComparator());
+		Assert.assertEquals(10, population.size());
+
+		for (int i = 0; i < 100; i++) {
+			population.add(new Solution(new double[] { i, 100 - i }));
+		}
+
+		Assert.assertEquals(100, population.size());
+	}
+
+	/**
+	 * Inserts random solutions into both an indexed and non-indexed
+	 * population, asserting both produce identical results.  Random removals
+	 * and replacements are interleaved with the insertions.
+	 *
+	 * @param comparator the dominance comparator
+	 * @param duplicateMode the duplicate mode
+	 * @param numberOfObjectives the number of objectives
+	 * @param levels the number of discrete values for each objective, or
+	 *        {@code 0} if the objectives are continuous
+	 * @param constrained {@code true} if solutions have constraint violations
+	 */
+	private void test(DominanceComparator comparator,
+			DuplicateMode duplicateMode, int numberOfObjectives, int levels,
+			boolean constrained) {
+		NondominatedPopulation expected = new NondominatedPopulation(
+				comparator, duplicateMode);
+		NondominatedPopulation actual = new IndexedNondominatedPopulation(
+				comparator, duplicateMode);
+
+		// objectives are determined by the decision variable so duplicate
+		// decision variables also have duplicate objectives
+		int numberOfSolutions = 2000;
+		double[][] objectives = new double[numberOfSolutions][];
+		double[] constraints = new double[numberOfSolutions];
+
+		for (int i = 0; i < numberOfSolutions; i++) {
+			objectives[i] = new double[numberOfObjectives];
+
+			for (int j = 0; j < numberOfObjectives; j++) {
+				if (levels > 0) {
+					objectives[i][j] = PRNG.nextInt(levels) / (double)levels;
+				} else {
+					objectives[i][j] = PRNG.nextDouble();
+				}
+			}
+
+			if (constrained && PRNG.nextBoolean()) {
+				constraints[i] = PRNG.nextInt(3);
+			}
+		}
+
+		for (int i = 0; i < 5 * numberOfSolutions; i++) {
+			int index = PRNG.nextInt(levels > 0 ? numberOfSolutions / 4 :
+				numberOfSolutions);
+
+			Solution solution = new Solution(1, numberOfObjectives, 1);
+			solution.setVariable(0, new RealVariable(index, 0.0,
+					numberOfSolutions));
+			solution.setObjectives(objectives[index]);
+			solution.setConstraint(0, constraints[index]);
+
+			double operation = PRNG.nextDouble();
+
+			if ((operation < 0.05) && !expected.isEmpty()) {
+				int position = PRNG.nextInt(expected.size());
+				expected.remove(position);
+				actual.remove(position);
+			} else if ((operation < 0.1) && !expected.isEmpty()) {
+				int position = PRNG.nextInt(expected.size());
+				boolean expectedFailed = false;
+				boolean actualFailed = false;
+
+				// replace throws if removing dominated solutions invalidates
+				// the index
+				try {
+					expected.replace(position, solution);
+				} catch (IndexOutOfBoundsException e) {
+					expectedFailed = true;
+				}
+
+				try {
+					actual.replace(position, solution);
+				} catch (IndexOutOfBoundsException e) {
+					actualFailed = true;
+				}
+
+				Assert.assertEquals(expectedFailed, actualFailed);
+			} else {
+				Assert.assertEquals(expected.add(solution),
+						actual.add(solution));
+			}
+
+			Assert.assertEquals(expected.size(), actual.size());
+
+			for (int j = 0; j < expected.size(); j++) {
+				Assert.assertSame(expected.get(j), actual.get(j));
+			}
+		}
+	}
+
+}
@@ -152,6 +152,27 @@ public class NondominatedSortingTest {
 		Assert.assertEquals(0.0, getCrowding(solution3), Settings.EPS);
 	}
 	
+	/**
+	 * Tests if solutions within {@code EPS} distance of another solution are
+	 * treated as duplicates when computing the crowding distance.
+	 */
+	@Test
+	public void testNearlyIdenticalSolutions() {
+		double[] distances = NondominatedSorting.calculateCrowdingDistance(
+				new double[][] {
+					{ 0.0, 1.0 },
+					{ 0.25, 0.75 },
+					{ 0.5, 0.5 },
+					{ 0.25, 0.75 + Settings.EPS / 2.0 },
+					{ 1.0, 0.0 } });
+		
+		Assert.assertTrue(Double.isInfinite(distances[0]));
+		Assert.assertEquals(1.0, distances[1], Settings.EPS);
+		Assert.assertEquals(1.5, distances[2], Settings.EPS);
+		Assert.assertEquals(0.0, distances[3], Settings.EPS);
+		Assert.assertTrue(Double.isInfinite(distances[4]));
+	}
+	
 	@Test
 	public void testSingularDimension() {
 		Solution solution1 = new Solution(new double[] { 0.0, 0.0, 1.0 });
@@ -175,6 +196,52 @@ public class NondominatedSortingTest {
 		Assert.assertTrue(Double.isInfinite(getCrowding(solution3)));
 	}
 	
+	/**
+	 * Tests if the ranks match those produced by the naive implementation on
+	 * random populations, including duplicate solutions, objectives with tied
+	 * values, and constraint violations.
+	 */
+	@Test
+	public void testRandomPopulations() {
+		NondominatedSorting reference = new NondominatedSorting();
+		
+		for (int i = 0; i < 100; i++) {
+			int numberOfObjectives = PRNG.nextInt(1, 6);
+			int size = PRNG.nextInt(1, 200);
+			
+			population.clear();
+			
+			for (int j = 0; j < size; j++) {
+				Solution solution = new Solution(0, numberOfObjectives, 1);
+				
+				for (int k = 0; k < numberOfObjectives; k++) {
+					solution.setObjective(k, PRNG.nextInt(10) / 10.0);
+				}
+				
+				if (PRNG.nextInt(4) == 0) {
+					solution.setConstraint(0, PRNG.nextInt(1, 3));
+				}
+				
+				population.add(solution);
+				
+				if (PRNG.nextInt(10) == 0) {
+					population.add(solution.copy());
+				}
+			}
+			
+			Population expected = new Population(population.asList(true));
+			reference.evaluate(expected);
+			sorting.evaluate(population);
+			
+			assertHasAttributes(population);
+			
+			for (int j = 0; j < population.size(); j++) {
+				Assert.assertEquals(getRank(expected.get(j)),
+						getRank(population.get(j)));
+			}
+		}
+	}
+	
 	private void assertHasAttributes(Population population) {
 		for (Solution solution : population) {
 			Assert.assertTrue(solution.hasAttribute(RANK_ATTRIBUTE));
@@ -21,6 +21,7 @@ import java.lang.reflect.Array;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
 import org.junit.Assert;
@@ -583,5 +584,33 @@ public class PRNGTest {
 
 		Assert.assertEquals(n, count);
 	}
+	
+	/**
+	 * Tests if {@code withRandom} replaces the source of randomness only for
+	 * the thread running the task, restoring the previous source afterwards.
+	 * 
+	 * @throws Exception should not occur
+	 */
+	@Test
+	public void testWithRandom() throws Exception {
+		final Random original = PRNG.getRandom();
+		final Random outer = new Random(1);
+		final Random inner = new Random(2);
+		
+		double value = PRNG.withRandom(outer, () -> {
+			Assert.assertSame(outer, PRNG.getRandom());
+			
+			PRNG.withRandom(inner, () -> {
+				Assert.assertSame(inner, PRNG.getRandom());
+				return null;
+			}).call();
+			
+			Assert.assertSame(outer, PRNG.getRandom());
+			return PRNG.nextDouble();
+		}).call();
+		
+		Assert.assertEquals(new Random(1).nextDouble(), value, 0.0);
+		Assert.assertSame(original, PRNG.getRandom());
+	}
 
 }
@@ -0,0 +1,135 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.moeaframework.TestUtils;
+
+/**
+ * Tests the {@link ReferenceSetStore} class.
+ */
+public class ReferenceSetStoreTest {
+	
+	@Before
+	public void setUp() {
+		// other tests in the same JVM may have already loaded the reference sets
+		ReferenceSetStore.clear();
+	}
+	
+	@After
+	public void tearDown() {
+		ReferenceSetStore.clear();
+		Settings.PROPERTIES.remove(Settings.KEY_REFERENCE_SET_CACHE);
+	}
+	
+	@Test
+	public void testMatchesText() throws IOException {
+		NondominatedPopulation expected = new NondominatedPopulation(
+				PopulationIO.readObjectives(new File("pf/DTLZ2.3D.pf")));
+		
+		TestUtils.assertEquals(expected, ReferenceSetStore.load("pf/DTLZ2.3D.pf"));
+		TestUtils.assertEquals(expected, ReferenceSetStore.load("pf/DTLZ2.3D.pf"));
+	}
+	
+	@Test
+	public void testReturnsCopies() throws IOException {
+		NondominatedPopulation first = ReferenceSetStore.load("pf/DTLZ2.2D.pf");
+		int size = first.size();
+		
+		first.get(0).setObjective(0, -1.0);
+		first.clear();
+		
+		NondominatedPopulation second = ReferenceSetStore.load("pf/DTLZ2.2D.pf");
+		Assert.assertEquals(size, second.size());
+		Assert.assertNotEquals(-1.0, second.get(0).getObjective(0), 0.0);
+	}
+	
+	@Test
+	public void testDominatedSolutionsRemoved() throws IOException {
+		File file = TestUtils.createTempFile("0.0 1.0\n1.0 0.0\n1.0 1.0\n");
+		
+		NondominatedPopulation population = ReferenceSetStore.load(file.getPath());
+		Assert.assertEquals(2, population.size());
+	}
+	
+	@Test
+	public void testModifiedFileReloaded() throws IOException {
+		File file = TestUtils.createTempFile("0.0 1.0\n1.0 0.0\n");
+		Assert.assertEquals(2, ReferenceSetStore.load(file.getPath()).size());
+		
+		try (FileWriter writer = new java.io.FileWriter(file)) {
+			writer.write("0.0 1.0\n0.5 0.5\n1.0 0.0\n");
+		}
+		
+		file.setLastModified(file.lastModified() + 2000);
+		Assert.assertEquals(3, ReferenceSetStore.load(file.getPath()).size());
+	}
+	
+	@Test
+	public void testBinary() throws IOException {
+		File file = TestUtils.createTempFile();
+		NondominatedPopulation expected = PopulationIO.readReferenceSet("pf/DTLZ2.4D.pf");
+		
+		Assert.assertFalse(ReferenceSetStore.isBinary(new File("pf/DTLZ2.4D.pf")));
+		
+		ReferenceSetStore.write(file, expected);
+		
+		Assert.assertTrue(ReferenceSetStore.isBinary(file));
+		TestUtils.assertEquals(expected, ReferenceSetStore.load(file.getPath()));
+	}
+	
+	@Test
+	public void testEmptyBinary() throws IOException {
+		File file = TestUtils.createTempFile();
+		ReferenceSetStore.write(file, new NondominatedPopulation());
+		
+		Assert.assertTrue(ReferenceSetStore.load(file.getPath()).isEmpty());
+	}
+	
+	@Test
+	public void testCacheDirectory() throws IOException {
+		File directory = Files.createTempDirectory("test").toFile();
+		directory.deleteOnExit();
+		Settings.PROPERTIES.setString(Settings.KEY_REFERENCE_SET_CACHE, directory.getPath());
+		
+		NondominatedPopulation expected = ReferenceSetStore.load("pf/DTLZ2.2D.pf");
+		
+		File[] files = directory.listFiles();
+		Assert.assertEquals(1, files.length);
+		Assert.assertTrue(ReferenceSetStore.isBinary(files[0]));
+		files[0].deleteOnExit();
+		
+		ReferenceSetStore.clear();
+		TestUtils.assertEquals(expected, ReferenceSetStore.load("pf/DTLZ2.2D.pf"));
+	}
+	
+	@Test(expected = FileNotFoundException.class)
+	public void testMissingFile() throws IOException {
+		ReferenceSetStore.load("missing_reference_set.pf");
+	}
+
+}
@@ -17,6 +17,10 @@
  */
 package org.moeaframework.core;
 
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.Map;
+
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -221,6 +225,92 @@ public class SolutionTest {
 		Assert.assertNull(solution.getAttribute("foo"));
 	}
 
+	/**
+	 * Tests if the attributes stored in primitive slots are accessible through
+	 * both the typed methods and the attribute methods.
+	 */
+	@Test
+	public void testPrimitiveAttributes() {
+		Assert.assertFalse(solution.hasAttribute(NondominatedSorting.RANK_ATTRIBUTE));
+		
+		solution.setRank(2);
+		solution.setAttribute(NondominatedSorting.CROWDING_ATTRIBUTE, 0.5);
+		solution.setFitness(1.5);
+		
+		Assert.assertEquals(2, solution.getAttribute(NondominatedSorting.RANK_ATTRIBUTE));
+		Assert.assertEquals(0.5, solution.getCrowdingDistance(), Settings.EPS);
+		Assert.assertEquals(1.5, (Double)solution.getAttribute(FitnessEvaluator.FITNESS_ATTRIBUTE),
+				Settings.EPS);
+		Assert.assertTrue(solution.hasAttribute(NondominatedSorting.CROWDING_ATTRIBUTE));
+		Assert.assertEquals(4, solution.getAttributes().size());
+		
+		// copies do not include attributes, but deep copies do
+		Assert.assertFalse(solution.copy().hasAttribute(NondominatedSorting.RANK_ATTRIBUTE));
+		Assert.assertEquals(2, solution.deepCopy().getRank());
+		
+		// overwriting and removing returns the old value
+		Assert.assertEquals(2, solution.setAttribute(NondominatedSorting.RANK_ATTRIBUTE, 3));
+		Assert.assertEquals(3, solution.getRank());
+		Assert.assertEquals(1.5, (Double)solution.removeAttribute(FitnessEvaluator.FITNESS_ATTRIBUTE),
+				Settings.EPS);
+		Assert.assertFalse(solution.hasAttribute(FitnessEvaluator.FITNESS_ATTRIBUTE));
+		
+		// values of other types are stored in the attribute map
+		solution.setAttribute(NondominatedSorting.RANK_ATTRIBUTE, "first");
+		Assert.assertEquals("first", solution.getAttribute(NondominatedSorting.RANK_ATTRIBUTE));
+		solution.setRank(1);
+		Assert.assertEquals(1, solution.getAttribute(NondominatedSorting.RANK_ATTRIBUTE));
+		Assert.assertEquals(3, solution.getAttributes().size());
+		
+		solution.clearAttributes();
+		Assert.assertFalse(solution.hasAttribute(NondominatedSorting.RANK_ATTRIBUTE));
+		Assert.assertFalse(solution.hasAttribute(NondominatedSorting.CROWDING_ATTRIBUTE));
+	}
+	
+	/**
+	 * Tests if the map returned by {@code getAttributes} writes through to
+	 * the solution, including the attributes stored in primitive slots.
+	 */
+	@Test
+	public void testGetAttributesWritesThrough() {
+		Map<String, Serializable> attributes = solution.getAttributes();
+		
+		solution.setRank(2);
+		Assert.assertEquals(2, attributes.get(NondominatedSorting.RANK_ATTRIBUTE));
+		
+		attributes.put("foo", "bar");
+		attributes.put(FitnessEvaluator.FITNESS_ATTRIBUTE, 1.5);
+		Assert.assertEquals("bar", solution.getAttribute("foo"));
+		Assert.assertEquals(1.5, solution.getFitness(), Settings.EPS);
+		Assert.assertEquals(3, attributes.size());
+		
+		Assert.assertEquals(2, attributes.remove(NondominatedSorting.RANK_ATTRIBUTE));
+		Assert.assertFalse(solution.hasAttribute(NondominatedSorting.RANK_ATTRIBUTE));
+		
+		Iterator<Map.Entry<String, Serializable>> iterator = attributes.entrySet().iterator();
+		
+		while (iterator.hasNext()) {
+			if (iterator.next().getKey().equals("foo")) {
+				iterator.remove();
+			}
+		}
+		
+		Assert.assertFalse(solution.hasAttribute("foo"));
+		Assert.assertEquals(1, attributes.size());
+		
+		attributes.clear();
+		Assert.assertFalse(solution.hasAttribute(FitnessEvaluator.FITNESS_ATTRIBUTE));
+		Assert.assertTrue(attributes.isEmpty());
+	}
+	
+	/**
+	 * Tests if reading an unset rank throws a documented exception.
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testGetRankNotSet() {
+		solution.getRank();
+	}
+
 	/**
 	 * Tests if the {@code setVariable} method correctly detects invalid
 	 * indices.
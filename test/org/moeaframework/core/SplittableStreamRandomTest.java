@@ -0,0 +1,208 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.moeaframework.Executor;
+import org.moeaframework.TestUtils;
+
+/**
+ * Tests the {@link SplittableStreamRandom} class.
+ */
+public class SplittableStreamRandomTest {
+	
+	/**
+	 * The number of values drawn by each task.
+	 */
+	private static final int N = 100;
+	
+	/**
+	 * The original source of randomness, restored after each test.
+	 */
+	private Random originalRandom;
+	
+	@Before
+	public void setUp() {
+		originalRandom = PRNG.getRandom();
+	}
+	
+	@After
+	public void tearDown() {
+		PRNG.setRandom(originalRandom);
+	}
+	
+	/**
+	 * Returns a task drawing {@value #N} random values through {@link PRNG}.
+	 * 
+	 * @return the task
+	 */
+	private Callable<double[]> newTask() {
+		return () -> {
+			double[] values = new double[N];
+			
+			for (int i = 0; i < N; i++) {
+				values[i] = PRNG.nextDouble();
+			}
+			
+			return values;
+		};
+	}
+	
+	/**
+	 * Runs tasks in separate streams on a thread pool.
+	 * 
+	 * @param numberOfThreads the number of threads
+	 * @param reverse if {@code true}, submits the tasks in reverse order
+	 * @return the values drawn by each task
+	 * @throws Exception if an error occurred
+	 */
+	private double[][] runTasks(int numberOfThreads, boolean reverse) throws Exception {
+		PRNG.setSeed(12345);
+		
+		int numberOfTasks = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+		List<Future<double[]>> futures = new ArrayList<Future<double[]>>();
+		
+		try {
+			for (int i = 0; i < numberOfTasks; i++) {
+				int id = reverse ? numberOfTasks - i - 1 : i;
+				futures.add(executor.submit(PRNG.withStream(id, newTask())));
+			}
+			
+			double[][] result = new double[numberOfTasks][];
+			
+			for (int i = 0; i < numberOfTasks; i++) {
+				int id = reverse ? numberOfTasks - i - 1 : i;
+				result[id] = futures.get(i).get();
+			}
+			
+			return result;
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	@Test
+	public void testSameSeed() {
+		Random random1 = new SplittableStreamRandom(12345);
+		Random random2 = new SplittableStreamRandom(12345);
+		
+		for (int i = 0; i < N; i++) {
+			Assert.assertEquals(random1.nextLong(), random2.nextLong());
+		}
+	}
+	
+	@Test
+	public void testSetSeed() {
+		Random random = new SplittableStreamRandom(12345);
+		long value = random.nextLong();
+		
+		random.setSeed(12345);
+		Assert.assertEquals(value, random.nextLong());
+	}
+	
+	@Test
+	public void testSerialization() {
+		Random random = new SplittableStreamRandom(12345);
+		long value = random.nextLong();
+		
+		Random copy = SerializationUtils.clone(random);
+		Assert.assertEquals(value, copy.nextLong());
+	}
+	
+	@Test
+	public void testStreamsIndependentOfScheduling() throws Exception {
+		PRNG.setRandom(new SplittableStreamRandom());
+		
+		double[][] expected = runTasks(1, false);
+		double[][] actual = runTasks(4, true);
+		
+		TestUtils.assertEquals(expected, actual);
+		
+		// each task should receive a different stream
+		for (int i = 1; i < expected.length; i++) {
+			Assert.assertNotEquals(expected[0][0], expected[i][0], 0.0);
+		}
+	}
+	
+	@Test
+	public void testStreamDoesNotAdvanceParent() throws Exception {
+		PRNG.setRandom(new SplittableStreamRandom(12345));
+		double expected = PRNG.nextDouble();
+		
+		PRNG.setSeed(12345);
+		PRNG.withStream(0, newTask()).call();
+		Assert.assertEquals(expected, PRNG.nextDouble(), 0.0);
+	}
+	
+	@Test
+	public void testWithoutSplittableStreams() {
+		Callable<double[]> task = newTask();
+		Assert.assertSame(task, PRNG.withStream(0, task));
+	}
+	
+	@Test
+	public void testNextGaussian() {
+		Random random = new SplittableStreamRandom(12345);
+		DescriptiveStatistics statistics = new DescriptiveStatistics();
+		
+		for (int i = 0; i < 100000; i++) {
+			statistics.addValue(random.nextGaussian());
+		}
+		
+		Assert.assertEquals(0.0, statistics.getMean(), 0.05);
+		Assert.assertEquals(1.0, statistics.getStandardDeviation(), 0.05);
+	}
+	
+	@Test
+	public void testExecutorSeedsAreReproducible() {
+		PRNG.setRandom(new SplittableStreamRandom());
+		
+		Executor executor = new Executor()
+				.withProblem("DTLZ2_2")
+				.withAlgorithm("NSGAII")
+				.withMaxEvaluations(1000)
+				.distributeOn(2);
+		
+		PRNG.setSeed(12345);
+		List<NondominatedPopulation> expected = executor.runSeeds(2);
+		
+		PRNG.setSeed(12345);
+		List<NondominatedPopulation> actual = executor.runSeeds(2);
+		
+		for (int i = 0; i < expected.size(); i++) {
+			TestUtils.assertEquals(expected.get(i), actual.get(i));
+		}
+		
+		Assert.assertFalse(TestUtils.equals(expected.get(0), expected.get(1)));
+	}
+
+}
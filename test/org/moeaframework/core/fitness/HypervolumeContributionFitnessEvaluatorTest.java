@@ -0,0 +1,219 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.fitness;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.TestUtils;
+import org.moeaframework.core.FitnessEvaluator;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.indicator.Hypervolume;
+import org.moeaframework.core.operator.RandomInitialization;
+import org.moeaframework.core.spi.ProblemFactory;
+import org.moeaframework.problem.MockRealProblem;
+
+/**
+ * Tests the {@link HypervolumeContributionFitnessEvaluator} class.
+ */
+public class HypervolumeContributionFitnessEvaluatorTest {
+	
+	/**
+	 * Tests that populations with two or fewer solutions are assigned a
+	 * fitness of 0.
+	 */
+	@Test
+	public void testSmallPopulation() {
+		Population population = new Population();
+		population.add(TestUtils.newSolution(0.0, 1.0));
+		population.add(TestUtils.newSolution(1.0, 0.0));
+		
+		new HypervolumeContributionFitnessEvaluator(new MockRealProblem())
+				.evaluate(population);
+		
+		for (Solution solution : population) {
+			Assert.assertEquals(0.0, (Double)solution.getAttribute(
+					FitnessEvaluator.FITNESS_ATTRIBUTE), 0.0);
+		}
+	}
+	
+	/**
+	 * Tests that dominated and duplicate solutions have no contribution.
+	 */
+	@Test
+	public void testDominated() {
+		Population population = new Population();
+		population.add(TestUtils.newSolution(0.0, 1.0));
+		population.add(TestUtils.newSolution(0.5, 0.5));
+		population.add(TestUtils.newSolution(0.5, 0.5));
+		population.add(TestUtils.newSolution(1.0, 0.0));
+		population.add(TestUtils.newSolution(1.0, 1.0));
+		
+		new HypervolumeContributionFitnessEvaluator(new MockRealProblem())
+				.evaluate(population);
+		
+		Assert.assertTrue((Double)population.get(0).getAttribute(
+				FitnessEvaluator.FITNESS_ATTRIBUTE) > 0.0);
+		
+		for (int i = 1; i < population.size() - 1; i++) {
+			Assert.assertEquals(0.0, (Double)population.get(i).getAttribute(
+					FitnessEvaluator.FITNESS_ATTRIBUTE), 0.0);
+		}
+	}
+	
+	@Test
+	public void testDTLZ2_2D() {
+		testExact("DTLZ2_2");
+	}
+	
+	@Test
+	public void testDTLZ2_3D() {
+		testExact("DTLZ2_3");
+	}
+	
+	@Test
+	public void testDTLZ2_4D() {
+		testExact("DTLZ2_4");
+	}
+	
+	/**
+	 * Tests that the Monte Carlo estimates identify the solution with the
+	 * smallest contribution when the contributions are well separated.
+	 */
+	@Test
+	public void testMonteCarlo() {
+		Population population = new Population();
+		population.add(TestUtils.newSolution(0.0, 1.0, 1.0, 1.0));
+		population.add(TestUtils.newSolution(1.0, 0.0, 1.0, 1.0));
+		population.add(TestUtils.newSolution(1.0, 1.0, 0.0, 1.0));
+		population.add(TestUtils.newSolution(1.0, 1.0, 1.0, 0.0));
+		population.add(TestUtils.newSolution(0.9, 0.9, 0.9, 0.9));
+		
+		Problem problem = ProblemFactory.getInstance().getProblem("DTLZ2_4");
+		
+		new HypervolumeContributionFitnessEvaluator(problem, 1.0)
+				.evaluate(population);
+		
+		double[] expected = new double[population.size()];
+		
+		for (int i = 0; i < population.size(); i++) {
+			expected[i] = (Double)population.get(i).getAttribute(
+					FitnessEvaluator.FITNESS_ATTRIBUTE);
+		}
+		
+		new HypervolumeContributionFitnessEvaluator(problem, 1.0, 100000)
+				.evaluate(population);
+		
+		for (int i = 0; i < population.size(); i++) {
+			double actual = (Double)population.get(i).getAttribute(
+					FitnessEvaluator.FITNESS_ATTRIBUTE);
+			
+			if (i == population.size() - 1) {
+				Assert.assertEquals(expected[i], actual, 0.05 * expected[i]);
+			} else {
+				Assert.assertTrue(actual > expected[population.size() - 1]);
+			}
+		}
+	}
+	
+	/**
+	 * Tests that the contributions match removing each solution and
+	 * recomputing the hypervolume.
+	 * 
+	 * @param problemName the problem name
+	 */
+	private void testExact(String problemName) {
+		Problem problem = ProblemFactory.getInstance().getProblem(problemName);
+		Solution[] solutions = new RandomInitialization(problem, 20)
+				.initialize();
+		Population population = new Population(solutions);
+		
+		for (Solution solution : solutions) {
+			problem.evaluate(solution);
+		}
+		
+		double offset = 1.0;
+		int numberOfObjectives = problem.getNumberOfObjectives();
+		double[] min = new double[numberOfObjectives];
+		double[] max = new double[numberOfObjectives];
+		
+		for (int j = 0; j < numberOfObjectives; j++) {
+			min[j] = Double.POSITIVE_INFINITY;
+			max[j] = Double.NEGATIVE_INFINITY;
+			
+			for (Solution solution : solutions) {
+				min[j] = Math.min(min[j], solution.getObjective(j));
+				max[j] = Math.max(max[j], solution.getObjective(j));
+			}
+		}
+		
+		// the hypervolume by slicing objectives implementation maximizes
+		// the objectives with a reference point at the origin
+		Population normalized = new Population();
+		
+		for (Solution solution : solutions) {
+			Solution copy = solution.copy();
+			
+			for (int j = 0; j < numberOfObjectives; j++) {
+				copy.setObjective(j, (max[j] - (solution.getObjective(j) -
+						min[j]) + offset) / (max[j] - min[j]));
+			}
+			
+			normalized.add(copy);
+		}
+		
+		new HypervolumeContributionFitnessEvaluator(problem, offset)
+				.evaluate(population);
+		
+		double total = calculateHypervolume(normalized, numberOfObjectives);
+		
+		for (int i = 0; i < solutions.length; i++) {
+			Population others = new Population(normalized);
+			others.remove(i);
+			
+			Assert.assertEquals(total - calculateHypervolume(others,
+					numberOfObjectives), (Double)solutions[i].getAttribute(
+							FitnessEvaluator.FITNESS_ATTRIBUTE), 1e-8);
+		}
+	}
+	
+	/**
+	 * Returns the hypervolume of the solutions using the hypervolume by
+	 * slicing objectives implementation.
+	 * 
+	 * @param population the solutions
+	 * @param numberOfObjectives the number of objectives
+	 * @return the hypervolume of the solutions
+	 */
+	private double calculateHypervolume(Population population,
+			int numberOfObjectives) {
+		List<Solution> solutions = new ArrayList<Solution>();
+		
+		for (Solution solution : population) {
+			solutions.add(solution);
+		}
+		
+		return Hypervolume.calculateHypervolume(solutions, solutions.size(),
+				numberOfObjectives);
+	}
+
+}
@@ -22,7 +22,9 @@ import org.junit.Test;
 import org.moeaframework.TestUtils;
 import org.moeaframework.core.FitnessEvaluator;
 import org.moeaframework.core.Population;
+import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
 import org.moeaframework.problem.MockRealProblem;
 
 /**
@@ -68,4 +70,114 @@ public class IndicatorFitnessEvaluatorTest {
 		}
 	}
 
+	/**
+	 * Tests if the fitness values computed in parallel on a large population
+	 * match those computed serially.
+	 */
+	@Test
+	public void testParallel() {
+		Problem problem = new MockRealProblem(3);
+		Population population = createPopulation(problem, 300);
+		Population serialPopulation = copy(population);
+		
+		new HypervolumeFitnessEvaluator(problem).evaluate(population);
+		
+		new HypervolumeFitnessEvaluator(problem) {
+			
+			@Override
+			protected boolean isParallelizable() {
+				return false;
+			}
+			
+		}.evaluate(serialPopulation);
+		
+		assertFitnessEquals(serialPopulation, population);
+	}
+	
+	/**
+	 * Tests if reusing the fitness components of surviving solutions produces
+	 * the same fitness values as a fresh evaluation.
+	 */
+	@Test
+	public void testReuse() {
+		Problem problem = new MockRealProblem(2);
+		Population population = createPopulation(problem, 100);
+		
+		// keep the extreme solutions so the bounds are unchanged
+		population.add(TestUtils.newSolution(-1.0, 2.0));
+		population.add(TestUtils.newSolution(2.0, -1.0));
+		
+		IndicatorFitnessEvaluator evaluator = new AdditiveEpsilonIndicatorFitnessEvaluator(problem);
+		evaluator.evaluate(population);
+		
+		for (int i = 0; i < 50; i++) {
+			evaluator.removeAndUpdate(population, PRNG.nextInt(population.size() - 2));
+		}
+		
+		population.addAll(createPopulation(problem, 50));
+		population.get(0).setObjective(0, 0.5);
+		evaluator.evaluate(population);
+		
+		Population expectedPopulation = copy(population);
+		new AdditiveEpsilonIndicatorFitnessEvaluator(problem).evaluate(expectedPopulation);
+		
+		assertFitnessEquals(expectedPopulation, population);
+	}
+	
+	/**
+	 * Tests if populations containing infeasible solutions can be evaluated.
+	 */
+	@Test
+	public void testConstrained() {
+		Problem problem = new MockRealProblem(2);
+		Population population = new Population();
+		population.add(TestUtils.newSolution(0.0, 1.0));
+		population.add(TestUtils.newSolution(1.0, 0.0));
+		
+		Solution infeasible = new Solution(0, 2, 1);
+		infeasible.setObjectives(new double[] { 0.5, 0.5 });
+		infeasible.setConstraint(0, 1.0);
+		population.add(infeasible);
+		
+		new HypervolumeFitnessEvaluator(problem).evaluate(population);
+		
+		for (Solution solution : population) {
+			Assert.assertFalse(Double.isNaN(solution.getFitness()));
+		}
+	}
+	
+	private Population createPopulation(Problem problem, int size) {
+		Population population = new Population();
+		
+		for (int i = 0; i < size; i++) {
+			double[] objectives = new double[problem.getNumberOfObjectives()];
+			
+			for (int j = 0; j < objectives.length; j++) {
+				objectives[j] = PRNG.nextDouble();
+			}
+			
+			population.add(TestUtils.newSolution(objectives));
+		}
+		
+		return population;
+	}
+	
+	private Population copy(Population population) {
+		Population result = new Population();
+		
+		for (Solution solution : population) {
+			result.add(solution.copy());
+		}
+		
+		return result;
+	}
+	
+	private void assertFitnessEquals(Population expected, Population actual) {
+		Assert.assertEquals(expected.size(), actual.size());
+		
+		for (int i = 0; i < expected.size(); i++) {
+			Assert.assertEquals(expected.get(i).getFitness(), actual.get(i).getFitness(), 0.0);
+		}
+	}
+
 }
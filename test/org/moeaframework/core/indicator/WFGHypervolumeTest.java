@@ -0,0 +1,187 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.indicator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Solution;
+
+/**
+ * Tests the {@link WFGHypervolume} class against the hypervolume by slicing
+ * objectives implementation in {@link Hypervolume}.
+ */
+public class WFGHypervolumeTest {
+
+	/**
+	 * The tolerance for floating-point differences between the algorithms.
+	 */
+	private static final double EPS = 1e-10;
+
+	/**
+	 * Tests the hypervolume of simple sets with known values.
+	 */
+	@Test
+	public void testSimple() {
+		double[] referencePoint = new double[] { 1.0, 1.0 };
+
+		Assert.assertEquals(0.0, WFGHypervolume.calculate(new double[0][],
+				referencePoint), EPS);
+		Assert.assertEquals(0.25, WFGHypervolume.calculate(new double[][] {
+				{ 0.5, 0.5 } }, referencePoint), EPS);
+		Assert.assertEquals(0.75, WFGHypervolume.calculate(new double[][] {
+				{ 0.0, 0.5 }, { 0.5, 0.0 } }, referencePoint),
+				EPS);
+		Assert.assertEquals(0.0, WFGHypervolume.calculate(new double[][] {
+				{ 1.0, 0.0 }, { 0.0, 1.0 } }, referencePoint),
+				EPS);
+	}
+
+	/**
+	 * Tests random sets of points against the hypervolume by slicing
+	 * objectives implementation.
+	 */
+	@Test
+	public void testRandom() {
+		for (int numberOfObjectives = 2; numberOfObjectives <= 6;
+				numberOfObjectives++) {
+			for (int i = 0; i < 20; i++) {
+				double[][] points = createPoints(50, numberOfObjectives);
+
+				Assert.assertEquals(calculateHSO(points),
+						WFGHypervolume.calculate(points,
+								createReferencePoint(numberOfObjectives)),
+						EPS);
+			}
+		}
+	}
+
+	/**
+	 * Tests that the points are not modified.
+	 */
+	@Test
+	public void testPointsUnchanged() {
+		double[][] points = createPoints(50, 4);
+		double[][] copy = new double[points.length][];
+
+		for (int i = 0; i < points.length; i++) {
+			copy[i] = points[i].clone();
+		}
+
+		WFGHypervolume.calculate(points, createReferencePoint(4));
+		WFGHypervolume.calculateContributions(points, createReferencePoint(4));
+		Assert.assertArrayEquals(copy, points);
+	}
+
+	/**
+	 * Tests the exclusive hypervolume contributions against removing each
+	 * point and recomputing the hypervolume.
+	 */
+	@Test
+	public void testContributions() {
+		for (int numberOfObjectives = 2; numberOfObjectives <= 5;
+				numberOfObjectives++) {
+			for (int i = 0; i < 10; i++) {
+				double[][] points = createPoints(30, numberOfObjectives);
+				double[] referencePoint =
+						createReferencePoint(numberOfObjectives);
+				double total = WFGHypervolume.calculate(points, referencePoint);
+				double[] contributions =
+						WFGHypervolume.calculateContributions(points,
+								referencePoint);
+
+				for (int j = 0; j < points.length; j++) {
+					double[][] others = new double[points.length - 1][];
+					System.arraycopy(points, 0, others, 0, j);
+					System.arraycopy(points, j + 1, others, j,
+							points.length - j - 1);
+
+					Assert.assertEquals(total - WFGHypervolume.calculate(
+							others, referencePoint), contributions[j],
+							EPS);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates random points, including duplicate and weakly dominated points
+	 * and points outside the reference point.
+	 *
+	 * @param size the number of points
+	 * @param numberOfObjectives the number of objectives
+	 * @return the random points
+	 */
+	private double[][] createPoints(int size, int numberOfObjectives) {
+		double[][] points = new double[size][numberOfObjectives];
+
+		for (int i = 0; i < size; i++) {
+			if ((i > 0) && (PRNG.nextDouble() < 0.1)) {
+				points[i] = points[PRNG.nextInt(i)].clone();
+			} else {
+				for (int j = 0; j < numberOfObjectives; j++) {
+					points[i][j] = PRNG.nextInt(20) / 19.0;
+				}
+			}
+		}
+
+		return points;
+	}
+
+	/**
+	 * Returns the reference point {@code (1, 1, ..., 1)}.
+	 *
+	 * @param numberOfObjectives the number of objectives
+	 * @return the reference point
+	 */
+	private double[] createReferencePoint(int numberOfObjectives) {
+		double[] referencePoint = new double[numberOfObjectives];
+		Arrays.fill(referencePoint, 1.0);
+		return referencePoint;
+	}
+
+	/**
+	 * Computes the hypervolume using the hypervolume by slicing objectives
+	 * implementation, which maximizes objectives with a reference point at
+	 * the origin.
+	 *
+	 * @param points the points
+	 * @return the hypervolume of the points
+	 */
+	private double calculateHSO(double[][] points) {
+		List<Solution> solutions = new ArrayList<Solution>();
+
+		for (double[] point : points) {
+			double[] inverted = new double[point.length];
+
+			for (int i = 0; i < point.length; i++) {
+				inverted[i] = 1.0 - point[i];
+			}
+
+			solutions.add(new Solution(inverted));
+		}
+
+		return Hypervolume.calculateHypervolume(solutions, solutions.size(),
+				points[0].length);
+	}
+
+}
@@ -17,6 +17,8 @@
  */
 package org.moeaframework.core.spi;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
 import org.moeaframework.problem.AnalyticalProblem;
@@ -31,7 +33,7 @@ public class ProblemFactoryTestWrapper extends ProblemFactory {
 	/**
 	 * The number of times the {@code close} method has been invoked.
 	 */
-	private int closeCount;
+	private final AtomicInteger closeCount = new AtomicInteger();
 
 	@Override
 	public synchronized Problem getProblem(String name) {
@@ -43,7 +45,7 @@ public class ProblemFactoryTestWrapper extends ProblemFactory {
 				@Override
 				public void close() {
 					super.close();
-					closeCount++;
+					closeCount.incrementAndGet();
 				}
 				
 			};
@@ -53,7 +55,7 @@ public class ProblemFactoryTestWrapper extends ProblemFactory {
 				@Override
 				public void close() {
 					super.close();
-					closeCount++;
+					closeCount.incrementAndGet();
 				}
 				
 			};
@@ -66,7 +68,7 @@ public class ProblemFactoryTestWrapper extends ProblemFactory {
 	 * @return the number of times the {@code close} method has been invoked
 	 */
 	public int getCloseCount() {
-		return closeCount;
+		return closeCount.get();
 	}
 	
 	private class AnalyticalProblemWrapper extends ProblemWrapper implements AnalyticalProblem {
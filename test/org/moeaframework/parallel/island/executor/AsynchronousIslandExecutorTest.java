@@ -0,0 +1,120 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel.island.executor;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.algorithm.NSGAII;
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+import org.moeaframework.core.operator.TournamentSelection;
+import org.moeaframework.core.spi.AlgorithmFactory;
+import org.moeaframework.core.spi.ProblemFactory;
+import org.moeaframework.parallel.island.Island;
+import org.moeaframework.parallel.island.IslandModel;
+import org.moeaframework.parallel.island.migration.SingleNeighborMigration;
+import org.moeaframework.parallel.island.topology.RingTopology;
+import org.moeaframework.problem.DTLZ.DTLZ2;
+
+/**
+ * Tests the {@link AsynchronousIslandExecutor} class.
+ */
+public class AsynchronousIslandExecutorTest {
+	
+	private static final int NUMBER_OF_ISLANDS = 8;
+	
+	private static final int MAX_EVALUATIONS = 10000;
+	
+	private IslandModel createModel(Problem problem) {
+		IslandModel model = new IslandModel(500,
+				new SingleNeighborMigration(2, new TournamentSelection(2, new ParetoDominanceComparator())),
+				new RingTopology());
+		
+		for (int i = 0; i < NUMBER_OF_ISLANDS; i++) {
+			NSGAII algorithm = (NSGAII)AlgorithmFactory.getInstance().getAlgorithm("NSGAII", problem);
+			model.addIsland(new Island(algorithm, algorithm.getPopulation(), 10));
+		}
+		
+		return model;
+	}
+	
+	@Test
+	public void testMoreIslandsThanThreads() throws IOException {
+		Problem problem = ProblemFactory.getInstance().getProblem("DTLZ2_2");
+		IslandModel model = createModel(problem);
+		
+		try (AsynchronousIslandExecutor executor = new AsynchronousIslandExecutor(model, 2)) {
+			NondominatedPopulation result = executor.run(MAX_EVALUATIONS);
+			
+			Assert.assertFalse(result.isEmpty());
+			Assert.assertTrue(executor.getNumberOfEvaluations() >= MAX_EVALUATIONS);
+			
+			long total = 0;
+			
+			for (int i = 0; i < NUMBER_OF_ISLANDS; i++) {
+				Assert.assertTrue(executor.getNumberOfEvaluations(i) > 0);
+				Assert.assertTrue(executor.getThroughput(i) > 0.0);
+				Assert.assertTrue(model.getIslands().get(i).getImmigrationQueue().size() <= 10);
+				total += executor.getNumberOfEvaluations(i);
+			}
+			
+			// each island overshoots the budget by at most one step
+			Assert.assertEquals(executor.getNumberOfEvaluations(), total);
+			Assert.assertTrue(total < MAX_EVALUATIONS + NUMBER_OF_ISLANDS * 100);
+		}
+		
+		problem.close();
+	}
+	
+	@Test
+	public void testFailureStopsAllIslands() throws IOException {
+		final AtomicInteger count = new AtomicInteger();
+		
+		Problem problem = new DTLZ2(2) {
+			
+			@Override
+			public void evaluate(Solution solution) {
+				if (count.incrementAndGet() > 1000) {
+					throw new IllegalStateException();
+				}
+				
+				super.evaluate(solution);
+			}
+			
+		};
+		
+		try (AsynchronousIslandExecutor executor = new AsynchronousIslandExecutor(createModel(problem), 2)) {
+			executor.run(MAX_EVALUATIONS);
+			Assert.fail("expected the failure to propagate");
+		} catch (FrameworkException e) {
+			Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidStepsPerTask() {
+		new AsynchronousIslandExecutor(createModel(new DTLZ2(2)), 2, 0);
+	}
+
+}
@@ -0,0 +1,161 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel.island.executor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.SecureRandom;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.moeaframework.algorithm.NSGAII;
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+import org.moeaframework.core.operator.TournamentSelection;
+import org.moeaframework.core.spi.AlgorithmFactory;
+import org.moeaframework.parallel.island.Island;
+import org.moeaframework.parallel.island.migration.SingleNeighborMigration;
+import org.moeaframework.parallel.island.topology.RingTopology;
+import org.moeaframework.problem.DTLZ.DTLZ2;
+
+/**
+ * Tests the {@link ProcessIslandExecutor} class.  Each test launches one Java
+ * process per island.
+ */
+public class ProcessIslandExecutorTest {
+	
+	private static final int NUMBER_OF_ISLANDS = 3;
+	
+	private static final int MAX_EVALUATIONS = 9000;
+	
+	private File directory;
+	
+	@Before
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("islands").toFile();
+	}
+	
+	@After
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(directory);
+	}
+	
+	private ProcessIslandExecutor createExecutor(IslandFactory factory) {
+		return new ProcessIslandExecutor(factory, NUMBER_OF_ISLANDS, 500,
+				new SingleNeighborMigration(2, new TournamentSelection(2, new ParetoDominanceComparator())),
+				new RingTopology());
+	}
+	
+	@Test
+	public void test() throws IOException {
+		try (ProcessIslandExecutor executor = createExecutor(new TestIslandFactory(null))) {
+			NondominatedPopulation result = executor.run(MAX_EVALUATIONS);
+			
+			Assert.assertFalse(result.isEmpty());
+			Assert.assertEquals(0, executor.getNumberOfRestarts());
+		}
+	}
+	
+	@Test
+	public void testRestartFromCheckpoint() throws IOException {
+		try (ProcessIslandExecutor executor = createExecutor(new TestIslandFactory(directory))) {
+			executor.withCheckpoints(directory, 500);
+			NondominatedPopulation result = executor.run(MAX_EVALUATIONS);
+			
+			Assert.assertFalse(result.isEmpty());
+			Assert.assertEquals(1, executor.getNumberOfRestarts());
+			Assert.assertTrue(executor.getCheckpointFile(0).exists());
+		}
+	}
+	
+	@Test
+	public void testToken() {
+		byte[] token = new byte[IslandProcess.TOKEN_LENGTH];
+		new SecureRandom().nextBytes(token);
+		
+		Assert.assertArrayEquals(token, IslandProcess.decodeToken(IslandProcess.encodeToken(token)));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidToken() {
+		IslandProcess.decodeToken("not a token");
+	}
+	
+	@Test(expected = FrameworkException.class)
+	public void testFailure() throws IOException {
+		try (ProcessIslandExecutor executor = createExecutor(new TestIslandFactory(directory))) {
+			executor.withMaxRestarts(0).run(MAX_EVALUATIONS);
+		}
+	}
+	
+	/**
+	 * Creates islands running NSGA-II on DTLZ2.  If a directory is given, the
+	 * process running the first island exits after 1000 evaluations the first
+	 * time it runs, which is recorded by a marker file in that directory.
+	 */
+	public static class TestIslandFactory implements IslandFactory {
+
+		private static final long serialVersionUID = -7394460937373574532L;
+		
+		private final File directory;
+		
+		public TestIslandFactory(File directory) {
+			super();
+			this.directory = directory;
+		}
+
+		@Override
+		public Island createIsland(final int index) {
+			DTLZ2 problem = new DTLZ2(2) {
+				
+				private int count;
+
+				@Override
+				public void evaluate(Solution solution) {
+					if ((directory != null) && (index == 0) && (++count > 1000)) {
+						File marker = new File(directory, "crashed");
+						
+						if (!marker.exists()) {
+							try {
+								marker.createNewFile();
+							} catch (IOException e) {
+								throw new RuntimeException(e);
+							}
+							
+							System.exit(-1);
+						}
+					}
+					
+					super.evaluate(solution);
+				}
+				
+			};
+			
+			NSGAII algorithm = (NSGAII)AlgorithmFactory.getInstance().getAlgorithm("NSGAII", problem);
+			return new Island(algorithm, algorithm.getPopulation());
+		}
+		
+	}
+
+}
@@ -0,0 +1,84 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel.util;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.Solution;
+
+/**
+ * Tests the {@link ImmigrationQueue} class.
+ */
+public class ImmigrationQueueTest {
+	
+	private Solution createSolution(double value) {
+		Solution solution = new Solution(0, 1);
+		solution.setObjective(0, value);
+		return solution;
+	}
+	
+	@Test
+	public void testUnbounded() {
+		ImmigrationQueue queue = new ImmigrationQueue();
+		
+		for (int i = 0; i < 100; i++) {
+			queue.add(createSolution(i));
+		}
+		
+		Assert.assertEquals(100, queue.size());
+		Assert.assertEquals(0.0, queue.pop().getObjective(0), 0.0);
+		Assert.assertEquals(99, queue.popAll().size());
+		Assert.assertTrue(queue.isEmpty());
+		Assert.assertEquals(0, queue.size());
+	}
+	
+	@Test
+	public void testBoundedDiscardsOldest() {
+		ImmigrationQueue queue = new ImmigrationQueue(3);
+		
+		queue.addAll(new Solution[] { createSolution(0), createSolution(1) });
+		queue.add(createSolution(2));
+		queue.add(createSolution(3));
+		
+		Assert.assertEquals(3, queue.size());
+		
+		List<Solution> solutions = queue.popAll();
+		
+		Assert.assertEquals(3, solutions.size());
+		Assert.assertEquals(1.0, solutions.get(0).getObjective(0), 0.0);
+		Assert.assertEquals(3.0, solutions.get(2).getObjective(0), 0.0);
+		Assert.assertEquals(0, queue.size());
+	}
+	
+	@Test
+	public void testCopies() {
+		Solution solution = createSolution(0);
+		ImmigrationQueue queue = new ImmigrationQueue();
+		queue.add(solution);
+		
+		Assert.assertNotSame(solution, queue.pop());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidCapacity() {
+		new ImmigrationQueue(0);
+	}
+
+}
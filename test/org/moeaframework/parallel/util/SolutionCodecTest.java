@@ -0,0 +1,67 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.parallel.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+import org.moeaframework.TestUtils;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.variable.BinaryVariable;
+import org.moeaframework.core.variable.Permutation;
+import org.moeaframework.core.variable.RealVariable;
+import org.moeaframework.core.variable.Subset;
+
+/**
+ * Tests the {@link SolutionCodec} class.
+ */
+public class SolutionCodecTest {
+	
+	@Test
+	public void testRoundTrip() throws IOException {
+		Solution template = new Solution(4, 2, 1);
+		template.setVariable(0, new RealVariable(0.0, 1.0));
+		template.setVariable(1, new BinaryVariable(10));
+		template.setVariable(2, new Permutation(5));
+		template.setVariable(3, new Subset(2, 4, 10));
+		
+		Solution solution = template.copy();
+		
+		for (int i = 0; i < solution.getNumberOfVariables(); i++) {
+			solution.getVariable(i).randomize();
+		}
+		
+		solution.setObjectives(new double[] { 0.5, -1.0 });
+		solution.setConstraint(0, 2.0);
+		
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		
+		try (DataOutputStream out = new DataOutputStream(buffer)) {
+			SolutionCodec.write(solution, out);
+		}
+		
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()))) {
+			TestUtils.assertEquals(solution, SolutionCodec.read(template, in));
+		}
+	}
+
+}
@@ -18,11 +18,16 @@
 package org.moeaframework.problem;
 
 import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -31,12 +36,13 @@ import org.junit.Test;
 import org.moeaframework.core.Settings;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.variable.BinaryVariable;
+import org.moeaframework.core.variable.EncodingUtils;
 import org.moeaframework.core.variable.Permutation;
 import org.moeaframework.core.variable.RealVariable;
 
 /**
  * Tests the {@link ExternalProblem} class without the need for an external
- * executable.  No error conditions are tested.
+ * executable.
  */
 public class ExternalProblemTest {
 	
@@ -58,7 +64,11 @@ public class ExternalProblemTest {
 		o2 = new PipedOutputStream();
 		i2.connect(o2);
 		
-		problem = new ExternalProblem(i1, o2) {
+		problem = createProblem(false);
+	}
+	
+	private ExternalProblem createProblem(final boolean binary) {
+		return new ExternalProblem(i1, o2) {
 
 			@Override
 			public String getName() {
@@ -90,6 +100,11 @@ public class ExternalProblemTest {
 				return solution;
 			}
 			
+			@Override
+			protected boolean useBinaryProtocol() {
+				return binary;
+			}
+			
 		};
 	}
 	
@@ -125,6 +140,167 @@ public class ExternalProblemTest {
 		});
 	}
 	
+	@Test(timeout = 10000)
+	public void testBinaryOutOfOrder() throws Exception {
+		problem = createProblem(true);
+		
+		// responds to each pair of requests in reverse order
+		Thread consumerThread = new Thread() {
+			public void run() {
+				try (DataInputStream input = new DataInputStream(i2);
+					 DataOutputStream output = new DataOutputStream(o1)) {
+					int[] requestIDs = new int[2];
+					double[] values = new double[2];
+					
+					while (true) {
+						for (int i = 0; i < 2; i++) {
+							try {
+								requestIDs[i] = input.readInt();
+							} catch (EOFException e) {
+								return;
+							}
+							
+							// two doubles, one byte of bits, and three ints
+							Assert.assertEquals(29, input.readInt());
+							values[i] = input.readDouble();
+							input.readFully(new byte[21]);
+						}
+						
+						for (int i = 1; i >= 0; i--) {
+							output.writeInt(requestIDs[i]);
+							output.writeInt(3);
+							output.writeDouble(values[i]);
+							output.writeDouble(1.0 - values[i]);
+							output.writeDouble(0.5);
+						}
+						
+						output.flush();
+					}
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		};
+		
+		consumerThread.start();
+		
+		List<Solution> solutions = new ArrayList<Solution>();
+		
+		for (int i = 0; i < 100; i++) {
+			Solution solution = problem.newSolution();
+			EncodingUtils.setReal(solution.getVariable(0), i / 100.0);
+			solutions.add(solution);
+		}
+		
+		problem.evaluateAll(solutions);
+		problem.close();
+		
+		for (int i = 0; i < 100; i++) {
+			Solution solution = solutions.get(i);
+			Assert.assertEquals(i / 100.0, solution.getObjective(0), Settings.EPS);
+			Assert.assertEquals(1.0 - i / 100.0, solution.getObjective(1), Settings.EPS);
+			Assert.assertEquals(0.5, solution.getConstraint(0), Settings.EPS);
+		}
+		
+		consumerThread.join();
+	}
+	
+	@Test(timeout = 10000)
+	public void testMalformedResponseDrainsPipeline() throws Exception {
+		// responds to each request with its first variable, except a malformed
+		// response to the request whose first variable is 0.05
+		Thread consumerThread = new Thread() {
+			public void run() {
+				try (BufferedReader reader = new BufferedReader(new InputStreamReader(i2));
+					 PrintStream writer = new PrintStream(o1)) {
+					String line = null;
+
+					while ((line = reader.readLine()) != null) {
+						double value = Double.parseDouble(line.split("\\s+")[0]);
+						
+						if (value == 0.05) {
+							writer.println("0.2 malformed 0.5");
+						} else {
+							writer.println(value + " 0.8 0.5");
+						}
+						
+						writer.flush();
+					}
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		};
+		
+		consumerThread.start();
+		
+		List<Solution> solutions = new ArrayList<Solution>();
+		
+		for (int i = 0; i < 10; i++) {
+			Solution solution = problem.newSolution();
+			EncodingUtils.setReal(solution.getVariable(0), i / 100.0);
+			solutions.add(solution);
+		}
+		
+		try {
+			problem.evaluateAll(solutions);
+			Assert.fail("expected ProblemException");
+		} catch (ProblemException e) {
+			// expected
+		}
+		
+		Solution solution = problem.newSolution();
+		EncodingUtils.setReal(solution.getVariable(0), 0.7);
+		problem.evaluate(solution);
+		problem.close();
+		
+		Assert.assertEquals(0.7, solution.getObjective(0), Settings.EPS);
+		
+		consumerThread.join();
+	}
+	
+	@Test(timeout = 10000)
+	public void testUnknownRequestIdentifierFails() throws Exception {
+		problem = createProblem(true);
+		
+		Thread consumerThread = new Thread() {
+			public void run() {
+				try (DataInputStream input = new DataInputStream(i2);
+					 DataOutputStream output = new DataOutputStream(o1)) {
+					input.readInt();
+					input.readFully(new byte[input.readInt()]);
+					
+					output.writeInt(-1);
+					output.writeInt(3);
+					output.writeDouble(0.2);
+					output.writeDouble(0.8);
+					output.writeDouble(0.5);
+					output.flush();
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		};
+		
+		consumerThread.start();
+		
+		try {
+			problem.evaluate(problem.newSolution());
+			Assert.fail("expected ProblemException");
+		} catch (ProblemException e) {
+			// expected
+		}
+		
+		consumerThread.join();
+		
+		try {
+			problem.evaluate(problem.newSolution());
+			Assert.fail("expected ProblemException");
+		} catch (ProblemException e) {
+			Assert.assertTrue(e.getMessage().contains("previously failed"));
+		}
+	}
+	
 	public void run(Thread consumerThread) throws Exception {
 		Thread producerThread = new Thread() {
 			public void run() {
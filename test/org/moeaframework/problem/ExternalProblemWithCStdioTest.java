@@ -21,6 +21,7 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.Arrays;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -162,6 +163,37 @@ public class ExternalProblemWithCStdioTest {
 		}
 	}
 	
+	@Test
+	public void testEvaluateAll() throws IOException {
+		//the debug stream is read afterwards, so keep its output small enough
+		//to fit within the pipe's buffer
+		Initialization initialization = new RandomInitialization(problem, 100);
+
+		Solution[] solutions = initialization.initialize();
+		problem.evaluateAll(Arrays.asList(solutions));
+		
+		for (int i=0; i<solutions.length; i++) {
+			Solution solution = solutions[i];
+			
+			//check objectives and constraints
+			Assert.assertArrayEquals(new double[] { i+1, 1e-10/(i+1) }, 
+					solution.getObjectives(), Settings.EPS);
+			Assert.assertArrayEquals(new double[] { 1e10*(i+1) }, 
+					solution.getConstraints(), Settings.EPS);
+			
+			//check the debug stream
+			String debugLine = debugReader.readLine();
+			
+			Assert.assertNotNull(debugLine);
+			
+			String[] debugTokens = debugLine.split("\\s+");
+			
+			Assert.assertEquals(
+					((RealVariable)solution.getVariable(0)).getValue(), 
+					Double.parseDouble(debugTokens[0]), Settings.EPS);
+		}
+	}
+	
 	@Test(expected = ProblemException.class)
 	public void testError1() {
 		Solution solution = problem.newSolution();
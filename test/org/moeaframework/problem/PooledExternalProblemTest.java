@@ -0,0 +1,221 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.problem;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.Settings;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.variable.EncodingUtils;
+import org.moeaframework.core.variable.RealVariable;
+
+/**
+ * Tests the {@link PooledExternalProblem} class.  The external processes run
+ * {@link TestWorker}, which can be configured to crash or hang.
+ */
+public class PooledExternalProblemTest {
+	
+	private PooledExternalProblem problem;
+	
+	@After
+	public void tearDown() {
+		if (problem != null) {
+			problem.close();
+			problem = null;
+		}
+	}
+	
+	@Test
+	public void testEvaluateAll() throws IOException {
+		problem = createProblem(4, 0, "normal", 0);
+		Assert.assertEquals(4, problem.getPoolSize());
+		test(50);
+	}
+	
+	@Test
+	public void testEvaluate() throws IOException {
+		problem = createProblem(2, 0, "normal", 0);
+		
+		for (int i = 0; i < 10; i++) {
+			Solution solution = problem.newSolution();
+			EncodingUtils.setReal(solution.getVariable(0), i / 10.0);
+			problem.evaluate(solution);
+			
+			Assert.assertArrayEquals(new double[] { i / 10.0, (i / 10.0) * (i / 10.0) },
+					solution.getObjectives(), Settings.EPS);
+		}
+	}
+	
+	@Test
+	public void testRestartCrashedProcess() throws IOException {
+		problem = createProblem(2, 0, "crash", 2);
+		test(20);
+	}
+	
+	@Test
+	public void testRestartHungProcess() throws IOException {
+		problem = createProblem(2, 1000, "hang", 2);
+		test(6);
+	}
+	
+	@Test(expected = ProblemException.class)
+	public void testFailure() throws IOException {
+		problem = createProblem(2, 0, "crash", 0);
+		test(1);
+	}
+	
+	@Test
+	public void testCloseDuringEvaluation() throws IOException, InterruptedException {
+		problem = createProblem(1, 0, "hang", 0);
+		
+		AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		Thread thread = new Thread(() -> {
+			try {
+				test(1);
+			} catch (Throwable e) {
+				failure.set(e);
+			}
+		});
+		
+		thread.start();
+		Thread.sleep(1000);
+		problem.close();
+		thread.join(10000);
+		
+		Assert.assertFalse(thread.isAlive());
+		Assert.assertTrue(failure.get() instanceof ProblemException);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidPoolSize() throws IOException {
+		problem = createProblem(0, 0, "normal", 0);
+	}
+	
+	/**
+	 * Evaluates solutions in batch and checks the objective values.
+	 * 
+	 * @param N the number of solutions
+	 */
+	private void test(int N) {
+		List<Solution> solutions = new ArrayList<Solution>();
+		
+		for (int i = 0; i < N; i++) {
+			Solution solution = problem.newSolution();
+			EncodingUtils.setReal(solution.getVariable(0), i / (double)N);
+			solutions.add(solution);
+		}
+		
+		problem.evaluateAll(solutions);
+		
+		for (int i = 0; i < N; i++) {
+			double x = i / (double)N;
+			Assert.assertArrayEquals(new double[] { x, x * x },
+					solutions.get(i).getObjectives(), Settings.EPS);
+		}
+	}
+	
+	/**
+	 * Creates a pooled problem running {@link TestWorker} in each process.
+	 * 
+	 * @param poolSize the number of processes
+	 * @param timeout the evaluation timeout in milliseconds
+	 * @param mode the failure mode of the worker, either {@code normal},
+	 *        {@code crash}, or {@code hang}
+	 * @param limit the number of evaluations before the worker fails
+	 * @return the pooled problem
+	 * @throws IOException if an I/O error occurred starting the processes
+	 */
+	private PooledExternalProblem createProblem(int poolSize, long timeout, String mode, int limit)
+			throws IOException {
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		
+		return new PooledExternalProblem(poolSize, timeout, TimeUnit.MILLISECONDS, java, "-cp",
+				System.getProperty("java.class.path"), TestWorker.class.getName(), mode,
+				Integer.toString(limit)) {
+
+			@Override
+			public String getName() {
+				return "Test";
+			}
+
+			@Override
+			public int getNumberOfVariables() {
+				return 1;
+			}
+
+			@Override
+			public int getNumberOfObjectives() {
+				return 2;
+			}
+
+			@Override
+			public int getNumberOfConstraints() {
+				return 0;
+			}
+
+			@Override
+			public Solution newSolution() {
+				Solution solution = new Solution(1, 2);
+				solution.setVariable(0, new RealVariable(0.0, 1.0));
+				return solution;
+			}
+			
+		};
+	}
+	
+	/**
+	 * External process evaluating {@code (x, x^2)}.  After a given number of
+	 * evaluations, the process either exits with an error ({@code crash}) or
+	 * stops responding ({@code hang}).
+	 */
+	public static class TestWorker {
+		
+		public static void main(String[] args) throws IOException, InterruptedException {
+			String mode = args[0];
+			int limit = Integer.parseInt(args[1]);
+			int count = 0;
+			String line = null;
+			
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(System.in))) {
+				while (((line = reader.readLine()) != null) && !line.isEmpty()) {
+					if ((count++ >= limit) && mode.equals("crash")) {
+						System.exit(-1);
+					} else if ((count > limit) && mode.equals("hang")) {
+						Thread.sleep(Long.MAX_VALUE);
+					}
+					
+					double x = Double.parseDouble(line.trim());
+					System.out.println(x + " " + (x * x));
+					System.out.flush();
+				}
+			}
+		}
+		
+	}
+
+}
@@ -0,0 +1,90 @@
+/* Copyright 2009-2022 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.problem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+
+/**
+ * Tests the {@link ProblemWrapper} class.
+ */
+public class ProblemWrapperTest {
+	
+	/**
+	 * Records the batches passed to {@code evaluateAll}.
+	 */
+	private static class BatchRecordingProblem extends MockRealProblem {
+		
+		private final List<Integer> batchSizes = new ArrayList<Integer>();
+		
+		@Override
+		public void evaluateAll(List<Solution> solutions) {
+			batchSizes.add(solutions.size());
+			super.evaluateAll(solutions);
+		}
+		
+	}
+	
+	private static List<Solution> createSolutions(Problem problem, int size) {
+		List<Solution> solutions = new ArrayList<Solution>();
+		
+		for (int i = 0; i < size; i++) {
+			solutions.add(problem.newSolution());
+		}
+		
+		return solutions;
+	}
+	
+	@Test
+	public void testEvaluateAllForwardsBatch() {
+		BatchRecordingProblem problem = new BatchRecordingProblem();
+		ProblemWrapper wrapper = new ProblemWrapper(problem) {};
+		
+		wrapper.evaluateAll(createSolutions(wrapper, 10));
+		
+		Assert.assertEquals(1, problem.batchSizes.size());
+		Assert.assertEquals(10, problem.batchSizes.get(0).intValue());
+	}
+	
+	@Test
+	public void testEvaluateAllUsesOverriddenEvaluate() {
+		BatchRecordingProblem problem = new BatchRecordingProblem();
+		final List<Solution> evaluated = new ArrayList<Solution>();
+		
+		ProblemWrapper wrapper = new ProblemWrapper(problem) {
+			
+			@Override
+			public void evaluate(Solution solution) {
+				evaluated.add(solution);
+				super.evaluate(solution);
+			}
+			
+		};
+		
+		wrapper.evaluateAll(createSolutions(wrapper, 10));
+		
+		Assert.assertTrue(problem.batchSizes.isEmpty());
+		Assert.assertEquals(10, evaluated.size());
+	}
+
+}
@@ -29,6 +29,10 @@ int main() {
 #else
   MOEA_Init(2, 1);
 #endif
+
+#ifdef USE_BINARY
+  MOEA_Enable_binary();
+#endif
   
   double doubles[2];
   int binary[5];
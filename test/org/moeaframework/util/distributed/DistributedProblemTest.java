@@ -17,9 +17,20 @@
  */
 package org.moeaframework.util.distributed;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.commons.lang3.SerializationUtils;
 import org.junit.Assert;
 import org.junit.Test;
 import org.moeaframework.Executor;
@@ -28,9 +39,12 @@ import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Population;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
+import org.moeaframework.core.SplittableStreamRandom;
+import org.moeaframework.core.variable.EncodingUtils;
 import org.moeaframework.problem.AbstractProblem;
 import org.moeaframework.problem.MockRealProblem;
 import org.moeaframework.problem.MockRealStochasticProblem;
+import org.moeaframework.problem.ProblemException;
 
 /**
  * Tests the {@link DistributedProblem} and {@link FutureSolution} classes.
@@ -84,6 +98,284 @@ public class DistributedProblemTest {
 		executor.shutdown();
 	}
 
+	/**
+	 * Tests if evaluating solutions in batch groups the solutions into chunks
+	 * and assigns each solution its own result and identifier.
+	 */
+	@Test
+	public void testEvaluateAll() {
+		final AtomicInteger numberOfBatches = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		Problem problem = new DistributedProblem(new MockRealProblem() {
+
+			@Override
+			public void evaluate(Solution solution) {
+				solution.setObjective(0, EncodingUtils.getReal(solution.getVariable(0)));
+			}
+			
+			@Override
+			public void evaluateAll(List<Solution> solutions) {
+				numberOfBatches.incrementAndGet();
+				super.evaluateAll(solutions);
+			}
+
+		}, executor);
+		
+		List<Solution> solutions = new ArrayList<Solution>();
+		
+		for (int i = 0; i < 100; i++) {
+			Solution solution = problem.newSolution();
+			EncodingUtils.setReal(solution.getVariable(0), i / 100.0);
+			solutions.add(solution);
+		}
+		
+		problem.evaluateAll(solutions);
+		
+		for (int i = 0; i < 100; i++) {
+			FutureSolution solution = (FutureSolution)solutions.get(i);
+			Assert.assertEquals(i / 100.0, solution.getObjective(0), 0.0);
+			Assert.assertEquals(i, solution.getDistributedEvaluationID());
+		}
+		
+		// 2 threads with 4 chunks per thread
+		Assert.assertEquals(8, numberOfBatches.get());
+		
+		executor.shutdown();
+	}
+	
+	/**
+	 * Tests if the random numbers seen by each solution when evaluating in
+	 * batch do not depend on the number of threads, and therefore the size
+	 * of each chunk, when using {@link SplittableStreamRandom}.
+	 */
+	@Test
+	public void testEvaluateAllStreamsIndependentOfParallelism() {
+		double[] single = getResultFromStochasticBatch(1);
+		double[] quad = getResultFromStochasticBatch(4);
+		
+		Assert.assertArrayEquals(single, quad, 0.0);
+	}
+	
+	/**
+	 * Evaluates solutions in batch with a problem whose objective is a random
+	 * number.
+	 * 
+	 * @param numberOfThreads the number of threads
+	 * @return the objective value of each solution
+	 */
+	private double[] getResultFromStochasticBatch(int numberOfThreads) {
+		Random originalRandom = PRNG.getRandom();
+		ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+		
+		try {
+			PRNG.setRandom(new SplittableStreamRandom(1));
+			
+			Problem problem = new DistributedProblem(new MockRealProblem() {
+
+				@Override
+				public void evaluate(Solution solution) {
+					solution.setObjective(0, PRNG.nextDouble());
+				}
+
+			}, executor);
+			
+			List<Solution> solutions = new ArrayList<Solution>();
+			
+			for (int i = 0; i < 200; i++) {
+				solutions.add(problem.newSolution());
+			}
+			
+			problem.evaluateAll(solutions);
+			
+			double[] result = new double[solutions.size()];
+			
+			for (int i = 0; i < solutions.size(); i++) {
+				result[i] = solutions.get(i).getObjective(0);
+			}
+			
+			return result;
+		} finally {
+			PRNG.setRandom(originalRandom);
+			executor.shutdown();
+		}
+	}
+	
+	/**
+	 * Tests if solutions evaluated on a local thread pool signal when their
+	 * evaluation completes.
+	 */
+	@Test
+	public void testWhenDone() throws InterruptedException {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch finish = new CountDownLatch(1);
+		final CountDownLatch signalled = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(1);
+		
+		try {
+			Problem problem = new DistributedProblem(new MockRealProblem() {
+
+				@Override
+				public void evaluate(Solution solution) {
+					started.countDown();
+					
+					try {
+						finish.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+
+			}, executor);
+			
+			FutureSolution solution = (FutureSolution)problem.newSolution();
+			problem.evaluate(solution);
+			started.await();
+			
+			Assert.assertTrue(solution.whenDone(() -> signalled.countDown()));
+			Assert.assertEquals(1, signalled.getCount());
+			
+			finish.countDown();
+			Assert.assertTrue(signalled.await(10, TimeUnit.SECONDS));
+			Assert.assertTrue(solution.isDone());
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	/**
+	 * Tests if jobs can be serialized, as required by remote executors, when
+	 * using {@link SplittableStreamRandom}, and that each solution sees the
+	 * same random numbers as when evaluated locally.
+	 */
+	@Test
+	public void testSerializableJobsWithStreams() {
+		Assert.assertArrayEquals(getResultFromStreams(Executors.newFixedThreadPool(2)),
+				getResultFromStreams(new SerializingExecutorService(Executors.newFixedThreadPool(2))), 0.0);
+	}
+	
+	/**
+	 * Evaluates solutions individually and in batch with a problem whose
+	 * objective is a random number.
+	 * 
+	 * @param executor the executor, which is shutdown afterwards
+	 * @return the objective value of each solution
+	 */
+	private double[] getResultFromStreams(ExecutorService executor) {
+		Random originalRandom = PRNG.getRandom();
+		
+		try {
+			PRNG.setRandom(new SplittableStreamRandom(1));
+			
+			Problem problem = new DistributedProblem(new SerializableStochasticProblem(), executor);
+			List<Solution> solutions = new ArrayList<Solution>();
+			
+			for (int i = 0; i < 100; i++) {
+				solutions.add(problem.newSolution());
+			}
+			
+			for (int i = 0; i < 10; i++) {
+				problem.evaluate(solutions.get(i));
+			}
+			
+			problem.evaluateAll(solutions.subList(10, solutions.size()));
+			
+			double[] result = new double[solutions.size()];
+			
+			for (int i = 0; i < solutions.size(); i++) {
+				result[i] = solutions.get(i).getObjective(0);
+			}
+			
+			return result;
+		} finally {
+			PRNG.setRandom(originalRandom);
+			executor.shutdown();
+		}
+	}
+	
+	/**
+	 * Serializable problem whose objective is a random number.
+	 */
+	private static class SerializableStochasticProblem extends MockRealProblem implements Serializable {
+
+		private static final long serialVersionUID = -2187338564924812391L;
+
+		@Override
+		public void evaluate(Solution solution) {
+			solution.setObjective(0, PRNG.nextDouble());
+		}
+		
+	}
+	
+	/**
+	 * Executor that serializes and deserializes each job before running it,
+	 * as an executor running jobs on remote nodes would.
+	 */
+	private static class SerializingExecutorService extends AbstractExecutorService {
+		
+		private final ExecutorService executor;
+		
+		public SerializingExecutorService(ExecutorService executor) {
+			super();
+			this.executor = executor;
+		}
+
+		@Override
+		public <T> Future<T> submit(Callable<T> task) {
+			Callable<T> copy = SerializationUtils.deserialize(SerializationUtils.serialize((Serializable)task));
+			return executor.submit(copy);
+		}
+
+		@Override
+		public void execute(Runnable command) {
+			throw new UnsupportedOperationException("jobs must be submitted as callables");
+		}
+
+		@Override
+		public void shutdown() {
+			executor.shutdown();
+		}
+
+		@Override
+		public List<Runnable> shutdownNow() {
+			return executor.shutdownNow();
+		}
+
+		@Override
+		public boolean isShutdown() {
+			return executor.isShutdown();
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return executor.isTerminated();
+		}
+
+		@Override
+		public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+			return executor.awaitTermination(timeout, unit);
+		}
+		
+	}
+	
+	/**
+	 * Tests if evaluating solutions in batch requires {@link FutureSolution}
+	 * instances.
+	 */
+	@Test(expected = ProblemException.class)
+	public void testEvaluateAllRequiresFutureSolution() {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		Problem problem = new DistributedProblem(new MockRealProblem(), executor);
+		
+		try {
+			List<Solution> solutions = new ArrayList<Solution>();
+			solutions.add(problem.newSolution());
+			solutions.add(new Solution(1, 1));
+			problem.evaluateAll(solutions);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 	/**
 	 * Tests running a small single-thread test.
 	 */